@@ -0,0 +1,116 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.trajectory.AsyncTrajectoryGenerator;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+/**
+ * A command that follows a trajectory that is generated in the background, such as by an
+ * {@link AsyncTrajectoryGenerator}. When the command is initialized, it requests the trajectory;
+ * it then checks once per iteration whether the trajectory is ready, without blocking the robot
+ * loop, and once it is, creates the command that follows it and runs that command through this
+ * one. If generating the trajectory fails, the error is reported and the command ends.
+ *
+ * <p>The follower command is created anew each time, so it can't be scheduled individually or be
+ * part of another group. Since it doesn't exist until the trajectory is ready, this command can't
+ * take on its requirements; they have to be passed in as well.
+ *
+ * <p>The trajectory is requested again each time the command is initialized, and isn't cancelled
+ * when the command ends, since the request may be shared.
+ */
+public class AsyncTrajectoryCommand extends CommandBase {
+  private final Supplier<CompletableFuture<Trajectory>> m_trajectory;
+  private final Function<Trajectory, Command> m_follower;
+  private CompletableFuture<Trajectory> m_future;
+  private Command m_followerCommand;
+  private boolean m_failed;
+
+  /**
+   * Creates a new AsyncTrajectoryCommand.
+   *
+   * @param trajectory   Requests the trajectory to follow, for example from an
+   *                     AsyncTrajectoryGenerator. Called when the command is initialized.
+   * @param follower     Creates the command that follows the trajectory, for example a
+   *                     RamseteCommand.
+   * @param requirements The subsystems the follower command requires.
+   */
+  public AsyncTrajectoryCommand(Supplier<CompletableFuture<Trajectory>> trajectory,
+                                Function<Trajectory, Command> follower,
+                                Subsystem... requirements) {
+    m_trajectory = requireNonNullParam(trajectory, "trajectory", "AsyncTrajectoryCommand");
+    m_follower = requireNonNullParam(follower, "follower", "AsyncTrajectoryCommand");
+
+    addRequirements(requirements);
+  }
+
+  @Override
+  public void initialize() {
+    m_future = m_trajectory.get();
+    m_followerCommand = null;
+    m_failed = false;
+  }
+
+  @Override
+  public void execute() {
+    if (m_followerCommand == null && !m_failed) {
+      if (!m_future.isDone()) {
+        return;
+      }
+
+      Trajectory trajectory;
+      try {
+        trajectory = m_future.join();
+      } catch (CompletionException | CancellationException ex) {
+        DriverStation.reportError("Trajectory generation failed: " + ex.getMessage(),
+            ex.getStackTrace());
+        m_failed = true;
+        return;
+      }
+
+      m_followerCommand = m_follower.apply(trajectory);
+      m_followerCommand.initialize();
+    }
+
+    if (m_followerCommand != null) {
+      m_followerCommand.execute();
+    }
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    if (m_followerCommand != null) {
+      m_followerCommand.end(interrupted);
+    }
+    m_future = null;
+    m_followerCommand = null;
+  }
+
+  @Override
+  public boolean isFinished() {
+    return m_failed || m_followerCommand != null && m_followerCommand.isFinished();
+  }
+
+  /**
+   * Returns whether the trajectory has been generated and is being followed.
+   *
+   * @return Whether the trajectory is being followed.
+   */
+  public boolean isFollowing() {
+    return m_followerCommand != null;
+  }
+}
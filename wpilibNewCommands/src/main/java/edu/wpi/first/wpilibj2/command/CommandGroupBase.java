@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2018-2019 FIRST. All Rights Reserved.                        */
+/* Copyright (c) 2018-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -17,6 +17,7 @@ import java.util.WeakHashMap;
  * ensure those commands are not also used independently, which can result in inconsistent command
  * state and unpredictable execution.
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public abstract class CommandGroupBase extends CommandBase implements Command {
   private static final Set<Command> m_groupedCommands =
       Collections.newSetFromMap(new WeakHashMap<>());
@@ -81,6 +82,19 @@ public abstract class CommandGroupBase extends CommandBase implements Command {
    */
   public abstract void addCommands(Command... commands);
 
+  /**
+   * Compiles this group, and the groups nested in it, into a single command that runs them from a
+   * flat execution plan.  Deeply nested groups run faster this way, as each iteration walks arrays
+   * instead of the maps and lists of every group.  This group is registered as grouped, and must
+   * not be modified or run by itself afterwards.
+   *
+   * @return the compiled command
+   * @see CompiledCommandGroup
+   */
+  public CompiledCommandGroup compile() {
+    return new CompiledCommandGroup(this);
+  }
+
   /**
    * Factory method for {@link SequentialCommandGroup}, included for brevity/convenience.
    *
@@ -8,14 +8,14 @@
 package edu.wpi.first.wpilibj2.command;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Consumer;
 
 import edu.wpi.first.hal.FRCNetComm.tInstances;
@@ -24,6 +24,7 @@ import edu.wpi.first.hal.HAL;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.wpilibj.RobotState;
 import edu.wpi.first.wpilibj.Sendable;
+import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.livewindow.LiveWindow;
 import edu.wpi.first.wpilibj.smartdashboard.SendableBuilder;
 import edu.wpi.first.wpilibj.smartdashboard.SendableRegistry;
@@ -35,13 +36,17 @@ import edu.wpi.first.wpilibj.smartdashboard.SendableRegistry;
  * {@link CommandScheduler#registerSubsystem(Subsystem...)} in order for their {@link
  * Subsystem#periodic()} methods to be called and for their default commands to be scheduled.
  */
-@SuppressWarnings({"PMD.GodClass", "PMD.TooManyMethods", "PMD.TooManyFields"})
+@SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.ExcessiveClassLength", "PMD.GodClass",
+                   "PMD.TooManyMethods", "PMD.TooManyFields"})
 public final class CommandScheduler implements Sendable, AutoCloseable {
   /**
    * The Singleton Instance.
    */
   private static CommandScheduler instance;
 
+  //The longest cycle of rates the load is balanced over.
+  private static final int kMaxCycleLength = 1000;
+
   /**
    * Returns the Scheduler instance.
    *
@@ -58,16 +63,43 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
   //commands.
   private final Map<Command, CommandState> m_scheduledCommands = new LinkedHashMap<>();
 
-  //A map from required subsystems to their requiring commands.  Also used as a set of the
-  //currently-required subsystems.
-  private final Map<Subsystem, Command> m_requirements = new LinkedHashMap<>();
+  //The scheduling states of the currently-running commands, in the order they were scheduled.
+  //Iterated by index so that running them produces no garbage.
+  private CommandState[] m_scheduledStates = new CommandState[8];
+  private int m_scheduledCount;
+
+  //Dense IDs of every subsystem the scheduler has seen, either registered or required by a
+  //command.  Requirements are tracked as sets of these IDs.
+  private final Map<Subsystem, Integer> m_subsystemIds = new HashMap<>();
+  private Subsystem[] m_subsystemsById = new Subsystem[8];
+
+  //The IDs of the currently-required subsystems, and the command requiring each of them.
+  private final BitSet m_requiredSubsystems = new BitSet();
+  private Command[] m_requiringCommands = new Command[8];
+
+  //The IDs of the subsystems registered with the scheduler in registration order, and the default
+  //command of each subsystem by ID.
+  private final BitSet m_registeredSubsystems = new BitSet();
+  private int[] m_registeredIds = new int[8];
+  private int m_registeredCount;
+  private Command[] m_defaultCommands = new Command[8];
 
-  //A map from subsystems registered with the scheduler to their default commands.  Also used
-  //as a list of currently-registered subsystems.
-  private final Map<Subsystem, Command> m_subsystems = new LinkedHashMap<>();
+  //The rates of the rate-limited subsystems by ID, and of the rate-limited commands.  Subsystems
+  //and commands without a rate run on every iteration.
+  private ScheduleRate[] m_subsystemRates = new ScheduleRate[8];
+  private final Map<Command, ScheduleRate> m_commandRates = new WeakHashMap<>();
 
-  //The set of currently-registered buttons that will be polled every iteration.
-  private final Collection<Runnable> m_buttons = new LinkedHashSet<>();
+  //The number of iterations run so far, and the period run() is called at.
+  private long m_tick;
+  private double m_loopPeriod = TimedRobot.kDefaultPeriod;
+
+  //The currently-registered buttons that will be polled every iteration, and their sequence
+  //numbers from the joystick button engine, which order them against its bindings.
+  private final List<Runnable> m_buttons = new ArrayList<>();
+  private int[] m_buttonSequences = new int[8];
+
+  //The joystick button bindings, dispatched on button edges.
+  private final JoystickButtonEngine m_joystickButtonEngine;
 
   private boolean m_disabled;
 
@@ -83,8 +115,21 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
   private final Map<Command, Boolean> m_toSchedule = new LinkedHashMap<>();
   private final List<Command> m_toCancel = new ArrayList<>();
 
+  //Execution time statistics, or null if profiling is disabled.
+  private SchedulerProfiler m_profiler;
+  private long m_overrunThreshold = 20000; // us
 
   CommandScheduler() {
+    this(new JoystickButtonEngine());
+  }
+
+  /**
+   * Creates a scheduler that dispatches joystick button bindings with the given engine.
+   *
+   * @param joystickButtonEngine the joystick button engine
+   */
+  CommandScheduler(JoystickButtonEngine joystickButtonEngine) {
+    m_joystickButtonEngine = joystickButtonEngine;
     HAL.report(tResourceType.kResourceType_Command, tInstances.kCommand2_Scheduler);
     SendableRegistry.addLW(this, "Scheduler");
     LiveWindow.setEnabledListener(() -> {
@@ -109,7 +154,13 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
    * @param button The button to add
    */
   public void addButton(Runnable button) {
-    m_buttons.add(button);
+    if (!m_buttons.contains(button)) {
+      if (m_buttons.size() == m_buttonSequences.length) {
+        m_buttonSequences = Arrays.copyOf(m_buttonSequences, m_buttonSequences.length * 2);
+      }
+      m_buttonSequences[m_buttons.size()] = m_joystickButtonEngine.nextSequence();
+      m_buttons.add(button);
+    }
   }
 
   /**
@@ -117,6 +168,18 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
    */
   public void clearButtons() {
     m_buttons.clear();
+    m_joystickButtonEngine.clear();
+  }
+
+  /**
+   * Returns the engine that dispatches joystick button bindings.  It is polled along with the
+   * buttons added through {@link #addButton(Runnable)}, its bindings are called in between them
+   * in the order they were all added, and it is cleared along with them.
+   *
+   * @return the joystick button engine
+   */
+  public JoystickButtonEngine getJoystickButtonEngine() {
+    return m_joystickButtonEngine;
   }
 
   /**
@@ -126,16 +189,91 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
    * @param interruptible Whether the command is interruptible
    * @param requirements  The command requirements
    */
-  private void initCommand(Command command, boolean interruptible, Set<Subsystem> requirements) {
+  private void initCommand(Command command, boolean interruptible, BitSet requirements) {
     command.initialize();
-    CommandState scheduledCommand = new CommandState(interruptible);
+    CommandState scheduledCommand = new CommandState(command, interruptible, requirements);
     m_scheduledCommands.put(command, scheduledCommand);
+    if (m_scheduledCount == m_scheduledStates.length) {
+      m_scheduledStates = Arrays.copyOf(m_scheduledStates, m_scheduledCount * 2);
+    }
+    m_scheduledStates[m_scheduledCount++] = scheduledCommand;
+    if (!m_commandRates.isEmpty()) {
+      scheduledCommand.setRate(m_commandRates.get(command));
+    }
     for (Consumer<Command> action : m_initActions) {
       action.accept(command);
     }
-    for (Subsystem requirement : requirements) {
-      m_requirements.put(requirement, command);
+    for (int id = requirements.nextSetBit(0); id >= 0; id = requirements.nextSetBit(id + 1)) {
+      m_requiringCommands[id] = command;
+    }
+    m_requiredSubsystems.or(requirements);
+  }
+
+  /**
+   * Releases the requirements of a command that has been removed from the scheduled commands.
+   *
+   * @param state The scheduling state of the command
+   */
+  private void releaseRequirements(CommandState state) {
+    BitSet requirements = state.getRequirements();
+    for (int id = requirements.nextSetBit(0); id >= 0; id = requirements.nextSetBit(id + 1)) {
+      m_requiringCommands[id] = null;
     }
+    m_requiredSubsystems.andNot(requirements);
+  }
+
+  /**
+   * Removes the scheduling state of a canceled command from the scheduled states.
+   *
+   * @param state The scheduling state of the command
+   */
+  private void removeScheduledState(CommandState state) {
+    for (int i = 0; i < m_scheduledCount; i++) {
+      if (m_scheduledStates[i] == state) {
+        System.arraycopy(m_scheduledStates, i + 1, m_scheduledStates, i, m_scheduledCount - i - 1);
+        m_scheduledStates[--m_scheduledCount] = null;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns the ID of a subsystem, assigning the next free one if the scheduler hasn't seen the
+   * subsystem before.
+   *
+   * @param subsystem The subsystem
+   * @return The ID of the subsystem
+   */
+  private int getSubsystemId(Subsystem subsystem) {
+    Integer id = m_subsystemIds.get(subsystem);
+    if (id != null) {
+      return id;
+    }
+
+    final int newId = m_subsystemIds.size();
+    m_subsystemIds.put(subsystem, newId);
+    if (newId == m_subsystemsById.length) {
+      m_subsystemsById = Arrays.copyOf(m_subsystemsById, newId * 2);
+      m_requiringCommands = Arrays.copyOf(m_requiringCommands, newId * 2);
+      m_defaultCommands = Arrays.copyOf(m_defaultCommands, newId * 2);
+      m_subsystemRates = Arrays.copyOf(m_subsystemRates, newId * 2);
+    }
+    m_subsystemsById[newId] = subsystem;
+    return newId;
+  }
+
+  /**
+   * Returns the IDs of a set of subsystems.
+   *
+   * @param subsystems The subsystems
+   * @return The IDs of the subsystems
+   */
+  private BitSet getSubsystemIds(Set<Subsystem> subsystems) {
+    BitSet ids = new BitSet(m_subsystemsById.length);
+    for (Subsystem subsystem : subsystems) {
+      ids.set(getSubsystemId(subsystem));
+    }
+    return ids;
   }
 
   /**
@@ -166,23 +304,23 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
       return;
     }
 
-    Set<Subsystem> requirements = command.getRequirements();
+    BitSet requirements = getSubsystemIds(command.getRequirements());
 
     //Schedule the command if the requirements are not currently in-use.
-    if (Collections.disjoint(m_requirements.keySet(), requirements)) {
+    if (!m_requiredSubsystems.intersects(requirements)) {
       initCommand(command, interruptible, requirements);
     } else {
       //Else check if the requirements that are in use have all have interruptible commands,
       //and if so, interrupt those commands and schedule the new command.
-      for (Subsystem requirement : requirements) {
-        if (m_requirements.containsKey(requirement)
-            && !m_scheduledCommands.get(m_requirements.get(requirement)).isInterruptible()) {
+      for (int id = requirements.nextSetBit(0); id >= 0; id = requirements.nextSetBit(id + 1)) {
+        if (m_requiredSubsystems.get(id)
+            && !m_scheduledCommands.get(m_requiringCommands[id]).isInterruptible()) {
           return;
         }
       }
-      for (Subsystem requirement : requirements) {
-        if (m_requirements.containsKey(requirement)) {
-          cancel(m_requirements.get(requirement));
+      for (int id = requirements.nextSetBit(0); id >= 0; id = requirements.nextSetBit(id + 1)) {
+        if (m_requiredSubsystems.get(id)) {
+          cancel(m_requiringCommands[id]);
         }
       }
       initCommand(command, interruptible, requirements);
@@ -226,73 +364,187 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
    * <p>End conditions are checked on currently-scheduled commands, and commands that are finished
    * have their end methods called and are removed.
    *
+   * <p>Subsystems and commands with a rate (see {@link #setSubsystemRate(Subsystem, int)} and
+   * {@link #setCommandRate(Command, int)}) are skipped in the iterations they are not due.
+   *
    * <p>Any subsystems not being used as requirements have their default methods started.
    */
-  @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity"})
   public void run() {
     if (m_disabled) {
       return;
     }
 
-    //Run the periodic method of all registered subsystems.
-    for (Subsystem subsystem : m_subsystems.keySet()) {
-      subsystem.periodic();
+    final SchedulerProfiler profiler = m_profiler;
+    if (profiler != null) {
+      profiler.startLoop();
     }
 
-    //Poll buttons for new commands to add.
-    for (Runnable button : m_buttons) {
-      button.run();
-    }
+    final long tick = m_tick++;
+
+    runSubsystems(tick, profiler);
+    pollButtons(profiler);
 
     m_inRunLoop = true;
-    //Run scheduled commands, remove finished commands.
-    for (Iterator<Command> iterator = m_scheduledCommands.keySet().iterator();
-         iterator.hasNext(); ) {
-      Command command = iterator.next();
+    final long executeActionTime = runCommands(tick, profiler);
+    m_inRunLoop = false;
+
+    if (profiler != null) {
+      profiler.record(profiler.getExecuteActionStats(), executeActionTime);
+    }
+
+    runQueues();
+    scheduleDefaultCommands();
+
+    if (profiler != null) {
+      profiler.endLoop();
+    }
+  }
+
+  /**
+   * Runs the periodic method of all registered subsystems that are due this iteration.
+   *
+   * @param tick     The number of iterations run before this one
+   * @param profiler The profiler, or null if profiling is disabled
+   */
+  private void runSubsystems(long tick, SchedulerProfiler profiler) {
+    for (int i = 0; i < m_registeredCount; i++) {
+      final int id = m_registeredIds[i];
+      if (m_subsystemRates[id] != null && !m_subsystemRates[id].isDue(tick)) {
+        continue;
+      }
+      m_subsystemsById[id].periodic();
+      if (profiler != null) {
+        profiler.record(profiler.getSubsystemStats(id, m_subsystemsById[id]), profiler.split());
+      }
+    }
+  }
+
+  /**
+   * Polls buttons for new commands to add, calling the joystick button bindings that changed state
+   * in between them in the order they were added.
+   *
+   * @param profiler The profiler, or null if profiling is disabled
+   */
+  private void pollButtons(SchedulerProfiler profiler) {
+    m_joystickButtonEngine.poll();
+    for (int i = 0; i < m_buttons.size(); i++) {
+      m_joystickButtonEngine.dispatch(m_buttonSequences[i]);
+      m_buttons.get(i).run();
+    }
+    m_joystickButtonEngine.dispatch(Integer.MAX_VALUE);
+    if (profiler != null) {
+      profiler.record(profiler.getButtonStats(), profiler.split());
+    }
+  }
+
+  /**
+   * Runs scheduled commands, and removes finished commands.  Commands that remain scheduled are
+   * compacted towards the front of the scheduled states as they are iterated.
+   *
+   * @param tick     The number of iterations run before this one
+   * @param profiler The profiler, or null if profiling is disabled
+   * @return The time spent in execute actions, in microseconds
+   */
+  @SuppressWarnings("PMD.NPathComplexity")
+  private long runCommands(long tick, SchedulerProfiler profiler) {
+    long executeActionTime = 0;
+    int remaining = 0;
+    for (int i = 0; i < m_scheduledCount; i++) {
+      final CommandState state = m_scheduledStates[i];
+      final Command command = state.getCommand();
 
       if (!command.runsWhenDisabled() && RobotState.isDisabled()) {
-        command.end(true);
-        for (Consumer<Command> action : m_interruptActions) {
-          action.accept(command);
+        endCommand(state, true);
+        if (profiler != null) {
+          profiler.split();
         }
-        m_requirements.keySet().removeAll(command.getRequirements());
-        iterator.remove();
+        continue;
+      }
+
+      if (state.getRate() != null && !state.getRate().isDue(tick)) {
+        m_scheduledStates[remaining++] = state;
         continue;
       }
 
       command.execute();
+      long commandTime = profiler != null ? profiler.split() : 0;
       for (Consumer<Command> action : m_executeActions) {
         action.accept(command);
       }
+      if (profiler != null) {
+        executeActionTime += profiler.split();
+      }
       if (command.isFinished()) {
-        command.end(false);
-        for (Consumer<Command> action : m_finishActions) {
-          action.accept(command);
-        }
-        iterator.remove();
-
-        m_requirements.keySet().removeAll(command.getRequirements());
+        endCommand(state, false);
+      } else {
+        m_scheduledStates[remaining++] = state;
+      }
+      if (profiler != null) {
+        profiler.record(getStats(state), commandTime + profiler.split());
       }
     }
-    m_inRunLoop = false;
+    Arrays.fill(m_scheduledStates, remaining, m_scheduledCount, null);
+    m_scheduledCount = remaining;
+    return executeActionTime;
+  }
 
-    //Schedule/cancel commands from queues populated during loop
-    for (Map.Entry<Command, Boolean> commandInterruptible : m_toSchedule.entrySet()) {
-      schedule(commandInterruptible.getValue(), commandInterruptible.getKey());
+  /**
+   * Ends a command that is being run, performs the interrupt or finish actions, and releases its
+   * requirements.  The caller removes its state from the scheduled states.
+   *
+   * @param state       The scheduling state of the command
+   * @param interrupted Whether the command was interrupted
+   */
+  private void endCommand(CommandState state, boolean interrupted) {
+    final Command command = state.getCommand();
+    command.end(interrupted);
+    for (Consumer<Command> action : interrupted ? m_interruptActions : m_finishActions) {
+      action.accept(command);
     }
+    m_scheduledCommands.remove(command);
+    releaseRequirements(state);
+  }
 
-    for (Command command : m_toCancel) {
-      cancel(command);
+  /**
+   * Returns the execution statistics of a command, creating them the first time it is profiled.
+   *
+   * @param state The scheduling state of the command
+   * @return The execution statistics of the command
+   */
+  private static ExecutionStats getStats(CommandState state) {
+    if (state.getStats() == null) {
+      state.setStats(new ExecutionStats(state.getCommand().getName()));
+    }
+    return state.getStats();
+  }
+
+  /**
+   * Schedules and cancels the commands from the queues populated while commands were run.
+   */
+  private void runQueues() {
+    if (!m_toSchedule.isEmpty()) {
+      for (Map.Entry<Command, Boolean> commandInterruptible : m_toSchedule.entrySet()) {
+        schedule(commandInterruptible.getValue(), commandInterruptible.getKey());
+      }
+      m_toSchedule.clear();
     }
 
-    m_toSchedule.clear();
-    m_toCancel.clear();
+    if (!m_toCancel.isEmpty()) {
+      for (Command command : m_toCancel) {
+        cancel(command);
+      }
+      m_toCancel.clear();
+    }
+  }
 
-    //Add default commands for un-required registered subsystems.
-    for (Map.Entry<Subsystem, Command> subsystemCommand : m_subsystems.entrySet()) {
-      if (!m_requirements.containsKey(subsystemCommand.getKey())
-          && subsystemCommand.getValue() != null) {
-        schedule(subsystemCommand.getValue());
+  /**
+   * Schedules the default commands of un-required registered subsystems.
+   */
+  private void scheduleDefaultCommands() {
+    for (int i = 0; i < m_registeredCount; i++) {
+      final int id = m_registeredIds[i];
+      if (!m_requiredSubsystems.get(id) && m_defaultCommands[id] != null) {
+        schedule(true, m_defaultCommands[id]);
       }
     }
   }
@@ -307,7 +559,15 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
    */
   public void registerSubsystem(Subsystem... subsystems) {
     for (Subsystem subsystem : subsystems) {
-      m_subsystems.put(subsystem, null);
+      final int id = getSubsystemId(subsystem);
+      if (!m_registeredSubsystems.get(id)) {
+        if (m_registeredCount == m_registeredIds.length) {
+          m_registeredIds = Arrays.copyOf(m_registeredIds, m_registeredCount * 2);
+        }
+        m_registeredIds[m_registeredCount++] = id;
+        m_registeredSubsystems.set(id);
+      }
+      m_defaultCommands[id] = null;
     }
   }
 
@@ -318,7 +578,26 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
    * @param subsystems the subsystem to un-register
    */
   public void unregisterSubsystem(Subsystem... subsystems) {
-    m_subsystems.keySet().removeAll(Set.of(subsystems));
+    for (Subsystem subsystem : subsystems) {
+      final Integer id = m_subsystemIds.get(subsystem);
+      if (id == null || !m_registeredSubsystems.get(id)) {
+        continue;
+      }
+
+      int index = 0;
+      while (m_registeredIds[index] != id) {
+        index++;
+      }
+      System.arraycopy(m_registeredIds, index + 1, m_registeredIds, index,
+          m_registeredCount - index - 1);
+      m_registeredCount--;
+      m_registeredSubsystems.clear(id);
+      m_defaultCommands[id] = null;
+      m_subsystemRates[id] = null;
+      if (m_profiler != null) {
+        m_profiler.removeSubsystem(id);
+      }
+    }
   }
 
   /**
@@ -340,7 +619,8 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
       throw new IllegalArgumentException("Default commands should not end!");
     }
 
-    m_subsystems.put(subsystem, defaultCommand);
+    registerSubsystem(subsystem);
+    m_defaultCommands[getSubsystemId(subsystem)] = defaultCommand;
   }
 
   /**
@@ -351,7 +631,244 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
    * @return the default command associated with the subsystem
    */
   public Command getDefaultCommand(Subsystem subsystem) {
-    return m_subsystems.get(subsystem);
+    final Integer id = m_subsystemIds.get(subsystem);
+    return id != null && m_registeredSubsystems.get(id) ? m_defaultCommands[id] : null;
+  }
+
+  /**
+   * Sets the period {@link #run()} is called at, which {@link #setSubsystemPeriod(Subsystem,
+   * double)} and {@link #setCommandPeriod(Command, double)} use to convert periods to iterations.
+   * Defaults to {@link TimedRobot#kDefaultPeriod}.  Subsystems and commands can only run as often
+   * as the scheduler, so to run some of them faster than that, run the scheduler faster and give
+   * the others a rate.
+   *
+   * @param seconds the period of the scheduler, in seconds
+   */
+  public void setLoopPeriod(double seconds) {
+    if (Double.isNaN(seconds) || seconds <= 0.0) {
+      throw new IllegalArgumentException("Loop period must be positive");
+    }
+    m_loopPeriod = seconds;
+
+    //Periods convert to new divisors, so the phases the scheduler picked are picked again.
+    List<ScheduleRate> placed = new ArrayList<>();
+    List<ScheduleRate> autoPhased = new ArrayList<>();
+    for (ScheduleRate rate : getRates()) {
+      rate.setLoopPeriod(seconds);
+      if (rate.isAutoPhase()) {
+        autoPhased.add(rate);
+      } else {
+        placed.add(rate);
+      }
+    }
+    for (ScheduleRate rate : autoPhased) {
+      rate.setPhase(findPhase(rate.getDivisor(), placed));
+      placed.add(rate);
+    }
+  }
+
+  /**
+   * Returns the period {@link #run()} is called at.
+   *
+   * @return the period of the scheduler, in seconds
+   */
+  public double getLoopPeriod() {
+    return m_loopPeriod;
+  }
+
+  /**
+   * Runs a subsystem's periodic method on every given number of iterations of the scheduler,
+   * instead of on every iteration.  The scheduler picks the phase that adds the least to its most
+   * loaded iterations, so that rate-limited subsystems and commands are spread evenly.  Registers
+   * the subsystem if it is not already registered.
+   *
+   * @param subsystem the subsystem
+   * @param divisor   the number of iterations between calls to the periodic method
+   */
+  public void setSubsystemRate(Subsystem subsystem, int divisor) {
+    setSubsystemRate(subsystem, new ScheduleRate(divisor, 0, true));
+  }
+
+  /**
+   * Runs a subsystem's periodic method on every given number of iterations of the scheduler,
+   * starting at the given phase, instead of on every iteration.  Registers the subsystem if it is
+   * not already registered.
+   *
+   * @param subsystem the subsystem
+   * @param divisor   the number of iterations between calls to the periodic method
+   * @param phase     the iteration, from 0 to divisor - 1, of each group of divisor iterations
+   *                  to call the periodic method on
+   */
+  public void setSubsystemRate(Subsystem subsystem, int divisor, int phase) {
+    setSubsystemRate(subsystem, new ScheduleRate(divisor, phase, false));
+  }
+
+  private void setSubsystemRate(Subsystem subsystem, ScheduleRate rate) {
+    final int id = getSubsystemId(subsystem);
+    if (!m_registeredSubsystems.get(id)) {
+      registerSubsystem(subsystem);
+    }
+    m_subsystemRates[id] = null;
+    if (rate.isAutoPhase()) {
+      rate.setPhase(findPhase(rate.getDivisor(), getRates()));
+    }
+    m_subsystemRates[id] = rate;
+  }
+
+  /**
+   * Runs a subsystem's periodic method at about the given period, rounded to a whole number of
+   * iterations of the scheduler, with a phase the scheduler picks.  Registers the subsystem if it
+   * is not already registered.
+   *
+   * @param subsystem the subsystem
+   * @param seconds   the period of the periodic method, in seconds
+   * @see #setLoopPeriod(double)
+   */
+  public void setSubsystemPeriod(Subsystem subsystem, double seconds) {
+    setSubsystemRate(subsystem, new ScheduleRate(seconds, m_loopPeriod));
+  }
+
+  /**
+   * Runs a command on every given number of iterations of the scheduler while it is scheduled,
+   * instead of on every iteration.  The command's execute and isFinished methods are only called
+   * on those iterations, so it may first run some iterations after being scheduled.  The scheduler
+   * picks the phase that adds the least to its most loaded iterations.
+   *
+   * @param command the command
+   * @param divisor the number of iterations between runs of the command
+   */
+  public void setCommandRate(Command command, int divisor) {
+    setCommandRate(command, new ScheduleRate(divisor, 0, true));
+  }
+
+  /**
+   * Runs a command on every given number of iterations of the scheduler while it is scheduled,
+   * starting at the given phase, instead of on every iteration.
+   *
+   * @param command the command
+   * @param divisor the number of iterations between runs of the command
+   * @param phase   the iteration, from 0 to divisor - 1, of each group of divisor iterations to
+   *                run the command on
+   * @see #setCommandRate(Command, int)
+   */
+  public void setCommandRate(Command command, int divisor, int phase) {
+    setCommandRate(command, new ScheduleRate(divisor, phase, false));
+  }
+
+  private void setCommandRate(Command command, ScheduleRate rate) {
+    m_commandRates.remove(command);
+    if (rate.isAutoPhase()) {
+      rate.setPhase(findPhase(rate.getDivisor(), getRates()));
+    }
+    m_commandRates.put(command, rate);
+
+    CommandState state = m_scheduledCommands.get(command);
+    if (state != null) {
+      state.setRate(rate);
+    }
+  }
+
+  /**
+   * Runs a command at about the given period while it is scheduled, rounded to a whole number of
+   * iterations of the scheduler, with a phase the scheduler picks.
+   *
+   * @param command the command
+   * @param seconds the period of the command, in seconds
+   * @see #setCommandRate(Command, int)
+   * @see #setLoopPeriod(double)
+   */
+  public void setCommandPeriod(Command command, double seconds) {
+    setCommandRate(command, new ScheduleRate(seconds, m_loopPeriod));
+  }
+
+  /**
+   * Returns the number of rate-limited subsystems and commands that run on each iteration of one
+   * cycle of their rates, whether or not the commands are scheduled.  Subsystems and commands
+   * that run on every iteration are not counted.  Evenly balanced rates give counts that differ by
+   * at most one.
+   *
+   * @return the number of rate-limited runs on each iteration of the cycle
+   */
+  public int[] getTickLoad() {
+    final List<ScheduleRate> rates = getRates();
+    final int[] load = new int[getCycleLength(rates, 1)];
+    for (ScheduleRate rate : rates) {
+      addLoad(load, rate);
+    }
+    return load;
+  }
+
+  /**
+   * Returns the rates of the registered subsystems and the commands.
+   */
+  private List<ScheduleRate> getRates() {
+    List<ScheduleRate> rates = new ArrayList<>();
+    for (int i = 0; i < m_registeredCount; i++) {
+      if (m_subsystemRates[m_registeredIds[i]] != null) {
+        rates.add(m_subsystemRates[m_registeredIds[i]]);
+      }
+    }
+    rates.addAll(m_commandRates.values());
+    return rates;
+  }
+
+  /**
+   * Returns the number of iterations after which a set of rates repeats, or kMaxCycleLength if
+   * that is longer.
+   */
+  private static int getCycleLength(List<ScheduleRate> rates, int divisor) {
+    long length = divisor;
+    for (ScheduleRate rate : rates) {
+      // The least common multiple, through the greatest common divisor
+      long gcd = length;
+      long next = rate.getDivisor();
+      while (next != 0) {
+        final long remainder = gcd % next;
+        gcd = next;
+        next = remainder;
+      }
+      length = Math.min(length / gcd * rate.getDivisor(), kMaxCycleLength);
+    }
+    return (int) Math.max(length, divisor);
+  }
+
+  private static void addLoad(int[] load, ScheduleRate rate) {
+    for (int tick = rate.getPhase(); tick < load.length; tick += rate.getDivisor()) {
+      load[tick]++;
+    }
+  }
+
+  /**
+   * Finds the phase of a new rate that minimizes the most runs on any iteration, and then the
+   * total runs on the iterations it runs on.
+   *
+   * @param divisor the divisor of the new rate
+   * @param placed  the rates already placed
+   * @return the phase
+   */
+  private static int findPhase(int divisor, List<ScheduleRate> placed) {
+    final int[] load = new int[getCycleLength(placed, divisor)];
+    for (ScheduleRate rate : placed) {
+      addLoad(load, rate);
+    }
+
+    int bestPhase = 0;
+    int bestMax = Integer.MAX_VALUE;
+    int bestTotal = Integer.MAX_VALUE;
+    for (int phase = 0; phase < divisor; phase++) {
+      int max = 0;
+      int total = 0;
+      for (int tick = phase; tick < load.length; tick += divisor) {
+        max = Math.max(max, load[tick]);
+        total += load[tick];
+      }
+      if (max < bestMax || (max == bestMax && total < bestTotal)) {
+        bestPhase = phase;
+        bestMax = max;
+        bestTotal = total;
+      }
+    }
+    return bestPhase;
   }
 
   /**
@@ -368,7 +885,8 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
     }
 
     for (Command command : commands) {
-      if (!m_scheduledCommands.containsKey(command)) {
+      final CommandState state = m_scheduledCommands.get(command);
+      if (state == null) {
         continue;
       }
 
@@ -377,7 +895,8 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
         action.accept(command);
       }
       m_scheduledCommands.remove(command);
-      m_requirements.keySet().removeAll(command.getRequirements());
+      removeScheduledState(state);
+      releaseRequirements(state);
     }
   }
 
@@ -427,7 +946,8 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
    * @return the command currently requiring the subsystem
    */
   public Command requiring(Subsystem subsystem) {
-    return m_requirements.get(subsystem);
+    final Integer id = m_subsystemIds.get(subsystem);
+    return id != null ? m_requiringCommands[id] : null;
   }
 
   /**
@@ -444,6 +964,89 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
     m_disabled = false;
   }
 
+  /**
+   * Enables profiling.  While profiling is enabled, the scheduler times every registered
+   * subsystem's periodic method, the button polling, every scheduled command, and the
+   * {@link #onCommandExecute(Consumer)} actions, and keeps rolling statistics of those times.  A
+   * summary is published through the scheduler's dashboard table.  Whenever a loop takes longer
+   * than the overrun threshold, the slowest parts of that loop are printed, at most once per
+   * second.
+   *
+   * <p>The statistics of a command are discarded when it ends.
+   */
+  public void enableProfiling() {
+    if (m_profiler == null) {
+      m_profiler = new SchedulerProfiler();
+      m_profiler.setOverrunThreshold(m_overrunThreshold);
+    }
+  }
+
+  /**
+   * Disables profiling and discards the collected statistics.
+   */
+  public void disableProfiling() {
+    m_profiler = null;
+    for (CommandState state : m_scheduledCommands.values()) {
+      state.setStats(null);
+    }
+  }
+
+  /**
+   * Returns whether profiling is enabled.
+   *
+   * @return whether profiling is enabled
+   */
+  public boolean isProfilingEnabled() {
+    return m_profiler != null;
+  }
+
+  /**
+   * Sets the loop time above which the profiler reports the slowest parts of the loop.  Defaults
+   * to 20ms, the period of {@link edu.wpi.first.wpilibj.TimedRobot}.
+   *
+   * @param seconds the overrun threshold, in seconds
+   */
+  public void setProfilingOverrunThreshold(double seconds) {
+    m_overrunThreshold = (long) (seconds * 1e6);
+    if (m_profiler != null) {
+      m_profiler.setOverrunThreshold(m_overrunThreshold);
+    }
+  }
+
+  /**
+   * Returns the execution time statistics of a registered subsystem's periodic method.
+   *
+   * @param subsystem the subsystem to inquire about
+   * @return the statistics, or null if profiling is disabled or the subsystem hasn't run since
+   *     profiling was enabled
+   */
+  public ExecutionStats getExecutionStats(Subsystem subsystem) {
+    final Integer id = m_subsystemIds.get(subsystem);
+    return m_profiler != null && id != null ? m_profiler.findSubsystemStats(id) : null;
+  }
+
+  /**
+   * Returns the execution time statistics of a scheduled command, covering its execute,
+   * isFinished, and (on its last iteration) end methods.
+   *
+   * @param command the command to inquire about
+   * @return the statistics, or null if profiling is disabled or the command isn't scheduled or
+   *     hasn't run since profiling was enabled
+   */
+  public ExecutionStats getExecutionStats(Command command) {
+    CommandState state = m_scheduledCommands.get(command);
+    return state != null ? state.getStats() : null;
+  }
+
+  /**
+   * Returns the execution time statistics of the whole {@link #run()} method.
+   *
+   * @return the statistics, or null if profiling is disabled
+   */
+  public ExecutionStats getLoopExecutionStats() {
+    return m_profiler != null ? m_profiler.getLoopStats() : null;
+  }
+
   /**
    * Adds an action to perform on the initialization of any command by the scheduler.
    *
@@ -486,12 +1089,17 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
     final NetworkTableEntry namesEntry = builder.getEntry("Names");
     final NetworkTableEntry idsEntry = builder.getEntry("Ids");
     final NetworkTableEntry cancelEntry = builder.getEntry("Cancel");
+    final NetworkTableEntry profileEntry = builder.getEntry("Profile");
     builder.setUpdateTable(() -> {
 
       if (namesEntry == null || idsEntry == null || cancelEntry == null) {
         return;
       }
 
+      if (profileEntry != null) {
+        profileEntry.setStringArray(getProfileSummary());
+      }
+
       Map<Double, Command> ids = new LinkedHashMap<>();
 
 
@@ -516,4 +1124,36 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
       idsEntry.setNumberArray(ids.keySet().toArray(new Double[0]));
     });
   }
+
+  /**
+   * Returns one line of statistics per profiled stage, the whole loop first and then the slowest
+   * on average first.
+   */
+  private String[] getProfileSummary() {
+    if (m_profiler == null) {
+      return new String[0];
+    }
+    List<ExecutionStats> commandStats = new ArrayList<>();
+    for (CommandState state : m_scheduledCommands.values()) {
+      if (state.getStats() != null) {
+        commandStats.add(state.getStats());
+      }
+    }
+    String[] summary = m_profiler.getSummary(commandStats);
+
+    final int[] load = getTickLoad();
+    int minLoad = Integer.MAX_VALUE;
+    int maxLoad = 0;
+    for (int runs : load) {
+      minLoad = Math.min(minLoad, runs);
+      maxLoad = Math.max(maxLoad, runs);
+    }
+    if (maxLoad > 0) {
+      summary = Arrays.copyOf(summary, summary.length + 1);
+      summary[summary.length - 1] = String.format(
+          "Rate-limited runs per iteration: min %d, max %d over %d iterations", minLoad, maxLoad,
+          load.length);
+    }
+    return summary;
+  }
 }
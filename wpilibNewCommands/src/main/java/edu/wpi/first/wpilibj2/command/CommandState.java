@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2018-2019 FIRST. All Rights Reserved.                        */
+/* Copyright (c) 2018-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -7,6 +7,8 @@
 
 package edu.wpi.first.wpilibj2.command;
 
+import java.util.BitSet;
+
 import edu.wpi.first.wpilibj.Timer;
 
 /**
@@ -14,13 +16,27 @@ import edu.wpi.first.wpilibj.Timer;
  * {@link CommandScheduler}.
  */
 class CommandState {
+  //The command this is the state of.
+  private final Command m_command;
+
+  //The scheduler's IDs of the subsystems the command requires.
+  private final BitSet m_requirements;
+
   //The time since this command was initialized.
   private double m_startTime = -1;
 
   //Whether or not it is interruptible.
   private final boolean m_interruptible;
 
-  CommandState(boolean interruptible) {
+  //The execution time of the command, if the scheduler is profiling.
+  private ExecutionStats m_stats;
+
+  //How often the command runs, or null if it runs on every iteration.
+  private ScheduleRate m_rate;
+
+  CommandState(Command command, boolean interruptible, BitSet requirements) {
+    m_command = command;
+    m_requirements = requirements;
     m_interruptible = interruptible;
     startTiming();
     startRunning();
@@ -34,10 +50,34 @@ class CommandState {
     m_startTime = -1;
   }
 
+  Command getCommand() {
+    return m_command;
+  }
+
+  BitSet getRequirements() {
+    return m_requirements;
+  }
+
   boolean isInterruptible() {
     return m_interruptible;
   }
 
+  ExecutionStats getStats() {
+    return m_stats;
+  }
+
+  void setStats(ExecutionStats stats) {
+    m_stats = stats;
+  }
+
+  ScheduleRate getRate() {
+    return m_rate;
+  }
+
+  void setRate(ScheduleRate rate) {
+    m_rate = rate;
+  }
+
   double timeSinceInitialized() {
     return m_startTime != -1 ? Timer.getFPGATimestamp() - m_startTime : -1;
   }
@@ -0,0 +1,291 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A command that runs a tree of command groups from a flat execution plan.  Created by
+ * {@link CommandGroupBase#compile()}.
+ *
+ * <p>The plan holds every command of the tree in depth-first order, so each group is followed by
+ * its subtree.  The state the groups would keep in maps and fields, such as which commands of a
+ * parallel group are still running, is kept in primitive arrays indexed by position in the plan.
+ * Running the plan has the same effect on the commands as running the groups themselves.
+ *
+ * <p>Only {@link SequentialCommandGroup}, {@link ParallelCommandGroup}, {@link ParallelRaceGroup},
+ * and {@link ParallelDeadlineGroup} are flattened.  Subclasses of them and other commands are run
+ * through their own methods.  The plan reflects the groups at the time they were compiled;
+ * commands added to them afterwards are not run.
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public class CompiledCommandGroup extends CommandBase {
+  private static final int kCommand = 0;
+  private static final int kSequence = 1;
+  private static final int kParallel = 2;
+  private static final int kRace = 3;
+  private static final int kDeadline = 4;
+
+  // The plan.  The subtree of each node ends before m_ends[node], and the children of a group
+  // start at the next node and follow each other's subtrees.
+  private final Command[] m_commands;
+  private final int[] m_kinds;
+  private final int[] m_ends;
+  private final int[] m_deadlines;
+  private final boolean m_runWhenDisabled;
+
+  // The running state.  For sequences, the node of the current command, or -1 if the sequence is
+  // not running.  For parallel and deadline groups, whether each child is still running and the
+  // number of running children.  For race and deadline groups, whether the group has finished.
+  private final int[] m_currentCommands;
+  private final boolean[] m_running;
+  private final int[] m_runningCounts;
+  private final boolean[] m_finished;
+
+  /**
+   * Compiles the given command group.  The group is registered as grouped, so it cannot be
+   * scheduled or added to another group.
+   *
+   * @param group the group to compile
+   */
+  CompiledCommandGroup(CommandGroupBase group) {
+    CommandGroupBase.requireUngrouped(group);
+    CommandGroupBase.registerGroupedCommands(group);
+
+    final int size = countNodes(group);
+    m_commands = new Command[size];
+    m_kinds = new int[size];
+    m_ends = new int[size];
+    m_deadlines = new int[size];
+    m_currentCommands = new int[size];
+    m_running = new boolean[size];
+    m_runningCounts = new int[size];
+    m_finished = new boolean[size];
+    addNode(group, 0);
+
+    for (int node = 0; node < size; node++) {
+      m_currentCommands[node] = -1;
+      m_finished[node] = true;
+    }
+
+    m_runWhenDisabled = group.runsWhenDisabled();
+    m_requirements.addAll(group.getRequirements());
+    setName(group.getName());
+  }
+
+  private static int kindOf(Command command) {
+    final Class<?> type = command.getClass();
+    if (type == SequentialCommandGroup.class) {
+      return kSequence;
+    } else if (type == ParallelCommandGroup.class) {
+      return kParallel;
+    } else if (type == ParallelRaceGroup.class) {
+      return kRace;
+    } else if (type == ParallelDeadlineGroup.class) {
+      return kDeadline;
+    }
+    return kCommand;
+  }
+
+  private static Collection<Command> childrenOf(Command command) {
+    switch (kindOf(command)) {
+      case kSequence:
+        return ((SequentialCommandGroup) command).getCommands();
+      case kParallel:
+        return ((ParallelCommandGroup) command).getCommands();
+      case kRace:
+        return ((ParallelRaceGroup) command).getCommands();
+      case kDeadline:
+        return ((ParallelDeadlineGroup) command).getCommands();
+      default:
+        return List.of();
+    }
+  }
+
+  private static int countNodes(Command command) {
+    int count = 1;
+    for (Command child : childrenOf(command)) {
+      count += countNodes(child);
+    }
+    return count;
+  }
+
+  /**
+   * Adds a command and its subtree to the plan.
+   *
+   * @return the node after the subtree
+   */
+  private int addNode(Command command, int node) {
+    m_commands[node] = command;
+    m_kinds[node] = kindOf(command);
+    m_deadlines[node] = -1;
+
+    int child = node + 1;
+    for (Command childCommand : childrenOf(command)) {
+      if (m_kinds[node] == kDeadline
+          && childCommand == ((ParallelDeadlineGroup) command).getDeadline()) {
+        m_deadlines[node] = child;
+      }
+      child = addNode(childCommand, child);
+    }
+    m_ends[node] = child;
+    return child;
+  }
+
+  @Override
+  public void initialize() {
+    initialize(0);
+  }
+
+  private void initialize(int node) {
+    switch (m_kinds[node]) {
+      case kSequence:
+        m_currentCommands[node] = node + 1;
+        if (node + 1 < m_ends[node]) {
+          initialize(node + 1);
+        }
+        break;
+      case kParallel:
+      case kDeadline:
+        m_runningCounts[node] = 0;
+        for (int child = node + 1; child < m_ends[node]; child = m_ends[child]) {
+          initialize(child);
+          m_running[child] = true;
+          m_runningCounts[node]++;
+        }
+        m_finished[node] = false;
+        break;
+      case kRace:
+        m_finished[node] = false;
+        for (int child = node + 1; child < m_ends[node]; child = m_ends[child]) {
+          initialize(child);
+        }
+        break;
+      default:
+        m_commands[node].initialize();
+        break;
+    }
+  }
+
+  @Override
+  public void execute() {
+    execute(0);
+  }
+
+  @SuppressWarnings("PMD.CyclomaticComplexity")
+  private void execute(int node) {
+    switch (m_kinds[node]) {
+      case kSequence:
+        final int current = m_currentCommands[node];
+        if (current <= node || current >= m_ends[node]) {
+          break;
+        }
+        execute(current);
+        if (isFinished(current)) {
+          end(current, false);
+          m_currentCommands[node] = m_ends[current];
+          if (m_ends[current] < m_ends[node]) {
+            initialize(m_ends[current]);
+          }
+        }
+        break;
+      case kParallel:
+      case kDeadline:
+        for (int child = node + 1; child < m_ends[node]; child = m_ends[child]) {
+          if (!m_running[child]) {
+            continue;
+          }
+          execute(child);
+          if (isFinished(child)) {
+            end(child, false);
+            m_running[child] = false;
+            m_runningCounts[node]--;
+            if (child == m_deadlines[node]) {
+              m_finished[node] = true;
+            }
+          }
+        }
+        break;
+      case kRace:
+        for (int child = node + 1; child < m_ends[node]; child = m_ends[child]) {
+          execute(child);
+          if (isFinished(child)) {
+            m_finished[node] = true;
+          }
+        }
+        break;
+      default:
+        m_commands[node].execute();
+        break;
+    }
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    end(0, interrupted);
+  }
+
+  @SuppressWarnings("PMD.CyclomaticComplexity")
+  private void end(int node, boolean interrupted) {
+    switch (m_kinds[node]) {
+      case kSequence:
+        final int current = m_currentCommands[node];
+        if (interrupted && current > node && current < m_ends[node]) {
+          end(current, true);
+        }
+        m_currentCommands[node] = -1;
+        break;
+      case kParallel:
+      case kDeadline:
+        // Parallel groups only interrupt their running commands when interrupted themselves,
+        // while deadline groups also interrupt them when the deadline ends
+        if (interrupted || m_kinds[node] == kDeadline) {
+          for (int child = node + 1; child < m_ends[node]; child = m_ends[child]) {
+            if (m_running[child]) {
+              end(child, true);
+            }
+          }
+        }
+        break;
+      case kRace:
+        for (int child = node + 1; child < m_ends[node]; child = m_ends[child]) {
+          end(child, !isFinished(child));
+        }
+        break;
+      default:
+        m_commands[node].end(interrupted);
+        break;
+    }
+  }
+
+  @Override
+  public boolean isFinished() {
+    return isFinished(0);
+  }
+
+  private boolean isFinished(int node) {
+    switch (m_kinds[node]) {
+      case kSequence:
+        return m_currentCommands[node] == m_ends[node];
+      case kParallel:
+        return m_runningCounts[node] == 0;
+      case kRace:
+      case kDeadline:
+        return m_finished[node];
+      default:
+        return m_commands[node].isFinished();
+    }
+  }
+
+  @Override
+  public boolean runsWhenDisabled() {
+    return m_runWhenDisabled;
+  }
+
+}
@@ -0,0 +1,186 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+/**
+ * Rolling execution time statistics of one subsystem, command, or scheduler stage, collected by
+ * the {@link CommandScheduler} while profiling is enabled.
+ *
+ * <p>The statistics cover the most recent {@link #kWindowSize} samples. Minimum, maximum, and
+ * average are exact; percentiles come from a histogram whose buckets are at most 12.5% wide, and
+ * are reported as the upper bound of the bucket they fall in. Recording a sample does not
+ * allocate.
+ */
+public final class ExecutionStats {
+  /**
+   * The number of most recent samples the statistics cover.
+   */
+  public static final int kWindowSize = 250;
+
+  // Durations below this many microseconds get one bucket each. Above it, every power of two is
+  // split into kSubBuckets buckets.
+  private static final int kLinearBuckets = 16;
+  private static final int kSubBuckets = 8;
+  private static final int kSubBucketBits = 3;
+  private static final int kLinearBits = 4;
+  private static final int kBuckets = kLinearBuckets + (31 - kLinearBits) * kSubBuckets;
+
+  private final String m_name;
+  private final long[] m_window = new long[kWindowSize];
+  private final int[] m_histogram = new int[kBuckets];
+  private int m_next;
+  private int m_count;
+  private long m_sum;
+  private long m_last;
+
+  ExecutionStats(String name) {
+    m_name = name;
+  }
+
+  /**
+   * Adds a sample, replacing the oldest one once the window is full.
+   *
+   * @param micros The duration in microseconds.
+   */
+  void record(long micros) {
+    micros = Math.min(Math.max(micros, 0), Integer.MAX_VALUE);
+    if (m_count == kWindowSize) {
+      final long evicted = m_window[m_next];
+      m_sum -= evicted;
+      m_histogram[bucket(evicted)]--;
+    } else {
+      m_count++;
+    }
+    m_window[m_next] = micros;
+    m_sum += micros;
+    m_histogram[bucket(micros)]++;
+    m_last = micros;
+    m_next = m_next + 1 == kWindowSize ? 0 : m_next + 1;
+  }
+
+  private static int bucket(long micros) {
+    if (micros < kLinearBuckets) {
+      return (int) micros;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    final int subBucket = (int) (micros >> (exponent - kSubBucketBits)) - kSubBuckets;
+    return kLinearBuckets + (exponent - kLinearBits) * kSubBuckets + subBucket;
+  }
+
+  private static long bucketUpperBound(int bucket) {
+    if (bucket < kLinearBuckets) {
+      return bucket;
+    }
+    final int exponent = (bucket - kLinearBuckets) / kSubBuckets + kLinearBits;
+    final int subBucket = (bucket - kLinearBuckets) % kSubBuckets;
+    final int shift = exponent - kSubBucketBits;
+    return ((long) (kSubBuckets + subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * Returns the name of what is being timed.
+   *
+   * @return The name.
+   */
+  public String getName() {
+    return m_name;
+  }
+
+  /**
+   * Returns the number of samples the statistics cover, up to {@link #kWindowSize}.
+   *
+   * @return The number of samples.
+   */
+  public int getCount() {
+    return m_count;
+  }
+
+  /**
+   * Returns the most recent sample.
+   *
+   * @return The most recent duration in microseconds, or 0 if there are no samples.
+   */
+  public long getLastMicros() {
+    return m_last;
+  }
+
+  /**
+   * Returns the shortest duration in the window.
+   *
+   * @return The shortest duration in microseconds, or 0 if there are no samples.
+   */
+  public long getMinMicros() {
+    if (m_count == 0) {
+      return 0;
+    }
+    long min = Long.MAX_VALUE;
+    for (int i = 0; i < m_count; i++) {
+      min = Math.min(min, m_window[i]);
+    }
+    return min;
+  }
+
+  /**
+   * Returns the longest duration in the window.
+   *
+   * @return The longest duration in microseconds, or 0 if there are no samples.
+   */
+  public long getMaxMicros() {
+    long max = 0;
+    for (int i = 0; i < m_count; i++) {
+      max = Math.max(max, m_window[i]);
+    }
+    return max;
+  }
+
+  /**
+   * Returns the average duration in the window.
+   *
+   * @return The average duration in microseconds, or 0 if there are no samples.
+   */
+  public double getAverageMicros() {
+    return m_count == 0 ? 0.0 : (double) m_sum / m_count;
+  }
+
+  /**
+   * Returns a percentile of the durations in the window. The result is at least the true
+   * percentile and at most 12.5% above it, and never more than the maximum.
+   *
+   * @param percentile The percentile, from 0 to 100.
+   * @return The duration in microseconds, or 0 if there are no samples.
+   */
+  public long getPercentileMicros(double percentile) {
+    if (m_count == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * m_count));
+    long seen = 0;
+    for (int bucket = 0; bucket < kBuckets; bucket++) {
+      seen += m_histogram[bucket];
+      if (seen >= rank) {
+        return Math.min(bucketUpperBound(bucket), getMaxMicros());
+      }
+    }
+    return getMaxMicros();
+  }
+
+  /**
+   * Returns the 99th percentile of the durations in the window.
+   *
+   * @return The duration in microseconds, or 0 if there are no samples.
+   */
+  public long getP99Micros() {
+    return getPercentileMicros(99.0);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: min %d, avg %.1f, max %d, p99 %d us", m_name, getMinMicros(),
+        getAverageMicros(), getMaxMicros(), getP99Micros());
+  }
+}
@@ -0,0 +1,235 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Dispatches joystick button bindings on button edges.  Polled by the {@link CommandScheduler}
+ * along with its other buttons.
+ *
+ * <p>Once per poll, the engine reads the button state of each joystick port that has bindings as
+ * a single bitmask from the {@link DriverStation}.  The buttons that were pressed or released
+ * since the previous poll are found with bit operations, and only their bindings are called.
+ * Level-triggered bindings are also called on every poll while their button is held.
+ *
+ * <p>Bindings are called in the order they were added, interleaved with the scheduler's other
+ * buttons in the order those were added, so that when several bindings schedule commands with the
+ * same requirements, the one added last wins as it would if every binding were polled in turn.
+ *
+ * <p>Since the state is read from the driver station directly, bindings added here do not go
+ * through {@link edu.wpi.first.wpilibj.GenericHID#getRawButton(int)}.
+ */
+public final class JoystickButtonEngine {
+  private static final int kButtons = 32;
+
+  /**
+   * A binding of a joystick button, called by the engine when the button changes state.
+   */
+  @FunctionalInterface
+  public interface Binding {
+    /**
+     * Updates the binding with the state of its button.
+     *
+     * @param wasPressed whether the button was pressed on the previous poll
+     * @param pressed    whether the button is pressed now
+     */
+    void update(boolean wasPressed, boolean pressed);
+  }
+
+  private final IntUnaryOperator m_buttonSource;
+
+  // Per port: the button state at the last poll, the buttons with bindings, the buttons with
+  // level-triggered bindings, and the bindings of each button and their sequence numbers indexed
+  // by button bit.
+  private final int[] m_lastButtons = new int[DriverStation.kJoystickPorts];
+  private final int[] m_boundButtons = new int[DriverStation.kJoystickPorts];
+  private final int[] m_levelButtons = new int[DriverStation.kJoystickPorts];
+  private final Binding[][][] m_bindings = new Binding[DriverStation.kJoystickPorts][][];
+  private final int[][][] m_sequences = new int[DriverStation.kJoystickPorts][][];
+  private int m_boundPorts;
+
+  // The sequence number of the next binding or scheduler button, in the order they were added
+  private int m_nextSequence;
+
+  // The bindings to call from the last poll, sorted by sequence number, with the state of their
+  // button packed as (wasPressed ? 2 : 0) | (pressed ? 1 : 0).  The bindings before
+  // m_pendingIndex have been called.
+  private Binding[] m_pending = new Binding[kButtons];
+  private int[] m_pendingSequences = new int[kButtons];
+  private int[] m_pendingStates = new int[kButtons];
+  private int m_pendingCount;
+  private int m_pendingIndex;
+
+  JoystickButtonEngine() {
+    this(port -> DriverStation.getInstance().getStickButtons(port));
+  }
+
+  /**
+   * Creates an engine that reads button states from the given source.
+   *
+   * @param buttonSource returns the button bitmask of a joystick port
+   */
+  JoystickButtonEngine(IntUnaryOperator buttonSource) {
+    m_buttonSource = buttonSource;
+  }
+
+  /**
+   * Adds a binding to a joystick button.  The binding first sees the button state as of this call.
+   *
+   * @param port           the joystick port
+   * @param button         the button index, beginning at 1
+   * @param binding        the binding
+   * @param levelTriggered whether to also call the binding on every poll while the button is held,
+   *                       instead of only when the button changes state
+   */
+  public void bind(int port, int button, Binding binding, boolean levelTriggered) {
+    if (port < 0 || port >= DriverStation.kJoystickPorts) {
+      throw new IllegalArgumentException("Joystick index is out of range, should be 0-"
+          + (DriverStation.kJoystickPorts - 1));
+    }
+    if (button < 1 || button > kButtons) {
+      throw new IllegalArgumentException("Button index is out of range, should be 1-" + kButtons);
+    }
+
+    final int bit = button - 1;
+    final int mask = 1 << bit;
+
+    // Edges of a button that is already bound are still relative to the last poll, so that the
+    // existing bindings don't miss them.
+    if ((m_boundButtons[port] & mask) == 0) {
+      final int buttons = m_buttonSource.applyAsInt(port);
+      m_lastButtons[port] = (m_lastButtons[port] & ~mask) | (buttons & mask);
+    }
+
+    appendBinding(port, bit, binding);
+
+    m_boundButtons[port] |= mask;
+    if (levelTriggered) {
+      m_levelButtons[port] |= mask;
+    }
+    m_boundPorts |= 1 << port;
+  }
+
+  /**
+   * Appends a binding to the bindings of a button, with the next sequence number.
+   */
+  private void appendBinding(int port, int bit, Binding binding) {
+    if (m_bindings[port] == null) {
+      m_bindings[port] = new Binding[kButtons][];
+      m_sequences[port] = new int[kButtons][];
+    }
+
+    final int sequence = nextSequence();
+    final Binding[] bindings = m_bindings[port][bit];
+    if (bindings == null) {
+      m_bindings[port][bit] = new Binding[] {binding};
+      m_sequences[port][bit] = new int[] {sequence};
+    } else {
+      final Binding[] grown = Arrays.copyOf(bindings, bindings.length + 1);
+      grown[bindings.length] = binding;
+      m_bindings[port][bit] = grown;
+      final int[] grownSequences = Arrays.copyOf(m_sequences[port][bit], bindings.length + 1);
+      grownSequences[bindings.length] = sequence;
+      m_sequences[port][bit] = grownSequences;
+    }
+  }
+
+  /**
+   * Returns the sequence number of a new binding or scheduler button.  Sequence numbers increase
+   * in the order they are taken, and order the bindings against the scheduler's other buttons.
+   *
+   * @return the sequence number
+   */
+  int nextSequence() {
+    return m_nextSequence++;
+  }
+
+  /**
+   * Reads the button state of every bound joystick port, and collects the bindings of the buttons
+   * that changed state, and of the held buttons with level-triggered bindings.  The bindings are
+   * called by {@link #dispatch(int)}.
+   */
+  void poll() {
+    m_pendingCount = 0;
+    m_pendingIndex = 0;
+    for (int ports = m_boundPorts; ports != 0; ports &= ports - 1) {
+      final int port = Integer.numberOfTrailingZeros(ports);
+      final int buttons = m_buttonSource.applyAsInt(port);
+      final int last = m_lastButtons[port];
+      m_lastButtons[port] = buttons;
+
+      int dispatch = ((buttons ^ last) & m_boundButtons[port]) | (buttons & m_levelButtons[port]);
+      while (dispatch != 0) {
+        final int bit = Integer.numberOfTrailingZeros(dispatch);
+        dispatch &= dispatch - 1;
+
+        final int state = (last >>> bit & 1) << 1 | (buttons >>> bit & 1);
+        final Binding[] bindings = m_bindings[port][bit];
+        final int[] sequences = m_sequences[port][bit];
+        for (int i = 0; i < bindings.length; i++) {
+          addPending(bindings[i], sequences[i], state);
+        }
+      }
+    }
+  }
+
+  /**
+   * Inserts a binding into the pending bindings, keeping them sorted by sequence number.  Few
+   * bindings are pending on any poll, so an insertion sort is enough.
+   */
+  private void addPending(Binding binding, int sequence, int state) {
+    if (m_pendingCount == m_pending.length) {
+      m_pending = Arrays.copyOf(m_pending, m_pendingCount * 2);
+      m_pendingSequences = Arrays.copyOf(m_pendingSequences, m_pendingCount * 2);
+      m_pendingStates = Arrays.copyOf(m_pendingStates, m_pendingCount * 2);
+    }
+
+    int slot = m_pendingCount++;
+    for (; slot > 0 && m_pendingSequences[slot - 1] > sequence; slot--) {
+      m_pending[slot] = m_pending[slot - 1];
+      m_pendingSequences[slot] = m_pendingSequences[slot - 1];
+      m_pendingStates[slot] = m_pendingStates[slot - 1];
+    }
+    m_pending[slot] = binding;
+    m_pendingSequences[slot] = sequence;
+    m_pendingStates[slot] = state;
+  }
+
+  /**
+   * Calls the bindings collected by the last {@link #poll()} that were added before the given
+   * sequence number and have not been called yet, in the order they were added.
+   *
+   * @param sequence the sequence number to stop at
+   */
+  void dispatch(int sequence) {
+    while (m_pendingIndex < m_pendingCount && m_pendingSequences[m_pendingIndex] < sequence) {
+      final int slot = m_pendingIndex++;
+      final Binding binding = m_pending[slot];
+      m_pending[slot] = null;
+      binding.update((m_pendingStates[slot] & 2) != 0, (m_pendingStates[slot] & 1) != 0);
+    }
+  }
+
+  /**
+   * Removes all bindings.
+   */
+  public void clear() {
+    Arrays.fill(m_bindings, null);
+    Arrays.fill(m_sequences, null);
+    Arrays.fill(m_pending, null);
+    m_pendingCount = 0;
+    m_pendingIndex = 0;
+    Arrays.fill(m_boundButtons, 0);
+    Arrays.fill(m_levelButtons, 0);
+    m_boundPorts = 0;
+  }
+}
@@ -51,6 +51,7 @@ public class MecanumControllerCommand extends CommandBase {
   private final boolean m_usePID;
 
   private final Trajectory m_trajectory;
+  private final Trajectory.Sampler m_sampler;
   private final Supplier<Pose2d> m_pose;
   private final SimpleMotorFeedforward m_feedforward;
   private final MecanumDriveKinematics m_kinematics;
@@ -122,6 +123,7 @@ public class MecanumControllerCommand extends CommandBase {
                                 Consumer<MecanumDriveMotorVoltages> outputDriveVoltages,
                                 Subsystem... requirements) {
     m_trajectory = requireNonNullParam(trajectory, "trajectory", "MecanumControllerCommand");
+    m_sampler = m_trajectory.sampler();
     m_pose = requireNonNullParam(pose, "pose", "MecanumControllerCommand");
     m_feedforward = requireNonNullParam(feedforward, "feedforward", "MecanumControllerCommand");
     m_kinematics = requireNonNullParam(kinematics, "kinematics", "MecanumControllerCommand");
@@ -197,6 +199,7 @@ public class MecanumControllerCommand extends CommandBase {
                                 Consumer<MecanumDriveWheelSpeeds> outputWheelSpeeds,
                                 Subsystem... requirements) {
     m_trajectory = requireNonNullParam(trajectory, "trajectory", "MecanumControllerCommand");
+    m_sampler = m_trajectory.sampler();
     m_pose = requireNonNullParam(pose, "pose", "MecanumControllerCommand");
     m_feedforward = new SimpleMotorFeedforward(0, 0, 0);
     m_kinematics = requireNonNullParam(kinematics,
@@ -244,6 +247,7 @@ public class MecanumControllerCommand extends CommandBase {
     m_prevSpeeds = m_kinematics.toWheelSpeeds(
       new ChassisSpeeds(initialXVelocity, initialYVelocity, 0.0));
 
+    m_sampler.reset();
     m_timer.reset();
     m_timer.start();
   }
@@ -254,7 +258,7 @@ public class MecanumControllerCommand extends CommandBase {
     double curTime = m_timer.get();
     double dt = curTime - m_prevTime;
 
-    var desiredState = m_trajectory.sample(curTime);
+    var desiredState = m_sampler.sample(curTime);
     var desiredPose = desiredState.poseMeters;
 
     var poseError = desiredPose.relativeTo(m_pose.get());
@@ -22,12 +22,16 @@ import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
  * default - to add
  * exit conditions and/or other behavior, subclass this class.  The controller calculation and
  * output are performed synchronously in the command's execute() method.
+ *
+ * <p>The setpoint state passed to the output is reused between iterations; copy it if it must be
+ * kept.
  */
 public class ProfiledPIDCommand extends CommandBase {
   protected final ProfiledPIDController m_controller;
   protected DoubleSupplier m_measurement;
   protected Supplier<State> m_goal;
   protected BiConsumer<Double, State> m_useOutput;
+  private final State m_setpoint = new State();
 
   /**
    * Creates a new PIDCommand, which controls the given output with a ProfiledPIDController.
@@ -119,7 +123,7 @@ public class ProfiledPIDCommand extends CommandBase {
   @Override
   public void execute() {
     m_useOutput.accept(m_controller.calculate(m_measurement.getAsDouble(), m_goal.get()),
-                       m_controller.getSetpoint());
+                       m_controller.getSetpoint(m_setpoint));
   }
 
   @Override
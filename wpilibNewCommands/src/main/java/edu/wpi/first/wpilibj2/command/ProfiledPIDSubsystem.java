@@ -22,6 +22,7 @@ public abstract class ProfiledPIDSubsystem extends SubsystemBase {
   protected boolean m_enabled;
 
   private TrapezoidProfile.State m_goal;
+  private final TrapezoidProfile.State m_setpoint = new TrapezoidProfile.State();
 
   /**
    * Creates a new ProfiledPIDSubsystem.
@@ -47,7 +48,8 @@ public abstract class ProfiledPIDSubsystem extends SubsystemBase {
   @Override
   public void periodic() {
     if (m_enabled) {
-      useOutput(m_controller.calculate(getMeasurement(), m_goal), m_controller.getSetpoint());
+      useOutput(m_controller.calculate(getMeasurement(), m_goal),
+          m_controller.getSetpoint(m_setpoint));
     }
   }
 
@@ -77,7 +79,8 @@ public abstract class ProfiledPIDSubsystem extends SubsystemBase {
    * Uses the output from the ProfiledPIDController.
    *
    * @param output   the output of the ProfiledPIDController
-   * @param setpoint the setpoint state of the ProfiledPIDController, for feedforward
+   * @param setpoint the setpoint state of the ProfiledPIDController, for feedforward.  The state is
+   *                 reused between calls; copy it if it must be kept.
    */
   protected abstract void useOutput(double output, State setpoint);
 
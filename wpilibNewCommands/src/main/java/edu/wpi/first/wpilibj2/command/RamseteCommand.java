@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -34,12 +34,18 @@ import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
  * PID functionality of a "smart" motor controller) may use the secondary constructor that omits
  * the PID and feedforward functionality, returning only the raw wheel speeds from the RAMSETE
  * controller.
+ *
+ * <p>Sampling the trajectory and the controller math do not allocate: each iteration samples the
+ * trajectory into a reused state and computes the chassis and wheel speeds into reused objects.
+ * The outputs are still boxed to be passed to the output {@link BiConsumer}, and the pose and wheel
+ * speed suppliers may allocate.
  */
 @SuppressWarnings("PMD.TooManyFields")
 public class RamseteCommand extends CommandBase {
   private final Timer m_timer = new Timer();
   private final boolean m_usePID;
   private final Trajectory m_trajectory;
+  private final Trajectory.Sampler m_sampler;
   private final Supplier<Pose2d> m_pose;
   private final RamseteController m_follower;
   private final SimpleMotorFeedforward m_feedforward;
@@ -48,7 +54,10 @@ public class RamseteCommand extends CommandBase {
   private final PIDController m_leftController;
   private final PIDController m_rightController;
   private final BiConsumer<Double, Double> m_output;
-  private DifferentialDriveWheelSpeeds m_prevSpeeds;
+  private final Trajectory.MutableState m_desiredState = new Trajectory.MutableState();
+  private final ChassisSpeeds m_chassisSpeeds = new ChassisSpeeds();
+  private final DifferentialDriveWheelSpeeds m_targetSpeeds = new DifferentialDriveWheelSpeeds();
+  private final DifferentialDriveWheelSpeeds m_prevSpeeds = new DifferentialDriveWheelSpeeds();
   private double m_prevTime;
 
   /**
@@ -86,6 +95,7 @@ public class RamseteCommand extends CommandBase {
                         BiConsumer<Double, Double> outputVolts,
                         Subsystem... requirements) {
     m_trajectory = requireNonNullParam(trajectory, "trajectory", "RamseteCommand");
+    m_sampler = m_trajectory.sampler();
     m_pose = requireNonNullParam(pose, "pose", "RamseteCommand");
     m_follower = requireNonNullParam(controller, "controller", "RamseteCommand");
     m_feedforward = feedforward;
@@ -121,6 +131,7 @@ public class RamseteCommand extends CommandBase {
                         BiConsumer<Double, Double> outputMetersPerSecond,
                         Subsystem... requirements) {
     m_trajectory = requireNonNullParam(trajectory, "trajectory", "RamseteCommand");
+    m_sampler = m_trajectory.sampler();
     m_pose = requireNonNullParam(pose, "pose", "RamseteCommand");
     m_follower = requireNonNullParam(follower, "follower", "RamseteCommand");
     m_kinematics = requireNonNullParam(kinematics, "kinematics", "RamseteCommand");
@@ -139,12 +150,11 @@ public class RamseteCommand extends CommandBase {
   @Override
   public void initialize() {
     m_prevTime = 0;
-    var initialState = m_trajectory.sample(0);
-    m_prevSpeeds = m_kinematics.toWheelSpeeds(
-        new ChassisSpeeds(initialState.velocityMetersPerSecond,
-            0,
-            initialState.curvatureRadPerMeter
-                * initialState.velocityMetersPerSecond));
+    m_sampler.reset();
+    var initialState = m_sampler.sample(0, m_desiredState);
+    m_kinematics.toWheelSpeeds(initialState.velocityMetersPerSecond,
+        initialState.curvatureRadPerMeter * initialState.velocityMetersPerSecond,
+        m_prevSpeeds);
     m_timer.reset();
     m_timer.start();
     if (m_usePID) {
@@ -158,11 +168,13 @@ public class RamseteCommand extends CommandBase {
     double curTime = m_timer.get();
     double dt = curTime - m_prevTime;
 
-    var targetWheelSpeeds = m_kinematics.toWheelSpeeds(
-        m_follower.calculate(m_pose.get(), m_trajectory.sample(curTime)));
+    m_follower.calculate(m_pose.get(), m_sampler.sample(curTime, m_desiredState),
+        m_chassisSpeeds);
+    m_kinematics.toWheelSpeeds(m_chassisSpeeds.vxMetersPerSecond,
+        m_chassisSpeeds.omegaRadiansPerSecond, m_targetSpeeds);
 
-    var leftSpeedSetpoint = targetWheelSpeeds.leftMetersPerSecond;
-    var rightSpeedSetpoint = targetWheelSpeeds.rightMetersPerSecond;
+    var leftSpeedSetpoint = m_targetSpeeds.leftMetersPerSecond;
+    var rightSpeedSetpoint = m_targetSpeeds.rightMetersPerSecond;
 
     double leftOutput;
     double rightOutput;
@@ -176,12 +188,14 @@ public class RamseteCommand extends CommandBase {
           m_feedforward.calculate(rightSpeedSetpoint,
               (rightSpeedSetpoint - m_prevSpeeds.rightMetersPerSecond) / dt);
 
+      var measuredSpeeds = m_speeds.get();
+
       leftOutput = leftFeedforward
-          + m_leftController.calculate(m_speeds.get().leftMetersPerSecond,
+          + m_leftController.calculate(measuredSpeeds.leftMetersPerSecond,
           leftSpeedSetpoint);
 
       rightOutput = rightFeedforward
-          + m_rightController.calculate(m_speeds.get().rightMetersPerSecond,
+          + m_rightController.calculate(measuredSpeeds.rightMetersPerSecond,
           rightSpeedSetpoint);
     } else {
       leftOutput = leftSpeedSetpoint;
@@ -191,7 +205,8 @@ public class RamseteCommand extends CommandBase {
     m_output.accept(leftOutput, rightOutput);
 
     m_prevTime = curTime;
-    m_prevSpeeds = targetWheelSpeeds;
+    m_prevSpeeds.leftMetersPerSecond = leftSpeedSetpoint;
+    m_prevSpeeds.rightMetersPerSecond = rightSpeedSetpoint;
   }
 
   @Override
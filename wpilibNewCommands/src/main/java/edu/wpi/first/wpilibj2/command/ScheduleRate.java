@@ -0,0 +1,95 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+/**
+ * How often a subsystem's periodic method or a command runs, as every Nth iteration of the
+ * {@link CommandScheduler} starting at a phase offset.  Used internally by the
+ * {@link CommandScheduler}.
+ */
+final class ScheduleRate {
+  // The requested period in seconds, or 0 if the rate was given in iterations
+  private final double m_period;
+  // Whether the scheduler picks the phase
+  private final boolean m_autoPhase;
+  private int m_divisor;
+  private int m_phase;
+
+  /**
+   * Creates a rate of every given number of iterations.
+   *
+   * @param divisor   the number of iterations between runs
+   * @param phase     the iteration in each group of divisor iterations to run on
+   * @param autoPhase whether the scheduler picks the phase
+   */
+  ScheduleRate(int divisor, int phase, boolean autoPhase) {
+    if (divisor < 1) {
+      throw new IllegalArgumentException("Rate divisor must be at least 1");
+    }
+    if (phase < 0 || phase >= divisor) {
+      throw new IllegalArgumentException("Phase must be at least 0 and less than the divisor");
+    }
+    m_period = 0.0;
+    m_autoPhase = autoPhase;
+    m_divisor = divisor;
+    m_phase = phase;
+  }
+
+  /**
+   * Creates a rate of a given period, with a phase the scheduler picks.
+   *
+   * @param period     the period in seconds
+   * @param loopPeriod the period the scheduler is run at, in seconds
+   */
+  ScheduleRate(double period, double loopPeriod) {
+    if (Double.isNaN(period) || period <= 0.0) {
+      throw new IllegalArgumentException("Period must be positive");
+    }
+    m_period = period;
+    m_autoPhase = true;
+    setLoopPeriod(loopPeriod);
+  }
+
+  /**
+   * Converts a rate given as a period to iterations of the scheduler.
+   *
+   * @param loopPeriod the period the scheduler is run at, in seconds
+   */
+  void setLoopPeriod(double loopPeriod) {
+    if (m_period > 0.0) {
+      m_divisor = (int) Math.max(1, Math.round(m_period / loopPeriod));
+      m_phase = 0;
+    }
+  }
+
+  boolean isAutoPhase() {
+    return m_autoPhase;
+  }
+
+  int getDivisor() {
+    return m_divisor;
+  }
+
+  int getPhase() {
+    return m_phase;
+  }
+
+  void setPhase(int phase) {
+    m_phase = phase;
+  }
+
+  /**
+   * Returns whether to run on a given iteration of the scheduler.
+   *
+   * @param tick the number of iterations the scheduler has run before this one
+   * @return whether to run
+   */
+  boolean isDue(long tick) {
+    return (tick - m_phase) % m_divisor == 0;
+  }
+}
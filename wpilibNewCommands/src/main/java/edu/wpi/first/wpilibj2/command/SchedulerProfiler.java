@@ -0,0 +1,183 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Times the stages of {@link CommandScheduler#run()} while profiling is enabled.  Used internally
+ * by the {@link CommandScheduler}.
+ *
+ * <p>Time is measured as splits: each call to {@link #split()} returns the time since the
+ * previous one, so consecutive stages are timed with one timestamp each.
+ */
+class SchedulerProfiler {
+  private static final long kMinPrintPeriod = 1000000; // us
+  private static final int kOffendersToPrint = 3;
+
+  // Indexed by the subsystem IDs the scheduler assigns
+  private ExecutionStats[] m_subsystemStats = new ExecutionStats[8];
+  private final ExecutionStats m_loopStats = new ExecutionStats("CommandScheduler");
+  private final ExecutionStats m_buttonStats = new ExecutionStats("Buttons");
+  private final ExecutionStats m_executeActionStats = new ExecutionStats("onCommandExecute");
+
+  // The stats recorded during the current loop, to find the slowest ones on an overrun.
+  private final List<ExecutionStats> m_loopEntries = new ArrayList<>();
+  private final ExecutionStats[] m_offenders = new ExecutionStats[kOffendersToPrint];
+
+  private long m_overrunThreshold = 20000; // us
+  private long m_loopStartTime;
+  private long m_splitTime;
+  private long m_lastOverrunPrintTime;
+
+  void setOverrunThreshold(long micros) {
+    m_overrunThreshold = micros;
+  }
+
+  ExecutionStats getLoopStats() {
+    return m_loopStats;
+  }
+
+  ExecutionStats getButtonStats() {
+    return m_buttonStats;
+  }
+
+  ExecutionStats getExecuteActionStats() {
+    return m_executeActionStats;
+  }
+
+  /**
+   * Returns the stats of a subsystem, creating them the first time.
+   */
+  ExecutionStats getSubsystemStats(int id, Subsystem subsystem) {
+    if (id >= m_subsystemStats.length) {
+      m_subsystemStats = Arrays.copyOf(m_subsystemStats, Math.max(id + 1,
+          m_subsystemStats.length * 2));
+    }
+    if (m_subsystemStats[id] == null) {
+      m_subsystemStats[id] = new ExecutionStats(getName(subsystem));
+    }
+    return m_subsystemStats[id];
+  }
+
+  private static String getName(Subsystem subsystem) {
+    String name = subsystem instanceof SubsystemBase ? ((SubsystemBase) subsystem).getName() : null;
+    if (name == null || name.isEmpty()) {
+      // Anonymous classes have no simple name
+      name = subsystem.getClass().getName();
+      name = name.substring(name.lastIndexOf('.') + 1);
+    }
+    return name;
+  }
+
+  ExecutionStats findSubsystemStats(int id) {
+    return id < m_subsystemStats.length ? m_subsystemStats[id] : null;
+  }
+
+  void removeSubsystem(int id) {
+    if (id < m_subsystemStats.length) {
+      m_subsystemStats[id] = null;
+    }
+  }
+
+  /**
+   * Marks the start of a scheduler loop.
+   */
+  void startLoop() {
+    m_loopStartTime = RobotController.getFPGATime();
+    m_splitTime = m_loopStartTime;
+    m_loopEntries.clear();
+  }
+
+  /**
+   * Returns the time since the previous split, or since the start of the loop.
+   *
+   * @return The elapsed time in microseconds.
+   */
+  long split() {
+    final long now = RobotController.getFPGATime();
+    final long elapsed = now - m_splitTime;
+    m_splitTime = now;
+    return elapsed;
+  }
+
+  /**
+   * Records a duration as part of the current loop.
+   */
+  void record(ExecutionStats stats, long micros) {
+    stats.record(micros);
+    m_loopEntries.add(stats);
+  }
+
+  /**
+   * Marks the end of a scheduler loop, and prints the slowest stages of the loop if it overran.
+   */
+  void endLoop() {
+    final long now = RobotController.getFPGATime();
+    final long loopTime = now - m_loopStartTime;
+    m_loopStats.record(loopTime);
+
+    if (loopTime > m_overrunThreshold && now - m_lastOverrunPrintTime > kMinPrintPeriod) {
+      m_lastOverrunPrintTime = now;
+      System.out.format("CommandScheduler loop time of %.6fs overrun\n", loopTime / 1.0e6);
+      for (ExecutionStats offender : findOffenders()) {
+        if (offender == null) {
+          break;
+        }
+        System.out.format("\t%s: %.6fs\n", offender.getName(), offender.getLastMicros() / 1.0e6);
+      }
+    }
+  }
+
+  /**
+   * Finds the stages of the current loop that took the longest, longest first.
+   */
+  private ExecutionStats[] findOffenders() {
+    Arrays.fill(m_offenders, null);
+    for (ExecutionStats stats : m_loopEntries) {
+      ExecutionStats candidate = stats;
+      for (int i = 0; i < kOffendersToPrint && candidate != null; i++) {
+        if (m_offenders[i] == null
+            || candidate.getLastMicros() > m_offenders[i].getLastMicros()) {
+          final ExecutionStats displaced = m_offenders[i];
+          m_offenders[i] = candidate;
+          candidate = displaced;
+        }
+      }
+    }
+    return m_offenders;
+  }
+
+  /**
+   * Returns one line per subsystem and stage, plus the given command stats, slowest on average
+   * first.
+   */
+  String[] getSummary(List<ExecutionStats> commandStats) {
+    List<ExecutionStats> rows = new ArrayList<>(commandStats);
+    for (ExecutionStats stats : m_subsystemStats) {
+      if (stats != null) {
+        rows.add(stats);
+      }
+    }
+    rows.add(m_buttonStats);
+    rows.add(m_executeActionStats);
+    rows.sort(Comparator.comparingDouble(ExecutionStats::getAverageMicros).reversed());
+    rows.add(0, m_loopStats);
+
+    String[] summary = new String[rows.size()];
+    for (int i = 0; i < summary.length; i++) {
+      summary[i] = rows.get(i).toString();
+    }
+    return summary;
+  }
+}
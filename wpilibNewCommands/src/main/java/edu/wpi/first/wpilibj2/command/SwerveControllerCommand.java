@@ -41,6 +41,7 @@ public class SwerveControllerCommand extends CommandBase {
   private Pose2d m_finalPose;
 
   private final Trajectory m_trajectory;
+  private final Trajectory.Sampler m_sampler;
   private final Supplier<Pose2d> m_pose;
   private final SwerveDriveKinematics m_kinematics;
   private final PIDController m_xController;
@@ -85,6 +86,7 @@ public class SwerveControllerCommand extends CommandBase {
                                Consumer<SwerveModuleState[]> outputModuleStates,
                                Subsystem... requirements) {
     m_trajectory = requireNonNullParam(trajectory, "trajectory", "SwerveControllerCommand");
+    m_sampler = m_trajectory.sampler();
     m_pose = requireNonNullParam(pose, "pose", "SwerveControllerCommand");
     m_kinematics = requireNonNullParam(kinematics, "kinematics", "SwerveControllerCommand");
 
@@ -105,6 +107,7 @@ public class SwerveControllerCommand extends CommandBase {
     // Sample final pose to get robot rotation
     m_finalPose = m_trajectory.sample(m_trajectory.getTotalTimeSeconds()).poseMeters;
 
+    m_sampler.reset();
     m_timer.reset();
     m_timer.start();
   }
@@ -114,7 +117,7 @@ public class SwerveControllerCommand extends CommandBase {
   public void execute() {
     double curTime = m_timer.get();
 
-    var desiredState = m_trajectory.sample(curTime);
+    var desiredState = m_sampler.sample(curTime);
     var desiredPose = desiredState.poseMeters;
 
     var poseError = desiredPose.relativeTo(m_pose.get());
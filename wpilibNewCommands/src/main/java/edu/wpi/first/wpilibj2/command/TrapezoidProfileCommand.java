@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -18,10 +18,14 @@ import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
 /**
  * A command that runs a {@link TrapezoidProfile}.  Useful for smoothly controlling mechanism
  * motion.
+ *
+ * <p>The profile is sampled into the same {@link State} every iteration, so an output that needs
+ * to keep a state for longer than its call should copy it.
  */
 public class TrapezoidProfileCommand extends CommandBase {
   private final TrapezoidProfile m_profile;
   private final Consumer<State> m_output;
+  private final State m_state = new State();
 
   private final Timer m_timer = new Timer();
 
@@ -49,7 +53,7 @@ public class TrapezoidProfileCommand extends CommandBase {
 
   @Override
   public void execute() {
-    m_output.accept(m_profile.calculate(m_timer.get()));
+    m_output.accept(m_profile.sample(m_timer.get(), m_state));
   }
 
   @Override
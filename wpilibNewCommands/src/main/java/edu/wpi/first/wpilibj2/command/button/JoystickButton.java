@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2008-2019 FIRST. All Rights Reserved.                        */
+/* Copyright (c) 2008-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -8,11 +8,17 @@
 package edu.wpi.first.wpilibj2.command.button;
 
 import edu.wpi.first.wpilibj.GenericHID;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.JoystickButtonEngine;
 
 import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
 
 /**
  * A {@link Button} that gets its state from a {@link GenericHID}.
+ *
+ * <p>Its bindings are dispatched by the scheduler's {@link JoystickButtonEngine}, which reads the
+ * state of every button of a joystick at once and only updates the bindings of buttons that
+ * changed.  Subclasses are polled through {@link #get()} instead, since they may override it.
  */
 public class JoystickButton extends Button {
   private final GenericHID m_joystick;
@@ -41,4 +47,16 @@ public class JoystickButton extends Button {
   public boolean get() {
     return m_joystick.getRawButton(m_buttonNumber);
   }
+
+  @Override
+  void addBinding(JoystickButtonEngine.Binding binding, boolean levelTriggered) {
+    if (getClass() != JoystickButton.class || m_buttonNumber < 1 || m_buttonNumber > 32) {
+      // Out of range buttons report their errors through get()
+      super.addBinding(binding, levelTriggered);
+      return;
+    }
+
+    CommandScheduler.getInstance().getJoystickButtonEngine()
+        .bind(m_joystick.getPort(), m_buttonNumber, binding, levelTriggered);
+  }
 }
@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2008-2019 FIRST. All Rights Reserved.                        */
+/* Copyright (c) 2008-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -12,6 +12,7 @@ import java.util.function.BooleanSupplier;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
+import edu.wpi.first.wpilibj2.command.JoystickButtonEngine;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 
 import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
@@ -60,29 +61,41 @@ public class Trigger {
   }
 
   /**
-   * Starts the given command whenever the trigger just becomes active.
+   * Adds a binding of this trigger to the scheduler, which updates it with the state of the
+   * trigger on every iteration.  Subclasses that can detect state changes without polling
+   * {@link #get()} may bind elsewhere.
    *
-   * @param command       the command to start
-   * @param interruptible whether the command is interruptible
-   * @return this trigger, so calls can be chained
+   * @param binding        the binding to add
+   * @param levelTriggered whether the binding must also be updated while the trigger stays active
    */
-  public Trigger whenActive(final Command command, boolean interruptible) {
-    requireNonNullParam(command, "command", "whenActive");
-
+  void addBinding(JoystickButtonEngine.Binding binding, boolean levelTriggered) {
     CommandScheduler.getInstance().addButton(new Runnable() {
       private boolean m_pressedLast = get();
 
       @Override
       public void run() {
         boolean pressed = get();
-
-        if (!m_pressedLast && pressed) {
-          command.schedule(interruptible);
-        }
-
+        binding.update(m_pressedLast, pressed);
         m_pressedLast = pressed;
       }
     });
+  }
+
+  /**
+   * Starts the given command whenever the trigger just becomes active.
+   *
+   * @param command       the command to start
+   * @param interruptible whether the command is interruptible
+   * @return this trigger, so calls can be chained
+   */
+  public Trigger whenActive(final Command command, boolean interruptible) {
+    requireNonNullParam(command, "command", "whenActive");
+
+    addBinding((pressedLast, pressed) -> {
+      if (!pressedLast && pressed) {
+        command.schedule(interruptible);
+      }
+    }, false);
 
     return this;
   }
@@ -122,22 +135,13 @@ public class Trigger {
   public Trigger whileActiveContinuous(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "whileActiveContinuous");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
-      private boolean m_pressedLast = get();
-
-      @Override
-      public void run() {
-        boolean pressed = get();
-
-        if (pressed) {
-          command.schedule(interruptible);
-        } else if (m_pressedLast) {
-          command.cancel();
-        }
-
-        m_pressedLast = pressed;
+    addBinding((pressedLast, pressed) -> {
+      if (pressed) {
+        command.schedule(interruptible);
+      } else if (pressedLast) {
+        command.cancel();
       }
-    });
+    }, true);
     return this;
   }
 
@@ -176,22 +180,13 @@ public class Trigger {
   public Trigger whileActiveOnce(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "whileActiveOnce");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
-      private boolean m_pressedLast = get();
-
-      @Override
-      public void run() {
-        boolean pressed = get();
-
-        if (!m_pressedLast && pressed) {
-          command.schedule(interruptible);
-        } else if (m_pressedLast && !pressed) {
-          command.cancel();
-        }
-
-        m_pressedLast = pressed;
+    addBinding((pressedLast, pressed) -> {
+      if (!pressedLast && pressed) {
+        command.schedule(interruptible);
+      } else if (pressedLast && !pressed) {
+        command.cancel();
       }
-    });
+    }, false);
     return this;
   }
 
@@ -216,20 +211,11 @@ public class Trigger {
   public Trigger whenInactive(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "whenInactive");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
-      private boolean m_pressedLast = get();
-
-      @Override
-      public void run() {
-        boolean pressed = get();
-
-        if (m_pressedLast && !pressed) {
-          command.schedule(interruptible);
-        }
-
-        m_pressedLast = pressed;
+    addBinding((pressedLast, pressed) -> {
+      if (pressedLast && !pressed) {
+        command.schedule(interruptible);
       }
-    });
+    }, false);
     return this;
   }
 
@@ -264,24 +250,15 @@ public class Trigger {
   public Trigger toggleWhenActive(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "toggleWhenActive");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
-      private boolean m_pressedLast = get();
-
-      @Override
-      public void run() {
-        boolean pressed = get();
-
-        if (!m_pressedLast && pressed) {
-          if (command.isScheduled()) {
-            command.cancel();
-          } else {
-            command.schedule(interruptible);
-          }
+    addBinding((pressedLast, pressed) -> {
+      if (!pressedLast && pressed) {
+        if (command.isScheduled()) {
+          command.cancel();
+        } else {
+          command.schedule(interruptible);
         }
-
-        m_pressedLast = pressed;
       }
-    });
+    }, false);
     return this;
   }
 
@@ -304,20 +281,11 @@ public class Trigger {
   public Trigger cancelWhenActive(final Command command) {
     requireNonNullParam(command, "command", "cancelWhenActive");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
-      private boolean m_pressedLast = get();
-
-      @Override
-      public void run() {
-        boolean pressed = get();
-
-        if (!m_pressedLast && pressed) {
-          command.cancel();
-        }
-
-        m_pressedLast = pressed;
+    addBinding((pressedLast, pressed) -> {
+      if (!pressedLast && pressed) {
+        command.cancel();
       }
-    });
+    }, false);
     return this;
   }
 
@@ -0,0 +1,95 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AsyncTrajectoryCommandTest extends CommandTestBase {
+  @Test
+  void waitsForTrajectoryTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    var future = new CompletableFuture<Trajectory>();
+    var trajectory = new Trajectory(List.of(new Trajectory.State()));
+    MockCommandHolder followerHolder = new MockCommandHolder(true);
+    Command follower = followerHolder.getMock();
+
+    var command = new AsyncTrajectoryCommand(() -> future, t -> {
+      assertSame(trajectory, t);
+      return follower;
+    });
+
+    scheduler.schedule(command);
+    scheduler.run();
+    scheduler.run();
+
+    assertTrue(scheduler.isScheduled(command));
+    assertFalse(command.isFollowing());
+    verify(follower, never()).initialize();
+
+    future.complete(trajectory);
+    scheduler.run();
+
+    assertTrue(command.isFollowing());
+    verify(follower).initialize();
+    verify(follower).execute();
+
+    followerHolder.setFinished(true);
+    scheduler.run();
+
+    assertFalse(scheduler.isScheduled(command));
+    verify(follower).end(false);
+  }
+
+  @Test
+  void failedTrajectoryTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    MockCommandHolder followerHolder = new MockCommandHolder(true);
+    Command follower = followerHolder.getMock();
+
+    var command = new AsyncTrajectoryCommand(
+        () -> CompletableFuture.failedFuture(new IllegalStateException("test")),
+        t -> follower);
+
+    scheduler.schedule(command);
+    scheduler.run();
+
+    assertFalse(scheduler.isScheduled(command));
+    verify(follower, never()).initialize();
+  }
+
+  @Test
+  void interruptedTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    MockCommandHolder followerHolder = new MockCommandHolder(true);
+    Command follower = followerHolder.getMock();
+
+    var command = new AsyncTrajectoryCommand(
+        () -> CompletableFuture.completedFuture(new Trajectory(List.of(new Trajectory.State()))),
+        t -> follower);
+
+    scheduler.schedule(command);
+    scheduler.run();
+    scheduler.cancel(command);
+
+    verify(follower).end(true);
+  }
+}
@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2018-2019 FIRST. All Rights Reserved.                        */
+/* Copyright (c) 2018-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -9,9 +9,12 @@ package edu.wpi.first.wpilibj2.command;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @SuppressWarnings("PMD.TooManyMethods")
@@ -61,6 +64,83 @@ class CommandRequirementsTest extends CommandTestBase {
     assertFalse(scheduler.isScheduled(interrupter));
   }
 
+  @Test
+  void requiringTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Subsystem system1 = new TestSubsystem();
+    Subsystem system2 = new TestSubsystem();
+    Subsystem system3 = new TestSubsystem();
+
+    MockCommandHolder command1Holder = new MockCommandHolder(true, system1, system2);
+    Command command1 = command1Holder.getMock();
+    MockCommandHolder command2Holder = new MockCommandHolder(true, system3);
+    Command command2 = command2Holder.getMock();
+
+    scheduler.schedule(command1, command2);
+
+    assertEquals(command1, scheduler.requiring(system1));
+    assertEquals(command1, scheduler.requiring(system2));
+    assertEquals(command2, scheduler.requiring(system3));
+    assertNull(scheduler.requiring(new TestSubsystem()));
+  }
+
+  @Test
+  void requirementReleaseTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Subsystem system1 = new TestSubsystem();
+    Subsystem system2 = new TestSubsystem();
+
+    MockCommandHolder finishedHolder = new MockCommandHolder(true, system1);
+    Command finished = finishedHolder.getMock();
+    MockCommandHolder canceledHolder = new MockCommandHolder(true, system2);
+    Command canceled = canceledHolder.getMock();
+
+    scheduler.schedule(finished, canceled);
+    finishedHolder.setFinished(true);
+    scheduler.run();
+    scheduler.cancel(canceled);
+
+    assertNull(scheduler.requiring(system1));
+    assertNull(scheduler.requiring(system2));
+
+    MockCommandHolder nextHolder = new MockCommandHolder(true, system1, system2);
+    Command next = nextHolder.getMock();
+    scheduler.schedule(false, next);
+
+    assertTrue(scheduler.isScheduled(next));
+    assertEquals(next, scheduler.requiring(system1));
+    assertEquals(next, scheduler.requiring(system2));
+  }
+
+  @Test
+  void finishedCommandRemovalTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    MockCommandHolder command1Holder = new MockCommandHolder(true);
+    Command command1 = command1Holder.getMock();
+    MockCommandHolder command2Holder = new MockCommandHolder(true);
+    Command command2 = command2Holder.getMock();
+    MockCommandHolder command3Holder = new MockCommandHolder(true);
+    Command command3 = command3Holder.getMock();
+
+    scheduler.schedule(command1, command2, command3);
+    command2Holder.setFinished(true);
+    scheduler.run();
+    scheduler.cancel(command1);
+    scheduler.run();
+
+    verify(command1).end(true);
+    verify(command2).end(false);
+    verify(command2).execute();
+    verify(command3, never()).end(true);
+    verify(command3, never()).end(false);
+    assertFalse(scheduler.isScheduled(command1));
+    assertFalse(scheduler.isScheduled(command2));
+    assertTrue(scheduler.isScheduled(command3));
+  }
+
   @Test
   void defaultCommandRequirementErrorTest() {
     CommandScheduler scheduler = new CommandScheduler();
@@ -0,0 +1,165 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledCommandGroupTest extends CommandTestBase {
+  private static final int kTicks = 30;
+
+  /**
+   * Logs the calls to each command of a tree, with the scheduler iteration they were made in.
+   */
+  private static class Recorder {
+    final Map<String, List<String>> m_log = new TreeMap<>();
+    int m_tick;
+
+    Command command(String name, int duration) {
+      List<String> log = new ArrayList<>();
+      m_log.put(name, log);
+      return new CommandBase() {
+        private int m_executions;
+
+        @Override
+        public void initialize() {
+          m_executions = 0;
+          log.add(m_tick + " initialize");
+        }
+
+        @Override
+        public void execute() {
+          m_executions++;
+          log.add(m_tick + " execute");
+        }
+
+        @Override
+        public void end(boolean interrupted) {
+          log.add(m_tick + " end " + interrupted);
+        }
+
+        @Override
+        public boolean isFinished() {
+          return m_executions >= duration;
+        }
+      };
+    }
+
+    CommandGroupBase tree() {
+      return new SequentialCommandGroup(
+          new ParallelCommandGroup(command("a", 2),
+              new SequentialCommandGroup(command("b", 1), command("c", 2))),
+          new ParallelRaceGroup(command("d", 3),
+              new ParallelDeadlineGroup(command("e", 2), command("f", 1), command("g", 5))),
+          new ParallelDeadlineGroup(
+              new ParallelCommandGroup(command("h", 1), command("i", 3)),
+              command("j", 10),
+              new ParallelRaceGroup(command("k", 2), command("l", 4))),
+          new SequentialCommandGroup(),
+          command("m", 1).withTimeout(10));
+    }
+  }
+
+  private static Map<String, List<String>> run(Recorder recorder, Command command,
+                                               int cancelTick) {
+    CommandScheduler scheduler = new CommandScheduler();
+    scheduler.schedule(command);
+    for (recorder.m_tick = 0; recorder.m_tick < kTicks; recorder.m_tick++) {
+      if (recorder.m_tick == cancelTick) {
+        scheduler.cancel(command);
+      }
+      scheduler.run();
+    }
+    return recorder.m_log;
+  }
+
+  @Test
+  void matchesGroupsTest() {
+    Recorder groups = new Recorder();
+    Recorder compiled = new Recorder();
+
+    assertEquals(run(groups, groups.tree(), -1),
+        run(compiled, compiled.tree().compile(), -1));
+  }
+
+  @Test
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  void matchesInterruptedGroupsTest() {
+    for (int cancelTick = 0; cancelTick < 15; cancelTick++) {
+      CommandGroupBase.clearGroupedCommands();
+      Recorder groups = new Recorder();
+      Recorder compiled = new Recorder();
+
+      assertEquals(run(groups, groups.tree(), cancelTick),
+          run(compiled, compiled.tree().compile(), cancelTick), "Canceled at " + cancelTick);
+    }
+  }
+
+  @Test
+  void groupingTest() {
+    Command inner = new SequentialCommandGroup();
+    CommandGroupBase root = new ParallelCommandGroup(inner);
+
+    assertThrows(IllegalArgumentException.class, () -> ((CommandGroupBase) inner).compile());
+
+    root.compile();
+
+    assertThrows(IllegalArgumentException.class, root::compile);
+
+    CommandScheduler scheduler = new CommandScheduler();
+    assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(root));
+    assertThrows(IllegalArgumentException.class, () -> new SequentialCommandGroup(root));
+  }
+
+  @Test
+  void propertiesTest() {
+    Subsystem system1 = new TestSubsystem();
+    Subsystem system2 = new TestSubsystem();
+
+    MockCommandHolder command1Holder = new MockCommandHolder(true, system1);
+    MockCommandHolder command2Holder = new MockCommandHolder(false, system2);
+    CommandGroupBase root = new ParallelCommandGroup(command1Holder.getMock(),
+        new SequentialCommandGroup(command2Holder.getMock()));
+
+    Command compiled = root.compile();
+
+    assertEquals(root.getRequirements(), compiled.getRequirements());
+    assertFalse(compiled.runsWhenDisabled());
+    assertEquals("ParallelCommandGroup", compiled.getName());
+  }
+
+  @Test
+  void subclassNotFlattenedTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Counter counter = new Counter();
+    CommandGroupBase subclass = new SequentialCommandGroup(new InstantCommand()) {
+      @Override
+      public void execute() {
+        counter.increment();
+        super.execute();
+      }
+    };
+
+    Command compiled = new ParallelCommandGroup(subclass).compile();
+    scheduler.schedule(compiled);
+    scheduler.run();
+
+    assertEquals(1, counter.m_counter);
+    assertTrue(compiled.isFinished());
+  }
+}
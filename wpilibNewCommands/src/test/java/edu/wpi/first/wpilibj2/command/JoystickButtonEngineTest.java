@@ -0,0 +1,157 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JoystickButtonEngineTest extends CommandTestBase {
+  private final int[] m_buttons = new int[6];
+  private final JoystickButtonEngine m_engine = new JoystickButtonEngine(port -> m_buttons[port]);
+  private final List<String> m_updates = new ArrayList<>();
+
+  private JoystickButtonEngine.Binding recorder(String name) {
+    return (wasPressed, pressed) -> m_updates.add(name + ":" + wasPressed + "->" + pressed);
+  }
+
+  private void poll() {
+    m_engine.poll();
+    m_engine.dispatch(Integer.MAX_VALUE);
+  }
+
+  @Test
+  void edgeTest() {
+    m_engine.bind(0, 1, recorder("a"), false);
+
+    poll();
+    assertEquals(List.of(), m_updates);
+
+    m_buttons[0] = 0x1;
+    poll();
+    poll();
+    m_buttons[0] = 0;
+    poll();
+    poll();
+
+    assertEquals(List.of("a:false->true", "a:true->false"), m_updates);
+  }
+
+  @Test
+  void levelTriggeredTest() {
+    m_engine.bind(0, 1, recorder("a"), true);
+
+    m_buttons[0] = 0x1;
+    poll();
+    poll();
+    m_buttons[0] = 0;
+    poll();
+    poll();
+
+    assertEquals(List.of("a:false->true", "a:true->true", "a:true->false"), m_updates);
+  }
+
+  @Test
+  void onlyChangedButtonsTest() {
+    m_engine.bind(1, 3, recorder("p1b3"), false);
+    m_engine.bind(1, 32, recorder("p1b32"), false);
+    m_engine.bind(5, 3, recorder("p5b3"), false);
+
+    m_buttons[1] = 1 << 31 | 0x1;
+    m_buttons[5] = 0x4;
+    poll();
+
+    assertEquals(List.of("p1b32:false->true", "p5b3:false->true"), m_updates);
+  }
+
+  @Test
+  void bindingOrderTest() {
+    m_engine.bind(0, 2, recorder("first"), false);
+    m_engine.bind(0, 2, recorder("second"), true);
+
+    m_buttons[0] = 0x2;
+    poll();
+
+    assertEquals(List.of("first:false->true", "second:false->true"), m_updates);
+  }
+
+  @Test
+  void schedulerOrderTest() {
+    CommandScheduler scheduler = new CommandScheduler(m_engine);
+
+    Subsystem subsystem = new TestSubsystem();
+    Command command1 = new RunCommand(() -> { }, subsystem);
+    Command command2 = new RunCommand(() -> { }, subsystem);
+    Command command3 = new RunCommand(() -> { }, subsystem);
+
+    // Bound in reverse button order, with another scheduler button added in between
+    m_engine.bind(0, 2, (wasPressed, pressed) -> {
+      m_updates.add("first");
+      scheduler.schedule(command1);
+    }, false);
+    scheduler.addButton(() -> {
+      m_updates.add("second");
+      scheduler.schedule(command2);
+    });
+    m_engine.bind(0, 1, (wasPressed, pressed) -> {
+      m_updates.add("third");
+      scheduler.schedule(command3);
+    }, false);
+
+    m_buttons[0] = 0x3;
+    scheduler.run();
+
+    // All run in the order they were added, so the last one's command wins the subsystem
+    assertEquals(List.of("first", "second", "third"), m_updates);
+    assertFalse(scheduler.isScheduled(command1));
+    assertFalse(scheduler.isScheduled(command2));
+    assertTrue(scheduler.isScheduled(command3));
+  }
+
+  @Test
+  void initialStateTest() {
+    m_engine.bind(0, 1, recorder("a"), false);
+    m_buttons[0] = 0x3;
+    poll();
+
+    // A button held when it is bound has not been pressed
+    m_engine.bind(0, 2, recorder("b"), false);
+    poll();
+
+    // A button that changed since the last poll is an edge for every binding
+    m_buttons[0] = 0x2;
+    m_engine.bind(0, 1, recorder("c"), false);
+    poll();
+
+    assertEquals(List.of("a:false->true", "a:true->false", "c:true->false"), m_updates);
+  }
+
+  @Test
+  void clearTest() {
+    m_engine.bind(0, 1, recorder("a"), true);
+    m_engine.clear();
+
+    m_buttons[0] = 0x1;
+    poll();
+
+    assertEquals(List.of(), m_updates);
+  }
+
+  @Test
+  void outOfRangeTest() {
+    assertThrows(IllegalArgumentException.class, () -> m_engine.bind(6, 1, recorder("a"), false));
+    assertThrows(IllegalArgumentException.class, () -> m_engine.bind(0, 0, recorder("a"), false));
+    assertThrows(IllegalArgumentException.class, () -> m_engine.bind(0, 33, recorder("a"), false));
+  }
+}
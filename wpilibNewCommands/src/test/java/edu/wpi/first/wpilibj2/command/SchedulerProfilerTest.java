@@ -0,0 +1,88 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerProfilerTest extends CommandTestBase {
+  private static void busyWait(long micros) {
+    final long end = System.nanoTime() + micros * 1000;
+    while (System.nanoTime() < end) {
+      Thread.onSpinWait();
+    }
+  }
+
+  @Test
+  void executionStatsWindowTest() {
+    ExecutionStats stats = new ExecutionStats("test");
+    assertEquals(0, stats.getP99Micros());
+
+    for (int micros = 1; micros <= 1000; micros++) {
+      stats.record(micros);
+    }
+
+    // Only the last 250 samples, 751 through 1000, are kept
+    assertEquals(ExecutionStats.kWindowSize, stats.getCount());
+    assertEquals(1000, stats.getLastMicros());
+    assertEquals(751, stats.getMinMicros());
+    assertEquals(1000, stats.getMaxMicros());
+    assertEquals(875.5, stats.getAverageMicros(), 1e-9);
+
+    long median = stats.getPercentileMicros(50.0);
+    assertTrue(median >= 875 && median <= 875 * 1.125, "median was " + median);
+    long p99 = stats.getP99Micros();
+    assertTrue(p99 >= 998 && p99 <= 1000, "p99 was " + p99);
+  }
+
+  @Test
+  void profilingTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+    Subsystem subsystem = new SubsystemBase() {
+      @Override
+      public void periodic() {
+        busyWait(2000);
+      }
+    };
+    Command command = new RunCommand(() -> busyWait(1000));
+    scheduler.registerSubsystem(subsystem);
+    scheduler.schedule(command);
+
+    scheduler.run();
+    assertNull(scheduler.getExecutionStats(subsystem));
+    assertNull(scheduler.getLoopExecutionStats());
+
+    // Every loop overruns, which prints the subsystem and the command as the slowest stages
+    scheduler.setProfilingOverrunThreshold(0.001);
+    scheduler.enableProfiling();
+    for (int i = 0; i < 5; i++) {
+      scheduler.run();
+    }
+
+    ExecutionStats subsystemStats = scheduler.getExecutionStats(subsystem);
+    ExecutionStats commandStats = scheduler.getExecutionStats(command);
+    assertNotNull(subsystemStats);
+    assertNotNull(commandStats);
+    assertEquals(5, subsystemStats.getCount());
+    assertEquals(5, commandStats.getCount());
+    assertEquals("RunCommand", commandStats.getName());
+    assertTrue(subsystemStats.getMinMicros() >= 2000);
+    assertTrue(commandStats.getMinMicros() >= 1000);
+    assertTrue(scheduler.getLoopExecutionStats().getMinMicros() >= 3000);
+
+    scheduler.cancel(command);
+    assertNull(scheduler.getExecutionStats(command));
+
+    scheduler.disableProfiling();
+    assertNull(scheduler.getExecutionStats(subsystem));
+  }
+}
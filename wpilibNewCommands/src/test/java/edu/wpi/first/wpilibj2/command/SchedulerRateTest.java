@@ -0,0 +1,166 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SchedulerRateTest extends CommandTestBase {
+  /**
+   * A subsystem that records the scheduler iterations its periodic method was called in.
+   */
+  private static class RecordingSubsystem extends SubsystemBase {
+    final List<Integer> m_ticks = new ArrayList<>();
+    int m_tick;
+
+    @Override
+    public void periodic() {
+      m_ticks.add(m_tick);
+    }
+  }
+
+  private static void run(CommandScheduler scheduler, RecordingSubsystem subsystem, int ticks) {
+    for (int i = 0; i < ticks; i++) {
+      scheduler.run();
+      subsystem.m_tick++;
+    }
+  }
+
+  @Test
+  void subsystemRateTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    RecordingSubsystem subsystem = new RecordingSubsystem();
+    scheduler.setSubsystemRate(subsystem, 3, 1);
+    run(scheduler, subsystem, 9);
+
+    assertEquals(List.of(1, 4, 7), subsystem.m_ticks);
+  }
+
+  @Test
+  void subsystemPeriodTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+    scheduler.setLoopPeriod(0.005);
+
+    RecordingSubsystem subsystem = new RecordingSubsystem();
+    scheduler.setSubsystemPeriod(subsystem, 0.1);
+    run(scheduler, subsystem, 40);
+
+    assertEquals(List.of(0, 20), subsystem.m_ticks);
+
+    scheduler.setLoopPeriod(0.02);
+    subsystem.m_ticks.clear();
+    run(scheduler, subsystem, 10);
+
+    assertEquals(List.of(40, 45), subsystem.m_ticks);
+  }
+
+  @Test
+  void unregisterClearsRateTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    RecordingSubsystem subsystem = new RecordingSubsystem();
+    scheduler.setSubsystemRate(subsystem, 5, 4);
+    scheduler.unregisterSubsystem(subsystem);
+    scheduler.registerSubsystem(subsystem);
+    run(scheduler, subsystem, 3);
+
+    assertEquals(List.of(0, 1, 2), subsystem.m_ticks);
+    assertArrayEquals(new int[] {0}, scheduler.getTickLoad());
+  }
+
+  @Test
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  void balancedPhasesTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    for (int i = 0; i < 4; i++) {
+      scheduler.setSubsystemRate(new SubsystemBase() {
+      }, 4);
+    }
+    assertArrayEquals(new int[] {1, 1, 1, 1}, scheduler.getTickLoad());
+
+    // Scheduled, since the scheduler only holds the rates of unscheduled commands weakly
+    Command command1 = new WaitCommand(1);
+    Command command2 = new WaitCommand(1);
+    scheduler.setCommandRate(command1, 2);
+    scheduler.setCommandRate(command2, 2);
+    scheduler.schedule(command1, command2);
+    assertArrayEquals(new int[] {2, 2, 2, 2}, scheduler.getTickLoad());
+
+    scheduler.setSubsystemRate(new SubsystemBase() {
+    }, 3);
+    int[] load = scheduler.getTickLoad();
+    assertEquals(12, load.length);
+    for (int runs : load) {
+      assertTrue(runs == 2 || runs == 3);
+    }
+  }
+
+  @Test
+  void commandRateTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Counter counter = new Counter();
+    Command command = new RunCommand(counter::increment);
+    scheduler.setCommandRate(command, 2, 1);
+    scheduler.schedule(command);
+    for (int i = 0; i < 6; i++) {
+      scheduler.run();
+    }
+
+    assertEquals(3, counter.m_counter);
+
+    scheduler.setCommandRate(command, 1);
+    scheduler.run();
+
+    assertEquals(4, counter.m_counter);
+  }
+
+  @Test
+  void commandRateDisabledTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    MockCommandHolder holder = new MockCommandHolder(false);
+    Command command = holder.getMock();
+    scheduler.setCommandRate(command, 10, 9);
+    scheduler.schedule(command);
+
+    setDSEnabled(false);
+    scheduler.run();
+
+    verify(command, never()).execute();
+    verify(command).end(true);
+    assertFalse(scheduler.isScheduled(command));
+  }
+
+  @Test
+  void invalidRateTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Subsystem subsystem = new TestSubsystem();
+    Command command = new WaitCommand(1);
+
+    assertThrows(IllegalArgumentException.class, () -> scheduler.setSubsystemRate(subsystem, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> scheduler.setSubsystemRate(subsystem, 2, 2));
+    assertThrows(IllegalArgumentException.class, () -> scheduler.setCommandRate(command, 2, -1));
+    assertThrows(IllegalArgumentException.class, () -> scheduler.setCommandPeriod(command, 0));
+    assertThrows(IllegalArgumentException.class, () -> scheduler.setLoopPeriod(0));
+  }
+}
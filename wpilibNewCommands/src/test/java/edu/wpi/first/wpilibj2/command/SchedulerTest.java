@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SchedulerTest extends CommandTestBase {
   @Test
@@ -55,6 +58,41 @@ class SchedulerTest extends CommandTestBase {
     assertDoesNotThrow(() -> scheduler.unregisterSubsystem(system));
   }
 
+  @Test
+  void reregisterSubsystemTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Counter counter = new Counter();
+    Subsystem system = new SubsystemBase() {
+      @Override
+      public void periodic() {
+        counter.increment();
+      }
+    };
+    Command defaultCommand = new RunCommand(() -> {
+    }, system);
+
+    scheduler.setDefaultCommand(system, defaultCommand);
+    scheduler.unregisterSubsystem(system);
+    scheduler.run();
+
+    assertEquals(0, counter.m_counter);
+    assertNull(scheduler.getDefaultCommand(system));
+    assertFalse(scheduler.isScheduled(defaultCommand));
+
+    scheduler.registerSubsystem(system);
+    scheduler.run();
+
+    assertEquals(1, counter.m_counter);
+    assertNull(scheduler.getDefaultCommand(system));
+
+    scheduler.setDefaultCommand(system, defaultCommand);
+    scheduler.run();
+
+    assertEquals(2, counter.m_counter);
+    assertTrue(scheduler.isScheduled(defaultCommand));
+  }
+
   @Test
   void schedulerCancelAllTest() {
     CommandScheduler scheduler = new CommandScheduler();
@@ -168,4 +168,46 @@ public class LinearFilter {
 
     return retVal;
   }
+
+  /**
+   * Filters a whole recorded signal at once, such as one read from a log. The result is the same
+   * as resetting the filter and calling calculate() on each value of the signal in order, but the
+   * signal is indexed directly instead of going through the filter's history buffers. The
+   * filter's own state is neither used nor changed.
+   *
+   * @param signal The input values, in order.
+   * @return The filtered values.
+   */
+  public double[] filter(double[] signal) {
+    final double[] inputGains = m_inputGains;
+    final double[] outputGains = m_outputGains;
+    final double[] filtered = new double[signal.length];
+
+    // Before the start of the signal, the inputs and outputs are zero and add
+    // nothing, so the first steps only use the taps that are within it
+    final int warmup = Math.min(signal.length, Math.max(inputGains.length, outputGains.length));
+    for (int n = 0; n < warmup; n++) {
+      double retVal = 0.0;
+      for (int i = 0; i < Math.min(inputGains.length, n + 1); i++) {
+        retVal += signal[n - i] * inputGains[i];
+      }
+      for (int i = 0; i < Math.min(outputGains.length, n); i++) {
+        retVal -= filtered[n - 1 - i] * outputGains[i];
+      }
+      filtered[n] = retVal;
+    }
+
+    for (int n = warmup; n < signal.length; n++) {
+      double retVal = 0.0;
+      for (int i = 0; i < inputGains.length; i++) {
+        retVal += signal[n - i] * inputGains[i];
+      }
+      for (int i = 0; i < outputGains.length; i++) {
+        retVal -= filtered[n - 1 - i] * outputGains[i];
+      }
+      filtered[n] = retVal;
+    }
+
+    return filtered;
+  }
 }
@@ -7,21 +7,25 @@
 
 package edu.wpi.first.wpilibj;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-import edu.wpi.first.wpiutil.CircularBuffer;
-
 /**
  * A class that implements a moving-window median filter.  Useful for reducing measurement noise,
  * especially with processes that generate occasional, extreme outliers (such as values from
  * vision processing, LIDAR, or ultrasonic sensors).
+ *
+ * <p>The window is kept both in time order and in value order in primitive arrays, so the filter
+ * doesn't allocate. Each new value is placed by binary search, and the median or any other
+ * percentile of the window (see {@link #percentile(double)}) is read off by index.
  */
 public class MedianFilter {
-  private final CircularBuffer m_valueBuffer;
-  private final List<Double> m_orderedValues;
+  // Values currently in the window, ordered by time as a circular buffer.
+  // m_next is the slot the next value goes in, which holds the oldest value
+  // once the window is full.
+  private final double[] m_values;
+  // Values currently in the window, ordered as Double.compare() orders them
+  private final double[] m_orderedValues;
   private final int m_size;
+  private int m_next;
+  private int m_count;
 
   /**
    * Creates a new MedianFilter.
@@ -29,10 +33,11 @@ public class MedianFilter {
    * @param size The number of samples in the moving window.
    */
   public MedianFilter(int size) {
-    // Circular buffer of values currently in the window, ordered by time
-    m_valueBuffer = new CircularBuffer(size);
-    // List of values currently in the window, ordered by value
-    m_orderedValues = new ArrayList<>(size);
+    if (size < 1) {
+      throw new IllegalArgumentException("size must be positive");
+    }
+    m_values = new double[size];
+    m_orderedValues = new double[size];
     // Size of rolling window
     m_size = size;
   }
@@ -44,43 +49,95 @@ public class MedianFilter {
    * @return The median of the moving window, updated to include the next value.
    */
   public double calculate(double next) {
-    // Find insertion point for next value
-    int index = Collections.binarySearch(m_orderedValues, next);
+    int curSize = m_count;
 
-    // Deal with binarySearch behavior for element not found
-    if (index < 0) {
-      index = Math.abs(index + 1);
+    // If buffer is at max size, remove the oldest value from the ordered
+    // values. Equal values are interchangeable, so any one of them can go.
+    if (curSize == m_size) {
+      int index = findInsertionPoint(m_values[m_next], curSize);
+      System.arraycopy(m_orderedValues, index + 1, m_orderedValues, index,
+          curSize - index - 1);
+      curSize--;
     }
 
     // Place value at proper insertion point
-    m_orderedValues.add(index, next);
-
-    int curSize = m_orderedValues.size();
-
-    // If buffer is at max size, pop element off of end of circular buffer
-    // and remove from ordered list
-    if (curSize > m_size) {
-      m_orderedValues.remove(m_valueBuffer.removeLast());
-      curSize = curSize - 1;
-    }
+    int index = findInsertionPoint(next, curSize);
+    System.arraycopy(m_orderedValues, index, m_orderedValues, index + 1, curSize - index);
+    m_orderedValues[index] = next;
+    curSize++;
 
-    // Add next value to circular buffer
-    m_valueBuffer.addFirst(next);
+    m_values[m_next] = next;
+    m_next = m_next + 1 < m_size ? m_next + 1 : 0;
+    m_count = curSize;
 
     if (curSize % 2 == 1) {
       // If size is odd, return middle element of sorted list
-      return m_orderedValues.get(curSize / 2);
+      return m_orderedValues[curSize / 2];
     } else {
       // If size is even, return average of middle elements
-      return (m_orderedValues.get(curSize / 2 - 1) + m_orderedValues.get(curSize / 2)) / 2.0;
+      return (m_orderedValues[curSize / 2 - 1] + m_orderedValues[curSize / 2]) / 2.0;
+    }
+  }
+
+  /**
+   * Returns a percentile of the values currently in the window, interpolating linearly between
+   * the two closest values when the percentile falls between them. A percentile of 0 is the
+   * smallest value, 1 is the largest, and 0.5 is the median that {@link #calculate(double)}
+   * returned for the latest value.
+   *
+   * @param percentile The percentile, between 0 and 1.
+   * @return The value at the percentile, or NaN if the window is empty.
+   */
+  public double percentile(double percentile) {
+    if (!(percentile >= 0.0 && percentile <= 1.0)) {
+      throw new IllegalArgumentException("percentile must be between 0 and 1");
+    }
+    if (m_count == 0) {
+      return Double.NaN;
+    }
+
+    final double position = percentile * (m_count - 1);
+    final int index = (int) position;
+    final double fraction = position - index;
+    final double lower = m_orderedValues[index];
+    if (fraction == 0.0) {
+      return lower;
+    }
+    final double upper = m_orderedValues[index + 1];
+    if (lower == upper) {
+      return lower;
+    }
+    // Halfway between two values, which is where the median of an even number
+    // of values falls, compute the midpoint the same way calculate() does. The
+    // weighted sum can round differently, such as for subnormal values.
+    if (fraction == 0.5) {
+      return (lower + upper) / 2.0;
     }
+    return (1.0 - fraction) * lower + fraction * upper;
   }
 
   /**
    * Resets the filter, clearing the window of all elements.
    */
   public void reset() {
-    m_orderedValues.clear();
-    m_valueBuffer.clear();
+    m_next = 0;
+    m_count = 0;
+  }
+
+  /**
+   * Returns the index of the first of the ordered values that doesn't precede the given value.
+   */
+  private int findInsertionPoint(double value, int count) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (Double.compare(m_orderedValues[mid], value) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
   }
 }
@@ -0,0 +1,180 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+import java.util.Arrays;
+
+/**
+ * A linear, digital filter that filters several channels with the same gains at once, such as
+ * every axis of an IMU. Each channel is filtered exactly as a separate {@link LinearFilter} with
+ * the same gains would filter it, but the history of all the channels is kept in one array, so a
+ * step of the filter makes a single pass over contiguous memory.
+ *
+ * <p>As with LinearFilter, {@link #calculate(double[], double[])} should be called on a known,
+ * regular period, and the gains are a function of that period.
+ */
+public class MultiChannelLinearFilter {
+  private final int m_channels;
+  private final double[] m_inputGains;
+  private final double[] m_outputGains;
+
+  // The inputs and outputs of every channel, interleaved by channel, with the
+  // newest step first starting at step m_inputFront or m_outputFront. Each
+  // step is stored twice, a history length apart, so that the history is
+  // always a contiguous range of the array.
+  private final double[] m_inputs;
+  private final double[] m_outputs;
+  private int m_inputFront;
+  private int m_outputFront;
+
+  /**
+   * Create a linear FIR or IIR filter for several channels.
+   *
+   * @param ffGains  The "feed forward" or FIR gains.
+   * @param fbGains  The "feed back" or IIR gains.
+   * @param channels The number of channels.
+   */
+  public MultiChannelLinearFilter(double[] ffGains, double[] fbGains, int channels) {
+    if (channels < 1) {
+      throw new IllegalArgumentException("Number of channels was not at least 1");
+    }
+    m_channels = channels;
+    m_inputGains = Arrays.copyOf(ffGains, ffGains.length);
+    m_outputGains = Arrays.copyOf(fbGains, fbGains.length);
+    m_inputs = new double[2 * ffGains.length * channels];
+    m_outputs = new double[2 * fbGains.length * channels];
+  }
+
+  /**
+   * Creates a one-pole IIR low-pass filter for several channels. See
+   * {@link LinearFilter#singlePoleIIR(double, double)}.
+   *
+   * @param timeConstant The discrete-time time constant in seconds.
+   * @param period       The period in seconds between samples taken by the user.
+   * @param channels     The number of channels.
+   */
+  public static MultiChannelLinearFilter singlePoleIIR(double timeConstant, double period,
+                                                       int channels) {
+    double gain = Math.exp(-period / timeConstant);
+    double[] ffGains = {1.0 - gain};
+    double[] fbGains = {-gain};
+
+    return new MultiChannelLinearFilter(ffGains, fbGains, channels);
+  }
+
+  /**
+   * Creates a first-order high-pass filter for several channels. See
+   * {@link LinearFilter#highPass(double, double)}.
+   *
+   * @param timeConstant The discrete-time time constant in seconds.
+   * @param period       The period in seconds between samples taken by the user.
+   * @param channels     The number of channels.
+   */
+  public static MultiChannelLinearFilter highPass(double timeConstant, double period,
+                                                  int channels) {
+    double gain = Math.exp(-period / timeConstant);
+    double[] ffGains = {gain, -gain};
+    double[] fbGains = {-gain};
+
+    return new MultiChannelLinearFilter(ffGains, fbGains, channels);
+  }
+
+  /**
+   * Creates a K-tap FIR moving average filter for several channels. See
+   * {@link LinearFilter#movingAverage(int)}.
+   *
+   * @param taps     The number of samples to average over. Higher = smoother but slower.
+   * @param channels The number of channels.
+   * @throws IllegalArgumentException if number of taps is less than 1.
+   */
+  public static MultiChannelLinearFilter movingAverage(int taps, int channels) {
+    if (taps <= 0) {
+      throw new IllegalArgumentException("Number of taps was not at least 1");
+    }
+
+    double[] ffGains = new double[taps];
+    for (int i = 0; i < ffGains.length; i++) {
+      ffGains[i] = 1.0 / taps;
+    }
+
+    double[] fbGains = new double[0];
+
+    return new MultiChannelLinearFilter(ffGains, fbGains, channels);
+  }
+
+  /**
+   * Returns the number of channels the filter filters.
+   *
+   * @return The number of channels.
+   */
+  public int getChannels() {
+    return m_channels;
+  }
+
+  /**
+   * Reset the filter state of every channel.
+   */
+  public void reset() {
+    Arrays.fill(m_inputs, 0.0);
+    Arrays.fill(m_outputs, 0.0);
+    m_inputFront = 0;
+    m_outputFront = 0;
+  }
+
+  /**
+   * Calculates the next value of the filter for every channel.
+   *
+   * @param inputs  The current input value of each channel.
+   * @param outputs Array to write the filtered value of each channel at this step to. This may be
+   *                the same array as the inputs.
+   * @throws IllegalArgumentException if either array doesn't have one element per channel.
+   */
+  public void calculate(double[] inputs, double[] outputs) {
+    if (inputs.length != m_channels || outputs.length != m_channels) {
+      throw new IllegalArgumentException(
+          "Number of values was not the same as the number of channels");
+    }
+
+    // Rotate the inputs
+    m_inputFront = push(m_inputs, m_inputGains.length, m_inputFront, inputs);
+
+    // Calculate the new values, one tap of every channel at a time
+    Arrays.fill(outputs, 0.0);
+    for (int i = 0; i < m_inputGains.length; i++) {
+      final double gain = m_inputGains[i];
+      final int offset = (m_inputFront + i) * m_channels;
+      for (int channel = 0; channel < m_channels; channel++) {
+        outputs[channel] += m_inputs[offset + channel] * gain;
+      }
+    }
+    for (int i = 0; i < m_outputGains.length; i++) {
+      final double gain = m_outputGains[i];
+      final int offset = (m_outputFront + i) * m_channels;
+      for (int channel = 0; channel < m_channels; channel++) {
+        outputs[channel] -= m_outputs[offset + channel] * gain;
+      }
+    }
+
+    // Rotate the outputs
+    m_outputFront = push(m_outputs, m_outputGains.length, m_outputFront, outputs);
+  }
+
+  /**
+   * Adds a step to the front of a history, and returns the new front step.
+   */
+  private int push(double[] history, int length, int front, double[] values) {
+    if (length == 0) {
+      return 0;
+    }
+
+    front = front == 0 ? length - 1 : front - 1;
+    System.arraycopy(values, 0, history, front * m_channels, m_channels);
+    System.arraycopy(values, 0, history, (front + length) * m_channels, m_channels);
+    return front;
+  }
+}
@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -14,11 +14,16 @@ import edu.wpi.first.wpiutil.math.MathUtil;
  * setpoint, and/or output ramps.  A slew-rate limit is most appropriate when the quantity being
  * controlled is a velocity or a voltage; when controlling a position, consider using a
  * {@link edu.wpi.first.wpilibj.trajectory.TrapezoidProfile} instead.
+ *
+ * <p>The rate limit is applied over the time elapsed since the previous call, so the limiter
+ * stays correct when calls are late. If the time the input was sampled at is already known, such
+ * as from a timestamped sensor reading, pass it to {@link #calculate(double, double)} to avoid
+ * reading the clock again.
  */
 public class SlewRateLimiter {
-  private final Timer m_timer = new Timer();
   private final double m_rateLimit;
   private double m_prevVal;
+  private double m_prevTime;
 
   /**
    * Creates a new SlewRateLimiter with the given rate limit and initial value.
@@ -29,7 +34,7 @@ public class SlewRateLimiter {
   public SlewRateLimiter(double rateLimit, double initialValue) {
     m_prevVal = initialValue;
     m_rateLimit = rateLimit;
-    m_timer.start();
+    m_prevTime = Timer.getFPGATimestamp();
   }
 
   /**
@@ -48,10 +53,22 @@ public class SlewRateLimiter {
    * @return The filtered value, which will not change faster than the slew rate.
    */
   public double calculate(double input) {
-    m_prevVal += MathUtil.clamp(input - m_prevVal,
-                                -m_rateLimit * m_timer.get(),
-                                m_rateLimit * m_timer.get());
-    m_timer.reset();
+    return calculate(input, Timer.getFPGATimestamp());
+  }
+
+  /**
+   * Filters an input sampled at the given time to limit its slew rate.
+   *
+   * @param input            The input value whose slew rate is to be limited.
+   * @param timestampSeconds The time the input was sampled at, on the same clock as
+   *                         {@link Timer#getFPGATimestamp()}. If it isn't after the previous
+   *                         call's, the value doesn't change.
+   * @return The filtered value, which will not change faster than the slew rate.
+   */
+  public double calculate(double input, double timestampSeconds) {
+    final double maxChange = m_rateLimit * Math.max(timestampSeconds - m_prevTime, 0.0);
+    m_prevVal += MathUtil.clamp(input - m_prevVal, -maxChange, maxChange);
+    m_prevTime = timestampSeconds;
     return m_prevVal;
   }
 
@@ -61,7 +78,19 @@ public class SlewRateLimiter {
    * @param value The value to reset to.
    */
   public void reset(double value) {
-    m_timer.reset();
+    reset(value, Timer.getFPGATimestamp());
+  }
+
+  /**
+   * Resets the slew rate limiter to the specified value at the given time; ignores the rate limit
+   * when doing so.
+   *
+   * @param value            The value to reset to.
+   * @param timestampSeconds The time to measure the next change from, on the same clock as
+   *                         {@link Timer#getFPGATimestamp()}.
+   */
+  public void reset(double value, double timestampSeconds) {
     m_prevVal = value;
+    m_prevTime = timestampSeconds;
   }
 }
@@ -0,0 +1,138 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+/**
+ * A first-order linear filter whose gains follow the actual time between samples, for inputs that
+ * aren't sampled on a regular period. The gains of a {@link LinearFilter} are computed for a fixed
+ * period, so if calculate() is called late, as happens when the robot loop overruns, the filter
+ * responds more slowly than intended. This filter is given the timestamp of each sample instead,
+ * and discretizes its gains for the time elapsed since the previous sample.
+ *
+ * <p>The gains are recomputed only when the elapsed time changes, as measured in whole
+ * microseconds (the resolution of the FPGA timestamp), so samples on a steady period cost no more
+ * than with a LinearFilter.
+ *
+ * <p>The first sample after the filter is created or reset has no previous sample to measure time
+ * from. It initializes the filter as if the input had been constant until then: a low-pass filter
+ * returns the input, and a high-pass filter returns zero. A LinearFilter instead starts from zero,
+ * so on a steady period the two give exactly the same outputs only if the first input is zero.
+ * Otherwise their outputs differ by an amount that decays by the gain with every sample.
+ */
+public final class TimestampedLinearFilter {
+  private final double m_timeConstant;
+  private final boolean m_highPass;
+
+  private double m_prevTimestamp = Double.NaN;
+  private double m_prevInput;
+  private double m_prevOutput;
+
+  // The gain e^(-dt / T) for the elapsed time it was last computed for
+  private long m_gainDtMicros = -1;
+  private double m_gain;
+
+  private TimestampedLinearFilter(double timeConstant, boolean highPass) {
+    if (Double.isNaN(timeConstant) || timeConstant <= 0.0) {
+      throw new IllegalArgumentException("Time constant must be greater than zero");
+    }
+    m_timeConstant = timeConstant;
+    m_highPass = highPass;
+  }
+
+  /**
+   * Creates a one-pole IIR low-pass filter of the form: y[n] = (1-gain)*x[n] + gain*y[n-1] where
+   * gain = e^(-dt / T), dt is the time since the previous sample, and T is the time constant in
+   * seconds. See {@link LinearFilter#singlePoleIIR(double, double)}.
+   *
+   * @param timeConstant The time constant in seconds.
+   * @return The filter.
+   */
+  public static TimestampedLinearFilter singlePoleIIR(double timeConstant) {
+    return new TimestampedLinearFilter(timeConstant, false);
+  }
+
+  /**
+   * Creates a first-order high-pass filter of the form: y[n] = gain*x[n] + (-gain)*x[n-1] +
+   * gain*y[n-1] where gain = e^(-dt / T), dt is the time since the previous sample, and T is the
+   * time constant in seconds. See {@link LinearFilter#highPass(double, double)}.
+   *
+   * @param timeConstant The time constant in seconds.
+   * @return The filter.
+   */
+  public static TimestampedLinearFilter highPass(double timeConstant) {
+    return new TimestampedLinearFilter(timeConstant, true);
+  }
+
+  /**
+   * Reset the filter state.
+   */
+  public void reset() {
+    m_prevTimestamp = Double.NaN;
+    m_prevInput = 0.0;
+    m_prevOutput = 0.0;
+  }
+
+  /**
+   * Calculates the next value of the filter for an input sampled at the given time.
+   *
+   * @param input            Current input value.
+   * @param timestampSeconds The time the input was sampled at, such as from
+   *                         {@link Timer#getFPGATimestamp()}. If it isn't after the previous
+   *                         sample's, no time is considered to have passed.
+   * @return The filtered value at this step
+   */
+  public double calculate(double input, double timestampSeconds) {
+    if (Double.isNaN(m_prevTimestamp)) {
+      m_prevTimestamp = timestampSeconds;
+      m_prevInput = input;
+      m_prevOutput = m_highPass ? 0.0 : input;
+      return m_prevOutput;
+    }
+
+    final double gain = getGain(timestampSeconds - m_prevTimestamp);
+
+    // The same terms, in the same order, as LinearFilter would compute
+    double retVal;
+    if (m_highPass) {
+      retVal = input * gain;
+      retVal += m_prevInput * -gain;
+    } else {
+      retVal = input * (1.0 - gain);
+    }
+    retVal -= m_prevOutput * -gain;
+
+    m_prevTimestamp = timestampSeconds;
+    m_prevInput = input;
+    m_prevOutput = retVal;
+    return retVal;
+  }
+
+  /**
+   * Calculates the next value of the filter for an input sampled now, as measured by
+   * {@link Timer#getFPGATimestamp()}.
+   *
+   * @param input Current input value.
+   * @return The filtered value at this step
+   */
+  public double calculate(double input) {
+    return calculate(input, Timer.getFPGATimestamp());
+  }
+
+  /**
+   * Returns the gain e^(-dt / T) for the given elapsed time, reusing the previous gain if the
+   * elapsed time is the same to the microsecond.
+   */
+  private double getGain(double dtSeconds) {
+    final long dtMicros = Math.max(Math.round(dtSeconds * 1e6), 0);
+    if (dtMicros != m_gainDtMicros) {
+      m_gainDtMicros = dtMicros;
+      m_gain = Math.exp(-(dtMicros / 1e6) / m_timeConstant);
+    }
+    return m_gain;
+  }
+}
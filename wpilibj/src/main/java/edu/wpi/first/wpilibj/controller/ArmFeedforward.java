@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -10,6 +10,10 @@ package edu.wpi.first.wpilibj.controller;
 /**
  * A helper class that computes feedforward outputs for a simple arm (modeled as a motor
  * acting against the force of gravity on a beam suspended at an angle).
+ *
+ * <p>For loops that evaluate many feedforwards, {@link #withCosineTable(double)} returns a copy
+ * that approximates the cosine of the arm angle with a lookup table instead of calling
+ * {@link Math#cos(double)}.
  */
 @SuppressWarnings("MemberName")
 public class ArmFeedforward {
@@ -18,6 +22,8 @@ public class ArmFeedforward {
   public final double kv;
   public final double ka;
 
+  private final CosineTable m_cosineTable;
+
   /**
    * Creates a new ArmFeedforward with the specified gains.  Units of the gain values
    * will dictate units of the computed feedforward.
@@ -28,10 +34,7 @@ public class ArmFeedforward {
    * @param ka   The acceleration gain.
    */
   public ArmFeedforward(double ks, double kcos, double kv, double ka) {
-    this.ks = ks;
-    this.kcos = kcos;
-    this.kv = kv;
-    this.ka = ka;
+    this(ks, kcos, kv, ka, null);
   }
 
   /**
@@ -46,6 +49,31 @@ public class ArmFeedforward {
     this(ks, kcos, kv, 0);
   }
 
+  private ArmFeedforward(double ks, double kcos, double kv, double ka, CosineTable cosineTable) {
+    this.ks = ks;
+    this.kcos = kcos;
+    this.kv = kv;
+    this.ka = ka;
+    m_cosineTable = cosineTable;
+  }
+
+  /**
+   * Returns a feedforward with the same gains that computes the cosine of the arm angle by
+   * interpolating in a precomputed table. The gravity term of its outputs differs from that of
+   * this feedforward by at most maxCosineError * kcos.
+   *
+   * <p>The table has about 2.2 / sqrt(maxCosineError) entries; for example, an error of 1e-6
+   * takes a table of about 2200 entries. The table is only accurate for angles within a few
+   * thousand turns of zero.
+   *
+   * @param maxCosineError The maximum error of the approximated cosine.
+   * @return The new feedforward.
+   * @throws IllegalArgumentException if maxCosineError is not positive.
+   */
+  public ArmFeedforward withCosineTable(double maxCosineError) {
+    return new ArmFeedforward(ks, kcos, kv, ka, new CosineTable(maxCosineError));
+  }
+
   /**
    * Calculates the feedforward from the gains and setpoints.
    *
@@ -56,7 +84,7 @@ public class ArmFeedforward {
    */
   public double calculate(double positionRadians, double velocityRadPerSec,
                           double accelRadPerSecSquared) {
-    return ks * Math.signum(velocityRadPerSec) + kcos * Math.cos(positionRadians)
+    return ks * Math.signum(velocityRadPerSec) + kcos * cos(positionRadians)
         + kv * velocityRadPerSec
         + ka * accelRadPerSecSquared;
   }
@@ -73,6 +101,31 @@ public class ArmFeedforward {
     return calculate(positionRadians, velocity, 0);
   }
 
+  /**
+   * Calculates the feedforward for many setpoints at once.
+   *
+   * @param positionsRadians       The position (angle) setpoints.
+   * @param velocitiesRadPerSec    The velocity setpoints.
+   * @param accelsRadPerSecSquared The acceleration setpoints.
+   * @param out                    Array to write the computed feedforwards to. This may be the
+   *                               same array as any of the setpoints.
+   * @throws IllegalArgumentException if the arrays don't all have the same length.
+   */
+  public void calculate(double[] positionsRadians, double[] velocitiesRadPerSec,
+                        double[] accelsRadPerSecSquared, double[] out) {
+    if (velocitiesRadPerSec.length != positionsRadians.length
+        || accelsRadPerSecSquared.length != positionsRadians.length
+        || out.length != positionsRadians.length) {
+      throw new IllegalArgumentException("Setpoint and output arrays must have the same length");
+    }
+    for (int i = 0; i < out.length; i++) {
+      final double velocity = velocitiesRadPerSec[i];
+      out[i] = ks * Math.signum(velocity) + kcos * cos(positionsRadians[i])
+          + kv * velocity
+          + ka * accelsRadPerSecSquared[i];
+    }
+  }
+
   // Rearranging the main equation from the calculate() method yields the
   // formulas for the methods below:
 
@@ -90,7 +143,7 @@ public class ArmFeedforward {
    */
   public double maxAchievableVelocity(double maxVoltage, double angle, double acceleration) {
     // Assume max velocity is positive
-    return (maxVoltage - ks - Math.cos(angle) * kcos - acceleration * ka) / kv;
+    return (maxVoltage - ks - cos(angle) * kcos - acceleration * ka) / kv;
   }
 
   /**
@@ -107,7 +160,7 @@ public class ArmFeedforward {
    */
   public double minAchievableVelocity(double maxVoltage, double angle, double acceleration) {
     // Assume min velocity is negative, ks flips sign
-    return (-maxVoltage + ks - Math.cos(angle) * kcos - acceleration * ka) / kv;
+    return (-maxVoltage + ks - cos(angle) * kcos - acceleration * ka) / kv;
   }
 
   /**
@@ -123,7 +176,7 @@ public class ArmFeedforward {
    * @return The maximum possible acceleration at the given velocity.
    */
   public double maxAchievableAcceleration(double maxVoltage, double angle, double velocity) {
-    return (maxVoltage - ks * Math.signum(velocity) - Math.cos(angle) * kcos - velocity * kv) / ka;
+    return (maxVoltage - ks * Math.signum(velocity) - cos(angle) * kcos - velocity * kv) / ka;
   }
 
   /**
@@ -141,4 +194,8 @@ public class ArmFeedforward {
   public double minAchievableAcceleration(double maxVoltage, double angle, double velocity) {
     return maxAchievableAcceleration(-maxVoltage, angle, velocity);
   }
+
+  private double cos(double angleRadians) {
+    return m_cosineTable == null ? Math.cos(angleRadians) : m_cosineTable.cos(angleRadians);
+  }
 }
@@ -0,0 +1,62 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+/**
+ * A table of cosine values over one period that approximates the cosine of an angle by linear
+ * interpolation between the two nearest entries.
+ *
+ * <p>The error of linearly interpolating cos(x) between points h apart is at most h^2 / 8, so the
+ * table spacing is chosen from the requested error bound. The table has about
+ * 2.2 / sqrt(maxError) entries.
+ */
+final class CosineTable {
+  private static final double kTwoPi = 2.0 * Math.PI;
+
+  private final double[] m_values;
+  private final double m_entriesPerRadian;
+
+  /**
+   * Creates a cosine table.
+   *
+   * @param maxError The maximum absolute difference between the interpolated value and the
+   *                 cosine, not counting rounding.
+   * @throws IllegalArgumentException if maxError is not positive.
+   */
+  CosineTable(double maxError) {
+    if (Double.isNaN(maxError) || maxError <= 0.0) {
+      throw new IllegalArgumentException("Max error must be positive");
+    }
+
+    final int intervals = (int) Math.ceil(kTwoPi / Math.sqrt(8.0 * maxError));
+    final double step = kTwoPi / intervals;
+    m_entriesPerRadian = intervals / kTwoPi;
+
+    // The extra entry at 2 pi lets the last interval be interpolated without wrapping around.
+    m_values = new double[intervals + 1];
+    for (int i = 0; i <= intervals; i++) {
+      m_values[i] = Math.cos(i * step);
+    }
+  }
+
+  /**
+   * Returns the approximate cosine of an angle.
+   *
+   * @param angleRadians The angle.
+   * @return The cosine of the angle, within the table's error bound.
+   */
+  double cos(double angleRadians) {
+    final double position = (angleRadians - kTwoPi * Math.floor(angleRadians / kTwoPi))
+        * m_entriesPerRadian;
+
+    // Rounding can put angles just below a multiple of 2 pi at the end of the table
+    final int index = Math.min((int) position, m_values.length - 2);
+    final double fraction = position - index;
+    return m_values[index] + (m_values[index + 1] - m_values[index]) * fraction;
+  }
+}
@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -68,6 +68,25 @@ public class ElevatorFeedforward {
     return calculate(velocity, 0);
   }
 
+  /**
+   * Calculates the feedforward for many setpoints at once.
+   *
+   * @param velocities    The velocity setpoints.
+   * @param accelerations The acceleration setpoints.
+   * @param out           Array to write the computed feedforwards to. This may be the same array
+   *                      as the velocities or the accelerations.
+   * @throws IllegalArgumentException if the arrays don't all have the same length.
+   */
+  public void calculate(double[] velocities, double[] accelerations, double[] out) {
+    if (accelerations.length != velocities.length || out.length != velocities.length) {
+      throw new IllegalArgumentException("Setpoint and output arrays must have the same length");
+    }
+    for (int i = 0; i < out.length; i++) {
+      final double velocity = velocities[i];
+      out[i] = ks * Math.signum(velocity) + kg + kv * velocity + ka * accelerations[i];
+    }
+  }
+
   // Rearranging the main equation from the calculate() method yields the
   // formulas for the methods below:
 
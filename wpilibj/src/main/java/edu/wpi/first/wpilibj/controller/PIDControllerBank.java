@@ -0,0 +1,492 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+import java.util.Arrays;
+
+import edu.wpi.first.wpilibj.Sendable;
+import edu.wpi.first.wpilibj.smartdashboard.SendableBuilder;
+import edu.wpi.first.wpilibj.smartdashboard.SendableRegistry;
+import edu.wpi.first.wpiutil.math.MathUtil;
+
+/**
+ * A bank of PID control loops that run at the same period, such as the steering and drive
+ * controllers of every swerve module. Each channel behaves exactly as a separate
+ * {@link PIDController} with the same settings would, but the gains and state of every channel
+ * are kept in one array per field, and all the outputs are computed by one call to
+ * {@link #calculate(double[], double[], double[])}.
+ *
+ * <p>The bank is registered as a single Sendable whose properties are arrays with one element per
+ * channel.
+ */
+@SuppressWarnings({"PMD.TooManyFields", "PMD.TooManyMethods"})
+public class PIDControllerBank implements Sendable, AutoCloseable {
+  private static int instances;
+
+  private final int m_channels;
+
+  // The period (in seconds) of the loop that calls the controllers
+  private final double m_period;
+
+  // Factors for "proportional", "integral" and "derivative" control
+  @SuppressWarnings("MemberName")
+  private final double[] m_Kp;
+  @SuppressWarnings("MemberName")
+  private final double[] m_Ki;
+  @SuppressWarnings("MemberName")
+  private final double[] m_Kd;
+
+  private final double[] m_maximumIntegral;
+  private final double[] m_minimumIntegral;
+
+  // The integrator range divided by Ki, which bounds the sum of the errors.
+  // These only change with the gains, so they're kept instead of dividing
+  // every step.
+  private final double[] m_maximumTotalError;
+  private final double[] m_minimumTotalError;
+
+  // Input ranges, and whether their endpoints wrap around
+  private final double[] m_maximumInput;
+  private final double[] m_minimumInput;
+  private final double[] m_inputRange;
+  private final boolean[] m_continuous;
+
+  // The errors at the time of the most recent call to calculate()
+  private final double[] m_positionError;
+  private final double[] m_velocityError;
+
+  // The sums of the errors for use in the integral calc
+  private final double[] m_totalError;
+
+  // The errors that are considered at setpoint
+  private final double[] m_positionTolerance;
+  private final double[] m_velocityTolerance;
+
+  private final double[] m_setpoint;
+
+  // Reused by the Sendable view
+  private final boolean[] m_atSetpoint;
+
+  /**
+   * Allocates a bank of PID controllers with gains of zero and a default period of 0.02 seconds.
+   *
+   * @param channels The number of controllers in the bank.
+   */
+  public PIDControllerBank(int channels) {
+    this(channels, 0.02);
+  }
+
+  /**
+   * Allocates a bank of PID controllers with gains of zero.
+   *
+   * @param channels The number of controllers in the bank.
+   * @param period   The period between controller updates in seconds.
+   */
+  public PIDControllerBank(int channels, double period) {
+    if (channels < 1) {
+      throw new IllegalArgumentException("Number of channels was not at least 1");
+    }
+    m_channels = channels;
+    m_period = period;
+
+    m_Kp = new double[channels];
+    m_Ki = new double[channels];
+    m_Kd = new double[channels];
+    m_maximumIntegral = new double[channels];
+    m_minimumIntegral = new double[channels];
+    Arrays.fill(m_maximumIntegral, 1.0);
+    Arrays.fill(m_minimumIntegral, -1.0);
+    m_maximumTotalError = new double[channels];
+    m_minimumTotalError = new double[channels];
+    m_maximumInput = new double[channels];
+    m_minimumInput = new double[channels];
+    m_inputRange = new double[channels];
+    m_continuous = new boolean[channels];
+    m_positionError = new double[channels];
+    m_velocityError = new double[channels];
+    m_totalError = new double[channels];
+    m_positionTolerance = new double[channels];
+    m_velocityTolerance = new double[channels];
+    Arrays.fill(m_positionTolerance, 0.05);
+    Arrays.fill(m_velocityTolerance, Double.POSITIVE_INFINITY);
+    m_setpoint = new double[channels];
+    m_atSetpoint = new boolean[channels];
+
+    instances++;
+    SendableRegistry.addLW(this, "PIDControllerBank", instances);
+  }
+
+  @Override
+  public void close() {
+    SendableRegistry.remove(this);
+  }
+
+  /**
+   * Returns the number of controllers in the bank.
+   *
+   * @return The number of channels.
+   */
+  public int getChannels() {
+    return m_channels;
+  }
+
+  /**
+   * Returns the period of the controllers.
+   *
+   * @return the period of the controllers.
+   */
+  public double getPeriod() {
+    return m_period;
+  }
+
+  /**
+   * Sets the PID gain parameters of a controller.
+   *
+   * @param channel The controller.
+   * @param Kp      The proportional coefficient.
+   * @param Ki      The integral coefficient.
+   * @param Kd      The derivative coefficient.
+   */
+  @SuppressWarnings("ParameterName")
+  public void setPID(int channel, double Kp, double Ki, double Kd) {
+    m_Kp[channel] = Kp;
+    m_Ki[channel] = Ki;
+    m_Kd[channel] = Kd;
+    updateTotalErrorRange(channel);
+  }
+
+  /**
+   * Sets the Proportional coefficient of a controller.
+   *
+   * @param channel The controller.
+   * @param Kp      proportional coefficient
+   */
+  @SuppressWarnings("ParameterName")
+  public void setP(int channel, double Kp) {
+    m_Kp[channel] = Kp;
+  }
+
+  /**
+   * Sets the Integral coefficient of a controller.
+   *
+   * @param channel The controller.
+   * @param Ki      integral coefficient
+   */
+  @SuppressWarnings("ParameterName")
+  public void setI(int channel, double Ki) {
+    m_Ki[channel] = Ki;
+    updateTotalErrorRange(channel);
+  }
+
+  /**
+   * Sets the Differential coefficient of a controller.
+   *
+   * @param channel The controller.
+   * @param Kd      differential coefficient
+   */
+  @SuppressWarnings("ParameterName")
+  public void setD(int channel, double Kd) {
+    m_Kd[channel] = Kd;
+  }
+
+  /**
+   * Get the Proportional coefficient of a controller.
+   *
+   * @param channel The controller.
+   * @return proportional coefficient
+   */
+  public double getP(int channel) {
+    return m_Kp[channel];
+  }
+
+  /**
+   * Get the Integral coefficient of a controller.
+   *
+   * @param channel The controller.
+   * @return integral coefficient
+   */
+  public double getI(int channel) {
+    return m_Ki[channel];
+  }
+
+  /**
+   * Get the Differential coefficient of a controller.
+   *
+   * @param channel The controller.
+   * @return differential coefficient
+   */
+  public double getD(int channel) {
+    return m_Kd[channel];
+  }
+
+  /**
+   * Sets the setpoint of a controller.
+   *
+   * @param channel  The controller.
+   * @param setpoint The desired setpoint.
+   */
+  public void setSetpoint(int channel, double setpoint) {
+    if (m_maximumInput[channel] > m_minimumInput[channel]) {
+      m_setpoint[channel] = MathUtil.clamp(setpoint, m_minimumInput[channel],
+          m_maximumInput[channel]);
+    } else {
+      m_setpoint[channel] = setpoint;
+    }
+  }
+
+  /**
+   * Returns the current setpoint of a controller.
+   *
+   * @param channel The controller.
+   * @return The current setpoint.
+   */
+  public double getSetpoint(int channel) {
+    return m_setpoint[channel];
+  }
+
+  /**
+   * Returns true if the error of a controller is within its tolerance. See
+   * {@link PIDController#atSetpoint()}.
+   *
+   * @param channel The controller.
+   * @return Whether the error is within the acceptable bounds.
+   */
+  public boolean atSetpoint(int channel) {
+    return Math.abs(m_positionError[channel]) < m_positionTolerance[channel]
+        && Math.abs(m_velocityError[channel]) < m_velocityTolerance[channel];
+  }
+
+  /**
+   * Returns true if the error of every controller is within its tolerance.
+   *
+   * @return Whether every error is within the acceptable bounds.
+   */
+  public boolean atSetpoint() {
+    for (int channel = 0; channel < m_channels; channel++) {
+      if (!atSetpoint(channel)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Enables continuous input for a controller. See
+   * {@link PIDController#enableContinuousInput(double, double)}.
+   *
+   * @param channel      The controller.
+   * @param minimumInput The minimum value expected from the input.
+   * @param maximumInput The maximum value expected from the input.
+   */
+  public void enableContinuousInput(int channel, double minimumInput, double maximumInput) {
+    m_continuous[channel] = true;
+    m_minimumInput[channel] = minimumInput;
+    m_maximumInput[channel] = maximumInput;
+    m_inputRange[channel] = maximumInput - minimumInput;
+
+    // Clamp setpoint to new input
+    if (maximumInput > minimumInput) {
+      m_setpoint[channel] = MathUtil.clamp(m_setpoint[channel], minimumInput, maximumInput);
+    }
+  }
+
+  /**
+   * Disables continuous input for a controller.
+   *
+   * @param channel The controller.
+   */
+  public void disableContinuousInput(int channel) {
+    m_continuous[channel] = false;
+  }
+
+  /**
+   * Sets the minimum and maximum values for the integrator of a controller. See
+   * {@link PIDController#setIntegratorRange(double, double)}.
+   *
+   * @param channel         The controller.
+   * @param minimumIntegral The minimum value of the integrator.
+   * @param maximumIntegral The maximum value of the integrator.
+   */
+  public void setIntegratorRange(int channel, double minimumIntegral, double maximumIntegral) {
+    m_minimumIntegral[channel] = minimumIntegral;
+    m_maximumIntegral[channel] = maximumIntegral;
+    updateTotalErrorRange(channel);
+  }
+
+  /**
+   * Sets the error which is considered tolerable for use with atSetpoint().
+   *
+   * @param channel           The controller.
+   * @param positionTolerance Position error which is tolerable.
+   */
+  public void setTolerance(int channel, double positionTolerance) {
+    setTolerance(channel, positionTolerance, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Sets the error which is considered tolerable for use with atSetpoint().
+   *
+   * @param channel           The controller.
+   * @param positionTolerance Position error which is tolerable.
+   * @param velocityTolerance Velocity error which is tolerable.
+   */
+  public void setTolerance(int channel, double positionTolerance, double velocityTolerance) {
+    m_positionTolerance[channel] = positionTolerance;
+    m_velocityTolerance[channel] = velocityTolerance;
+  }
+
+  /**
+   * Returns the difference between the setpoint and the measurement of a controller.
+   *
+   * @param channel The controller.
+   * @return The error.
+   */
+  public double getPositionError(int channel) {
+    return getContinuousError(channel, m_positionError[channel]);
+  }
+
+  /**
+   * Returns the velocity error of a controller.
+   *
+   * @param channel The controller.
+   * @return The velocity error.
+   */
+  public double getVelocityError(int channel) {
+    return m_velocityError[channel];
+  }
+
+  /**
+   * Computes the next output of every controller.
+   *
+   * @param measurements The current measurement of the process variable of each controller.
+   * @param setpoints    The new setpoint of each controller.
+   * @param out          Array to write the output of each controller to. This may be the same
+   *                     array as the measurements or the setpoints.
+   * @throws IllegalArgumentException if any array doesn't have one element per channel.
+   */
+  public void calculate(double[] measurements, double[] setpoints, double[] out) {
+    if (setpoints.length != m_channels) {
+      throw new IllegalArgumentException(
+          "Number of setpoints was not the same as the number of channels");
+    }
+    for (int channel = 0; channel < m_channels; channel++) {
+      setSetpoint(channel, setpoints[channel]);
+    }
+    calculate(measurements, out);
+  }
+
+  /**
+   * Computes the next output of every controller with its current setpoint.
+   *
+   * @param measurements The current measurement of the process variable of each controller.
+   * @param out          Array to write the output of each controller to. This may be the same
+   *                     array as the measurements.
+   * @throws IllegalArgumentException if either array doesn't have one element per channel.
+   */
+  public void calculate(double[] measurements, double[] out) {
+    if (measurements.length != m_channels || out.length != m_channels) {
+      throw new IllegalArgumentException(
+          "Number of values was not the same as the number of channels");
+    }
+
+    for (int channel = 0; channel < m_channels; channel++) {
+      final double prevError = m_positionError[channel];
+      final double positionError =
+          getContinuousError(channel, m_setpoint[channel] - measurements[channel]);
+      final double velocityError = (positionError - prevError) / m_period;
+      m_positionError[channel] = positionError;
+      m_velocityError[channel] = velocityError;
+
+      final double ki = m_Ki[channel];
+      if (ki != 0) {
+        m_totalError[channel] = MathUtil.clamp(m_totalError[channel] + positionError * m_period,
+            m_minimumTotalError[channel], m_maximumTotalError[channel]);
+      }
+
+      out[channel] = m_Kp[channel] * positionError + ki * m_totalError[channel]
+          + m_Kd[channel] * velocityError;
+    }
+  }
+
+  /**
+   * Resets the previous error and the integral term of every controller.
+   */
+  public void reset() {
+    Arrays.fill(m_totalError, 0.0);
+  }
+
+  /**
+   * Resets the previous error and the integral term of a controller.
+   *
+   * @param channel The controller.
+   */
+  public void reset(int channel) {
+    m_totalError[channel] = 0.0;
+  }
+
+  @Override
+  public void initSendable(SendableBuilder builder) {
+    builder.setSmartDashboardType("PIDControllerBank");
+    builder.addDoubleArrayProperty("p", () -> m_Kp, values -> copyChannels(values, m_Kp));
+    builder.addDoubleArrayProperty("i", () -> m_Ki, values -> {
+      for (int channel = 0; channel < Math.min(values.length, m_channels); channel++) {
+        setI(channel, values[channel]);
+      }
+    });
+    builder.addDoubleArrayProperty("d", () -> m_Kd, values -> copyChannels(values, m_Kd));
+    builder.addDoubleArrayProperty("setpoint", () -> m_setpoint, values -> {
+      for (int channel = 0; channel < Math.min(values.length, m_channels); channel++) {
+        setSetpoint(channel, values[channel]);
+      }
+    });
+    builder.addDoubleArrayProperty("positionError", () -> m_positionError, null);
+    builder.addBooleanArrayProperty("atSetpoint", () -> {
+      for (int channel = 0; channel < m_channels; channel++) {
+        m_atSetpoint[channel] = atSetpoint(channel);
+      }
+      return m_atSetpoint;
+    }, null);
+  }
+
+  private void updateTotalErrorRange(int channel) {
+    m_minimumTotalError[channel] = m_minimumIntegral[channel] / m_Ki[channel];
+    m_maximumTotalError[channel] = m_maximumIntegral[channel] / m_Ki[channel];
+  }
+
+  /**
+   * Copies values set from the dashboard into the channels they're for, ignoring any extra.
+   */
+  private void copyChannels(double[] values, double[] destination) {
+    System.arraycopy(values, 0, destination, 0, Math.min(values.length, m_channels));
+  }
+
+  /**
+   * Wraps error around for continuous inputs. The original error is returned if continuous mode is
+   * disabled.
+   *
+   * @param channel The controller.
+   * @param error   The current error of the controller.
+   * @return Error for continuous inputs.
+   */
+  private double getContinuousError(int channel, double error) {
+    final double inputRange = m_inputRange[channel];
+    // An error within half the range is returned as is either way, so skip the
+    // remainder, which is slow, in that common case
+    if (m_continuous[channel] && inputRange > 0 && Math.abs(error) > inputRange / 2) {
+      error %= inputRange;
+      if (Math.abs(error) > inputRange / 2) {
+        if (error > 0) {
+          return error - inputRange;
+        } else {
+          return error + inputRange;
+        }
+      }
+    }
+    return error;
+  }
+}
@@ -17,6 +17,10 @@ import edu.wpi.first.wpilibj.trajectory.TrapezoidProfile;
  * Implements a PID control loop whose setpoint is constrained by a trapezoid
  * profile. Users should call reset() when they first start running the controller
  * to avoid unwanted behavior.
+ *
+ * <p>The profile is only constructed again when the goal, the constraints, or the
+ * setpoint (through reset()) change. Otherwise each call to calculate() samples the
+ * existing profile one period further along.
  */
 @SuppressWarnings("PMD.TooManyMethods")
 public class ProfiledPIDController implements Sendable {
@@ -24,9 +28,19 @@ public class ProfiledPIDController implements Sendable {
 
   private PIDController m_controller;
   private TrapezoidProfile.State m_goal = new TrapezoidProfile.State();
-  private TrapezoidProfile.State m_setpoint = new TrapezoidProfile.State();
+  private final TrapezoidProfile.State m_setpoint = new TrapezoidProfile.State();
   private TrapezoidProfile.Constraints m_constraints;
 
+  // The profile the setpoint follows, the time along it of the setpoint, and
+  // the goal and constraints it was constructed for, or null if it has to be
+  // constructed again
+  private TrapezoidProfile m_profile;
+  private double m_profileTime;
+  private double m_profileGoalPosition;
+  private double m_profileGoalVelocity;
+  private double m_profileMaxVelocity;
+  private double m_profileMaxAcceleration;
+
   /**
    * Allocates a ProfiledPIDController with the given constants for Kp, Ki, and
    * Kd.
@@ -189,10 +203,23 @@ public class ProfiledPIDController implements Sendable {
   /**
    * Returns the current setpoint of the ProfiledPIDController.
    *
-   * @return The current setpoint.
+   * @return A copy of the current setpoint.
    */
   public TrapezoidProfile.State getSetpoint() {
-    return m_setpoint;
+    return new TrapezoidProfile.State(m_setpoint.position, m_setpoint.velocity);
+  }
+
+  /**
+   * Returns the current setpoint of the ProfiledPIDController, storing it in the given state
+   * instead of allocating a new one.
+   *
+   * @param out The state to store the setpoint in.
+   * @return The given state.
+   */
+  public TrapezoidProfile.State getSetpoint(TrapezoidProfile.State out) {
+    out.position = m_setpoint.position;
+    out.velocity = m_setpoint.velocity;
+    return out;
   }
 
   /**
@@ -279,8 +306,22 @@ public class ProfiledPIDController implements Sendable {
    * @param measurement The current measurement of the process variable.
    */
   public double calculate(double measurement) {
-    var profile = new TrapezoidProfile(m_constraints, m_goal, m_setpoint);
-    m_setpoint = profile.calculate(getPeriod());
+    // The goal and constraints are mutable, so they're compared by value
+    if (m_profile == null
+        || m_goal.position != m_profileGoalPosition
+        || m_goal.velocity != m_profileGoalVelocity
+        || m_constraints.maxVelocity != m_profileMaxVelocity
+        || m_constraints.maxAcceleration != m_profileMaxAcceleration) {
+      m_profile = new TrapezoidProfile(m_constraints, m_goal, m_setpoint);
+      m_profileTime = 0.0;
+      m_profileGoalPosition = m_goal.position;
+      m_profileGoalVelocity = m_goal.velocity;
+      m_profileMaxVelocity = m_constraints.maxVelocity;
+      m_profileMaxAcceleration = m_constraints.maxAcceleration;
+    }
+
+    m_profileTime += getPeriod();
+    m_profile.sample(m_profileTime, m_setpoint);
     return m_controller.calculate(measurement, m_setpoint.position);
   }
 
@@ -326,7 +367,9 @@ public class ProfiledPIDController implements Sendable {
    */
   public void reset(TrapezoidProfile.State measurement) {
     m_controller.reset();
-    m_setpoint = measurement;
+    m_setpoint.position = measurement.position;
+    m_setpoint.velocity = measurement.velocity;
+    m_profile = null;
   }
 
   /**
@@ -7,6 +7,7 @@
 
 package edu.wpi.first.wpilibj.controller;
 
+import edu.wpi.first.wpilibj.geometry.MutablePose2d;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.trajectory.Trajectory;
@@ -46,7 +47,7 @@ public class RamseteController {
   @SuppressWarnings("MemberName")
   private final double m_zeta;
 
-  private Pose2d m_poseError = new Pose2d();
+  private final MutablePose2d m_poseError = new MutablePose2d();
   private Pose2d m_poseTolerance = new Pose2d();
   private boolean m_enabled = true;
 
@@ -107,29 +108,15 @@ public class RamseteController {
    * @param linearVelocityRefMeters            The desired linear velocity in meters.
    * @param angularVelocityRefRadiansPerSecond The desired angular velocity in meters.
    */
-  @SuppressWarnings("LocalVariableName")
   public ChassisSpeeds calculate(Pose2d currentPose,
                                  Pose2d poseRef,
                                  double linearVelocityRefMeters,
                                  double angularVelocityRefRadiansPerSecond) {
-    if (!m_enabled) {
-      return new ChassisSpeeds(linearVelocityRefMeters, 0.0, angularVelocityRefRadiansPerSecond);
+    if (m_enabled) {
+      m_poseError.set(poseRef);
     }
-
-    m_poseError = poseRef.relativeTo(currentPose);
-
-    // Aliases for equation readability
-    final double eX = m_poseError.getTranslation().getX();
-    final double eY = m_poseError.getTranslation().getY();
-    final double eTheta = m_poseError.getRotation().getRadians();
-    final double vRef = linearVelocityRefMeters;
-    final double omegaRef = angularVelocityRefRadiansPerSecond;
-
-    double k = 2.0 * m_zeta * Math.sqrt(Math.pow(omegaRef, 2) + m_b * Math.pow(vRef, 2));
-
-    return new ChassisSpeeds(vRef * m_poseError.getRotation().getCos() + k * eX,
-                             0.0,
-                             omegaRef + k * eTheta + m_b * vRef * sinc(eTheta) * eY);
+    return calculate(currentPose, linearVelocityRefMeters, angularVelocityRefRadiansPerSecond,
+        new ChassisSpeeds());
   }
 
   /**
@@ -148,6 +135,89 @@ public class RamseteController {
         desiredState.velocityMetersPerSecond * desiredState.curvatureRadPerMeter);
   }
 
+  /**
+   * Calculates the next output of the Ramsete controller from a reference pose
+   * given as primitives, storing it in a caller-owned object instead of
+   * allocating a new one.
+   *
+   * @param currentPose                        The current pose.
+   * @param xRefMeters                         The x component of the desired pose.
+   * @param yRefMeters                         The y component of the desired pose.
+   * @param headingRefRadians                  The heading of the desired pose.
+   * @param linearVelocityRefMeters            The desired linear velocity in meters.
+   * @param angularVelocityRefRadiansPerSecond The desired angular velocity in meters.
+   * @param out                                The object to store the output in.
+   * @return The object passed in as out, for chaining.
+   */
+  @SuppressWarnings({"PMD.ExcessiveParameterList", "ParameterName"})
+  public ChassisSpeeds calculate(Pose2d currentPose,
+                                 double xRefMeters,
+                                 double yRefMeters,
+                                 double headingRefRadians,
+                                 double linearVelocityRefMeters,
+                                 double angularVelocityRefRadiansPerSecond,
+                                 ChassisSpeeds out) {
+    if (m_enabled) {
+      m_poseError.set(xRefMeters, yRefMeters, headingRefRadians);
+    }
+    return calculate(currentPose, linearVelocityRefMeters, angularVelocityRefRadiansPerSecond,
+        out);
+  }
+
+  /**
+   * Calculates the next output of the Ramsete controller, storing it in a
+   * caller-owned object instead of allocating a new one. Together with
+   * {@link Trajectory.Sampler#sample(double, Trajectory.MutableState)}, this
+   * follows a trajectory without allocating.
+   *
+   * @param currentPose  The current pose.
+   * @param desiredState The desired pose, linear velocity, and angular velocity
+   *                     from a trajectory.
+   * @param out          The object to store the output in.
+   * @return The object passed in as out, for chaining.
+   */
+  public ChassisSpeeds calculate(Pose2d currentPose, Trajectory.MutableState desiredState,
+                                 ChassisSpeeds out) {
+    if (m_enabled) {
+      m_poseError.getTranslation().set(desiredState.xMeters, desiredState.yMeters);
+      m_poseError.getRotation().set(desiredState.headingCos, desiredState.headingSin);
+    }
+    return calculate(currentPose, desiredState.velocityMetersPerSecond,
+        desiredState.velocityMetersPerSecond * desiredState.curvatureRadPerMeter, out);
+  }
+
+  /**
+   * Calculates the output from the reference pose stored in m_poseError.
+   */
+  @SuppressWarnings("LocalVariableName")
+  private ChassisSpeeds calculate(Pose2d currentPose,
+                                  double linearVelocityRefMeters,
+                                  double angularVelocityRefRadiansPerSecond,
+                                  ChassisSpeeds out) {
+    if (!m_enabled) {
+      out.vxMetersPerSecond = linearVelocityRefMeters;
+      out.vyMetersPerSecond = 0.0;
+      out.omegaRadiansPerSecond = angularVelocityRefRadiansPerSecond;
+      return out;
+    }
+
+    m_poseError.relativeTo(currentPose);
+
+    // Aliases for equation readability
+    final double eX = m_poseError.getTranslation().getX();
+    final double eY = m_poseError.getTranslation().getY();
+    final double eTheta = m_poseError.getRotation().getRadians();
+    final double vRef = linearVelocityRefMeters;
+    final double omegaRef = angularVelocityRefRadiansPerSecond;
+
+    double k = 2.0 * m_zeta * Math.sqrt(Math.pow(omegaRef, 2) + m_b * Math.pow(vRef, 2));
+
+    out.vxMetersPerSecond = vRef * m_poseError.getRotation().getCos() + k * eX;
+    out.vyMetersPerSecond = 0.0;
+    out.omegaRadiansPerSecond = omegaRef + k * eTheta + m_b * vRef * sinc(eTheta) * eY;
+    return out;
+  }
+
   /**
    * Enables and disables the controller for troubleshooting purposes.
    *
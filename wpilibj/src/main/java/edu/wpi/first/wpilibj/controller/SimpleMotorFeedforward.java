@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -66,6 +66,25 @@ public class SimpleMotorFeedforward {
     return calculate(velocity, 0);
   }
 
+  /**
+   * Calculates the feedforward for many setpoints at once.
+   *
+   * @param velocities    The velocity setpoints.
+   * @param accelerations The acceleration setpoints.
+   * @param out           Array to write the computed feedforwards to. This may be the same array
+   *                      as the velocities or the accelerations.
+   * @throws IllegalArgumentException if the arrays don't all have the same length.
+   */
+  public void calculate(double[] velocities, double[] accelerations, double[] out) {
+    if (accelerations.length != velocities.length || out.length != velocities.length) {
+      throw new IllegalArgumentException("Setpoint and output arrays must have the same length");
+    }
+    for (int i = 0; i < out.length; i++) {
+      final double velocity = velocities[i];
+      out[i] = ks * Math.signum(velocity) + kv * velocity + ka * accelerations[i];
+    }
+  }
+
   /**
    * Calculates the maximum achievable velocity given a maximum voltage supply
    * and an acceleration.  Useful for ensuring that velocity and
@@ -113,6 +132,25 @@ public class SimpleMotorFeedforward {
     return (maxVoltage - ks * Math.signum(velocity) - velocity * kv) / ka;
   }
 
+  /**
+   * Calculates the maximum achievable acceleration for a range of velocities at once, identically
+   * to {@link #maxAchievableAcceleration(double, double)}.
+   *
+   * @param maxVoltage The maximum voltage that can be supplied to the motor.
+   * @param velocities The velocities of the motor.
+   * @param start      The index of the first velocity to evaluate.
+   * @param end        One past the index of the last velocity to evaluate.
+   * @param out        Array to write the maximum possible accelerations to, at the same indices
+   *                   as the velocities. This may be the same array as the velocities.
+   */
+  public void maxAchievableAcceleration(double maxVoltage, double[] velocities, int start,
+                                        int end, double[] out) {
+    for (int i = start; i < end; i++) {
+      final double velocity = velocities[i];
+      out[i] = (maxVoltage - ks * Math.signum(velocity) - velocity * kv) / ka;
+    }
+  }
+
   /**
    * Calculates the maximum achievable acceleration given a maximum voltage
    * supply and a velocity. Useful for ensuring that velocity and
@@ -127,4 +165,20 @@ public class SimpleMotorFeedforward {
   public double minAchievableAcceleration(double maxVoltage, double velocity) {
     return maxAchievableAcceleration(-maxVoltage, velocity);
   }
+
+  /**
+   * Calculates the minimum achievable acceleration for a range of velocities at once, identically
+   * to {@link #minAchievableAcceleration(double, double)}.
+   *
+   * @param maxVoltage The maximum voltage that can be supplied to the motor.
+   * @param velocities The velocities of the motor.
+   * @param start      The index of the first velocity to evaluate.
+   * @param end        One past the index of the last velocity to evaluate.
+   * @param out        Array to write the minimum possible accelerations to, at the same indices
+   *                   as the velocities. This may be the same array as the velocities.
+   */
+  public void minAchievableAcceleration(double maxVoltage, double[] velocities, int start,
+                                        int end, double[] out) {
+    maxAchievableAcceleration(-maxVoltage, velocities, start, end, out);
+  }
 }
@@ -0,0 +1,272 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+/**
+ * A mutable counterpart to {@link Pose2d}, for code that runs every control loop iteration and
+ * shouldn't allocate, such as odometry and trajectory tracking. The operations modify this pose in
+ * place and return it, so they can be chained; for example,
+ * {@code error.set(reference).relativeTo(current)}.
+ *
+ * <p>Unlike Pose2d, this class doesn't override equals() and hashCode(), since its value can
+ * change. Use {@link #toPose2d()} to get an immutable copy.
+ */
+@SuppressWarnings({"ParameterName", "PMD.TooManyMethods"})
+public class MutablePose2d {
+  private final MutableTranslation2d m_translation = new MutableTranslation2d();
+  private final MutableRotation2d m_rotation = new MutableRotation2d();
+
+  // Holds intermediate rotations in exp() and log()
+  private final MutableRotation2d m_scratchRotation = new MutableRotation2d();
+
+  /**
+   * Constructs a pose at the origin facing toward the positive X axis.
+   */
+  public MutablePose2d() {
+  }
+
+  /**
+   * Constructs a MutablePose2d with the value of the given pose.
+   *
+   * @param pose The pose to copy.
+   */
+  public MutablePose2d(Pose2d pose) {
+    set(pose);
+  }
+
+  /**
+   * Sets the components of the pose.
+   *
+   * @param x              The x component of the translational component of the pose.
+   * @param y              The y component of the translational component of the pose.
+   * @param headingRadians The rotational component of the pose in radians.
+   * @return This pose.
+   */
+  public MutablePose2d set(double x, double y, double headingRadians) {
+    m_translation.set(x, y);
+    m_rotation.set(headingRadians);
+    return this;
+  }
+
+  /**
+   * Sets this pose to the value of another pose.
+   *
+   * @param other The pose to copy.
+   * @return This pose.
+   */
+  public MutablePose2d set(Pose2d other) {
+    m_translation.set(other.getTranslation());
+    m_rotation.set(other.getRotation());
+    return this;
+  }
+
+  /**
+   * Sets this pose to the value of another pose.
+   *
+   * @param other The pose to copy.
+   * @return This pose.
+   */
+  public MutablePose2d set(MutablePose2d other) {
+    m_translation.set(other.m_translation);
+    m_rotation.set(other.m_rotation);
+    return this;
+  }
+
+  /**
+   * Returns the translational component of the pose. This is the pose's own translation, so
+   * modifying it modifies the pose.
+   *
+   * @return The translational component of the pose.
+   */
+  public MutableTranslation2d getTranslation() {
+    return m_translation;
+  }
+
+  /**
+   * Returns the rotational component of the pose. This is the pose's own rotation, so modifying
+   * it modifies the pose.
+   *
+   * @return The rotational component of the pose.
+   */
+  public MutableRotation2d getRotation() {
+    return m_rotation;
+  }
+
+  /**
+   * Transforms this pose by the given transformation. See {@link Pose2d#plus(Transform2d)}.
+   *
+   * @param other The transform to transform the pose by.
+   * @return This pose.
+   */
+  public MutablePose2d plus(Transform2d other) {
+    return transformBy(other);
+  }
+
+  /**
+   * Transforms this pose by the given transformation. See {@link Pose2d#transformBy(Transform2d)}.
+   *
+   * @param other The transform to transform the pose by.
+   * @return This pose.
+   */
+  public MutablePose2d transformBy(Transform2d other) {
+    final var translation = other.getTranslation();
+    translate(translation.getX(), translation.getY());
+    m_rotation.plus(other.getRotation());
+    return this;
+  }
+
+  /**
+   * Makes this pose relative to another pose. See {@link Pose2d#relativeTo(Pose2d)}.
+   *
+   * @param other The pose that is the origin of the new coordinate frame that this pose will be
+   *              converted into.
+   * @return This pose.
+   */
+  public MutablePose2d relativeTo(Pose2d other) {
+    final var rotation = other.getRotation();
+    m_translation.minus(other.getTranslation()).rotateBy(rotation.getCos(), -rotation.getSin());
+    m_rotation.minus(rotation);
+    return this;
+  }
+
+  /**
+   * Makes this pose relative to another pose. See {@link Pose2d#relativeTo(Pose2d)}.
+   *
+   * @param other The pose that is the origin of the new coordinate frame that this pose will be
+   *              converted into.
+   * @return This pose.
+   */
+  public MutablePose2d relativeTo(MutablePose2d other) {
+    final var rotation = other.m_rotation;
+    m_translation.minus(other.m_translation).rotateBy(rotation.getCos(), -rotation.getSin());
+    m_rotation.minus(rotation);
+    return this;
+  }
+
+  /**
+   * Moves this pose along a (constant curvature) twist. See {@link Pose2d#exp(Twist2d)}.
+   *
+   * @param twist The change in pose in the robot's coordinate frame.
+   * @return This pose.
+   */
+  public MutablePose2d exp(Twist2d twist) {
+    return exp(twist.dx, twist.dy, twist.dtheta);
+  }
+
+  /**
+   * Moves this pose along a (constant curvature) twist. See {@link Pose2d#exp(Twist2d)}.
+   *
+   * @param dx     The x component of the twist in the robot's coordinate frame.
+   * @param dy     The y component of the twist in the robot's coordinate frame.
+   * @param dtheta The change in heading.
+   * @return This pose.
+   */
+  @SuppressWarnings("LocalVariableName")
+  public MutablePose2d exp(double dx, double dy, double dtheta) {
+    double sinTheta = Math.sin(dtheta);
+    double cosTheta = Math.cos(dtheta);
+
+    double s;
+    double c;
+    if (Math.abs(dtheta) < 1E-9) {
+      s = 1.0 - 1.0 / 6.0 * dtheta * dtheta;
+      c = 0.5 * dtheta;
+    } else {
+      s = sinTheta / dtheta;
+      c = (1 - cosTheta) / dtheta;
+    }
+
+    translate(dx * s - dy * c, dx * c + dy * s);
+    m_rotation.plus(m_scratchRotation.set(cosTheta, sinTheta));
+    return this;
+  }
+
+  /**
+   * Computes the twist that maps this pose to the end pose, without modifying this pose. See
+   * {@link Pose2d#log(Pose2d)}.
+   *
+   * @param end   The end pose for the transformation.
+   * @param twist The twist to write the result to.
+   * @return The twist.
+   */
+  public Twist2d log(Pose2d end, Twist2d twist) {
+    m_scratchRotation.set(end.getRotation());
+    return log(end.getTranslation().getX(), end.getTranslation().getY(), twist);
+  }
+
+  /**
+   * Computes the twist that maps this pose to the end pose, without modifying this pose. See
+   * {@link Pose2d#log(Pose2d)}.
+   *
+   * @param end   The end pose for the transformation.
+   * @param twist The twist to write the result to.
+   * @return The twist.
+   */
+  public Twist2d log(MutablePose2d end, Twist2d twist) {
+    m_scratchRotation.set(end.m_rotation);
+    return log(end.m_translation.getX(), end.m_translation.getY(), twist);
+  }
+
+  /**
+   * Computes the twist that maps this pose to the end pose with the given translation and the
+   * rotation in m_scratchRotation.
+   */
+  private Twist2d log(double endX, double endY, Twist2d twist) {
+    // The end pose relative to this one
+    final double cos = m_rotation.getCos();
+    final double sin = -m_rotation.getSin();
+    final double dx = endX - m_translation.getX();
+    final double dy = endY - m_translation.getY();
+    final double transformX = dx * cos - dy * sin;
+    final double transformY = dx * sin + dy * cos;
+    final var transformRotation = m_scratchRotation.minus(m_rotation);
+
+    final double dtheta = transformRotation.getRadians();
+    final double halfDtheta = dtheta / 2.0;
+
+    final double cosMinusOne = transformRotation.getCos() - 1;
+
+    double halfThetaByTanOfHalfDtheta;
+    if (Math.abs(cosMinusOne) < 1E-9) {
+      halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+    } else {
+      halfThetaByTanOfHalfDtheta = -(halfDtheta * transformRotation.getSin()) / cosMinusOne;
+    }
+
+    final var rotation = m_scratchRotation.set(halfThetaByTanOfHalfDtheta, -halfDtheta);
+    final double scale = Math.hypot(halfThetaByTanOfHalfDtheta, halfDtheta);
+    twist.dx = (transformX * rotation.getCos() - transformY * rotation.getSin()) * scale;
+    twist.dy = (transformX * rotation.getSin() + transformY * rotation.getCos()) * scale;
+    twist.dtheta = dtheta;
+    return twist;
+  }
+
+  /**
+   * Moves this pose by a translation in its own coordinate frame.
+   */
+  private void translate(double x, double y) {
+    final double cos = m_rotation.getCos();
+    final double sin = m_rotation.getSin();
+    m_translation.set(m_translation.getX() + (x * cos - y * sin),
+        m_translation.getY() + (x * sin + y * cos));
+  }
+
+  /**
+   * Returns an immutable copy of this pose.
+   *
+   * @return The pose as a Pose2d.
+   */
+  public Pose2d toPose2d() {
+    return new Pose2d(m_translation.toTranslation2d(), m_rotation.toRotation2d());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MutablePose2d(%s, %s)", m_translation, m_rotation);
+  }
+}
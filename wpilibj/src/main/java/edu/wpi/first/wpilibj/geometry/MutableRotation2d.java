@@ -0,0 +1,227 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+/**
+ * A mutable counterpart to {@link Rotation2d}, for code that runs every control loop iteration
+ * and shouldn't allocate. The operations modify this rotation in place and return it, so they can
+ * be chained; for example, {@code angle.set(gyroAngle).plus(offset)}.
+ *
+ * <p>Unlike Rotation2d, this class doesn't override equals() and hashCode(), since its value can
+ * change. Use {@link #toRotation2d()} to get an immutable copy.
+ */
+public class MutableRotation2d {
+  private double m_value;
+  private double m_cos = 1.0;
+  private double m_sin;
+
+  /**
+   * Constructs a MutableRotation2d with a default angle of 0 degrees.
+   */
+  public MutableRotation2d() {
+  }
+
+  /**
+   * Constructs a MutableRotation2d with the given radian value.
+   *
+   * @param value The value of the angle in radians.
+   */
+  public MutableRotation2d(double value) {
+    set(value);
+  }
+
+  /**
+   * Constructs a MutableRotation2d with the value of the given rotation.
+   *
+   * @param rotation The rotation to copy.
+   */
+  public MutableRotation2d(Rotation2d rotation) {
+    set(rotation);
+  }
+
+  /**
+   * Sets the value of the rotation in radians.
+   *
+   * @param value The value of the angle in radians.
+   * @return This rotation.
+   */
+  public MutableRotation2d set(double value) {
+    m_value = value;
+    m_cos = Math.cos(value);
+    m_sin = Math.sin(value);
+    return this;
+  }
+
+  /**
+   * Sets the rotation from its x and y (cosine and sine) components, which don't have to be
+   * normalized, as the {@link Rotation2d#Rotation2d(double, double)} constructor does.
+   *
+   * @param x The x component or cosine of the rotation.
+   * @param y The y component or sine of the rotation.
+   * @return This rotation.
+   */
+  @SuppressWarnings("ParameterName")
+  public MutableRotation2d set(double x, double y) {
+    double magnitude = Math.hypot(x, y);
+    if (magnitude > 1e-6) {
+      m_sin = y / magnitude;
+      m_cos = x / magnitude;
+    } else {
+      m_sin = 0.0;
+      m_cos = 1.0;
+    }
+    m_value = Math.atan2(m_sin, m_cos);
+    return this;
+  }
+
+  /**
+   * Sets this rotation to the value of another rotation.
+   *
+   * @param other The rotation to copy.
+   * @return This rotation.
+   */
+  public MutableRotation2d set(Rotation2d other) {
+    m_value = other.getRadians();
+    m_cos = other.getCos();
+    m_sin = other.getSin();
+    return this;
+  }
+
+  /**
+   * Sets this rotation to the value of another rotation.
+   *
+   * @param other The rotation to copy.
+   * @return This rotation.
+   */
+  public MutableRotation2d set(MutableRotation2d other) {
+    m_value = other.m_value;
+    m_cos = other.m_cos;
+    m_sin = other.m_sin;
+    return this;
+  }
+
+  /**
+   * Adds another rotation to this one. See {@link Rotation2d#plus(Rotation2d)}.
+   *
+   * @param other The rotation to add.
+   * @return This rotation.
+   */
+  public MutableRotation2d plus(Rotation2d other) {
+    return rotateBy(other.getCos(), other.getSin());
+  }
+
+  /**
+   * Adds another rotation to this one. See {@link Rotation2d#plus(Rotation2d)}.
+   *
+   * @param other The rotation to add.
+   * @return This rotation.
+   */
+  public MutableRotation2d plus(MutableRotation2d other) {
+    return rotateBy(other.m_cos, other.m_sin);
+  }
+
+  /**
+   * Subtracts another rotation from this one. See {@link Rotation2d#minus(Rotation2d)}.
+   *
+   * @param other The rotation to subtract.
+   * @return This rotation.
+   */
+  public MutableRotation2d minus(Rotation2d other) {
+    return rotateBy(other.getCos(), -other.getSin());
+  }
+
+  /**
+   * Subtracts another rotation from this one. See {@link Rotation2d#minus(Rotation2d)}.
+   *
+   * @param other The rotation to subtract.
+   * @return This rotation.
+   */
+  public MutableRotation2d minus(MutableRotation2d other) {
+    return rotateBy(other.m_cos, -other.m_sin);
+  }
+
+  /**
+   * Negates this rotation.
+   *
+   * @return This rotation.
+   */
+  public MutableRotation2d unaryMinus() {
+    m_value = -m_value;
+    m_sin = -m_sin;
+    return this;
+  }
+
+  /**
+   * Multiplies this rotation by a scalar.
+   *
+   * @param scalar The scalar.
+   * @return This rotation.
+   */
+  public MutableRotation2d times(double scalar) {
+    return set(m_value * scalar);
+  }
+
+  /**
+   * Rotates this rotation by the rotation with the given cosine and sine, as
+   * {@link Rotation2d#rotateBy(Rotation2d)} does.
+   */
+  private MutableRotation2d rotateBy(double cos, double sin) {
+    return set(m_cos * cos - m_sin * sin, m_cos * sin + m_sin * cos);
+  }
+
+  /**
+   * Returns the radian value of the rotation.
+   *
+   * @return The radian value of the rotation.
+   */
+  public double getRadians() {
+    return m_value;
+  }
+
+  /**
+   * Returns the degree value of the rotation.
+   *
+   * @return The degree value of the rotation.
+   */
+  public double getDegrees() {
+    return Math.toDegrees(m_value);
+  }
+
+  /**
+   * Returns the cosine of the rotation.
+   *
+   * @return The cosine of the rotation.
+   */
+  public double getCos() {
+    return m_cos;
+  }
+
+  /**
+   * Returns the sine of the rotation.
+   *
+   * @return The sine of the rotation.
+   */
+  public double getSin() {
+    return m_sin;
+  }
+
+  /**
+   * Returns an immutable copy of this rotation.
+   *
+   * @return The rotation as a Rotation2d.
+   */
+  public Rotation2d toRotation2d() {
+    return new Rotation2d(m_value, m_cos, m_sin);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MutableRotation2d(Rads: %.2f, Deg: %.2f)", m_value,
+        Math.toDegrees(m_value));
+  }
+}
@@ -0,0 +1,237 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+/**
+ * A mutable counterpart to {@link Translation2d}, for code that runs every control loop iteration
+ * and shouldn't allocate. The operations modify this translation in place and return it, so they
+ * can be chained; for example, {@code error.set(reference).minus(current)}.
+ *
+ * <p>Unlike Translation2d, this class doesn't override equals() and hashCode(), since its value
+ * can change. Use {@link #toTranslation2d()} to get an immutable copy.
+ */
+@SuppressWarnings({"ParameterName", "MemberName", "PMD.TooManyMethods"})
+public class MutableTranslation2d {
+  private double m_x;
+  private double m_y;
+
+  /**
+   * Constructs a MutableTranslation2d with X and Y components equal to zero.
+   */
+  public MutableTranslation2d() {
+  }
+
+  /**
+   * Constructs a MutableTranslation2d with the X and Y components equal to the provided values.
+   *
+   * @param x The x component of the translation.
+   * @param y The y component of the translation.
+   */
+  public MutableTranslation2d(double x, double y) {
+    set(x, y);
+  }
+
+  /**
+   * Constructs a MutableTranslation2d with the value of the given translation.
+   *
+   * @param translation The translation to copy.
+   */
+  public MutableTranslation2d(Translation2d translation) {
+    set(translation);
+  }
+
+  /**
+   * Sets the X and Y components of the translation.
+   *
+   * @param x The x component of the translation.
+   * @param y The y component of the translation.
+   * @return This translation.
+   */
+  public MutableTranslation2d set(double x, double y) {
+    m_x = x;
+    m_y = y;
+    return this;
+  }
+
+  /**
+   * Sets this translation to the value of another translation.
+   *
+   * @param other The translation to copy.
+   * @return This translation.
+   */
+  public MutableTranslation2d set(Translation2d other) {
+    return set(other.getX(), other.getY());
+  }
+
+  /**
+   * Sets this translation to the value of another translation.
+   *
+   * @param other The translation to copy.
+   * @return This translation.
+   */
+  public MutableTranslation2d set(MutableTranslation2d other) {
+    return set(other.m_x, other.m_y);
+  }
+
+  /**
+   * Returns the X component of the translation.
+   *
+   * @return The x component of the translation.
+   */
+  public double getX() {
+    return m_x;
+  }
+
+  /**
+   * Returns the Y component of the translation.
+   *
+   * @return The y component of the translation.
+   */
+  public double getY() {
+    return m_y;
+  }
+
+  /**
+   * Returns the norm, or distance from the origin to the translation.
+   *
+   * @return The norm of the translation.
+   */
+  public double getNorm() {
+    return Math.hypot(m_x, m_y);
+  }
+
+  /**
+   * Calculates the distance between this translation and another one.
+   *
+   * @param other The translation to compute the distance to.
+   * @return The distance between the two translations.
+   */
+  public double getDistance(Translation2d other) {
+    return Math.hypot(other.getX() - m_x, other.getY() - m_y);
+  }
+
+  /**
+   * Calculates the distance between this translation and another one.
+   *
+   * @param other The translation to compute the distance to.
+   * @return The distance between the two translations.
+   */
+  public double getDistance(MutableTranslation2d other) {
+    return Math.hypot(other.m_x - m_x, other.m_y - m_y);
+  }
+
+  /**
+   * Rotates this translation. See {@link Translation2d#rotateBy(Rotation2d)}.
+   *
+   * @param other The rotation to rotate the translation by.
+   * @return This translation.
+   */
+  public MutableTranslation2d rotateBy(Rotation2d other) {
+    return rotateBy(other.getCos(), other.getSin());
+  }
+
+  /**
+   * Rotates this translation. See {@link Translation2d#rotateBy(Rotation2d)}.
+   *
+   * @param other The rotation to rotate the translation by.
+   * @return This translation.
+   */
+  public MutableTranslation2d rotateBy(MutableRotation2d other) {
+    return rotateBy(other.getCos(), other.getSin());
+  }
+
+  /**
+   * Rotates this translation by the rotation with the given cosine and sine.
+   */
+  MutableTranslation2d rotateBy(double cos, double sin) {
+    return set(m_x * cos - m_y * sin, m_x * sin + m_y * cos);
+  }
+
+  /**
+   * Adds another translation to this one.
+   *
+   * @param other The translation to add.
+   * @return This translation.
+   */
+  public MutableTranslation2d plus(Translation2d other) {
+    return set(m_x + other.getX(), m_y + other.getY());
+  }
+
+  /**
+   * Adds another translation to this one.
+   *
+   * @param other The translation to add.
+   * @return This translation.
+   */
+  public MutableTranslation2d plus(MutableTranslation2d other) {
+    return set(m_x + other.m_x, m_y + other.m_y);
+  }
+
+  /**
+   * Subtracts another translation from this one.
+   *
+   * @param other The translation to subtract.
+   * @return This translation.
+   */
+  public MutableTranslation2d minus(Translation2d other) {
+    return set(m_x - other.getX(), m_y - other.getY());
+  }
+
+  /**
+   * Subtracts another translation from this one.
+   *
+   * @param other The translation to subtract.
+   * @return This translation.
+   */
+  public MutableTranslation2d minus(MutableTranslation2d other) {
+    return set(m_x - other.m_x, m_y - other.m_y);
+  }
+
+  /**
+   * Negates both components of this translation.
+   *
+   * @return This translation.
+   */
+  public MutableTranslation2d unaryMinus() {
+    return set(-m_x, -m_y);
+  }
+
+  /**
+   * Multiplies this translation by a scalar.
+   *
+   * @param scalar The scalar to multiply by.
+   * @return This translation.
+   */
+  public MutableTranslation2d times(double scalar) {
+    return set(m_x * scalar, m_y * scalar);
+  }
+
+  /**
+   * Divides this translation by a scalar.
+   *
+   * @param scalar The scalar to divide by.
+   * @return This translation.
+   */
+  public MutableTranslation2d div(double scalar) {
+    return set(m_x / scalar, m_y / scalar);
+  }
+
+  /**
+   * Returns an immutable copy of this translation.
+   *
+   * @return The translation as a Translation2d.
+   */
+  public Translation2d toTranslation2d() {
+    return new Translation2d(m_x, m_y);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MutableTranslation2d(X: %.2f, Y: %.2f)", m_x, m_y);
+  }
+}
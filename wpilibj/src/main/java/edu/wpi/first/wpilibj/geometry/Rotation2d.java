@@ -53,6 +53,20 @@ public class Rotation2d {
     m_sin = Math.sin(value);
   }
 
+  /**
+   * Constructs a Rotation2d from a value whose cosine and sine are already
+   * known, such as those of a {@link MutableRotation2d}.
+   *
+   * @param value The value in radians.
+   * @param cos   The cosine of the value.
+   * @param sin   The sine of the value.
+   */
+  Rotation2d(double value, double cos, double sin) {
+    m_value = value;
+    m_cos = cos;
+    m_sin = sin;
+  }
+
   /**
    * Constructs a Rotation2d with the given x and y (cosine and sine)
    * components.
@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -60,11 +60,25 @@ public class DifferentialDriveKinematics {
    * @return The left and right velocities.
    */
   public DifferentialDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds) {
-    return new DifferentialDriveWheelSpeeds(
-        chassisSpeeds.vxMetersPerSecond - trackWidthMeters / 2
-          * chassisSpeeds.omegaRadiansPerSecond,
-        chassisSpeeds.vxMetersPerSecond + trackWidthMeters / 2
-          * chassisSpeeds.omegaRadiansPerSecond
-    );
+    return toWheelSpeeds(chassisSpeeds.vxMetersPerSecond, chassisSpeeds.omegaRadiansPerSecond,
+        new DifferentialDriveWheelSpeeds());
+  }
+
+  /**
+   * Calculates left and right component velocities from the linear and angular
+   * components of a chassis speed using inverse kinematics, storing them in a
+   * caller-owned object instead of allocating a new one.
+   *
+   * @param vxMetersPerSecond     The forward velocity of the chassis.
+   * @param omegaRadiansPerSecond The angular velocity of the chassis.
+   * @param out                   The object to store the left and right velocities in.
+   * @return The object passed in as out, for chaining.
+   */
+  public DifferentialDriveWheelSpeeds toWheelSpeeds(double vxMetersPerSecond,
+                                                    double omegaRadiansPerSecond,
+                                                    DifferentialDriveWheelSpeeds out) {
+    out.leftMetersPerSecond = vxMetersPerSecond - trackWidthMeters / 2 * omegaRadiansPerSecond;
+    out.rightMetersPerSecond = vxMetersPerSecond + trackWidthMeters / 2 * omegaRadiansPerSecond;
+    return out;
   }
 }
@@ -10,9 +10,11 @@ package edu.wpi.first.wpilibj.kinematics;
 import edu.wpi.first.hal.FRCNetComm.tInstances;
 import edu.wpi.first.hal.FRCNetComm.tResourceType;
 import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.geometry.MutablePose2d;
+import edu.wpi.first.wpilibj.geometry.MutableRotation2d;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
-import edu.wpi.first.wpilibj.geometry.Twist2d;
 
 /**
  * Class for differential drive odometry. Odometry allows you to track the
@@ -29,8 +31,15 @@ import edu.wpi.first.wpilibj.geometry.Twist2d;
 public class DifferentialDriveOdometry {
   private Pose2d m_poseMeters;
 
-  private Rotation2d m_gyroOffset;
-  private Rotation2d m_previousAngle;
+  // The pose is integrated in place; m_poseMeters is an immutable copy of it
+  // made after each update.
+  private final MutablePose2d m_pose = new MutablePose2d();
+  private final MutableRotation2d m_gyroOffset = new MutableRotation2d();
+  private final MutableRotation2d m_previousAngle = new MutableRotation2d();
+  private final MutableRotation2d m_angle = new MutableRotation2d();
+  private final MutableRotation2d m_deltaAngle = new MutableRotation2d();
+
+  private PoseHistory m_poseHistory;
 
   private double m_prevLeftDistance;
   private double m_prevRightDistance;
@@ -44,8 +53,9 @@ public class DifferentialDriveOdometry {
   public DifferentialDriveOdometry(Rotation2d gyroAngle,
                                    Pose2d initialPoseMeters) {
     m_poseMeters = initialPoseMeters;
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
-    m_previousAngle = initialPoseMeters.getRotation();
+    m_pose.set(initialPoseMeters);
+    m_gyroOffset.set(initialPoseMeters.getRotation()).minus(gyroAngle);
+    m_previousAngle.set(initialPoseMeters.getRotation());
     HAL.report(tResourceType.kResourceType_Odometry, tInstances.kOdometry_DifferentialDrive);
   }
 
@@ -71,11 +81,16 @@ public class DifferentialDriveOdometry {
    */
   public void resetPosition(Pose2d poseMeters, Rotation2d gyroAngle) {
     m_poseMeters = poseMeters;
-    m_previousAngle = poseMeters.getRotation();
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
+    m_pose.set(poseMeters);
+    m_previousAngle.set(poseMeters.getRotation());
+    m_gyroOffset.set(poseMeters.getRotation()).minus(gyroAngle);
 
     m_prevLeftDistance = 0.0;
     m_prevRightDistance = 0.0;
+
+    if (m_poseHistory != null) {
+      m_poseHistory.clear();
+    }
   }
 
   /**
@@ -87,12 +102,64 @@ public class DifferentialDriveOdometry {
     return m_poseMeters;
   }
 
+  /**
+   * Sets a history that the pose is added to on every update, so that delayed measurements can
+   * be applied with {@link #addVisionMeasurement(Pose2d, double)}. The history is cleared
+   * whenever the position is reset.
+   *
+   * @param poseHistory The pose history, or null to stop recording the pose.
+   */
+  public void setPoseHistory(PoseHistory poseHistory) {
+    m_poseHistory = poseHistory;
+  }
+
+  /**
+   * Returns the history that the pose is added to on every update.
+   *
+   * @return The pose history, or null if none was set.
+   */
+  public PoseHistory getPoseHistory() {
+    return m_poseHistory;
+  }
+
+  /**
+   * Corrects the robot's position on the field with a measurement of where it was at some time
+   * in the past, such as one computed from a camera frame by a vision pipeline. The pose history
+   * is corrected as described in {@link PoseHistory#correct(double, Pose2d)}, and the robot's
+   * position becomes the corrected latest pose, so the updates since the measurement are
+   * effectively replayed on top of it.
+   *
+   * <p>This must be called from the same thread as the updates.
+   *
+   * @param visionRobotPoseMeters The measured pose of the robot.
+   * @param timestampSeconds      The time at which the measurement was captured, on the same
+   *                              clock as the updates.
+   * @throws IllegalStateException If no pose history was set.
+   */
+  public void addVisionMeasurement(Pose2d visionRobotPoseMeters, double timestampSeconds) {
+    if (m_poseHistory == null) {
+      throw new IllegalStateException(
+          "A pose history must be set with setPoseHistory() to add vision measurements");
+    }
+    if (!m_poseHistory.correct(timestampSeconds, visionRobotPoseMeters)) {
+      return;
+    }
+
+    var correctedPose = m_poseHistory.getLatest().get();
+    m_gyroOffset.plus(correctedPose.getRotation()).minus(m_pose.getRotation());
+    m_previousAngle.set(correctedPose.getRotation());
+    m_pose.set(correctedPose);
+    m_poseMeters = correctedPose;
+  }
+
 
   /**
    * Updates the robot position on the field using distance measurements from encoders. This
    * method is more numerically accurate than using velocities to integrate the pose and
    * is also advantageous for teams that are using lower CPR encoders.
    *
+   * <p>The current time is only read if a pose history is set.
+   *
    * @param gyroAngle           The angle reported by the gyroscope.
    * @param leftDistanceMeters  The distance traveled by the left encoder.
    * @param rightDistanceMeters The distance traveled by the right encoder.
@@ -100,6 +167,24 @@ public class DifferentialDriveOdometry {
    */
   public Pose2d update(Rotation2d gyroAngle, double leftDistanceMeters,
                        double rightDistanceMeters) {
+    double currentTimeSeconds = m_poseHistory != null ? Timer.getFPGATimestamp() : 0.0;
+    return updateWithTime(currentTimeSeconds, gyroAngle, leftDistanceMeters,
+        rightDistanceMeters);
+  }
+
+  /**
+   * Updates the robot position on the field using distance measurements from encoders, as
+   * {@link #update(Rotation2d, double, double)} does. The current time is only used to timestamp
+   * the pose in the pose history, if one is set.
+   *
+   * @param currentTimeSeconds  The current time in seconds.
+   * @param gyroAngle           The angle reported by the gyroscope.
+   * @param leftDistanceMeters  The distance traveled by the left encoder.
+   * @param rightDistanceMeters The distance traveled by the right encoder.
+   * @return The new pose of the robot.
+   */
+  public Pose2d updateWithTime(double currentTimeSeconds, Rotation2d gyroAngle,
+                               double leftDistanceMeters, double rightDistanceMeters) {
     double deltaLeftDistance = leftDistanceMeters - m_prevLeftDistance;
     double deltaRightDistance = rightDistanceMeters - m_prevRightDistance;
 
@@ -107,14 +192,19 @@ public class DifferentialDriveOdometry {
     m_prevRightDistance = rightDistanceMeters;
 
     double averageDeltaDistance = (deltaLeftDistance + deltaRightDistance) / 2.0;
-    var angle = gyroAngle.plus(m_gyroOffset);
+    m_angle.set(gyroAngle).plus(m_gyroOffset);
 
-    var newPose = m_poseMeters.exp(
-        new Twist2d(averageDeltaDistance, 0.0, angle.minus(m_previousAngle).getRadians()));
+    m_pose.exp(averageDeltaDistance, 0.0,
+        m_deltaAngle.set(m_angle).minus(m_previousAngle).getRadians());
 
-    m_previousAngle = angle;
+    m_pose.getRotation().set(m_angle);
+    m_previousAngle.set(m_angle);
+    m_poseMeters = m_pose.toPose2d();
 
-    m_poseMeters = new Pose2d(newPose.getTranslation(), angle);
+    if (m_poseHistory != null) {
+      m_poseHistory.add(currentTimeSeconds, m_pose.getTranslation().getX(),
+          m_pose.getTranslation().getY(), m_pose.getRotation().getRadians());
+    }
     return m_poseMeters;
   }
 }
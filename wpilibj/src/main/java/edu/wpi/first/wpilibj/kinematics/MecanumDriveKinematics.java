@@ -39,6 +39,8 @@ import edu.wpi.first.wpilibj.geometry.Translation2d;
 public class MecanumDriveKinematics {
   private SimpleMatrix m_inverseKinematics;
   private final SimpleMatrix m_forwardKinematics;
+  // The forward kinematics in row-major order
+  private final double[] m_forwardKinematicsData;
 
   private final Translation2d m_frontLeftWheelMeters;
   private final Translation2d m_frontRightWheelMeters;
@@ -73,6 +75,7 @@ public class MecanumDriveKinematics {
     setInverseKinematics(frontLeftWheelMeters, frontRightWheelMeters,
         rearLeftWheelMeters, rearRightWheelMeters);
     m_forwardKinematics = m_inverseKinematics.pseudoInverse();
+    m_forwardKinematicsData = m_forwardKinematics.getDDRM().getData().clone();
 
     HAL.report(tResourceType.kResourceType_Kinematics, tInstances.kKinematics_MecanumDrive);
   }
@@ -154,6 +157,33 @@ public class MecanumDriveKinematics {
         chassisSpeedsVector.get(2, 0));
   }
 
+  /**
+   * Performs forward kinematics from the given wheel speeds, writing the chassis speeds into the
+   * given array instead of allocating. The results are the same as those of
+   * {@link #toChassisSpeeds(MecanumDriveWheelSpeeds)}.
+   *
+   * @param frontLeftMetersPerSecond  Speed of the front left wheel.
+   * @param frontRightMetersPerSecond Speed of the front right wheel.
+   * @param rearLeftMetersPerSecond   Speed of the rear left wheel.
+   * @param rearRightMetersPerSecond  Speed of the rear right wheel.
+   * @param chassisSpeeds             Array of at least three elements to write the forward
+   *                                  velocity, sideways velocity, and angular velocity of the
+   *                                  chassis to, in that order.
+   */
+  public void toChassisSpeeds(double frontLeftMetersPerSecond, double frontRightMetersPerSecond,
+                              double rearLeftMetersPerSecond, double rearRightMetersPerSecond,
+                              double[] chassisSpeeds) {
+    for (int row = 0; row < 3; row++) {
+      // Summed in the same order as SimpleMatrix.mult()
+      final int offset = row * 4;
+      double total = m_forwardKinematicsData[offset] * frontLeftMetersPerSecond;
+      total += m_forwardKinematicsData[offset + 1] * frontRightMetersPerSecond;
+      total += m_forwardKinematicsData[offset + 2] * rearLeftMetersPerSecond;
+      total += m_forwardKinematicsData[offset + 3] * rearRightMetersPerSecond;
+      chassisSpeeds[row] = total;
+    }
+  }
+
   /**
    * Construct inverse kinematics matrix from wheel locations.
    *
@@ -0,0 +1,277 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.kinematics;
+
+import java.util.Optional;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+/**
+ * A fixed-capacity history of robot poses indexed by timestamp, for latency compensation. The
+ * odometry classes add their pose to it on every update; a measurement that was captured some
+ * time ago, such as a vision measurement, can then be compared against where the robot was when
+ * it was captured, and used to correct that pose and every pose after it.
+ *
+ * <p>The poses are stored in primitive arrays used as a ring buffer, so once the history is full,
+ * each new pose replaces the oldest one, and adding poses doesn't allocate. Timestamps are
+ * expected to be in seconds on the same clock as the odometry updates, which by default is the
+ * FPGA timestamp.
+ */
+public class PoseHistory {
+  private final double[] m_timestamps;
+  private final double[] m_xs;
+  private final double[] m_ys;
+  private final double[] m_headings;
+  private final double[] m_recordedPose = new double[3];
+  private int m_start;
+  private int m_size;
+
+  /**
+   * Constructs an empty PoseHistory.
+   *
+   * @param capacity The number of poses to keep. At 50 updates per second, a capacity of 50 keeps
+   *                 one second of history.
+   */
+  public PoseHistory(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    m_timestamps = new double[capacity];
+    m_xs = new double[capacity];
+    m_ys = new double[capacity];
+    m_headings = new double[capacity];
+  }
+
+  /**
+   * Adds a pose to the history. If the timestamp is the same as that of the latest pose, it
+   * replaces that pose; if it is earlier (for example, because the clock was reset), the history
+   * is cleared first.
+   *
+   * @param timestampSeconds The time at which the robot was at the pose.
+   * @param xMeters          The x component of the pose.
+   * @param yMeters          The y component of the pose.
+   * @param headingRadians   The heading of the pose.
+   */
+  @SuppressWarnings("ParameterName")
+  public void add(double timestampSeconds, double xMeters, double yMeters,
+                  double headingRadians) {
+    if (m_size > 0) {
+      final double latest = m_timestamps[index(m_size - 1)];
+      if (timestampSeconds == latest) {
+        m_size--;
+      } else if (timestampSeconds < latest) {
+        clear();
+      }
+    }
+
+    int index;
+    if (m_size == m_timestamps.length) {
+      index = m_start;
+      m_start = index(1);
+    } else {
+      index = index(m_size);
+      m_size++;
+    }
+    m_timestamps[index] = timestampSeconds;
+    m_xs[index] = xMeters;
+    m_ys[index] = yMeters;
+    m_headings[index] = headingRadians;
+  }
+
+  /**
+   * Adds a pose to the history. See {@link #add(double, double, double, double)}.
+   *
+   * @param timestampSeconds The time at which the robot was at the pose.
+   * @param poseMeters       The pose.
+   */
+  public void add(double timestampSeconds, Pose2d poseMeters) {
+    add(timestampSeconds, poseMeters.getTranslation().getX(),
+        poseMeters.getTranslation().getY(), poseMeters.getRotation().getRadians());
+  }
+
+  /**
+   * Removes all of the poses from the history.
+   */
+  public void clear() {
+    m_start = 0;
+    m_size = 0;
+  }
+
+  /**
+   * Returns the number of poses in the history.
+   *
+   * @return The number of poses in the history.
+   */
+  public int size() {
+    return m_size;
+  }
+
+  /**
+   * Returns the timestamp of the oldest pose in the history.
+   *
+   * @return The timestamp of the oldest pose, or NaN if the history is empty.
+   */
+  public double getOldestTimestamp() {
+    return m_size > 0 ? m_timestamps[m_start] : Double.NaN;
+  }
+
+  /**
+   * Returns the timestamp of the latest pose in the history.
+   *
+   * @return The timestamp of the latest pose, or NaN if the history is empty.
+   */
+  public double getLatestTimestamp() {
+    return m_size > 0 ? m_timestamps[index(m_size - 1)] : Double.NaN;
+  }
+
+  /**
+   * Finds where the robot was at the given time, without allocating. Between two poses in the
+   * history, the translation is interpolated linearly and the heading along the shorter arc.
+   * Times before the oldest pose or after the latest pose are clamped to those poses.
+   *
+   * @param timestampSeconds The time to look up.
+   * @param pose             Array of at least three elements to write the x, y, and heading in
+   *                         radians of the pose to, in that order.
+   * @return Whether the history has any poses. If not, the array is left unchanged.
+   */
+  public boolean sample(double timestampSeconds, double[] pose) {
+    if (m_size == 0) {
+      return false;
+    }
+
+    final int upper = findUpperBound(timestampSeconds);
+    if (upper == 0 || upper == m_size || m_timestamps[index(upper)] == timestampSeconds) {
+      final int index = index(Math.min(upper, m_size - 1));
+      pose[0] = m_xs[index];
+      pose[1] = m_ys[index];
+      pose[2] = m_headings[index];
+      return true;
+    }
+
+    final int before = index(upper - 1);
+    final int after = index(upper);
+    final double t = (timestampSeconds - m_timestamps[before])
+        / (m_timestamps[after] - m_timestamps[before]);
+    pose[0] = m_xs[before] + (m_xs[after] - m_xs[before]) * t;
+    pose[1] = m_ys[before] + (m_ys[after] - m_ys[before]) * t;
+    pose[2] = m_headings[before]
+        + Math.IEEEremainder(m_headings[after] - m_headings[before], 2 * Math.PI) * t;
+    return true;
+  }
+
+  /**
+   * Finds where the robot was at the given time. See {@link #sample(double, double[])}.
+   *
+   * @param timestampSeconds The time to look up.
+   * @return The pose, or an empty optional if the history is empty.
+   */
+  public Optional<Pose2d> sample(double timestampSeconds) {
+    var pose = new double[3];
+    if (!sample(timestampSeconds, pose)) {
+      return Optional.empty();
+    }
+    return Optional.of(new Pose2d(pose[0], pose[1], new Rotation2d(pose[2])));
+  }
+
+  /**
+   * Corrects the history with a measurement of where the robot was at some time. The pose at that
+   * time is moved to the measured pose, and every later pose is moved with it, which is the same
+   * as replaying the odometry updates since the measurement on top of the measured pose. Poses
+   * before the measurement are left unchanged.
+   *
+   * @param timestampSeconds The time at which the measurement was captured.
+   * @param xMeters          The measured x component of the pose.
+   * @param yMeters          The measured y component of the pose.
+   * @param headingRadians   The measured heading of the pose.
+   * @return Whether the history was corrected. Measurements from before the oldest pose in the
+   *         history can't be replayed, so they're ignored.
+   */
+  @SuppressWarnings({"LocalVariableName", "ParameterName"})
+  public boolean correct(double timestampSeconds, double xMeters, double yMeters,
+                         double headingRadians) {
+    if (m_size == 0 || timestampSeconds < m_timestamps[m_start]) {
+      return false;
+    }
+
+    // Find the transform (in field coordinates) that moves the recorded pose
+    // at the measurement's time onto the measured pose.
+    final var recorded = m_recordedPose;
+    sample(timestampSeconds, recorded);
+    // The heading is corrected along the shorter arc, so that the headings
+    // stay continuous with those before the measurement.
+    final double dtheta = Math.IEEEremainder(headingRadians - recorded[2], 2 * Math.PI);
+    final double cos = Math.cos(dtheta);
+    final double sin = Math.sin(dtheta);
+
+    // Apply it to every pose from the measurement's time on. If the
+    // measurement is newer than the latest pose, it corrects the latest pose.
+    final int first = Math.min(findUpperBound(timestampSeconds), m_size - 1);
+    for (int i = first; i < m_size; i++) {
+      final int index = index(i);
+      final double dx = m_xs[index] - recorded[0];
+      final double dy = m_ys[index] - recorded[1];
+      m_xs[index] = xMeters + dx * cos - dy * sin;
+      m_ys[index] = yMeters + dx * sin + dy * cos;
+      m_headings[index] += dtheta;
+    }
+    return true;
+  }
+
+  /**
+   * Corrects the history with a measurement of where the robot was at some time. See
+   * {@link #correct(double, double, double, double)}.
+   *
+   * @param timestampSeconds The time at which the measurement was captured.
+   * @param poseMeters       The measured pose.
+   * @return Whether the history was corrected.
+   */
+  public boolean correct(double timestampSeconds, Pose2d poseMeters) {
+    return correct(timestampSeconds, poseMeters.getTranslation().getX(),
+        poseMeters.getTranslation().getY(), poseMeters.getRotation().getRadians());
+  }
+
+  /**
+   * Returns the latest pose in the history.
+   *
+   * @return The latest pose, or an empty optional if the history is empty.
+   */
+  public Optional<Pose2d> getLatest() {
+    if (m_size == 0) {
+      return Optional.empty();
+    }
+    final int index = index(m_size - 1);
+    return Optional.of(new Pose2d(m_xs[index], m_ys[index], new Rotation2d(m_headings[index])));
+  }
+
+  /**
+   * Returns the logical index of the first pose with a timestamp at or after the given one, or
+   * the size of the history if there is none.
+   */
+  private int findUpperBound(double timestampSeconds) {
+    int low = 0;
+    int high = m_size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (m_timestamps[index(mid)] < timestampSeconds) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Converts a logical index, counting from the oldest pose, to an array index.
+   */
+  private int index(int logicalIndex) {
+    final int index = m_start + logicalIndex;
+    return index < m_timestamps.length ? index : index - m_timestamps.length;
+  }
+}
@@ -39,14 +39,29 @@ import edu.wpi.first.wpilibj.geometry.Translation2d;
  *
  * <p>Forward kinematics is also used for odometry -- determining the position of
  * the robot on the field using encoders and a gyro.
+ *
+ * <p>Both directions are also available as methods that take and return module
+ * speeds and angles as primitive arrays. These don't allocate, so they can be
+ * called every control loop iteration without producing garbage.
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public class SwerveDriveKinematics {
   private final SimpleMatrix m_inverseKinematics;
   private final SimpleMatrix m_forwardKinematics;
 
   private final int m_numModules;
   private final Translation2d[] m_modules;
-  private Translation2d m_prevCoR = new Translation2d();
+  private double m_prevCoRX;
+  private double m_prevCoRY;
+
+  // The omega column of the inverse kinematics for the current center of
+  // rotation, and the forward kinematics in row-major order.
+  private final double[] m_omegaToModuleX;
+  private final double[] m_omegaToModuleY;
+  private final double[] m_forwardKinematicsData;
+  // The module velocity vectors that the forward kinematics is applied to,
+  // interleaved as [vx0, vy0, vx1, vy1, ...]
+  private final double[] m_moduleVelocities;
 
   /**
    * Constructs a swerve drive kinematics object. This takes in a variable
@@ -73,6 +88,15 @@ public class SwerveDriveKinematics {
     }
     m_forwardKinematics = m_inverseKinematics.pseudoInverse();
 
+    m_omegaToModuleX = new double[m_numModules];
+    m_omegaToModuleY = new double[m_numModules];
+    for (int i = 0; i < m_numModules; i++) {
+      m_omegaToModuleX[i] = -m_modules[i].getY();
+      m_omegaToModuleY[i] = +m_modules[i].getX();
+    }
+    m_forwardKinematicsData = m_forwardKinematics.getDDRM().getData().clone();
+    m_moduleVelocities = new double[m_numModules * 2];
+
     HAL.report(tResourceType.kResourceType_Kinematics, tInstances.kKinematics_SwerveDrive);
   }
 
@@ -101,15 +125,7 @@ public class SwerveDriveKinematics {
   @SuppressWarnings({"LocalVariableName", "PMD.AvoidInstantiatingObjectsInLoops"})
   public SwerveModuleState[] toSwerveModuleStates(ChassisSpeeds chassisSpeeds,
                                                   Translation2d centerOfRotationMeters) {
-    if (!centerOfRotationMeters.equals(m_prevCoR)) {
-      for (int i = 0; i < m_numModules; i++) {
-        m_inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0,
-            -m_modules[i].getY() + centerOfRotationMeters.getY());
-        m_inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1,
-            +m_modules[i].getX() - centerOfRotationMeters.getX());
-      }
-      m_prevCoR = centerOfRotationMeters;
-    }
+    setCenterOfRotation(centerOfRotationMeters.getX(), centerOfRotationMeters.getY());
 
     var chassisSpeedsVector = new SimpleMatrix(3, 1);
     chassisSpeedsVector.setColumn(0, 0,
@@ -143,6 +159,68 @@ public class SwerveDriveKinematics {
     return toSwerveModuleStates(chassisSpeeds, new Translation2d());
   }
 
+  /**
+   * Performs inverse kinematics, writing the module speeds and angles into the given arrays
+   * instead of allocating module states. The results are the same as those of
+   * {@link #toSwerveModuleStates(ChassisSpeeds, Translation2d)}.
+   *
+   * @param vxMetersPerSecond       The desired forward velocity of the chassis.
+   * @param vyMetersPerSecond       The desired sideways velocity of the chassis.
+   * @param omegaRadiansPerSecond   The desired angular velocity of the chassis.
+   * @param centerOfRotationXMeters The x component of the center of rotation.
+   * @param centerOfRotationYMeters The y component of the center of rotation.
+   * @param speedsMetersPerSecond   Array to write the module speeds to, in the order the modules
+   *                                were passed to the constructor.
+   * @param anglesRadians           Array to write the module angles to, in the order the modules
+   *                                were passed to the constructor.
+   */
+  @SuppressWarnings("LocalVariableName")
+  public void toSwerveModuleStates(double vxMetersPerSecond, double vyMetersPerSecond,
+                                   double omegaRadiansPerSecond,
+                                   double centerOfRotationXMeters, double centerOfRotationYMeters,
+                                   double[] speedsMetersPerSecond, double[] anglesRadians) {
+    checkModuleCount(speedsMetersPerSecond);
+    checkModuleCount(anglesRadians);
+    setCenterOfRotation(centerOfRotationXMeters, centerOfRotationYMeters);
+
+    for (int i = 0; i < m_numModules; i++) {
+      // Rows 2i and 2i + 1 of the inverse kinematics are [1, 0, -y] and
+      // [0, 1, x], summed in the same order as SimpleMatrix.mult().
+      double x = vxMetersPerSecond + 0 * vyMetersPerSecond
+          + m_omegaToModuleX[i] * omegaRadiansPerSecond;
+      double y = 0 * vxMetersPerSecond + vyMetersPerSecond
+          + m_omegaToModuleY[i] * omegaRadiansPerSecond;
+
+      // Normalize the angle the same way as Rotation2d(x, y).
+      double magnitude = Math.hypot(x, y);
+      speedsMetersPerSecond[i] = magnitude;
+      if (magnitude > 1e-6) {
+        anglesRadians[i] = Math.atan2(y / magnitude, x / magnitude);
+      } else {
+        anglesRadians[i] = 0.0;
+      }
+    }
+  }
+
+  /**
+   * Performs inverse kinematics about the center of the robot, writing the module speeds and
+   * angles into the given arrays. See
+   * {@link #toSwerveModuleStates(double, double, double, double, double, double[], double[])}
+   * for more information.
+   *
+   * @param vxMetersPerSecond     The desired forward velocity of the chassis.
+   * @param vyMetersPerSecond     The desired sideways velocity of the chassis.
+   * @param omegaRadiansPerSecond The desired angular velocity of the chassis.
+   * @param speedsMetersPerSecond Array to write the module speeds to.
+   * @param anglesRadians         Array to write the module angles to.
+   */
+  public void toSwerveModuleStates(double vxMetersPerSecond, double vyMetersPerSecond,
+                                   double omegaRadiansPerSecond,
+                                   double[] speedsMetersPerSecond, double[] anglesRadians) {
+    toSwerveModuleStates(vxMetersPerSecond, vyMetersPerSecond, omegaRadiansPerSecond, 0, 0,
+        speedsMetersPerSecond, anglesRadians);
+  }
+
   /**
    * Performs forward kinematics to return the resulting chassis state from the
    * given module states. This method is often used for odometry -- determining
@@ -175,6 +253,98 @@ public class SwerveDriveKinematics {
 
   }
 
+  /**
+   * Performs forward kinematics from module speeds and angles given as arrays, writing the
+   * chassis speeds into the given array instead of allocating. The results are the same as those
+   * of {@link #toChassisSpeeds(SwerveModuleState...)} for module states constructed from the
+   * same speeds and angles.
+   *
+   * @param speedsMetersPerSecond The measured speeds of the modules, in the order the modules were
+   *                              passed to the constructor.
+   * @param anglesRadians         The measured angles of the modules, in the order the modules were
+   *                              passed to the constructor.
+   * @param chassisSpeeds         Array of at least three elements to write the forward velocity,
+   *                              sideways velocity, and angular velocity of the chassis to, in
+   *                              that order.
+   */
+  public void toChassisSpeeds(double[] speedsMetersPerSecond, double[] anglesRadians,
+                              double[] chassisSpeeds) {
+    checkModuleCount(speedsMetersPerSecond);
+    checkModuleCount(anglesRadians);
+
+    for (int i = 0; i < m_numModules; i++) {
+      double speed = speedsMetersPerSecond[i];
+      double angle = anglesRadians[i];
+      m_moduleVelocities[i * 2] = speed * Math.cos(angle);
+      m_moduleVelocities[i * 2 + 1] = speed * Math.sin(angle);
+    }
+    applyForwardKinematics(chassisSpeeds);
+  }
+
+  /**
+   * Performs forward kinematics, as {@link #toChassisSpeeds(SwerveModuleState...)} does, but
+   * writes the chassis speeds into the given array instead of allocating.
+   *
+   * @param wheelStates   The state of the modules as measured from respective encoders and gyros,
+   *                      in the order the modules were passed to the constructor.
+   * @param chassisSpeeds Array of at least three elements to write the forward velocity,
+   *                      sideways velocity, and angular velocity of the chassis to, in that
+   *                      order.
+   */
+  public void toChassisSpeeds(SwerveModuleState[] wheelStates, double[] chassisSpeeds) {
+    if (wheelStates.length != m_numModules) {
+      throw new IllegalArgumentException(
+          "Number of modules is not consistent with number of wheel locations provided in "
+              + "constructor"
+      );
+    }
+
+    for (int i = 0; i < m_numModules; i++) {
+      var module = wheelStates[i];
+      m_moduleVelocities[i * 2] = module.speedMetersPerSecond * module.angle.getCos();
+      m_moduleVelocities[i * 2 + 1] = module.speedMetersPerSecond * module.angle.getSin();
+    }
+    applyForwardKinematics(chassisSpeeds);
+  }
+
+  /**
+   * Multiplies the forward kinematics by the module velocity vectors in m_moduleVelocities,
+   * summing in the same order as SimpleMatrix.mult().
+   */
+  private void applyForwardKinematics(double[] chassisSpeeds) {
+    final int columns = m_numModules * 2;
+    for (int row = 0; row < 3; row++) {
+      final int offset = row * columns;
+      double total = m_forwardKinematicsData[offset] * m_moduleVelocities[0];
+      for (int column = 1; column < columns; column++) {
+        total += m_forwardKinematicsData[offset + column] * m_moduleVelocities[column];
+      }
+      chassisSpeeds[row] = total;
+    }
+  }
+
+  /**
+   * Normalizes the wheel speeds using some max attainable speed, as
+   * {@link #normalizeWheelSpeeds(SwerveModuleState[], double)} does, for speeds given as an array.
+   *
+   * @param speedsMetersPerSecond             Array of module speeds. The array will be mutated
+   *                                          with the normalized speeds!
+   * @param attainableMaxSpeedMetersPerSecond The absolute max speed that a module can reach.
+   */
+  public static void normalizeWheelSpeeds(double[] speedsMetersPerSecond,
+                                          double attainableMaxSpeedMetersPerSecond) {
+    double realMaxSpeed = speedsMetersPerSecond[0];
+    for (double speed : speedsMetersPerSecond) {
+      realMaxSpeed = Math.max(realMaxSpeed, speed);
+    }
+    if (realMaxSpeed > attainableMaxSpeedMetersPerSecond) {
+      for (int i = 0; i < speedsMetersPerSecond.length; i++) {
+        speedsMetersPerSecond[i] = speedsMetersPerSecond[i] / realMaxSpeed
+            * attainableMaxSpeedMetersPerSecond;
+      }
+    }
+  }
+
   /**
    * Normalizes the wheel speeds using some max attainable speed. Sometimes,
    * after inverse kinematics, the requested speed from a/several modules may be
@@ -197,4 +367,33 @@ public class SwerveDriveKinematics {
       }
     }
   }
+
+  /**
+   * Updates the inverse kinematics for a new center of rotation. Centers
+   * within 1E-9 meters of the previous one, as compared by
+   * Translation2d.equals(), are treated as unchanged.
+   */
+  @SuppressWarnings("ParameterName")
+  private void setCenterOfRotation(double xMeters, double yMeters) {
+    if (Math.abs(xMeters - m_prevCoRX) < 1E-9 && Math.abs(yMeters - m_prevCoRY) < 1E-9) {
+      return;
+    }
+    for (int i = 0; i < m_numModules; i++) {
+      m_omegaToModuleX[i] = -m_modules[i].getY() + yMeters;
+      m_omegaToModuleY[i] = +m_modules[i].getX() - xMeters;
+      m_inverseKinematics.set(i * 2 + 0, 2, m_omegaToModuleX[i]);
+      m_inverseKinematics.set(i * 2 + 1, 2, m_omegaToModuleY[i]);
+    }
+    m_prevCoRX = xMeters;
+    m_prevCoRY = yMeters;
+  }
+
+  private void checkModuleCount(double[] array) {
+    if (array.length != m_numModules) {
+      throw new IllegalArgumentException(
+          "Number of modules is not consistent with number of wheel locations provided in "
+              + "constructor"
+      );
+    }
+  }
 }
@@ -11,9 +11,10 @@ import edu.wpi.first.hal.FRCNetComm.tInstances;
 import edu.wpi.first.hal.FRCNetComm.tResourceType;
 import edu.wpi.first.hal.HAL;
 import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.geometry.MutablePose2d;
+import edu.wpi.first.wpilibj.geometry.MutableRotation2d;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
-import edu.wpi.first.wpilibj.geometry.Twist2d;
 
 /**
  * Class for swerve drive odometry. Odometry allows you to track the robot's
@@ -29,8 +30,17 @@ public class SwerveDriveOdometry {
   private Pose2d m_poseMeters;
   private double m_prevTimeSeconds = -1;
 
-  private Rotation2d m_gyroOffset;
-  private Rotation2d m_previousAngle;
+  // The pose is integrated in place; m_poseMeters is an immutable copy of it
+  // made after each update.
+  private final MutablePose2d m_pose = new MutablePose2d();
+  private final MutableRotation2d m_gyroOffset = new MutableRotation2d();
+  private final MutableRotation2d m_previousAngle = new MutableRotation2d();
+  private final MutableRotation2d m_angle = new MutableRotation2d();
+  private final MutableRotation2d m_deltaAngle = new MutableRotation2d();
+
+  private final double[] m_chassisSpeeds = new double[3];
+
+  private PoseHistory m_poseHistory;
 
   /**
    * Constructs a SwerveDriveOdometry object.
@@ -43,8 +53,9 @@ public class SwerveDriveOdometry {
                              Pose2d initialPose) {
     m_kinematics = kinematics;
     m_poseMeters = initialPose;
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
-    m_previousAngle = initialPose.getRotation();
+    m_pose.set(initialPose);
+    m_gyroOffset.set(initialPose.getRotation()).minus(gyroAngle);
+    m_previousAngle.set(initialPose.getRotation());
     HAL.report(tResourceType.kResourceType_Odometry, tInstances.kOdometry_SwerveDrive);
   }
 
@@ -69,8 +80,13 @@ public class SwerveDriveOdometry {
    */
   public void resetPosition(Pose2d pose, Rotation2d gyroAngle) {
     m_poseMeters = pose;
-    m_previousAngle = pose.getRotation();
-    m_gyroOffset = m_poseMeters.getRotation().minus(gyroAngle);
+    m_pose.set(pose);
+    m_previousAngle.set(pose.getRotation());
+    m_gyroOffset.set(pose.getRotation()).minus(gyroAngle);
+
+    if (m_poseHistory != null) {
+      m_poseHistory.clear();
+    }
   }
 
   /**
@@ -82,6 +98,56 @@ public class SwerveDriveOdometry {
     return m_poseMeters;
   }
 
+  /**
+   * Sets a history that the pose is added to on every update, so that delayed measurements can
+   * be applied with {@link #addVisionMeasurement(Pose2d, double)}. The history is cleared
+   * whenever the position is reset.
+   *
+   * @param poseHistory The pose history, or null to stop recording the pose.
+   */
+  public void setPoseHistory(PoseHistory poseHistory) {
+    m_poseHistory = poseHistory;
+  }
+
+  /**
+   * Returns the history that the pose is added to on every update.
+   *
+   * @return The pose history, or null if none was set.
+   */
+  public PoseHistory getPoseHistory() {
+    return m_poseHistory;
+  }
+
+  /**
+   * Corrects the robot's position on the field with a measurement of where it was at some time
+   * in the past, such as one computed from a camera frame by a vision pipeline. The pose history
+   * is corrected as described in {@link PoseHistory#correct(double, Pose2d)}, and the robot's
+   * position becomes the corrected latest pose, so the updates since the measurement are
+   * effectively replayed on top of it.
+   *
+   * <p>This must be called from the same thread as the updates.
+   *
+   * @param visionRobotPoseMeters The measured pose of the robot.
+   * @param timestampSeconds      The time at which the measurement was captured, on the same
+   *                              clock as the updates.
+   * @throws IllegalStateException If no pose history was set.
+   */
+  public void addVisionMeasurement(Pose2d visionRobotPoseMeters, double timestampSeconds) {
+    if (m_poseHistory == null) {
+      throw new IllegalStateException(
+          "A pose history must be set with setPoseHistory() to add vision measurements");
+    }
+    if (!m_poseHistory.correct(timestampSeconds, visionRobotPoseMeters)) {
+      return;
+    }
+
+    var correctedPose = m_poseHistory.getLatest().get();
+    m_gyroOffset.plus(correctedPose.getRotation()).minus(m_pose.getRotation());
+    m_previousAngle.set(correctedPose.getRotation());
+    m_pose.set(correctedPose);
+    m_poseMeters = correctedPose;
+  }
+
   /**
    * Updates the robot's position on the field using forward kinematics and
    * integration of the pose over time. This method takes in the current time as
@@ -99,19 +165,23 @@ public class SwerveDriveOdometry {
    */
   public Pose2d updateWithTime(double currentTimeSeconds, Rotation2d gyroAngle,
                                SwerveModuleState... moduleStates) {
+    m_angle.set(gyroAngle).plus(m_gyroOffset);
+
+    m_kinematics.toChassisSpeeds(moduleStates, m_chassisSpeeds);
+
     double period = m_prevTimeSeconds >= 0 ? currentTimeSeconds - m_prevTimeSeconds : 0.0;
     m_prevTimeSeconds = currentTimeSeconds;
+    m_pose.exp(m_chassisSpeeds[0] * period, m_chassisSpeeds[1] * period,
+        m_deltaAngle.set(m_angle).minus(m_previousAngle).getRadians());
 
-    var angle = gyroAngle.plus(m_gyroOffset);
-
-    var chassisState = m_kinematics.toChassisSpeeds(moduleStates);
-    var newPose = m_poseMeters.exp(
-        new Twist2d(chassisState.vxMetersPerSecond * period,
-            chassisState.vyMetersPerSecond * period,
-            angle.minus(m_previousAngle).getRadians()));
+    m_pose.getRotation().set(m_angle);
+    m_previousAngle.set(m_angle);
+    m_poseMeters = m_pose.toPose2d();
 
-    m_previousAngle = angle;
-    m_poseMeters = new Pose2d(newPose.getTranslation(), angle);
+    if (m_poseHistory != null) {
+      m_poseHistory.add(currentTimeSeconds, m_pose.getTranslation().getX(),
+          m_pose.getTranslation().getY(), m_pose.getRotation().getRadians());
+    }
 
     return m_poseMeters;
   }
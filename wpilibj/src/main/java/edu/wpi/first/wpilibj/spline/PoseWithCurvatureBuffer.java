@@ -0,0 +1,169 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.spline;
+
+import java.util.Arrays;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+/**
+ * A growable buffer of poses and curvatures stored as primitive arrays. It can be passed to
+ * {@link SplineParameterizer#parameterize(Spline, SplineParameterizer.Workspace,
+ * SplineParameterizer.PointConsumer)} to collect the points of a spline; once the buffer has grown
+ * to fit the largest spline, clearing and refilling it doesn't allocate.
+ */
+public class PoseWithCurvatureBuffer implements SplineParameterizer.PointConsumer {
+  private double[] m_xs;
+  private double[] m_ys;
+  private double[] m_headings;
+  private double[] m_headingCos;
+  private double[] m_headingSin;
+  private double[] m_curvatures;
+  private int m_size;
+
+  /**
+   * Constructs an empty buffer with room for 128 points.
+   */
+  public PoseWithCurvatureBuffer() {
+    this(128);
+  }
+
+  /**
+   * Constructs an empty buffer.
+   *
+   * @param capacity The number of points the buffer has room for before it needs to grow.
+   */
+  public PoseWithCurvatureBuffer(int capacity) {
+    m_xs = new double[capacity];
+    m_ys = new double[capacity];
+    m_headings = new double[capacity];
+    m_headingCos = new double[capacity];
+    m_headingSin = new double[capacity];
+    m_curvatures = new double[capacity];
+  }
+
+  @Override
+  @SuppressWarnings("ParameterName")
+  public void accept(double xMeters, double yMeters, double headingRadians, double headingCos,
+                     double headingSin, double curvatureRadPerMeter) {
+    if (m_size == m_xs.length) {
+      int capacity = Math.max(1, m_size * 2);
+      m_xs = Arrays.copyOf(m_xs, capacity);
+      m_ys = Arrays.copyOf(m_ys, capacity);
+      m_headings = Arrays.copyOf(m_headings, capacity);
+      m_headingCos = Arrays.copyOf(m_headingCos, capacity);
+      m_headingSin = Arrays.copyOf(m_headingSin, capacity);
+      m_curvatures = Arrays.copyOf(m_curvatures, capacity);
+    }
+    m_xs[m_size] = xMeters;
+    m_ys[m_size] = yMeters;
+    m_headings[m_size] = headingRadians;
+    m_headingCos[m_size] = headingCos;
+    m_headingSin[m_size] = headingSin;
+    m_curvatures[m_size] = curvatureRadPerMeter;
+    m_size++;
+  }
+
+  /**
+   * Removes all of the points from the buffer, keeping its capacity.
+   */
+  public void clear() {
+    m_size = 0;
+  }
+
+  /**
+   * Returns the number of points in the buffer.
+   *
+   * @return The number of points in the buffer.
+   */
+  public int size() {
+    return m_size;
+  }
+
+  /**
+   * Returns the x component of the pose of a point.
+   *
+   * @param index The index of the point.
+   * @return The x component of the pose.
+   */
+  public double getX(int index) {
+    return m_xs[checkIndex(index)];
+  }
+
+  /**
+   * Returns the y component of the pose of a point.
+   *
+   * @param index The index of the point.
+   * @return The y component of the pose.
+   */
+  public double getY(int index) {
+    return m_ys[checkIndex(index)];
+  }
+
+  /**
+   * Returns the heading of the pose of a point.
+   *
+   * @param index The index of the point.
+   * @return The heading of the pose in radians.
+   */
+  public double getHeading(int index) {
+    return m_headings[checkIndex(index)];
+  }
+
+  /**
+   * Returns the cosine of the heading of the pose of a point.
+   *
+   * @param index The index of the point.
+   * @return The cosine of the heading.
+   */
+  public double getHeadingCos(int index) {
+    return m_headingCos[checkIndex(index)];
+  }
+
+  /**
+   * Returns the sine of the heading of the pose of a point.
+   *
+   * @param index The index of the point.
+   * @return The sine of the heading.
+   */
+  public double getHeadingSin(int index) {
+    return m_headingSin[checkIndex(index)];
+  }
+
+  /**
+   * Returns the curvature of a point.
+   *
+   * @param index The index of the point.
+   * @return The curvature in radians per meter.
+   */
+  public double getCurvature(int index) {
+    return m_curvatures[checkIndex(index)];
+  }
+
+  /**
+   * Returns a point as a PoseWithCurvature. This allocates, so it is meant for
+   * convenience rather than for loops.
+   *
+   * @param index The index of the point.
+   * @return The point.
+   */
+  public PoseWithCurvature get(int index) {
+    checkIndex(index);
+    return new PoseWithCurvature(
+        new Pose2d(m_xs[index], m_ys[index], new Rotation2d(m_headings[index])),
+        m_curvatures[index]);
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= m_size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + m_size);
+    }
+    return index;
+  }
+}
@@ -91,6 +91,83 @@ public abstract class Spline {
     );
   }
 
+  /**
+   * Gets the pose and curvature at some point t on the spline without allocating. The result is
+   * identical to {@link #getPoint(double)}.
+   *
+   * @param t     The point t
+   * @param bases Scratch space for the polynomial bases, with at least degree + 1 elements.
+   * @param point Array to write the x, y, heading in radians, cosine and sine of the heading and
+   *              curvature to, in that order.
+   */
+  @SuppressWarnings("ParameterName")
+  void getPoint(double t, double[] bases, double[] point) {
+    final var coefficients = getCoefficients();
+
+    // Populate the polynomial bases.
+    for (int i = 0; i <= m_degree; i++) {
+      bases[i] = Math.pow(t, m_degree - i);
+    }
+
+    final double x = dotBases(coefficients, 0, bases);
+    final double y = dotBases(coefficients, 1, bases);
+
+    double dx;
+    double dy;
+    double ddx;
+    double ddy;
+
+    if (t == 0) {
+      dx = coefficients.get(2, m_degree - 1);
+      dy = coefficients.get(3, m_degree - 1);
+      ddx = coefficients.get(4, m_degree - 2);
+      ddy = coefficients.get(5, m_degree - 2);
+    } else {
+      // Divide out t once for first derivative.
+      dx = dotBases(coefficients, 2, bases) / t;
+      dy = dotBases(coefficients, 3, bases) / t;
+
+      // Divide out t twice for second derivative.
+      ddx = dotBases(coefficients, 4, bases) / t / t;
+      ddy = dotBases(coefficients, 5, bases) / t / t;
+    }
+
+    // Find the curvature.
+    final double curvature =
+        (dx * ddy - ddx * dy) / ((dx * dx + dy * dy) * Math.hypot(dx, dy));
+
+    // Normalize the heading the same way as Rotation2d(x, y).
+    double cos;
+    double sin;
+    double magnitude = Math.hypot(dx, dy);
+    if (magnitude > 1e-6) {
+      sin = dy / magnitude;
+      cos = dx / magnitude;
+    } else {
+      sin = 0.0;
+      cos = 1.0;
+    }
+
+    point[0] = x;
+    point[1] = y;
+    point[2] = Math.atan2(sin, cos);
+    point[3] = cos;
+    point[4] = sin;
+    point[5] = curvature;
+  }
+
+  /**
+   * Multiplies a row of the coefficients by the polynomial bases, summing in the same order as
+   * SimpleMatrix.mult() so that the result is identical.
+   */
+  private double dotBases(SimpleMatrix coefficients, int row, double[] bases) {
+    double total = coefficients.get(row, 0) * bases[0];
+    for (int i = 1; i <= m_degree; i++) {
+      total += coefficients.get(row, i) * bases[i];
+    }
+    return total;
+  }
+
   /**
    * Represents a control vector for a spline.
    *
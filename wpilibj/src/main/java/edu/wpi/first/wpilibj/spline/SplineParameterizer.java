@@ -33,6 +33,7 @@ package edu.wpi.first.wpilibj.spline;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -149,4 +150,186 @@ public final class SplineParameterizer {
 
     return splinePoints;
   }
+
+  /**
+   * Parameterizes the spline without allocating, passing each point to the
+   * given consumer as it is found. The points are identical to the ones
+   * {@link #parameterize(Spline)} returns.
+   *
+   * @param spline    The spline to parameterize.
+   * @param workspace Scratch space for the parameterization, which can be reused between calls.
+   * @param consumer  The consumer to pass the points to, in order.
+   * @throws MalformedSplineException When the spline is malformed (e.g. has close adjacent points
+   *                                  with approximately opposing headings)
+   */
+  public static void parameterize(Spline spline, Workspace workspace, PointConsumer consumer) {
+    parameterize(spline, 0.0, 1.0, workspace, consumer);
+  }
+
+  /**
+   * Parameterizes the spline without allocating, passing each point to the
+   * given consumer as it is found. The points are identical to the ones
+   * {@link #parameterize(Spline, double, double)} returns.
+   *
+   * @param spline    The spline to parameterize.
+   * @param t0        Starting internal spline parameter. It is recommended to use 0.0.
+   * @param t1        Ending internal spline parameter. It is recommended to use 1.0.
+   * @param workspace Scratch space for the parameterization, which can be reused between calls.
+   * @param consumer  The consumer to pass the points to, in order.
+   * @throws MalformedSplineException When the spline is malformed (e.g. has close adjacent points
+   *                                  with approximately opposing headings)
+   */
+  @SuppressWarnings("LocalVariableName")
+  public static void parameterize(Spline spline, double t0, double t1, Workspace workspace,
+                                  PointConsumer consumer) {
+    final double[] start = workspace.m_start;
+    final double[] end = workspace.m_end;
+
+    // The parameterization does not add the initial point. Let's add that.
+    spline.getPoint(t0, workspace.m_bases, start);
+    accept(consumer, start);
+
+    workspace.m_stackSize = 0;
+    workspace.push(t0, t1);
+
+    int iterations = 0;
+
+    while (workspace.m_stackSize > 0) {
+      workspace.m_stackSize--;
+      final double currentT0 = workspace.m_stackT0[workspace.m_stackSize];
+      final double currentT1 = workspace.m_stackT1[workspace.m_stackSize];
+      spline.getPoint(currentT0, workspace.m_bases, start);
+      spline.getPoint(currentT1, workspace.m_bases, end);
+
+      if (exceedsTolerances(start, end)) {
+        workspace.push((currentT0 + currentT1) / 2, currentT1);
+        workspace.push(currentT0, (currentT0 + currentT1) / 2);
+      } else {
+        accept(consumer, end);
+      }
+
+      iterations++;
+      if (iterations >= kMaxIterations) {
+        throw new MalformedSplineException(
+          "Could not parameterize a malformed spline. "
+          + "This means that you probably had two or more adjacent waypoints that were very close "
+          + "together with headings in opposing directions."
+        );
+      }
+    }
+  }
+
+  private static void accept(PointConsumer consumer, double[] point) {
+    consumer.accept(point[0], point[1], point[2], point[3], point[4], point[5]);
+  }
+
+  /**
+   * Returns whether the twist between two points exceeds the tolerances. This
+   * computes the same twist as Pose2d.log(), without allocating.
+   *
+   * @param start The start point, as written by Spline.getPoint().
+   * @param end   The end point, as written by Spline.getPoint().
+   * @return Whether the twist between the points exceeds the tolerances.
+   */
+  @SuppressWarnings("LocalVariableName")
+  private static boolean exceedsTolerances(double[] start, double[] end) {
+    // end.relativeTo(start)
+    final double inverseCos = Math.cos(-start[2]);
+    final double inverseSin = Math.sin(-start[2]);
+    final double deltaX = end[0] - start[0];
+    final double deltaY = end[1] - start[1];
+    final double translationX = deltaX * inverseCos - deltaY * inverseSin;
+    final double translationY = deltaX * inverseSin + deltaY * inverseCos;
+
+    double rotationX = end[3] * inverseCos - end[4] * inverseSin;
+    double rotationY = end[3] * inverseSin + end[4] * inverseCos;
+    double magnitude = Math.hypot(rotationX, rotationY);
+    double rotationCos;
+    double rotationSin;
+    if (magnitude > 1e-6) {
+      rotationSin = rotationY / magnitude;
+      rotationCos = rotationX / magnitude;
+    } else {
+      rotationSin = 0.0;
+      rotationCos = 1.0;
+    }
+
+    // Pose2d.log()
+    final double dtheta = Math.atan2(rotationSin, rotationCos);
+    final double halfDtheta = dtheta / 2.0;
+
+    final double cosMinusOne = rotationCos - 1;
+
+    double halfThetaByTanOfHalfDtheta;
+    if (Math.abs(cosMinusOne) < 1E-9) {
+      halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+    } else {
+      halfThetaByTanOfHalfDtheta = -(halfDtheta * rotationSin) / cosMinusOne;
+    }
+
+    magnitude = Math.hypot(halfThetaByTanOfHalfDtheta, -halfDtheta);
+    double cos;
+    double sin;
+    if (magnitude > 1e-6) {
+      sin = -halfDtheta / magnitude;
+      cos = halfThetaByTanOfHalfDtheta / magnitude;
+    } else {
+      sin = 0.0;
+      cos = 1.0;
+    }
+    final double scale = Math.hypot(halfThetaByTanOfHalfDtheta, halfDtheta);
+    final double dx = (translationX * cos - translationY * sin) * scale;
+    final double dy = (translationX * sin + translationY * cos) * scale;
+
+    return Math.abs(dy) > kMaxDy
+        || Math.abs(dx) > kMaxDx
+        || Math.abs(dtheta) > kMaxDtheta;
+  }
+
+  /**
+   * Receives the points of a parameterized spline.
+   */
+  @FunctionalInterface
+  public interface PointConsumer {
+    /**
+     * Accepts a point on the spline.
+     *
+     * @param xMeters              The x component of the pose.
+     * @param yMeters              The y component of the pose.
+     * @param headingRadians       The heading of the pose.
+     * @param headingCos           The cosine of the heading.
+     * @param headingSin           The sine of the heading.
+     * @param curvatureRadPerMeter The curvature.
+     */
+    @SuppressWarnings("ParameterName")
+    void accept(double xMeters, double yMeters, double headingRadians, double headingCos,
+                double headingSin, double curvatureRadPerMeter);
+  }
+
+  /**
+   * Scratch space for parameterizing splines without allocating. A workspace
+   * can be reused for any number of splines, but not by multiple threads at
+   * once.
+   */
+  public static final class Workspace {
+    // The explicit stack of (t0, t1) intervals that still need to be checked.
+    private double[] m_stackT0 = new double[32];
+    private double[] m_stackT1 = new double[32];
+    private int m_stackSize;
+
+    private final double[] m_bases = new double[6];
+    private final double[] m_start = new double[6];
+    private final double[] m_end = new double[6];
+
+    @SuppressWarnings("ParameterName")
+    private void push(double t0, double t1) {
+      if (m_stackSize == m_stackT0.length) {
+        m_stackT0 = Arrays.copyOf(m_stackT0, m_stackSize * 2);
+        m_stackT1 = Arrays.copyOf(m_stackT1, m_stackSize * 2);
+      }
+      m_stackT0[m_stackSize] = t0;
+      m_stackT1[m_stackSize] = t1;
+      m_stackSize++;
+    }
+  }
 }
@@ -0,0 +1,243 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+
+/**
+ * Generates trajectories on background threads, so that trajectories can be generated from the
+ * main robot loop (for example, in a command's initialize()) without overrunning the loop.
+ *
+ * <p>Requests are identified by their waypoints and the contents of their config. A request that
+ * is identical to one that is still being generated shares its result instead of generating the
+ * trajectory again, and the results of the most recent requests are cached, so repeated requests
+ * complete immediately. Since results may be shared, the returned trajectories should not be
+ * modified.
+ *
+ * <p>The number of requests waiting for a thread is bounded; requests beyond that fail with a
+ * {@link RejectedExecutionException} rather than queuing up work the robot may never use.
+ */
+public class AsyncTrajectoryGenerator implements AutoCloseable {
+  private static final AtomicInteger s_instances = new AtomicInteger();
+
+  private final ThreadPoolExecutor m_executor;
+  private final Map<Request, CompletableFuture<Trajectory>> m_inFlight = new HashMap<>();
+  private final Map<Request, Trajectory> m_cache;
+
+  /**
+   * Constructs an AsyncTrajectoryGenerator with one thread, room for 8 waiting requests, and a
+   * cache of the 16 most recent results.
+   */
+  public AsyncTrajectoryGenerator() {
+    this(1, 8, 16);
+  }
+
+  /**
+   * Constructs an AsyncTrajectoryGenerator.
+   *
+   * @param threads       The number of threads to generate trajectories on.
+   * @param queueCapacity The number of requests that can wait for a thread before new requests
+   *                      are rejected.
+   * @param cacheSize     The number of most recently generated trajectories to cache.
+   */
+  public AsyncTrajectoryGenerator(int threads, int queueCapacity, int cacheSize) {
+    if (threads < 1 || queueCapacity < 1 || cacheSize < 0) {
+      throw new IllegalArgumentException("threads and queueCapacity must be positive, and "
+          + "cacheSize must not be negative");
+    }
+
+    final int instance = s_instances.incrementAndGet();
+    final var threadCount = new AtomicInteger();
+    final ThreadFactory threadFactory = runnable -> {
+      var thread = new Thread(runnable, "AsyncTrajectoryGenerator-" + instance + "-"
+          + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    m_executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+
+    m_cache = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Request, Trajectory> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  /**
+   * Generates a trajectory in the background, as
+   * {@link TrajectoryGenerator#generateTrajectory(List, TrajectoryConfig)} does.
+   *
+   * @param waypoints List of waypoints.
+   * @param config    The configuration for the trajectory. Later changes to it don't affect
+   *                  this request.
+   * @return A future that completes with the generated trajectory.
+   */
+  public CompletableFuture<Trajectory> generateTrajectory(List<Pose2d> waypoints,
+                                                          TrajectoryConfig config) {
+    var poses = new double[waypoints.size() * 3];
+    for (int i = 0; i < waypoints.size(); i++) {
+      putPose(poses, i * 3, waypoints.get(i));
+    }
+    final var copiedWaypoints = List.copyOf(waypoints);
+    final var request = new Request(false, poses, config);
+    return submit(request, () ->
+        TrajectoryGenerator.generateTrajectory(copiedWaypoints, request.m_config));
+  }
+
+  /**
+   * Generates a trajectory in the background, as
+   * {@link TrajectoryGenerator#generateTrajectory(Pose2d, List, Pose2d, TrajectoryConfig)} does.
+   *
+   * @param start             The starting waypoint.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end               The ending waypoint.
+   * @param config            The configuration for the trajectory. Later changes to it don't
+   *                          affect this request.
+   * @return A future that completes with the generated trajectory.
+   */
+  public CompletableFuture<Trajectory> generateTrajectory(Pose2d start,
+                                                          List<Translation2d> interiorWaypoints,
+                                                          Pose2d end,
+                                                          TrajectoryConfig config) {
+    var points = new double[interiorWaypoints.size() * 2 + 6];
+    putPose(points, 0, start);
+    for (int i = 0; i < interiorWaypoints.size(); i++) {
+      points[i * 2 + 3] = interiorWaypoints.get(i).getX();
+      points[i * 2 + 4] = interiorWaypoints.get(i).getY();
+    }
+    putPose(points, points.length - 3, end);
+    final var copiedInteriorWaypoints = List.copyOf(interiorWaypoints);
+    final var request = new Request(true, points, config);
+    return submit(request, () ->
+        TrajectoryGenerator.generateTrajectory(start, copiedInteriorWaypoints, end,
+            request.m_config));
+  }
+
+  /**
+   * Removes all of the cached trajectories.
+   */
+  public synchronized void clearCache() {
+    m_cache.clear();
+  }
+
+  /**
+   * Stops the background threads. Requests that haven't finished generating yet fail with a
+   * {@link CancellationException}, and new requests are rejected.
+   */
+  @Override
+  public synchronized void close() {
+    // Fail the requests first, so that none of them can complete normally
+    // while the threads are being interrupted.
+    final var cancellation = new CancellationException("AsyncTrajectoryGenerator was closed");
+    for (var future : new ArrayList<>(m_inFlight.values())) {
+      future.completeExceptionally(cancellation);
+    }
+    m_executor.shutdownNow();
+  }
+
+  private synchronized CompletableFuture<Trajectory> submit(Request request,
+                                                            Supplier<Trajectory> generator) {
+    var cached = m_cache.get(request);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    var future = m_inFlight.get(request);
+    if (future == null) {
+      try {
+        future = CompletableFuture.supplyAsync(generator, m_executor);
+      } catch (RejectedExecutionException ex) {
+        return CompletableFuture.failedFuture(ex);
+      }
+      m_inFlight.put(request, future);
+      future.whenComplete((trajectory, ex) -> complete(request, trajectory));
+    }
+
+    // Hand out a copy, so that cancelling it doesn't cancel the request for
+    // everyone else sharing it.
+    return future.copy();
+  }
+
+  private synchronized void complete(Request request, Trajectory trajectory) {
+    m_inFlight.remove(request);
+    if (trajectory != null) {
+      m_cache.put(request, trajectory);
+    }
+  }
+
+  private static void putPose(double[] array, int index, Pose2d pose) {
+    array[index] = pose.getTranslation().getX();
+    array[index + 1] = pose.getTranslation().getY();
+    array[index + 2] = pose.getRotation().getRadians();
+  }
+
+  /**
+   * A request's waypoints and a snapshot of its config. Constraints are
+   * compared by identity, since they don't define equality.
+   */
+  private static final class Request {
+    private final boolean m_clampedCubic;
+    private final double[] m_waypoints;
+    private final TrajectoryConfig m_config;
+    private final List<Object> m_configKey;
+    private final int m_hashCode;
+
+    Request(boolean clampedCubic, double[] waypoints, TrajectoryConfig config) {
+      m_clampedCubic = clampedCubic;
+      m_waypoints = waypoints.clone();
+      m_config = new TrajectoryConfig(config.getMaxVelocity(), config.getMaxAcceleration())
+          .setStartVelocity(config.getStartVelocity())
+          .setEndVelocity(config.getEndVelocity())
+          .setReversed(config.isReversed())
+          .setParallelSplineParameterization(config.isParallelSplineParameterization())
+          .addConstraints(config.getConstraints());
+      m_configKey = List.of(m_config.getMaxVelocity(), m_config.getMaxAcceleration(),
+          m_config.getStartVelocity(), m_config.getEndVelocity(), m_config.isReversed(),
+          m_config.isParallelSplineParameterization(), List.copyOf(m_config.getConstraints()));
+      m_hashCode = 31 * (31 * Boolean.hashCode(clampedCubic) + Arrays.hashCode(waypoints))
+          + m_configKey.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Request)) {
+        return false;
+      }
+      var other = (Request) obj;
+      return m_clampedCubic == other.m_clampedCubic
+          && Arrays.equals(m_waypoints, other.m_waypoints)
+          && m_configKey.equals(other.m_configKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return m_hashCode;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Transform2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
+import edu.wpi.first.wpilibj.spline.QuinticHermiteSpline;
+import edu.wpi.first.wpilibj.spline.Spline;
+import edu.wpi.first.wpilibj.spline.SplineHelper;
+import edu.wpi.first.wpilibj.spline.SplineParameterizer;
+import edu.wpi.first.wpilibj.spline.SplineParameterizer.MalformedSplineException;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+/**
+ * Generates quintic spline trajectories through a series of waypoints that change a little at a
+ * time, such as when a path is replanned on the fly as the target pose moves. Each call reuses as
+ * much of the previous call's work as possible: splines whose control vectors didn't change aren't
+ * parameterized again, and the velocity profile is only recomputed from the first point that
+ * changed. The generated trajectories are identical to the ones
+ * {@link TrajectoryGenerator#generateTrajectory(List, TrajectoryConfig)} generates.
+ *
+ * <p>Moving one waypoint changes the splines on either side of it (and the one before that, since
+ * the control vector's magnitude depends on the distance to the previous waypoint), so edits
+ * toward the end of the path are the cheapest.
+ */
+public class IncrementalTrajectoryGenerator {
+  private final TrajectoryConfig m_config;
+
+  // The parts of the config the cached results depend on, as of the last call.
+  private List<TrajectoryConstraint> m_constraints = List.of();
+  private double m_startVelocity;
+  private boolean m_reversed;
+
+  private final List<Spline.ControlVector> m_controlVectors = new ArrayList<>();
+  private final List<List<PoseWithCurvature>> m_splinePoints = new ArrayList<>();
+  private final TrajectoryParameterizer.VelocityProfile m_profile =
+      new TrajectoryParameterizer.VelocityProfile();
+
+  /**
+   * Constructs an IncrementalTrajectoryGenerator.
+   *
+   * @param config The configuration for the trajectories. Changes to it are picked up by the next
+   *               call to {@link #generate(List)}, at the cost of generating that trajectory from
+   *               scratch (apart from the end velocity, which can change freely).
+   */
+  public IncrementalTrajectoryGenerator(TrajectoryConfig config) {
+    m_config = config;
+  }
+
+  /**
+   * Generates a trajectory from the given waypoints, reusing the results of the previous call
+   * where the waypoints haven't changed.
+   *
+   * @param waypoints List of waypoints.
+   * @return The generated trajectory.
+   */
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  public Trajectory generate(List<Pose2d> waypoints) {
+    resetIfConfigChanged();
+
+    final var flip = new Transform2d(new Translation2d(), Rotation2d.fromDegrees(180.0));
+    final var controlVectors = SplineHelper.getQuinticControlVectorsFromWaypoints(waypoints);
+
+    // Flip the orientation if reversed.
+    if (m_reversed) {
+      for (final var vector : controlVectors) {
+        vector.x[1] *= -1;
+        vector.y[1] *= -1;
+      }
+    }
+
+    final int firstChangedSpline = findFirstChangedSpline(controlVectors);
+
+    // Parameterize the splines that changed.
+    final var newSplinePoints = new ArrayList<List<PoseWithCurvature>>(controlVectors.size());
+    newSplinePoints.addAll(m_splinePoints.subList(0, firstChangedSpline));
+    try {
+      for (int i = firstChangedSpline; i < controlVectors.size() - 1; i++) {
+        var spline = new QuinticHermiteSpline(controlVectors.get(i).x,
+            controlVectors.get(i + 1).x, controlVectors.get(i).y, controlVectors.get(i + 1).y);
+        var points = SplineParameterizer.parameterize(spline);
+
+        // Change the points back to their original orientation.
+        if (m_reversed) {
+          for (var point : points) {
+            point.poseMeters = point.poseMeters.plus(flip);
+            point.curvatureRadPerMeter *= -1;
+          }
+        }
+        newSplinePoints.add(points);
+      }
+    } catch (MalformedSplineException ex) {
+      TrajectoryGenerator.reportError(ex.getMessage(), ex.getStackTrace());
+      return TrajectoryGenerator.kDoNothingTrajectory;
+    }
+
+    m_controlVectors.clear();
+    m_controlVectors.addAll(controlVectors);
+    m_splinePoints.clear();
+    m_splinePoints.addAll(newSplinePoints);
+
+    final var points = new ArrayList<PoseWithCurvature>();
+    final int firstChangedPoint = concatenateSplinePoints(firstChangedSpline, points);
+
+    return m_profile.update(points, firstChangedPoint, m_constraints, m_startVelocity,
+        m_config.getEndVelocity(), m_config.getMaxVelocity(), m_config.getMaxAcceleration(),
+        m_reversed);
+  }
+
+  /**
+   * Discards the cached results, so that the next trajectory is generated from scratch.
+   */
+  public void reset() {
+    m_controlVectors.clear();
+    m_splinePoints.clear();
+    m_profile.reset();
+  }
+
+  /**
+   * Discards the cached results if the parts of the config they depend on changed since the last
+   * call.
+   */
+  private void resetIfConfigChanged() {
+    if (m_config.isReversed() != m_reversed
+        || m_config.getStartVelocity() != m_startVelocity
+        || !m_config.getConstraints().equals(m_constraints)) {
+      reset();
+      m_reversed = m_config.isReversed();
+      m_startVelocity = m_config.getStartVelocity();
+      m_constraints = List.copyOf(m_config.getConstraints());
+    }
+  }
+
+  /**
+   * Returns the index of the first spline whose control vectors differ from the previous call's.
+   */
+  private int findFirstChangedSpline(List<Spline.ControlVector> controlVectors) {
+    int firstChangedSpline = 0;
+    final int reusableSplines = Math.min(controlVectors.size(), m_controlVectors.size()) - 1;
+    while (firstChangedSpline < reusableSplines
+        && sameControlVector(controlVectors.get(firstChangedSpline),
+                             m_controlVectors.get(firstChangedSpline))
+        && sameControlVector(controlVectors.get(firstChangedSpline + 1),
+                             m_controlVectors.get(firstChangedSpline + 1))) {
+      firstChangedSpline++;
+    }
+    return firstChangedSpline;
+  }
+
+  /**
+   * Concatenates the points of the cached splines, skipping the first point of every spline after
+   * the first since it's a duplicate of the last point of the previous spline.
+   *
+   * @param firstChangedSpline The index of the first spline that changed.
+   * @param points             The list to add the points to.
+   * @return The index of the first point that may have changed, which is that of the first point
+   *         of the first changed spline.
+   */
+  private int concatenateSplinePoints(int firstChangedSpline, List<PoseWithCurvature> points) {
+    int firstChangedPoint = 0;
+    for (int i = 0; i < m_splinePoints.size(); i++) {
+      var splinePoints = m_splinePoints.get(i);
+      if (i == firstChangedSpline) {
+        firstChangedPoint = i == 0 ? 0 : points.size();
+      }
+      points.addAll(i == 0 ? splinePoints : splinePoints.subList(1, splinePoints.size()));
+    }
+    if (firstChangedSpline == m_splinePoints.size()) {
+      firstChangedPoint = points.size();
+    }
+    return firstChangedPoint;
+  }
+
+  private static boolean sameControlVector(Spline.ControlVector lhs, Spline.ControlVector rhs) {
+    return Arrays.equals(lhs.x, rhs.x) && Arrays.equals(lhs.y, rhs.y);
+  }
+}
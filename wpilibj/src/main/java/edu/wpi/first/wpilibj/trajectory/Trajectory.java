@@ -7,7 +7,9 @@
 
 package edu.wpi.first.wpilibj.trajectory;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -15,6 +17,7 @@ import java.util.stream.Collectors;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
 import edu.wpi.first.wpilibj.geometry.Transform2d;
 
 /**
@@ -22,9 +25,27 @@ import edu.wpi.first.wpilibj.geometry.Transform2d;
  * various States that represent the pose, curvature, time elapsed, velocity,
  * and acceleration at that point.
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public class Trajectory {
   private final double m_totalTimeSeconds;
-  private final List<State> m_states;
+
+  // The states are stored as parallel primitive arrays so that sampling can be
+  // done without dereferencing (or allocating) State objects. The heading is
+  // kept as an angle and as its cosine and sine so that interpolation produces
+  // exactly the same result as interpolating the equivalent Pose2d objects.
+  private final double[] m_times;
+  private final double[] m_velocities;
+  private final double[] m_accelerations;
+  private final double[] m_xs;
+  private final double[] m_ys;
+  private final double[] m_headings;
+  private final double[] m_headingCos;
+  private final double[] m_headingSin;
+  private final double[] m_curvatures;
+
+  // Built lazily from the arrays above if the trajectory wasn't constructed
+  // from a list of states.
+  private List<State> m_states;
 
   /**
    * Constructs a trajectory from a vector of states.
@@ -32,8 +53,88 @@ public class Trajectory {
    * @param states A vector of states.
    */
   public Trajectory(final List<State> states) {
+    final int size = states.size();
+    m_times = new double[size];
+    m_velocities = new double[size];
+    m_accelerations = new double[size];
+    m_xs = new double[size];
+    m_ys = new double[size];
+    m_headings = new double[size];
+    m_headingCos = new double[size];
+    m_headingSin = new double[size];
+    m_curvatures = new double[size];
+
+    for (int i = 0; i < size; i++) {
+      final var state = states.get(i);
+      final var translation = state.poseMeters.getTranslation();
+      final var rotation = state.poseMeters.getRotation();
+      m_times[i] = state.timeSeconds;
+      m_velocities[i] = state.velocityMetersPerSecond;
+      m_accelerations[i] = state.accelerationMetersPerSecondSq;
+      m_xs[i] = translation.getX();
+      m_ys[i] = translation.getY();
+      m_headings[i] = rotation.getRadians();
+      m_headingCos[i] = rotation.getCos();
+      m_headingSin[i] = rotation.getSin();
+      m_curvatures[i] = state.curvatureRadPerMeter;
+    }
+
     m_states = states;
-    m_totalTimeSeconds = m_states.get(m_states.size() - 1).timeSeconds;
+    m_totalTimeSeconds = m_times[size - 1];
+  }
+
+  /**
+   * Constructs a trajectory from parallel arrays of state components. Element i of each array
+   * describes the i-th state of the trajectory. The arrays are not copied, so they must not be
+   * modified after the trajectory is constructed.
+   *
+   * @param timesSeconds                   The time elapsed since the beginning of the trajectory.
+   * @param velocitiesMetersPerSecond      The speed at each state.
+   * @param accelerationsMetersPerSecondSq The acceleration at each state.
+   * @param xsMeters                       The x component of the pose at each state.
+   * @param ysMeters                       The y component of the pose at each state.
+   * @param headingsRadians                The heading of the pose at each state.
+   * @param curvaturesRadPerMeter          The curvature at each state.
+   * @throws IllegalArgumentException if the arrays are empty or differ in length.
+   */
+  @SuppressWarnings({"PMD.ExcessiveParameterList", "PMD.ArrayIsStoredDirectly"})
+  public Trajectory(double[] timesSeconds, double[] velocitiesMetersPerSecond,
+                    double[] accelerationsMetersPerSecondSq, double[] xsMeters,
+                    double[] ysMeters, double[] headingsRadians,
+                    double[] curvaturesRadPerMeter) {
+    final int size = timesSeconds.length;
+    if (size == 0) {
+      throw new IllegalArgumentException("A trajectory requires at least one state");
+    }
+    requireLength(velocitiesMetersPerSecond, size);
+    requireLength(accelerationsMetersPerSecondSq, size);
+    requireLength(xsMeters, size);
+    requireLength(ysMeters, size);
+    requireLength(headingsRadians, size);
+    requireLength(curvaturesRadPerMeter, size);
+
+    m_times = timesSeconds;
+    m_velocities = velocitiesMetersPerSecond;
+    m_accelerations = accelerationsMetersPerSecondSq;
+    m_xs = xsMeters;
+    m_ys = ysMeters;
+    m_headings = headingsRadians;
+    m_curvatures = curvaturesRadPerMeter;
+
+    m_headingCos = new double[size];
+    m_headingSin = new double[size];
+    for (int i = 0; i < size; i++) {
+      m_headingCos[i] = Math.cos(headingsRadians[i]);
+      m_headingSin[i] = Math.sin(headingsRadians[i]);
+    }
+
+    m_totalTimeSeconds = m_times[size - 1];
+  }
+
+  private static void requireLength(double[] components, int size) {
+    if (components.length != size) {
+      throw new IllegalArgumentException("All state component arrays must have the same length");
+    }
   }
 
   /**
@@ -81,11 +182,42 @@ public class Trajectory {
   }
 
   /**
-   * Return the states of the trajectory.
+   * Returns the number of states in the trajectory.
+   *
+   * @return The number of states in the trajectory.
+   */
+  public int size() {
+    return m_times.length;
+  }
+
+  /**
+   * Puts the state components into the given buffer one component after another, in the order
+   * that {@link #Trajectory(double[], double[], double[], double[], double[], double[], double[])}
+   * takes them.
+   *
+   * @param out The buffer to put the components into.
+   */
+  void putComponents(DoubleBuffer out) {
+    out.put(m_times).put(m_velocities).put(m_accelerations).put(m_xs).put(m_ys).put(m_headings)
+        .put(m_curvatures);
+  }
+
+  /**
+   * Return the states of the trajectory. If the trajectory was constructed from
+   * primitive arrays, the list is built on the first call.
    *
    * @return The states of the trajectory.
    */
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
   public List<State> getStates() {
+    if (m_states == null) {
+      final var states = new ArrayList<State>(m_times.length);
+      for (int i = 0; i < m_times.length; i++) {
+        states.add(new State(m_times[i], m_velocities[i], m_accelerations[i],
+            new Pose2d(m_xs[i], m_ys[i], new Rotation2d(m_headings[i])), m_curvatures[i]));
+      }
+      m_states = Collections.unmodifiableList(states);
+    }
     return m_states;
   }
 
@@ -96,25 +228,111 @@ public class Trajectory {
    * @return The state at that point in time.
    */
   public State sample(double timeSeconds) {
-    if (timeSeconds <= m_states.get(0).timeSeconds) {
-      return m_states.get(0);
+    if (timeSeconds <= m_times[0]) {
+      return getStates().get(0);
     }
     if (timeSeconds >= m_totalTimeSeconds) {
-      return m_states.get(m_states.size() - 1);
+      return getStates().get(m_times.length - 1);
+    }
+    return sampleAt(timeSeconds, search(timeSeconds, 1));
+  }
+
+  /**
+   * Sample the trajectory at a point in time, writing the result into a
+   * caller-owned object instead of allocating a new state. The result is
+   * identical to that of {@link #sample(double)}.
+   *
+   * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+   * @param out         The object to store the sampled state in.
+   * @return The object passed in as out, for chaining.
+   */
+  public MutableState sample(double timeSeconds, MutableState out) {
+    if (timeSeconds <= m_times[0]) {
+      return copyState(0, out);
+    }
+    if (timeSeconds >= m_totalTimeSeconds) {
+      return copyState(m_times.length - 1, out);
+    }
+    return sampleAt(timeSeconds, search(timeSeconds, 1), out);
+  }
+
+  /**
+   * Returns a cursor for sampling this trajectory at (mostly) increasing times.
+   *
+   * @return A new sampler positioned at the beginning of the trajectory.
+   */
+  public Sampler sampler() {
+    return new Sampler(this);
+  }
+
+  /**
+   * Returns the state at the given time, which lies in the segment ending at
+   * the given index.
+   *
+   * @param timeSeconds The time to sample at.
+   * @param index       The index returned by {@link #search(double, int)}.
+   * @return The state at that point in time.
+   */
+  private State sampleAt(double timeSeconds, int index) {
+    final var states = getStates();
+
+    // The sample's timestamp is now greater than or equal to the requested
+    // timestamp. If it is greater, we need to interpolate between the
+    // previous state and the current state to get the exact state that we
+    // want.
+    final State sample = states.get(index);
+    final State prevSample = states.get(index - 1);
+
+    // If the difference in states is negligible, then we are spot on!
+    if (Math.abs(sample.timeSeconds - prevSample.timeSeconds) < 1E-9) {
+      return sample;
     }
+    // Interpolate between the two states for the state that we want.
+    return prevSample.interpolate(sample,
+        (timeSeconds - prevSample.timeSeconds) / (sample.timeSeconds - prevSample.timeSeconds));
+  }
+
+  /**
+   * Writes the state at the given time, which lies in the segment ending at
+   * the given index, into out.
+   *
+   * @param timeSeconds The time to sample at.
+   * @param index       The index returned by {@link #search(double, int)}.
+   * @param out         The object to store the sampled state in.
+   * @return The object passed in as out.
+   */
+  private MutableState sampleAt(double timeSeconds, int index, MutableState out) {
+    // If the difference in states is negligible, then we are spot on!
+    if (Math.abs(m_times[index] - m_times[index - 1]) < 1E-9) {
+      return copyState(index, out);
+    }
+    // Interpolate between the two states for the state that we want.
+    return interpolate(index - 1, index,
+        (timeSeconds - m_times[index - 1]) / (m_times[index] - m_times[index - 1]), out);
+  }
 
+  /**
+   * Returns the index of the first state whose timestamp is greater than or
+   * equal to the given time, searching no lower than the given index. The
+   * time must lie strictly between the first and last timestamps of the
+   * trajectory.
+   *
+   * @param timeSeconds The time to search for.
+   * @param low         The lowest index to consider, which must be at least 1.
+   * @return The index of the state.
+   */
+  private int search(double timeSeconds, int low) {
     // To get the element that we want, we will use a binary search algorithm
     // instead of iterating over a for-loop. A binary search is O(std::log(n))
     // whereas searching using a loop is O(n).
 
-    // This starts at 1 because we use the previous state later on for
-    // interpolation.
-    int low = 1;
-    int high = m_states.size() - 1;
+    // The lower bound is at least 1 because we use the previous state later on
+    // for interpolation.
+    int high = m_times.length - 1;
 
     while (low != high) {
       int mid = (low + high) / 2;
-      if (m_states.get(mid).timeSeconds < timeSeconds) {
+      if (m_times[mid] < timeSeconds) {
         // This index and everything under it are less than the requested
         // timestamp. Therefore, we can discard them.
         low = mid + 1;
@@ -126,21 +344,128 @@ public class Trajectory {
     }
 
     // High and Low should be the same.
+    return low;
+  }
 
-    // The sample's timestamp is now greater than or equal to the requested
-    // timestamp. If it is greater, we need to interpolate between the
-    // previous state and the current state to get the exact state that we
-    // want.
-    final State sample = m_states.get(low);
-    final State prevSample = m_states.get(low - 1);
+  private MutableState copyState(int index, MutableState out) {
+    out.timeSeconds = m_times[index];
+    out.velocityMetersPerSecond = m_velocities[index];
+    out.accelerationMetersPerSecondSq = m_accelerations[index];
+    out.xMeters = m_xs[index];
+    out.yMeters = m_ys[index];
+    out.headingRadians = m_headings[index];
+    out.headingCos = m_headingCos[index];
+    out.headingSin = m_headingSin[index];
+    out.curvatureRadPerMeter = m_curvatures[index];
+    return out;
+  }
 
-    // If the difference in states is negligible, then we are spot on!
-    if (Math.abs(sample.timeSeconds - prevSample.timeSeconds) < 1E-9) {
-      return sample;
+  /**
+   * Interpolates between two states of the trajectory. This performs exactly
+   * the same arithmetic as {@link State#interpolate(State, double)} does with
+   * Pose2d objects, but on the primitive arrays.
+   *
+   * @param start The index of the start state.
+   * @param end   The index of the end state.
+   * @param i     The interpolant (fraction).
+   * @param out   The object to store the interpolated state in.
+   * @return The object passed in as out.
+   */
+  @SuppressWarnings({"ParameterName", "LocalVariableName"})
+  private MutableState interpolate(int start, int end, double i, MutableState out) {
+    final double t0 = m_times[start];
+    final double v0 = m_velocities[start];
+    final double a0 = m_accelerations[start];
+
+    // Find the new t value.
+    final double newT = lerp(t0, m_times[end], i);
+
+    // Find the delta time between the current state and the interpolated state.
+    final double deltaT = newT - t0;
+
+    // If delta time is negative, flip the order of interpolation.
+    if (deltaT < 0) {
+      return interpolate(end, start, 1 - i, out);
     }
-    // Interpolate between the two states for the state that we want.
-    return prevSample.interpolate(sample,
-        (timeSeconds - prevSample.timeSeconds) / (sample.timeSeconds - prevSample.timeSeconds));
+
+    // Check whether the robot is reversing at this stage.
+    final boolean reversing = v0 < 0 || Math.abs(v0) < 1E-9 && a0 < 0;
+
+    // Calculate the new velocity
+    // v_f = v_0 + at
+    final double newV = v0 + (a0 * deltaT);
+
+    // Calculate the change in position.
+    // delta_s = v_0 t + 0.5 at^2
+    final double newS = (v0 * deltaT + 0.5 * a0 * Math.pow(deltaT, 2)) * (reversing ? -1.0 : 1.0);
+
+    final double x0 = m_xs[start];
+    final double y0 = m_ys[start];
+    final double cos0 = m_headingCos[start];
+    final double sin0 = m_headingSin[start];
+
+    final double interpolationFrac = newS / Math.hypot(m_xs[end] - x0, m_ys[end] - y0);
+
+    // Pose interpolation: start.plus(end.minus(start).times(frac)).
+
+    // end.minus(start): rotate the global delta into the start pose's frame.
+    final double invCos = Math.cos(-m_headings[start]);
+    final double invSin = Math.sin(-m_headings[start]);
+    final double dx = m_xs[end] - x0;
+    final double dy = m_ys[end] - y0;
+    final double relX = dx * invCos - dy * invSin;
+    final double relY = dx * invSin + dy * invCos;
+    final double relRot = rotationFromVector(
+        m_headingCos[end] * invCos - m_headingSin[end] * invSin,
+        m_headingCos[end] * invSin + m_headingSin[end] * invCos);
+
+    // times(frac)
+    final double scaledX = relX * interpolationFrac;
+    final double scaledY = relY * interpolationFrac;
+    final double scaledRot = relRot * interpolationFrac;
+    final double scaledCos = Math.cos(scaledRot);
+    final double scaledSin = Math.sin(scaledRot);
+
+    // start.plus(transform)
+    out.xMeters = x0 + (scaledX * cos0 - scaledY * sin0);
+    out.yMeters = y0 + (scaledX * sin0 + scaledY * cos0);
+    setHeading(out, cos0 * scaledCos - sin0 * scaledSin, cos0 * scaledSin + sin0 * scaledCos);
+
+    out.timeSeconds = newT;
+    out.velocityMetersPerSecond = newV;
+    out.accelerationMetersPerSecondSq = a0;
+    out.curvatureRadPerMeter = lerp(m_curvatures[start], m_curvatures[end], interpolationFrac);
+    return out;
+  }
+
+  /**
+   * Returns the angle of the given vector, normalized the same way as the
+   * Rotation2d(x, y) constructor.
+   */
+  @SuppressWarnings("ParameterName")
+  private static double rotationFromVector(double x, double y) {
+    double magnitude = Math.hypot(x, y);
+    if (magnitude > 1e-6) {
+      return Math.atan2(y / magnitude, x / magnitude);
+    }
+    return 0.0;
+  }
+
+  /**
+   * Sets the heading of the state from a vector, normalized the same way as
+   * the Rotation2d(x, y) constructor.
+   */
+  @SuppressWarnings("ParameterName")
+  private static void setHeading(MutableState out, double x, double y) {
+    double magnitude = Math.hypot(x, y);
+    if (magnitude > 1e-6) {
+      out.headingSin = y / magnitude;
+      out.headingCos = x / magnitude;
+    } else {
+      out.headingSin = 0.0;
+      out.headingCos = 1.0;
+    }
+    out.headingRadians = Math.atan2(out.headingSin, out.headingCos);
   }
 
   /**
@@ -153,7 +478,8 @@ public class Trajectory {
    */
   @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
   public Trajectory transformBy(Transform2d transform) {
-    var firstState = m_states.get(0);
+    final var states = getStates();
+    var firstState = states.get(0);
     var firstPose = firstState.poseMeters;
 
     // Calculate the transformed first pose.
@@ -165,8 +491,8 @@ public class Trajectory {
         firstState.accelerationMetersPerSecondSq, newFirstPose, firstState.curvatureRadPerMeter
     ));
 
-    for (int i = 1; i < m_states.size(); i++) {
-      var state = m_states.get(i);
+    for (int i = 1; i < states.size(); i++) {
+      var state = states.get(i);
       // We are transforming relative to the coordinate frame of the new initial pose.
       newStates.add(new State(
           state.timeSeconds, state.velocityMetersPerSecond,
@@ -188,7 +514,7 @@ public class Trajectory {
    * @return The transformed trajectory.
    */
   public Trajectory relativeTo(Pose2d pose) {
-    return new Trajectory(m_states.stream().map(state -> new State(state.timeSeconds,
+    return new Trajectory(getStates().stream().map(state -> new State(state.timeSeconds,
         state.velocityMetersPerSecond, state.accelerationMetersPerSecondSq,
         state.poseMeters.relativeTo(pose), state.curvatureRadPerMeter))
         .collect(Collectors.toList()));
@@ -323,9 +649,180 @@ public class Trajectory {
     }
   }
 
+  /**
+   * A cursor for sampling a trajectory at increasing times, such as once per
+   * control loop iteration while following it. The sampler remembers the
+   * segment that contained the previous sample and walks forward from there,
+   * so sequential sampling costs amortized O(1) regardless of the number of
+   * states. Sampling at an earlier time, or far ahead of the previous sample,
+   * falls back to a binary search. The results are identical to those of
+   * {@link Trajectory#sample(double)}.
+   *
+   * <p>A sampler is not thread-safe; each user of a trajectory should create
+   * its own.
+   */
+  public static class Sampler {
+    // The number of states to step through linearly before falling back to a
+    // binary search over the rest of the trajectory.
+    private static final int kMaxLinearSteps = 8;
+
+    private final Trajectory m_trajectory;
+    private int m_index = 1;
+
+    /**
+     * Constructs a sampler positioned at the beginning of the given trajectory.
+     *
+     * @param trajectory The trajectory to sample.
+     */
+    public Sampler(Trajectory trajectory) {
+      m_trajectory = trajectory;
+    }
+
+    /**
+     * Returns the trajectory this sampler samples.
+     *
+     * @return The trajectory.
+     */
+    public Trajectory getTrajectory() {
+      return m_trajectory;
+    }
+
+    /**
+     * Moves the cursor back to the beginning of the trajectory.
+     */
+    public void reset() {
+      m_index = 1;
+    }
+
+    /**
+     * Sample the trajectory at a point in time.
+     *
+     * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+     * @return The state at that point in time.
+     */
+    public State sample(double timeSeconds) {
+      if (timeSeconds <= m_trajectory.m_times[0]) {
+        return m_trajectory.getStates().get(0);
+      }
+      if (timeSeconds >= m_trajectory.m_totalTimeSeconds) {
+        return m_trajectory.getStates().get(m_trajectory.m_times.length - 1);
+      }
+      return m_trajectory.sampleAt(timeSeconds, seek(timeSeconds));
+    }
+
+    /**
+     * Sample the trajectory at a point in time, writing the result into a
+     * caller-owned object instead of allocating a new state.
+     *
+     * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+     * @param out         The object to store the sampled state in.
+     * @return The object passed in as out, for chaining.
+     */
+    public MutableState sample(double timeSeconds, MutableState out) {
+      if (timeSeconds <= m_trajectory.m_times[0]) {
+        return m_trajectory.copyState(0, out);
+      }
+      if (timeSeconds >= m_trajectory.m_totalTimeSeconds) {
+        return m_trajectory.copyState(m_trajectory.m_times.length - 1, out);
+      }
+      return m_trajectory.sampleAt(timeSeconds, seek(timeSeconds), out);
+    }
+
+    /**
+     * Moves the cursor to the first state whose timestamp is greater than or
+     * equal to the given time and returns its index.
+     */
+    private int seek(double timeSeconds) {
+      final double[] times = m_trajectory.m_times;
+
+      if (times[m_index - 1] >= timeSeconds) {
+        // Moving backwards; the cached position tells us nothing.
+        m_index = m_trajectory.search(timeSeconds, 1);
+        return m_index;
+      }
+
+      // Every state before m_index is earlier than the requested time, so the
+      // answer is at or after it.
+      final int last = times.length - 1;
+      for (int steps = 0; steps < kMaxLinearSteps && m_index < last; steps++) {
+        if (times[m_index] >= timeSeconds) {
+          return m_index;
+        }
+        m_index++;
+      }
+
+      m_index = m_trajectory.search(timeSeconds, m_index);
+      return m_index;
+    }
+  }
+
+  /**
+   * A mutable trajectory state stored as primitives, for use with
+   * {@link Trajectory#sample(double, MutableState)}. Reusing one instance
+   * across calls avoids allocating a new state every loop iteration.
+   */
+  @SuppressWarnings("MemberName")
+  public static class MutableState {
+    // The time elapsed since the beginning of the trajectory.
+    public double timeSeconds;
+
+    // The speed at that point of the trajectory.
+    public double velocityMetersPerSecond;
+
+    // The acceleration at that point of the trajectory.
+    public double accelerationMetersPerSecondSq;
+
+    // The x component of the pose at that point of the trajectory.
+    public double xMeters;
+
+    // The y component of the pose at that point of the trajectory.
+    public double yMeters;
+
+    // The heading of the pose at that point of the trajectory.
+    public double headingRadians;
+
+    // The cosine of the heading.
+    public double headingCos = 1.0;
+
+    // The sine of the heading.
+    public double headingSin;
+
+    // The curvature at that point of the trajectory.
+    public double curvatureRadPerMeter;
+
+    /**
+     * Returns the pose at this state. This allocates a new pose.
+     *
+     * @return The pose at this state.
+     */
+    public Pose2d getPoseMeters() {
+      return new Pose2d(xMeters, yMeters, new Rotation2d(headingCos, headingSin));
+    }
+
+    /**
+     * Copies this state into a new immutable-style {@link State}. This allocates.
+     *
+     * @return The equivalent state.
+     */
+    public State toState() {
+      return new State(timeSeconds, velocityMetersPerSecond, accelerationMetersPerSecondSq,
+          getPoseMeters(), curvatureRadPerMeter);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+        "MutableState(Sec: %.2f, Vel m/s: %.2f, Accel m/s/s: %.2f, X: %.2f, Y: %.2f, "
+          + "Heading: %.2f, Curvature: %.2f)",
+        timeSeconds, velocityMetersPerSecond, accelerationMetersPerSecondSq,
+        xMeters, yMeters, headingRadians, curvatureRadPerMeter);
+    }
+  }
+
   @Override
   public String toString() {
-    String stateList = m_states.stream().map(State::toString).collect(Collectors.joining(", \n"));
+    String stateList = getStates().stream().map(State::toString)
+        .collect(Collectors.joining(", \n"));
     return String.format("Trajectory - Seconds: %.2f, States:\n%s", m_totalTimeSeconds, stateList);
   }
 }
@@ -33,6 +33,7 @@ public class TrajectoryConfig {
   private double m_startVelocity;
   private double m_endVelocity;
   private boolean m_reversed;
+  private boolean m_parallelSplineParameterization;
 
   /**
    * Constructs the trajectory configuration class.
@@ -190,4 +191,26 @@ public class TrajectoryConfig {
     m_reversed = reversed;
     return this;
   }
+
+  /**
+   * Returns whether the splines of the trajectory are parameterized in parallel.
+   *
+   * @return whether the splines of the trajectory are parameterized in parallel.
+   */
+  public boolean isParallelSplineParameterization() {
+    return m_parallelSplineParameterization;
+  }
+
+  /**
+   * Sets whether the splines that make up the trajectory should be parameterized in parallel on
+   * the common fork-join pool. This speeds up generation of trajectories with many waypoints on
+   * multi-core processors. The generated trajectory is identical either way.
+   *
+   * @param parallel Whether the splines should be parameterized in parallel.
+   * @return Instance of the current config object.
+   */
+  public TrajectoryConfig setParallelSplineParameterization(boolean parallel) {
+    m_parallelSplineParameterization = parallel;
+    return this;
+  }
 }
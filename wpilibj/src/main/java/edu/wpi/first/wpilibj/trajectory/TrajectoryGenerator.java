@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
@@ -25,7 +26,7 @@ import edu.wpi.first.wpilibj.spline.SplineParameterizer;
 import edu.wpi.first.wpilibj.spline.SplineParameterizer.MalformedSplineException;
 
 public final class TrajectoryGenerator {
-  private static final Trajectory kDoNothingTrajectory =
+  static final Trajectory kDoNothingTrajectory =
       new Trajectory(Arrays.asList(new Trajectory.State()));
   private static BiConsumer<String, StackTraceElement[]> errorFunc;
 
@@ -35,7 +36,7 @@ public final class TrajectoryGenerator {
   private TrajectoryGenerator() {
   }
 
-  private static void reportError(String error, StackTraceElement[] stackTrace) {
+  static void reportError(String error, StackTraceElement[] stackTrace) {
     if (errorFunc != null) {
       errorFunc.accept(error, stackTrace);
     } else {
@@ -88,7 +89,8 @@ public final class TrajectoryGenerator {
     List<PoseWithCurvature> points;
     try {
       points = splinePointsFromSplines(SplineHelper.getCubicSplinesFromControlVectors(newInitial,
-          interiorWaypoints.toArray(new Translation2d[0]), newEnd));
+          interiorWaypoints.toArray(new Translation2d[0]), newEnd),
+          config.isParallelSplineParameterization());
     } catch (MalformedSplineException ex) {
       reportError(ex.getMessage(), ex.getStackTrace());
       return kDoNothingTrajectory;
@@ -164,7 +166,7 @@ public final class TrajectoryGenerator {
     try {
       points = splinePointsFromSplines(SplineHelper.getQuinticSplinesFromControlVectors(
           newControlVectors.toArray(new Spline.ControlVector[]{})
-      ));
+      ), config.isParallelSplineParameterization());
     } catch (MalformedSplineException ex) {
       reportError(ex.getMessage(), ex.getStackTrace());
       return kDoNothingTrajectory;
@@ -201,6 +203,27 @@ public final class TrajectoryGenerator {
     return generateTrajectory(newList, config);
   }
 
+  /**
+   * Generates trajectories for several paths at once, generating the paths in
+   * parallel on the common fork-join pool. Each trajectory is identical to the
+   * one {@link #generateTrajectory(List, TrajectoryConfig)} returns for the
+   * same waypoints.
+   *
+   * <p>The config, and therefore its constraints, is shared by all of the
+   * paths being generated concurrently, so any user-defined constraints must
+   * be safe to call from multiple threads.
+   *
+   * @param waypoints The waypoints of each path.
+   * @param config    The configuration for the trajectories.
+   * @return The generated trajectories, in the same order as the paths.
+   */
+  public static List<Trajectory> generateTrajectories(List<List<Pose2d>> waypoints,
+                                                      TrajectoryConfig config) {
+    return waypoints.parallelStream()
+        .map(path -> generateTrajectory(path, config))
+        .collect(Collectors.toList());
+  }
+
   /**
    * Generate spline points from a vector of splines by parameterizing the
    * splines.
@@ -212,20 +235,49 @@ public final class TrajectoryGenerator {
    */
   public static List<PoseWithCurvature> splinePointsFromSplines(
       Spline[] splines) {
+    return splinePointsFromSplines(splines, false);
+  }
+
+  /**
+   * Generate spline points from a vector of splines by parameterizing the
+   * splines, optionally parameterizing the splines in parallel on the common
+   * fork-join pool. The splines are independent of each other, so the result
+   * is the same either way.
+   *
+   * @param splines  The splines to parameterize.
+   * @param parallel Whether to parameterize the splines in parallel.
+   * @return The spline points for use in time parameterization of a trajectory.
+   * @throws MalformedSplineException When the spline is malformed (e.g. has close adjacent points
+   *                                  with approximately opposing headings)
+   */
+  public static List<PoseWithCurvature> splinePointsFromSplines(
+      Spline[] splines, boolean parallel) {
+    List<List<PoseWithCurvature>> parameterized;
+    if (parallel) {
+      parameterized = Arrays.stream(splines).parallel()
+          .map(SplineParameterizer::parameterize)
+          .collect(Collectors.toList());
+    } else {
+      parameterized = new ArrayList<>(splines.length);
+      for (final var spline : splines) {
+        parameterized.add(SplineParameterizer.parameterize(spline));
+      }
+    }
+
     // Create the vector of spline points.
-    var splinePoints = new ArrayList<PoseWithCurvature>();
+    int size = 1;
+    for (final var points : parameterized) {
+      size += points.size() - 1;
+    }
+    var splinePoints = new ArrayList<PoseWithCurvature>(size);
 
     // Add the first point to the vector.
     splinePoints.add(splines[0].getPoint(0.0));
 
-    // Iterate through the vector and parameterize each spline, adding the
-    // parameterized points to the final vector.
-    for (final var spline : splines) {
-      var points = SplineParameterizer.parameterize(spline);
-
-      // Append the array of poses to the vector. We are removing the first
-      // point because it's a duplicate of the last point from the previous
-      // spline.
+    // Append the parameterized points of each spline to the vector, in order.
+    for (final var points : parameterized) {
+      // We are removing the first point because it's a duplicate of the last
+      // point from the previous spline.
       splinePoints.addAll(points.subList(1, points.size()));
     }
     return splinePoints;
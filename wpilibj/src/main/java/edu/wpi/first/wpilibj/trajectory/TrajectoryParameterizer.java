@@ -32,9 +32,12 @@
 package edu.wpi.first.wpilibj.trajectory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
+import edu.wpi.first.wpilibj.trajectory.constraint.BatchTrajectoryConstraint;
 import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
 
 /**
@@ -68,9 +71,6 @@ public final class TrajectoryParameterizer {
    *                                         waypoints.
    * @return The trajectory.
    */
-  @SuppressWarnings({"PMD.ExcessiveMethodLength", "PMD.CyclomaticComplexity",
-      "PMD.NPathComplexity", "PMD.AvoidInstantiatingObjectsInLoops",
-      "PMD.AvoidThrowingRawExceptionTypes"})
   public static Trajectory timeParameterizeTrajectory(
       List<PoseWithCurvature> points,
       List<TrajectoryConstraint> constraints,
@@ -80,224 +80,475 @@ public final class TrajectoryParameterizer {
       double maxAccelerationMetersPerSecondSq,
       boolean reversed
   ) {
-    var constrainedStates = new ArrayList<ConstrainedState>(points.size());
-    var predecessor = new ConstrainedState(points.get(0), 0, startVelocityMetersPerSecond,
-        -maxAccelerationMetersPerSecondSq, maxAccelerationMetersPerSecondSq);
-
-    // Forward pass
-    for (int i = 0; i < points.size(); i++) {
-      constrainedStates.add(new ConstrainedState());
-      var constrainedState = constrainedStates.get(i);
-      constrainedState.pose = points.get(i);
-
-      // Begin constraining based on predecessor.
-      double ds = constrainedState.pose.poseMeters.getTranslation().getDistance(
-          predecessor.pose.poseMeters.getTranslation());
-      constrainedState.distanceMeters = predecessor.distanceMeters + ds;
-
-      // We may need to iterate to find the maximum end velocity and common
-      // acceleration, since acceleration limits may be a function of velocity.
-      while (true) {
-        // Enforce global max velocity and max reachable velocity by global
-        // acceleration limit. vf = std::sqrt(vi^2 + 2*a*d).
-        constrainedState.maxVelocityMetersPerSecond = Math.min(
-            maxVelocityMetersPerSecond,
-            Math.sqrt(predecessor.maxVelocityMetersPerSecond
-                * predecessor.maxVelocityMetersPerSecond
-                + predecessor.maxAccelerationMetersPerSecondSq * ds * 2.0)
-        );
-
-        constrainedState.minAccelerationMetersPerSecondSq = -maxAccelerationMetersPerSecondSq;
-        constrainedState.maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
-
-        // At this point, the constrained state is fully constructed apart from
-        // all the custom-defined user constraints.
-        for (final var constraint : constraints) {
-          constrainedState.maxVelocityMetersPerSecond = Math.min(
-              constrainedState.maxVelocityMetersPerSecond,
-              constraint.getMaxVelocityMetersPerSecond(
-                  constrainedState.pose.poseMeters, constrainedState.pose.curvatureRadPerMeter,
-                  constrainedState.maxVelocityMetersPerSecond)
-          );
-        }
+    return new VelocityProfile().update(points, 0, constraints, startVelocityMetersPerSecond,
+        endVelocityMetersPerSecond, maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq,
+        reversed);
+  }
 
-        // Now enforce all acceleration limits.
-        enforceAccelerationLimits(reversed, constraints, constrainedState);
+  @SuppressWarnings("MemberName")
+  private static class ConstrainedState {
+    PoseWithCurvature pose;
+    double distanceMeters;
+    double maxVelocityMetersPerSecond;
+    double minAccelerationMetersPerSecondSq;
+    double maxAccelerationMetersPerSecondSq;
 
-        if (ds < 1E-6) {
-          break;
-        }
+    ConstrainedState(PoseWithCurvature pose, double distanceMeters,
+                     double maxVelocityMetersPerSecond,
+                     double minAccelerationMetersPerSecondSq,
+                     double maxAccelerationMetersPerSecondSq) {
+      this.pose = pose;
+      this.distanceMeters = distanceMeters;
+      this.maxVelocityMetersPerSecond = maxVelocityMetersPerSecond;
+      this.minAccelerationMetersPerSecondSq = minAccelerationMetersPerSecondSq;
+      this.maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
+    }
 
-        // If the actual acceleration for this state is higher than the max
-        // acceleration that we applied, then we need to reduce the max
-        // acceleration of the predecessor and try again.
-        double actualAcceleration = (constrainedState.maxVelocityMetersPerSecond
-            * constrainedState.maxVelocityMetersPerSecond
-            - predecessor.maxVelocityMetersPerSecond * predecessor.maxVelocityMetersPerSecond)
-            / (ds * 2.0);
-
-        // If we violate the max acceleration constraint, let's modify the
-        // predecessor.
-        if (constrainedState.maxAccelerationMetersPerSecondSq < actualAcceleration - 1E-6) {
-          predecessor.maxAccelerationMetersPerSecondSq
-              = constrainedState.maxAccelerationMetersPerSecondSq;
-        } else {
-          // Constrain the predecessor's max acceleration to the current
-          // acceleration.
-          if (actualAcceleration > predecessor.minAccelerationMetersPerSecondSq) {
-            predecessor.maxAccelerationMetersPerSecondSq = actualAcceleration;
-          }
-          // If the actual acceleration is less than the predecessor's min
-          // acceleration, it will be repaired in the backward pass.
-          break;
-        }
-      }
-      predecessor = constrainedState;
+    ConstrainedState() {
+      pose = new PoseWithCurvature();
     }
+  }
 
-    var successor = new ConstrainedState(points.get(points.size() - 1),
-        constrainedStates.get(constrainedStates.size() - 1).distanceMeters,
-        endVelocityMetersPerSecond,
-        -maxAccelerationMetersPerSecondSq, maxAccelerationMetersPerSecondSq);
-
-    // Backward pass
-    for (int i = points.size() - 1; i >= 0; i--) {
-      var constrainedState = constrainedStates.get(i);
-      double ds = constrainedState.distanceMeters - successor.distanceMeters; // negative
-
-      while (true) {
-        // Enforce max velocity limit (reverse)
-        // vf = std::sqrt(vi^2 + 2*a*d), where vi = successor.
-        double newMaxVelocity = Math.sqrt(
-            successor.maxVelocityMetersPerSecond * successor.maxVelocityMetersPerSecond
-                + successor.minAccelerationMetersPerSecondSq * ds * 2.0
-        );
-
-        // No more limits to impose! This state can be finalized.
-        if (newMaxVelocity >= constrainedState.maxVelocityMetersPerSecond) {
-          break;
-        }
+  /**
+   * The velocity profile of a trajectory, kept between parameterizations so
+   * that the trajectory can be parameterized again after some of its points
+   * change without starting from scratch.
+   *
+   * <p>The forward pass is causal, so states before the first changed point
+   * keep their forward pass results and the pass resumes from there. The
+   * backward pass is rerun from the end, but stops as soon as it reaches an
+   * unchanged state whose result is the same as last time, since every state
+   * before it will then be the same as well. Finally, the states are only
+   * integrated forward in time from the first state whose velocity or
+   * distance changed.
+   *
+   * <p>Constraints that implement {@link BatchTrajectoryConstraint} have their
+   * max velocity envelope evaluated for all changed states up front, and their
+   * acceleration limits evaluated through the batch methods, so that they
+   * don't allocate per state.
+   */
+  @SuppressWarnings("PMD.TooManyFields")
+  static final class VelocityProfile {
+    private int m_size;
+    private boolean m_valid;
+
+    // Forward pass results, as of the end of each state's own iteration.
+    private double[] m_distances = new double[0];
+    private double[] m_forwardMaxVelocities = new double[0];
+    private double[] m_forwardMinAccelerations = new double[0];
+    private double[] m_forwardMaxAccelerations = new double[0];
+
+    // Backward pass results, as of the end of each state's own iteration.
+    private double[] m_maxVelocities = new double[0];
+    private double[] m_backwardMinAccelerations = new double[0];
+
+    // Integrated trajectory states.
+    private double[] m_times = new double[0];
+    private double[] m_accelerations = new double[0];
+
+    // The constraints of the current update, split by whether they can be
+    // evaluated in batches.
+    private final List<BatchTrajectoryConstraint> m_batchConstraints = new ArrayList<>();
+    private final List<TrajectoryConstraint> m_scalarConstraints = new ArrayList<>();
+
+    // The points in the form the batch constraints take, the min of their max
+    // velocity envelopes, and scratch space for evaluating them.
+    private final PoseWithCurvatureBuffer m_states = new PoseWithCurvatureBuffer();
+    private double[] m_velocityEnvelope = new double[0];
+    private double[] m_constraintVelocities = new double[0];
+    private double[] m_constraintMinAccelerations = new double[0];
+    private double[] m_constraintMaxAccelerations = new double[0];
+
+    /**
+     * Parameterizes the trajectory by time, reusing the results of the previous
+     * parameterization for the points before firstChangedPoint. Points before
+     * firstChangedPoint must be identical to the previous call's, as must all
+     * other parameters besides the end velocity.
+     *
+     * @param points                           Reference to the spline points.
+     * @param firstChangedPoint                The index of the first point that differs from the
+     *                                         previous call.
+     * @param constraints                      A vector of various velocity and acceleration.
+     *                                         constraints.
+     * @param startVelocityMetersPerSecond     The start velocity for the trajectory.
+     * @param endVelocityMetersPerSecond       The end velocity for the trajectory.
+     * @param maxVelocityMetersPerSecond       The max velocity for the trajectory.
+     * @param maxAccelerationMetersPerSecondSq The max acceleration for the trajectory.
+     * @param reversed                         Whether the robot should move backwards.
+     * @return The trajectory.
+     */
+    @SuppressWarnings({"PMD.ExcessiveParameterList", "PMD.AvoidInstantiatingObjectsInLoops"})
+    Trajectory update(
+        List<PoseWithCurvature> points,
+        int firstChangedPoint,
+        List<TrajectoryConstraint> constraints,
+        double startVelocityMetersPerSecond,
+        double endVelocityMetersPerSecond,
+        double maxVelocityMetersPerSecond,
+        double maxAccelerationMetersPerSecondSq,
+        boolean reversed
+    ) {
+      final int size = points.size();
+      int firstChanged = Math.min(firstChangedPoint, Math.min(m_size, size));
+      resize(size);
+
+      // If the previous update threw partway through, the stored results are
+      // inconsistent, so start over.
+      if (!m_valid) {
+        firstChanged = 0;
+      }
+      m_valid = false;
 
-        constrainedState.maxVelocityMetersPerSecond = newMaxVelocity;
+      splitConstraints(constraints);
+      if (!m_batchConstraints.isEmpty()) {
+        computeVelocityEnvelope(points, firstChanged);
+      }
 
-        // Check all acceleration constraints with the new max velocity.
-        enforceAccelerationLimits(reversed, constraints, constrainedState);
+      forwardPass(points, firstChanged, startVelocityMetersPerSecond,
+          maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq, reversed);
+      firstChanged = backwardPass(points, firstChanged,
+          endVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq, reversed);
+      integrate(firstChanged, reversed);
+      m_valid = true;
+
+      var states = new ArrayList<Trajectory.State>(size);
+      for (int i = 0; i < size; i++) {
+        final var point = points.get(i);
+        states.add(new Trajectory.State(
+            m_times[i],
+            reversed ? -m_maxVelocities[i] : m_maxVelocities[i],
+            m_accelerations[i],
+            point.poseMeters, point.curvatureRadPerMeter
+        ));
+      }
+      return new Trajectory(states);
+    }
 
-        if (ds > -1E-6) {
-          break;
-        }
+    /**
+     * Discards the stored results, so that the next update starts from scratch.
+     */
+    void reset() {
+      m_size = 0;
+      m_valid = false;
+    }
 
-        // If the actual acceleration for this state is lower than the min
-        // acceleration, then we need to lower the min acceleration of the
-        // successor and try again.
-        double actualAcceleration = (constrainedState.maxVelocityMetersPerSecond
-            * constrainedState.maxVelocityMetersPerSecond
-            - successor.maxVelocityMetersPerSecond * successor.maxVelocityMetersPerSecond)
-            / (ds * 2.0);
-
-        if (constrainedState.minAccelerationMetersPerSecondSq > actualAcceleration + 1E-6) {
-          successor.minAccelerationMetersPerSecondSq
-              = constrainedState.minAccelerationMetersPerSecondSq;
-        } else {
-          successor.minAccelerationMetersPerSecondSq = actualAcceleration;
-          break;
-        }
+    private void resize(int size) {
+      if (size > m_distances.length) {
+        int capacity = Math.max(size, m_distances.length * 2);
+        m_distances = Arrays.copyOf(m_distances, capacity);
+        m_forwardMaxVelocities = Arrays.copyOf(m_forwardMaxVelocities, capacity);
+        m_forwardMinAccelerations = Arrays.copyOf(m_forwardMinAccelerations, capacity);
+        m_forwardMaxAccelerations = Arrays.copyOf(m_forwardMaxAccelerations, capacity);
+        m_maxVelocities = Arrays.copyOf(m_maxVelocities, capacity);
+        m_backwardMinAccelerations = Arrays.copyOf(m_backwardMinAccelerations, capacity);
+        m_times = Arrays.copyOf(m_times, capacity);
+        m_accelerations = Arrays.copyOf(m_accelerations, capacity);
+        m_velocityEnvelope = Arrays.copyOf(m_velocityEnvelope, capacity);
+        m_constraintVelocities = Arrays.copyOf(m_constraintVelocities, capacity);
+        m_constraintMinAccelerations = Arrays.copyOf(m_constraintMinAccelerations, capacity);
+        m_constraintMaxAccelerations = Arrays.copyOf(m_constraintMaxAccelerations, capacity);
       }
-      successor = constrainedState;
+      m_size = size;
     }
 
-    // Now we can integrate the constrained states forward in time to obtain our
-    // trajectory states.
-    var states = new ArrayList<Trajectory.State>(points.size());
-    double timeSeconds = 0.0;
-    double distanceMeters = 0.0;
-    double velocityMetersPerSecond = 0.0;
-
-    for (int i = 0; i < constrainedStates.size(); i++) {
-      final var state = constrainedStates.get(i);
-
-      // Calculate the change in position between the current state and the previous
-      // state.
-      double ds = state.distanceMeters - distanceMeters;
-
-      // Calculate the acceleration between the current state and the previous
-      // state.
-      double accel = (state.maxVelocityMetersPerSecond * state.maxVelocityMetersPerSecond
-          - velocityMetersPerSecond * velocityMetersPerSecond) / (ds * 2);
-
-      // Calculate dt
-      double dt = 0.0;
-      if (i > 0) {
-        states.get(i - 1).accelerationMetersPerSecondSq = reversed ? -accel : accel;
-        if (Math.abs(accel) > 1E-6) {
-          // v_f = v_0 + a * t
-          dt = (state.maxVelocityMetersPerSecond - velocityMetersPerSecond) / accel;
-        } else if (Math.abs(velocityMetersPerSecond) > 1E-6) {
-          // delta_x = v * t
-          dt = ds / velocityMetersPerSecond;
+    private void splitConstraints(List<TrajectoryConstraint> constraints) {
+      m_batchConstraints.clear();
+      m_scalarConstraints.clear();
+      for (final var constraint : constraints) {
+        if (constraint instanceof BatchTrajectoryConstraint) {
+          m_batchConstraints.add((BatchTrajectoryConstraint) constraint);
         } else {
-          throw new RuntimeException("Something went wrong");
+          m_scalarConstraints.add(constraint);
         }
       }
+    }
 
-      velocityMetersPerSecond = state.maxVelocityMetersPerSecond;
-      distanceMeters = state.distanceMeters;
-
-      timeSeconds += dt;
+    /**
+     * Copies the points into the buffer the batch constraints take and
+     * computes their combined max velocity envelope from the given state on.
+     */
+    private void computeVelocityEnvelope(List<PoseWithCurvature> points, int start) {
+      m_states.clear();
+      for (int i = 0; i < m_size; i++) {
+        final var point = points.get(i);
+        final var pose = point.poseMeters;
+        m_states.accept(pose.getTranslation().getX(), pose.getTranslation().getY(),
+            pose.getRotation().getRadians(), pose.getRotation().getCos(),
+            pose.getRotation().getSin(), point.curvatureRadPerMeter);
+      }
 
-      states.add(new Trajectory.State(
-          timeSeconds,
-          reversed ? -velocityMetersPerSecond : velocityMetersPerSecond,
-          reversed ? -accel : accel,
-          state.pose.poseMeters, state.pose.curvatureRadPerMeter
-      ));
+      Arrays.fill(m_velocityEnvelope, start, m_size, Double.POSITIVE_INFINITY);
+      for (final var constraint : m_batchConstraints) {
+        // Use the velocity scratch space, which is free until the passes run.
+        constraint.getMaxVelocitiesMetersPerSecond(m_states, start, m_size,
+            m_constraintVelocities);
+        for (int i = start; i < m_size; i++) {
+          m_velocityEnvelope[i] = Math.min(m_velocityEnvelope[i], m_constraintVelocities[i]);
+        }
+      }
     }
 
-    return new Trajectory(states);
-  }
+    private void enforceAccelerationLimits(boolean reverse, int index, ConstrainedState state) {
+      double factor = reverse ? -1.0 : 1.0;
 
-  private static void enforceAccelerationLimits(boolean reverse,
-                                                List<TrajectoryConstraint> constraints,
-                                                ConstrainedState state) {
+      for (final var constraint : m_scalarConstraints) {
+        final var minMaxAccel = constraint.getMinMaxAccelerationMetersPerSecondSq(
+            state.pose.poseMeters, state.pose.curvatureRadPerMeter,
+            state.maxVelocityMetersPerSecond * factor);
+        enforceAccelerationLimits(reverse, minMaxAccel.minAccelerationMetersPerSecondSq,
+            minMaxAccel.maxAccelerationMetersPerSecondSq, state);
+      }
 
-    for (final var constraint : constraints) {
-      double factor = reverse ? -1.0 : 1.0;
-      final var minMaxAccel = constraint.getMinMaxAccelerationMetersPerSecondSq(
-          state.pose.poseMeters, state.pose.curvatureRadPerMeter,
-          state.maxVelocityMetersPerSecond * factor);
+      if (m_batchConstraints.isEmpty()) {
+        return;
+      }
 
+      // The acceleration limits depend on the velocity, which the passes may
+      // revise several times per state, so these are evaluated one state at a
+      // time.
+      m_constraintVelocities[index] = state.maxVelocityMetersPerSecond * factor;
+      for (final var constraint : m_batchConstraints) {
+        constraint.getMinMaxAccelerationsMetersPerSecondSq(m_states, m_constraintVelocities,
+            index, index + 1, m_constraintMinAccelerations, m_constraintMaxAccelerations);
+        enforceAccelerationLimits(reverse, m_constraintMinAccelerations[index],
+            m_constraintMaxAccelerations[index], state);
+      }
+    }
+
+    private static void enforceAccelerationLimits(boolean reverse,
+                                                  double minAccelerationMetersPerSecondSq,
+                                                  double maxAccelerationMetersPerSecondSq,
+                                                  ConstrainedState state) {
       state.minAccelerationMetersPerSecondSq = Math.max(state.minAccelerationMetersPerSecondSq,
-          reverse ? -minMaxAccel.maxAccelerationMetersPerSecondSq
-              : minMaxAccel.minAccelerationMetersPerSecondSq);
+          reverse ? -maxAccelerationMetersPerSecondSq : minAccelerationMetersPerSecondSq);
 
       state.maxAccelerationMetersPerSecondSq = Math.min(state.maxAccelerationMetersPerSecondSq,
-          reverse ? -minMaxAccel.minAccelerationMetersPerSecondSq
-              : minMaxAccel.maxAccelerationMetersPerSecondSq);
+          reverse ? -minAccelerationMetersPerSecondSq : maxAccelerationMetersPerSecondSq);
     }
 
-  }
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private void forwardPass(List<PoseWithCurvature> points, int start,
+                             double startVelocityMetersPerSecond,
+                             double maxVelocityMetersPerSecond,
+                             double maxAccelerationMetersPerSecondSq,
+                             boolean reversed) {
+      ConstrainedState predecessor;
+      if (start == 0) {
+        predecessor = new ConstrainedState(points.get(0), 0, startVelocityMetersPerSecond,
+            -maxAccelerationMetersPerSecondSq, maxAccelerationMetersPerSecondSq);
+      } else {
+        predecessor = new ConstrainedState(points.get(start - 1), m_distances[start - 1],
+            m_forwardMaxVelocities[start - 1], m_forwardMinAccelerations[start - 1],
+            m_forwardMaxAccelerations[start - 1]);
+      }
 
-  @SuppressWarnings("MemberName")
-  private static class ConstrainedState {
-    PoseWithCurvature pose;
-    double distanceMeters;
-    double maxVelocityMetersPerSecond;
-    double minAccelerationMetersPerSecondSq;
-    double maxAccelerationMetersPerSecondSq;
+      for (int i = start; i < m_size; i++) {
+        var constrainedState = new ConstrainedState();
+        constrainedState.pose = points.get(i);
 
-    ConstrainedState(PoseWithCurvature pose, double distanceMeters,
-                     double maxVelocityMetersPerSecond,
-                     double minAccelerationMetersPerSecondSq,
-                     double maxAccelerationMetersPerSecondSq) {
-      this.pose = pose;
-      this.distanceMeters = distanceMeters;
-      this.maxVelocityMetersPerSecond = maxVelocityMetersPerSecond;
-      this.minAccelerationMetersPerSecondSq = minAccelerationMetersPerSecondSq;
-      this.maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
+        // Begin constraining based on predecessor.
+        double ds = constrainedState.pose.poseMeters.getTranslation().getDistance(
+            predecessor.pose.poseMeters.getTranslation());
+        constrainedState.distanceMeters = predecessor.distanceMeters + ds;
+
+        // We may need to iterate to find the maximum end velocity and common
+        // acceleration, since acceleration limits may be a function of velocity.
+        while (true) {
+          // Enforce global max velocity and max reachable velocity by global
+          // acceleration limit. vf = std::sqrt(vi^2 + 2*a*d).
+          constrainedState.maxVelocityMetersPerSecond = Math.min(
+              maxVelocityMetersPerSecond,
+              Math.sqrt(predecessor.maxVelocityMetersPerSecond
+                  * predecessor.maxVelocityMetersPerSecond
+                  + predecessor.maxAccelerationMetersPerSecondSq * ds * 2.0)
+          );
+
+          constrainedState.minAccelerationMetersPerSecondSq = -maxAccelerationMetersPerSecondSq;
+          constrainedState.maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
+
+          // At this point, the constrained state is fully constructed apart from
+          // all the custom-defined user constraints.
+          if (!m_batchConstraints.isEmpty()) {
+            constrainedState.maxVelocityMetersPerSecond = Math.min(
+                constrainedState.maxVelocityMetersPerSecond, m_velocityEnvelope[i]);
+          }
+          for (final var constraint : m_scalarConstraints) {
+            constrainedState.maxVelocityMetersPerSecond = Math.min(
+                constrainedState.maxVelocityMetersPerSecond,
+                constraint.getMaxVelocityMetersPerSecond(
+                    constrainedState.pose.poseMeters, constrainedState.pose.curvatureRadPerMeter,
+                    constrainedState.maxVelocityMetersPerSecond)
+            );
+          }
+
+          // Now enforce all acceleration limits.
+          enforceAccelerationLimits(reversed, i, constrainedState);
+
+          if (ds < 1E-6) {
+            break;
+          }
+
+          // If the actual acceleration for this state is higher than the max
+          // acceleration that we applied, then we need to reduce the max
+          // acceleration of the predecessor and try again.
+          double actualAcceleration = (constrainedState.maxVelocityMetersPerSecond
+              * constrainedState.maxVelocityMetersPerSecond
+              - predecessor.maxVelocityMetersPerSecond * predecessor.maxVelocityMetersPerSecond)
+              / (ds * 2.0);
+
+          // If we violate the max acceleration constraint, let's modify the
+          // predecessor.
+          if (constrainedState.maxAccelerationMetersPerSecondSq < actualAcceleration - 1E-6) {
+            predecessor.maxAccelerationMetersPerSecondSq
+                = constrainedState.maxAccelerationMetersPerSecondSq;
+          } else {
+            // Constrain the predecessor's max acceleration to the current
+            // acceleration.
+            if (actualAcceleration > predecessor.minAccelerationMetersPerSecondSq) {
+              predecessor.maxAccelerationMetersPerSecondSq = actualAcceleration;
+            }
+            // If the actual acceleration is less than the predecessor's min
+            // acceleration, it will be repaired in the backward pass.
+            break;
+          }
+        }
+
+        m_distances[i] = constrainedState.distanceMeters;
+        m_forwardMaxVelocities[i] = constrainedState.maxVelocityMetersPerSecond;
+        m_forwardMinAccelerations[i] = constrainedState.minAccelerationMetersPerSecondSq;
+        m_forwardMaxAccelerations[i] = constrainedState.maxAccelerationMetersPerSecondSq;
+        predecessor = constrainedState;
+      }
     }
 
-    ConstrainedState() {
-      pose = new PoseWithCurvature();
+    /**
+     * Runs the backward pass.
+     *
+     * @return The index of the first state whose velocity or distance changed.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private int backwardPass(List<PoseWithCurvature> points, int firstChanged,
+                             double endVelocityMetersPerSecond,
+                             double maxAccelerationMetersPerSecondSq,
+                             boolean reversed) {
+      int firstChangedState = firstChanged;
+
+      var successor = new ConstrainedState(points.get(m_size - 1),
+          m_distances[m_size - 1],
+          endVelocityMetersPerSecond,
+          -maxAccelerationMetersPerSecondSq, maxAccelerationMetersPerSecondSq);
+
+      for (int i = m_size - 1; i >= 0; i--) {
+        var constrainedState = new ConstrainedState(points.get(i), m_distances[i],
+            m_forwardMaxVelocities[i], m_forwardMinAccelerations[i],
+            m_forwardMaxAccelerations[i]);
+        double ds = constrainedState.distanceMeters - successor.distanceMeters; // negative
+
+        while (true) {
+          // Enforce max velocity limit (reverse)
+          // vf = std::sqrt(vi^2 + 2*a*d), where vi = successor.
+          double newMaxVelocity = Math.sqrt(
+              successor.maxVelocityMetersPerSecond * successor.maxVelocityMetersPerSecond
+                  + successor.minAccelerationMetersPerSecondSq * ds * 2.0
+          );
+
+          // No more limits to impose! This state can be finalized.
+          if (newMaxVelocity >= constrainedState.maxVelocityMetersPerSecond) {
+            break;
+          }
+
+          constrainedState.maxVelocityMetersPerSecond = newMaxVelocity;
+
+          // Check all acceleration constraints with the new max velocity.
+          enforceAccelerationLimits(reversed, i, constrainedState);
+
+          if (ds > -1E-6) {
+            break;
+          }
+
+          // If the actual acceleration for this state is lower than the min
+          // acceleration, then we need to lower the min acceleration of the
+          // successor and try again.
+          double actualAcceleration = (constrainedState.maxVelocityMetersPerSecond
+              * constrainedState.maxVelocityMetersPerSecond
+              - successor.maxVelocityMetersPerSecond * successor.maxVelocityMetersPerSecond)
+              / (ds * 2.0);
+
+          if (constrainedState.minAccelerationMetersPerSecondSq > actualAcceleration + 1E-6) {
+            successor.minAccelerationMetersPerSecondSq
+                = constrainedState.minAccelerationMetersPerSecondSq;
+          } else {
+            successor.minAccelerationMetersPerSecondSq = actualAcceleration;
+            break;
+          }
+        }
+
+        final boolean unchanged = i < firstChanged
+            && m_maxVelocities[i] == constrainedState.maxVelocityMetersPerSecond
+            && m_backwardMinAccelerations[i] == constrainedState.minAccelerationMetersPerSecondSq;
+        if (m_maxVelocities[i] != constrainedState.maxVelocityMetersPerSecond) {
+          firstChangedState = Math.min(firstChangedState, i);
+        }
+        m_maxVelocities[i] = constrainedState.maxVelocityMetersPerSecond;
+        m_backwardMinAccelerations[i] = constrainedState.minAccelerationMetersPerSecondSq;
+
+        // The backward pass of every state before this one only depends on
+        // this state's result and their own forward pass results, none of
+        // which have changed.
+        if (unchanged) {
+          break;
+        }
+        successor = constrainedState;
+      }
+      return firstChangedState;
+    }
+
+    @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
+    private void integrate(int start, boolean reversed) {
+      // Now we can integrate the constrained states forward in time to obtain our
+      // trajectory states.
+      double timeSeconds = 0.0;
+      double distanceMeters = 0.0;
+      double velocityMetersPerSecond = 0.0;
+      if (start > 0) {
+        timeSeconds = m_times[start - 1];
+        distanceMeters = m_distances[start - 1];
+        velocityMetersPerSecond = m_maxVelocities[start - 1];
+      }
+
+      for (int i = start; i < m_size; i++) {
+        // Calculate the change in position between the current state and the previous
+        // state.
+        double ds = m_distances[i] - distanceMeters;
+
+        // Calculate the acceleration between the current state and the previous
+        // state.
+        double accel = (m_maxVelocities[i] * m_maxVelocities[i]
+            - velocityMetersPerSecond * velocityMetersPerSecond) / (ds * 2);
+
+        // Calculate dt
+        double dt = 0.0;
+        if (i > 0) {
+          m_accelerations[i - 1] = reversed ? -accel : accel;
+          if (Math.abs(accel) > 1E-6) {
+            // v_f = v_0 + a * t
+            dt = (m_maxVelocities[i] - velocityMetersPerSecond) / accel;
+          } else if (Math.abs(velocityMetersPerSecond) > 1E-6) {
+            // delta_x = v * t
+            dt = ds / velocityMetersPerSecond;
+          } else {
+            throw new RuntimeException("Something went wrong");
+          }
+        }
+
+        velocityMetersPerSecond = m_maxVelocities[i];
+        distanceMeters = m_distances[i];
+
+        timeSeconds += dt;
+
+        m_times[i] = timeSeconds;
+        m_accelerations[i] = reversed ? -accel : accel;
+      }
     }
   }
 }
@@ -10,8 +10,18 @@ package edu.wpi.first.wpilibj.trajectory;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -19,10 +29,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
+import edu.wpi.first.wpilibj.DriverStation;
+
 public final class TrajectoryUtil {
   private static final ObjectReader READER = new ObjectMapper().readerFor(Trajectory.State[].class);
   private static final ObjectWriter WRITER = new ObjectMapper().writerFor(Trajectory.State[].class);
 
+  // Binary trajectory format. The file starts with a 16 byte header (magic
+  // number, format version, state count, reserved) followed by one block of
+  // little-endian doubles per state component: times, velocities,
+  // accelerations, x, y, heading and curvature. Storing each component
+  // contiguously lets it be copied straight into the trajectory's arrays.
+  private static final int kBinaryMagic = 0x4A525457; // "WTRJ" in little-endian
+  private static final int kBinaryVersion = 1;
+  private static final int kBinaryHeaderBytes = 16;
+  private static final int kBinaryComponents = 7;
+
   private TrajectoryUtil() {
     throw new UnsupportedOperationException("This is a utility class!");
   }
@@ -73,4 +95,158 @@ public final class TrajectoryUtil {
   public static String serializeTrajectory(Trajectory trajectory) throws JsonProcessingException {
     return WRITER.writeValueAsString(trajectory.getStates().toArray(new Trajectory.State[0]));
   }
+
+  /**
+   * Exports a Trajectory to a binary file. Binary files load much faster than PathWeaver-style
+   * JSON because the states don't need to be parsed.
+   *
+   * @param trajectory the trajectory to export
+   * @param path the path of the file to export to
+   * @throws IOException if writing to the file fails
+   */
+  public static void toBinary(Trajectory trajectory, Path path) throws IOException {
+    final int size = trajectory.size();
+
+    ByteBuffer buffer = ByteBuffer.allocate(kBinaryHeaderBytes
+        + size * kBinaryComponents * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(kBinaryMagic).putInt(kBinaryVersion).putInt(size).putInt(0);
+    trajectory.putComponents(buffer.asDoubleBuffer());
+    buffer.rewind();
+
+    writeAtomically(buffer, path);
+  }
+
+  /**
+   * Writes a buffer to a temporary file first and then moves it to the destination, so that a
+   * partially written file is never seen there.
+   */
+  private static void writeAtomically(ByteBuffer buffer, Path path) throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Imports a Trajectory from a binary file written by {@link #toBinary(Trajectory, Path)}. The
+   * file is memory-mapped and copied directly into the trajectory.
+   *
+   * @param path the path of the binary file to import from
+   * @return The trajectory represented by the file.
+   * @throws IOException if reading from the file fails or the file is not a valid trajectory
+   */
+  public static Trajectory fromBinary(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+      try {
+        final int size = readBinaryHeader(buffer, path);
+
+        DoubleBuffer doubles = buffer.asDoubleBuffer();
+        double[] times = new double[size];
+        double[] velocities = new double[size];
+        double[] accelerations = new double[size];
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        double[] headings = new double[size];
+        double[] curvatures = new double[size];
+        doubles.get(times).get(velocities).get(accelerations).get(xs).get(ys).get(headings)
+            .get(curvatures);
+
+        return new Trajectory(times, velocities, accelerations, xs, ys, headings, curvatures);
+      } catch (BufferUnderflowException ex) {
+        throw new IOException("Truncated or corrupt binary trajectory file: " + path, ex);
+      }
+    }
+  }
+
+  /**
+   * Reads and checks the header of a binary trajectory file, leaving the buffer positioned at the
+   * first state component.
+   *
+   * @return The number of states in the file.
+   */
+  private static int readBinaryHeader(ByteBuffer buffer, Path path) throws IOException {
+    if (buffer.getInt() != kBinaryMagic) {
+      throw new IOException("Not a binary trajectory file: " + path);
+    }
+    int version = buffer.getInt();
+    if (version != kBinaryVersion) {
+      throw new IOException("Unsupported binary trajectory version " + version + ": " + path);
+    }
+    int size = buffer.getInt();
+    buffer.getInt();
+    if (size <= 0 || buffer.remaining() != (long) size * kBinaryComponents * Double.BYTES) {
+      throw new IOException("Truncated or corrupt binary trajectory file: " + path);
+    }
+    return size;
+  }
+
+  /**
+   * Imports a Trajectory from a PathWeaver-style JSON file, using a binary copy of it from the
+   * given cache directory when there is one. The binary copy is keyed on a hash of the JSON file's
+   * contents, so the JSON is only parsed the first time a particular version of it is loaded; on
+   * later loads the binary copy is read instead.
+   *
+   * <p>Failing to write the binary copy (for instance, because the cache directory is read-only)
+   * isn't fatal; it is reported as a warning and the trajectory parsed from the JSON is returned.
+   * Likewise, a binary copy that can't be read is reported as a warning and replaced.
+   *
+   * @param path the path of the json file to import from
+   * @param cacheDirectory the directory to keep binary copies of trajectories in
+   * @return The trajectory represented by the file.
+   * @throws IOException if reading from the file fails
+   */
+  public static Trajectory fromPathweaverJsonCached(Path path, Path cacheDirectory)
+      throws IOException {
+    byte[] json = Files.readAllBytes(path);
+    Path cached = cacheDirectory.resolve(hash(json) + ".v" + kBinaryVersion + ".wtraj");
+
+    if (Files.isRegularFile(cached)) {
+      try {
+        return fromBinary(cached);
+      } catch (IOException ex) {
+        // Fall through and regenerate the cached copy from the JSON, which replaces this one.
+        DriverStation.reportWarning("Ignoring unreadable cached trajectory " + cached + ": "
+            + ex.getMessage(), false);
+      }
+    }
+
+    Trajectory.State[] state = READER.readValue(json);
+    Trajectory trajectory = new Trajectory(Arrays.asList(state));
+    try {
+      toBinary(trajectory, cached);
+    } catch (IOException ex) {
+      DriverStation.reportWarning("Could not cache trajectory " + path + ": " + ex.getMessage(),
+          false);
+    }
+    return trajectory;
+  }
+
+  private static String hash(byte[] contents) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(ex);
+    }
+
+    StringBuilder builder = new StringBuilder();
+    for (byte b : digest.digest(contents)) {
+      builder.append(String.format("%02x", b));
+    }
+    return builder.toString();
+  }
 }
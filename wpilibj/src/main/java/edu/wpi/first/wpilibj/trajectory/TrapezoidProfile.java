@@ -42,18 +42,27 @@ import edu.wpi.first.hal.HAL;
  * <p>Otherwise, a timer can be started to provide monotonic values for
  * `calculate()` and to determine when the profile has completed via
  * `isFinished()`.
+ *
+ * <p>A profile is immutable once constructed, and the times at which each of its phases ends are
+ * computed up front, so a profile that is sampled many times only needs to be constructed again
+ * when its goal or constraints change. {@link #sample(double, State)} writes to a State the
+ * caller provides instead of allocating one.
  */
 public class TrapezoidProfile {
   // The direction of the profile, either 1 for forwards or -1 for inverted
-  private int m_direction;
+  private final int m_direction;
+
+  private final double m_maxVelocity;
+  private final double m_maxAcceleration;
+  private final State m_initial;
+  private final State m_goal;
 
-  private Constraints m_constraints;
-  private State m_initial;
-  private State m_goal;
+  private final double m_endAccel;
+  private final double m_endFullSpeed;
+  private final double m_endDeccel;
 
-  private double m_endAccel;
-  private double m_endFullSpeed;
-  private double m_endDeccel;
+  // The distance covered by the end of the acceleration phase
+  private final double m_accelDist;
 
   public static class Constraints {
     @SuppressWarnings("MemberName")
@@ -117,42 +126,45 @@ public class TrapezoidProfile {
    */
   public TrapezoidProfile(Constraints constraints, State goal, State initial) {
     m_direction = shouldFlipAcceleration(initial, goal) ? -1 : 1;
-    m_constraints = constraints;
+    m_maxVelocity = constraints.maxVelocity;
+    m_maxAcceleration = constraints.maxAcceleration;
     m_initial = direct(initial);
     m_goal = direct(goal);
 
-    if (m_initial.velocity > m_constraints.maxVelocity) {
-      m_initial.velocity = m_constraints.maxVelocity;
+    if (m_initial.velocity > m_maxVelocity) {
+      m_initial.velocity = m_maxVelocity;
     }
 
     // Deal with a possibly truncated motion profile (with nonzero initial or
     // final velocity) by calculating the parameters as if the profile began and
     // ended at zero velocity
-    double cutoffBegin = m_initial.velocity / m_constraints.maxAcceleration;
-    double cutoffDistBegin = cutoffBegin * cutoffBegin * m_constraints.maxAcceleration / 2.0;
+    double cutoffBegin = m_initial.velocity / m_maxAcceleration;
+    double cutoffDistBegin = cutoffBegin * cutoffBegin * m_maxAcceleration / 2.0;
 
-    double cutoffEnd = m_goal.velocity / m_constraints.maxAcceleration;
-    double cutoffDistEnd = cutoffEnd * cutoffEnd * m_constraints.maxAcceleration / 2.0;
+    double cutoffEnd = m_goal.velocity / m_maxAcceleration;
+    double cutoffDistEnd = cutoffEnd * cutoffEnd * m_maxAcceleration / 2.0;
 
     // Now we can calculate the parameters as if it was a full trapezoid instead
     // of a truncated one
 
     double fullTrapezoidDist = cutoffDistBegin + (m_goal.position - m_initial.position)
         + cutoffDistEnd;
-    double accelerationTime = m_constraints.maxVelocity / m_constraints.maxAcceleration;
+    double accelerationTime = m_maxVelocity / m_maxAcceleration;
 
     double fullSpeedDist = fullTrapezoidDist - accelerationTime * accelerationTime
-        * m_constraints.maxAcceleration;
+        * m_maxAcceleration;
 
     // Handle the case where the profile never reaches full speed
     if (fullSpeedDist < 0) {
-      accelerationTime = Math.sqrt(fullTrapezoidDist / m_constraints.maxAcceleration);
+      accelerationTime = Math.sqrt(fullTrapezoidDist / m_maxAcceleration);
       fullSpeedDist = 0;
     }
 
     m_endAccel = accelerationTime - cutoffBegin;
-    m_endFullSpeed = m_endAccel + fullSpeedDist / m_constraints.maxVelocity;
+    m_endFullSpeed = m_endAccel + fullSpeedDist / m_maxVelocity;
     m_endDeccel = m_endFullSpeed + accelerationTime - cutoffEnd;
+
+    m_accelDist = (m_initial.velocity + m_endAccel * m_maxAcceleration / 2.0) * m_endAccel;
   }
 
   /**
@@ -173,25 +185,42 @@ public class TrapezoidProfile {
    */
   @SuppressWarnings("ParameterName")
   public State calculate(double t) {
-    State result = new State(m_initial.position, m_initial.velocity);
+    return sample(t, new State());
+  }
+
+  /**
+   * Calculate the correct position and velocity for the profile at a time t
+   * where the beginning of the profile was at time t = 0, storing them in the
+   * given state instead of allocating a new one.
+   *
+   * @param t   The time since the beginning of the profile.
+   * @param out The state to store the result in.
+   * @return The given state.
+   */
+  @SuppressWarnings("ParameterName")
+  public State sample(double t, State out) {
+    double position = m_initial.position;
+    double velocity = m_initial.velocity;
 
     if (t < m_endAccel) {
-      result.velocity += t * m_constraints.maxAcceleration;
-      result.position += (m_initial.velocity + t * m_constraints.maxAcceleration / 2.0) * t;
+      velocity += t * m_maxAcceleration;
+      position += (m_initial.velocity + t * m_maxAcceleration / 2.0) * t;
     } else if (t < m_endFullSpeed) {
-      result.velocity = m_constraints.maxVelocity;
-      result.position += (m_initial.velocity + m_endAccel * m_constraints.maxAcceleration
-          / 2.0) * m_endAccel + m_constraints.maxVelocity * (t - m_endAccel);
+      velocity = m_maxVelocity;
+      position += m_accelDist + m_maxVelocity * (t - m_endAccel);
     } else if (t <= m_endDeccel) {
-      result.velocity = m_goal.velocity + (m_endDeccel - t) * m_constraints.maxAcceleration;
+      velocity = m_goal.velocity + (m_endDeccel - t) * m_maxAcceleration;
       double timeLeft = m_endDeccel - t;
-      result.position = m_goal.position - (m_goal.velocity + timeLeft
-          * m_constraints.maxAcceleration / 2.0) * timeLeft;
+      position = m_goal.position - (m_goal.velocity + timeLeft
+          * m_maxAcceleration / 2.0) * timeLeft;
     } else {
-      result = m_goal;
+      position = m_goal.position;
+      velocity = m_goal.velocity;
     }
 
-    return direct(result);
+    out.position = position * m_direction;
+    out.velocity = velocity * m_direction;
+    return out;
   }
 
   /**
@@ -217,8 +246,8 @@ public class TrapezoidProfile {
     double endDeccel = m_endDeccel - endAccel - endFullSpeed;
     endDeccel = Math.max(endDeccel, 0);
 
-    final double acceleration = m_constraints.maxAcceleration;
-    final double decceleration = -m_constraints.maxAcceleration;
+    final double acceleration = m_maxAcceleration;
+    final double decceleration = -m_maxAcceleration;
 
     double distToTarget = Math.abs(target - position);
     if (distToTarget < 1e-6) {
@@ -238,7 +267,7 @@ public class TrapezoidProfile {
 
     deccelDist = Math.max(deccelDist, 0);
 
-    double fullSpeedDist = m_constraints.maxVelocity * endFullSpeed;
+    double fullSpeedDist = m_maxVelocity * endFullSpeed;
 
     if (accelDist > distToTarget) {
       accelDist = distToTarget;
@@ -257,7 +286,7 @@ public class TrapezoidProfile {
     double deccelTime = (-deccelVelocity + Math.sqrt(Math.abs(deccelVelocity * deccelVelocity
         + 2 * decceleration * deccelDist))) / decceleration;
 
-    double fullSpeedTime = fullSpeedDist / m_constraints.maxVelocity;
+    double fullSpeedTime = fullSpeedDist / m_maxVelocity;
 
     return accelTime + fullSpeedTime + deccelTime;
   }
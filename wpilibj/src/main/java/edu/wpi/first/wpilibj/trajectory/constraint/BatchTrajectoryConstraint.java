@@ -0,0 +1,57 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory.constraint;
+
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
+
+/**
+ * A trajectory constraint that can also be evaluated over many trajectory states at once, without
+ * allocating. The trajectory parameterizer uses these methods instead of the per-state ones of
+ * {@link TrajectoryConstraint} for constraints that implement this interface.
+ *
+ * <p>The max velocity is evaluated once per trajectory, before the velocity passes, so it has to
+ * be expressible as an envelope that doesn't depend on the velocity before the constraint is
+ * applied. This holds for constraints that limit the velocity based on the path's geometry, such
+ * as its curvature or the drivetrain's kinematics.
+ */
+public interface BatchTrajectoryConstraint extends TrajectoryConstraint {
+  /**
+   * Computes the max velocity envelope of a range of trajectory states. For each state, this is
+   * the highest velocity the constraint allows regardless of the velocity before the constraint is
+   * applied; that is, for every non-negative velocity, the lesser of that velocity and
+   * {@link #getMaxVelocityMetersPerSecond} must equal (up to rounding) the lesser of that velocity
+   * and the envelope.
+   *
+   * @param states                       The poses and curvatures of the trajectory states.
+   * @param start                        The index of the first state to evaluate.
+   * @param end                          One past the index of the last state to evaluate.
+   * @param maxVelocitiesMetersPerSecond Array to write the envelope to, at the same indices as
+   *                                     the states.
+   */
+  void getMaxVelocitiesMetersPerSecond(PoseWithCurvatureBuffer states, int start, int end,
+                                       double[] maxVelocitiesMetersPerSecond);
+
+  /**
+   * Computes the minimum and maximum allowable acceleration for a range of trajectory states,
+   * identically to {@link #getMinMaxAccelerationMetersPerSecondSq}.
+   *
+   * @param states                            The poses and curvatures of the trajectory states.
+   * @param velocitiesMetersPerSecond         The speed at each state.
+   * @param start                             The index of the first state to evaluate.
+   * @param end                               One past the index of the last state to evaluate.
+   * @param minAccelerationsMetersPerSecondSq Array to write the min acceleration bounds to, at the
+   *                                          same indices as the states.
+   * @param maxAccelerationsMetersPerSecondSq Array to write the max acceleration bounds to, at the
+   *                                          same indices as the states.
+   */
+  void getMinMaxAccelerationsMetersPerSecondSq(PoseWithCurvatureBuffer states,
+                                               double[] velocitiesMetersPerSecond,
+                                               int start, int end,
+                                               double[] minAccelerationsMetersPerSecondSq,
+                                               double[] maxAccelerationsMetersPerSecondSq);
+}
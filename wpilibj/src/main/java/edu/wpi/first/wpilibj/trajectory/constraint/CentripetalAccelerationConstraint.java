@@ -7,7 +7,10 @@
 
 package edu.wpi.first.wpilibj.trajectory.constraint;
 
+import java.util.Arrays;
+
 import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
 
 /**
  * A constraint on the maximum absolute centripetal acceleration allowed when
@@ -18,7 +21,7 @@ import edu.wpi.first.wpilibj.geometry.Pose2d;
  * robot to slow down around tight turns, making it easier to track trajectories
  * with sharp turns.
  */
-public class CentripetalAccelerationConstraint implements TrajectoryConstraint {
+public class CentripetalAccelerationConstraint implements BatchTrajectoryConstraint {
   private final double m_maxCentripetalAccelerationMetersPerSecondSq;
 
   /**
@@ -70,4 +73,25 @@ public class CentripetalAccelerationConstraint implements TrajectoryConstraint {
     // of the robot.
     return new MinMax();
   }
+
+  @Override
+  public void getMaxVelocitiesMetersPerSecond(PoseWithCurvatureBuffer states, int start, int end,
+                                              double[] maxVelocitiesMetersPerSecond) {
+    for (int i = start; i < end; i++) {
+      maxVelocitiesMetersPerSecond[i] = Math.sqrt(m_maxCentripetalAccelerationMetersPerSecondSq
+          / Math.abs(states.getCurvature(i)));
+    }
+  }
+
+  @Override
+  public void getMinMaxAccelerationsMetersPerSecondSq(PoseWithCurvatureBuffer states,
+                                                      double[] velocitiesMetersPerSecond,
+                                                      int start, int end,
+                                                      double[] minAccelerationsMetersPerSecondSq,
+                                                      double[] maxAccelerationsMetersPerSecondSq) {
+    // The acceleration of the robot has no impact on the centripetal acceleration
+    // of the robot.
+    Arrays.fill(minAccelerationsMetersPerSecondSq, start, end, -Double.MAX_VALUE);
+    Arrays.fill(maxAccelerationsMetersPerSecondSq, start, end, Double.MAX_VALUE);
+  }
 }
@@ -7,9 +7,12 @@
 
 package edu.wpi.first.wpilibj.trajectory.constraint;
 
+import java.util.Arrays;
+
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
 
 /**
  * A class that enforces constraints on the differential drive kinematics.
@@ -17,7 +20,7 @@ import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
  * commanded velocities for both sides of the drivetrain stay below a certain
  * limit.
  */
-public class DifferentialDriveKinematicsConstraint implements TrajectoryConstraint {
+public class DifferentialDriveKinematicsConstraint implements BatchTrajectoryConstraint {
   private final double m_maxSpeedMetersPerSecond;
   private final DifferentialDriveKinematics m_kinematics;
 
@@ -73,4 +76,26 @@ public class DifferentialDriveKinematicsConstraint implements TrajectoryConstrai
                                                        double velocityMetersPerSecond) {
     return new MinMax();
   }
+
+  @Override
+  public void getMaxVelocitiesMetersPerSecond(PoseWithCurvatureBuffer states, int start, int end,
+                                              double[] maxVelocitiesMetersPerSecond) {
+    // The faster wheel moves at v * (1 + trackwidth / 2 * |curvature|), so
+    // normalizing the wheel speeds caps v at the max speed divided by that
+    // factor.
+    for (int i = start; i < end; i++) {
+      maxVelocitiesMetersPerSecond[i] = m_maxSpeedMetersPerSecond
+          / (1 + m_kinematics.trackWidthMeters / 2 * Math.abs(states.getCurvature(i)));
+    }
+  }
+
+  @Override
+  public void getMinMaxAccelerationsMetersPerSecondSq(PoseWithCurvatureBuffer states,
+                                                      double[] velocitiesMetersPerSecond,
+                                                      int start, int end,
+                                                      double[] minAccelerationsMetersPerSecondSq,
+                                                      double[] maxAccelerationsMetersPerSecondSq) {
+    Arrays.fill(minAccelerationsMetersPerSecondSq, start, end, -Double.MAX_VALUE);
+    Arrays.fill(maxAccelerationsMetersPerSecondSq, start, end, Double.MAX_VALUE);
+  }
 }
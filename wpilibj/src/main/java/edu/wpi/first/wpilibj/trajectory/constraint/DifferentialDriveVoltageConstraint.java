@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -7,10 +7,12 @@
 
 package edu.wpi.first.wpilibj.trajectory.constraint;
 
+import java.util.Arrays;
+
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
-import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
 
 import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
 
@@ -20,7 +22,7 @@ import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
  * while following the trajectory is never higher than what can be achieved with the given
  * maximum voltage.
  */
-public class DifferentialDriveVoltageConstraint implements TrajectoryConstraint {
+public class DifferentialDriveVoltageConstraint implements BatchTrajectoryConstraint {
   private final SimpleMotorFeedforward m_feedforward;
   private final DifferentialDriveKinematics m_kinematics;
   private final double m_maxVoltage;
@@ -54,52 +56,115 @@ public class DifferentialDriveVoltageConstraint implements TrajectoryConstraint
   public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
                                                        double curvatureRadPerMeter,
                                                        double velocityMetersPerSecond) {
+    return new MinMax(getMinChassisAcceleration(curvatureRadPerMeter, velocityMetersPerSecond),
+                      getMaxChassisAcceleration(curvatureRadPerMeter, velocityMetersPerSecond));
+  }
 
-    var wheelSpeeds = m_kinematics.toWheelSpeeds(new ChassisSpeeds(velocityMetersPerSecond, 0,
-                                                                   velocityMetersPerSecond
-                                                                       * curvatureRadPerMeter));
-
-    double maxWheelSpeed = Math.max(wheelSpeeds.leftMetersPerSecond,
-                                    wheelSpeeds.rightMetersPerSecond);
-    double minWheelSpeed = Math.min(wheelSpeeds.leftMetersPerSecond,
-                                    wheelSpeeds.rightMetersPerSecond);
-
-    // Calculate maximum/minimum possible accelerations from motor dynamics
-    // and max/min wheel speeds
-    double maxWheelAcceleration =
-        m_feedforward.maxAchievableAcceleration(m_maxVoltage, maxWheelSpeed);
-    double minWheelAcceleration =
-        m_feedforward.minAchievableAcceleration(m_maxVoltage, minWheelSpeed);
-
-    // Robot chassis turning on radius = 1/|curvature|.  Outer wheel has radius
-    // increased by half of the trackwidth T.  Inner wheel has radius decreased
-    // by half of the trackwidth.  Achassis / radius = Aouter / (radius + T/2), so
-    // Achassis = Aouter * radius / (radius + T/2) = Aouter / (1 + |curvature|T/2).
-    // Inner wheel is similar.
-
-    // sgn(speed) term added to correctly account for which wheel is on
-    // outside of turn:
-    // If moving forward, max acceleration constraint corresponds to wheel on outside of turn
-    // If moving backward, max acceleration constraint corresponds to wheel on inside of turn
+  @Override
+  public void getMaxVelocitiesMetersPerSecond(PoseWithCurvatureBuffer states, int start, int end,
+                                              double[] maxVelocitiesMetersPerSecond) {
+    Arrays.fill(maxVelocitiesMetersPerSecond, start, end, Double.POSITIVE_INFINITY);
+  }
+
+  @Override
+  public void getMinMaxAccelerationsMetersPerSecondSq(PoseWithCurvatureBuffer states,
+                                                      double[] velocitiesMetersPerSecond,
+                                                      int start, int end,
+                                                      double[] minAccelerationsMetersPerSecondSq,
+                                                      double[] maxAccelerationsMetersPerSecondSq) {
+    // The fastest and slowest wheel speeds are staged in the output arrays so that the feedforward
+    // can evaluate the achievable accelerations of the whole range in one pass.
+    final double halfTrackWidth = m_kinematics.trackWidthMeters / 2;
+    for (int i = start; i < end; i++) {
+      final double velocity = velocitiesMetersPerSecond[i];
+      final double omega = velocity * states.getCurvature(i);
+      final double leftSpeed = velocity - halfTrackWidth * omega;
+      final double rightSpeed = velocity + halfTrackWidth * omega;
+      minAccelerationsMetersPerSecondSq[i] = Math.min(leftSpeed, rightSpeed);
+      maxAccelerationsMetersPerSecondSq[i] = Math.max(leftSpeed, rightSpeed);
+    }
+
+    m_feedforward.minAchievableAcceleration(m_maxVoltage, minAccelerationsMetersPerSecondSq,
+        start, end, minAccelerationsMetersPerSecondSq);
+    m_feedforward.maxAchievableAcceleration(m_maxVoltage, maxAccelerationsMetersPerSecondSq,
+        start, end, maxAccelerationsMetersPerSecondSq);
+
+    for (int i = start; i < end; i++) {
+      final double velocity = velocitiesMetersPerSecond[i];
+      final double absCurvature = Math.abs(states.getCurvature(i));
+      final double turnTerm = m_kinematics.trackWidthMeters * absCurvature
+          * Math.signum(velocity) / 2;
+      double minChassisAcceleration = minAccelerationsMetersPerSecondSq[i] / (1 - turnTerm);
+      double maxChassisAcceleration = maxAccelerationsMetersPerSecondSq[i] / (1 + turnTerm);
+
+      // Negate acceleration of wheel on inside of turn if center of turn is inside of wheelbase
+      if (halfTrackWidth > (1 / absCurvature)) {
+        if (velocity > 0) {
+          minChassisAcceleration = -minChassisAcceleration;
+        } else if (velocity <= 0) {
+          maxChassisAcceleration = -maxChassisAcceleration;
+        }
+      }
+      minAccelerationsMetersPerSecondSq[i] = minChassisAcceleration;
+      maxAccelerationsMetersPerSecondSq[i] = maxChassisAcceleration;
+    }
+  }
 
+  // Robot chassis turning on radius = 1/|curvature|.  Outer wheel has radius
+  // increased by half of the trackwidth T.  Inner wheel has radius decreased
+  // by half of the trackwidth.  Achassis / radius = Aouter / (radius + T/2), so
+  // Achassis = Aouter * radius / (radius + T/2) = Aouter / (1 + |curvature|T/2).
+  // Inner wheel is similar.
+
+  // sgn(speed) term added to correctly account for which wheel is on
+  // outside of turn:
+  // If moving forward, max acceleration constraint corresponds to wheel on outside of turn
+  // If moving backward, max acceleration constraint corresponds to wheel on inside of turn
+
+  // The wheel speeds below are computed the same way as
+  // DifferentialDriveKinematics.toWheelSpeeds(), without allocating.
+
+  private double getMaxChassisAcceleration(double curvatureRadPerMeter,
+                                           double velocityMetersPerSecond) {
+    final double omega = velocityMetersPerSecond * curvatureRadPerMeter;
+    final double maxWheelSpeed =
+        Math.max(velocityMetersPerSecond - m_kinematics.trackWidthMeters / 2 * omega,
+                 velocityMetersPerSecond + m_kinematics.trackWidthMeters / 2 * omega);
+
+    // Calculate maximum possible acceleration from motor dynamics and max
+    // wheel speed
     double maxChassisAcceleration =
-        maxWheelAcceleration
+        m_feedforward.maxAchievableAcceleration(m_maxVoltage, maxWheelSpeed)
             / (1 + m_kinematics.trackWidthMeters * Math.abs(curvatureRadPerMeter)
             * Math.signum(velocityMetersPerSecond) / 2);
+
+    // Negate acceleration of wheel on inside of turn if center of turn is inside of wheelbase
+    if ((m_kinematics.trackWidthMeters / 2) > (1 / Math.abs(curvatureRadPerMeter))
+        && velocityMetersPerSecond <= 0) {
+      maxChassisAcceleration = -maxChassisAcceleration;
+    }
+    return maxChassisAcceleration;
+  }
+
+  private double getMinChassisAcceleration(double curvatureRadPerMeter,
+                                           double velocityMetersPerSecond) {
+    final double omega = velocityMetersPerSecond * curvatureRadPerMeter;
+    final double minWheelSpeed =
+        Math.min(velocityMetersPerSecond - m_kinematics.trackWidthMeters / 2 * omega,
+                 velocityMetersPerSecond + m_kinematics.trackWidthMeters / 2 * omega);
+
+    // Calculate minimum possible acceleration from motor dynamics and min
+    // wheel speed
     double minChassisAcceleration =
-        minWheelAcceleration
+        m_feedforward.minAchievableAcceleration(m_maxVoltage, minWheelSpeed)
             / (1 - m_kinematics.trackWidthMeters * Math.abs(curvatureRadPerMeter)
             * Math.signum(velocityMetersPerSecond) / 2);
 
     // Negate acceleration of wheel on inside of turn if center of turn is inside of wheelbase
-    if ((m_kinematics.trackWidthMeters / 2) > (1 / Math.abs(curvatureRadPerMeter))) {
-      if (velocityMetersPerSecond > 0) {
-        minChassisAcceleration = -minChassisAcceleration;
-      } else {
-        maxChassisAcceleration = -maxChassisAcceleration;
-      }
+    if ((m_kinematics.trackWidthMeters / 2) > (1 / Math.abs(curvatureRadPerMeter))
+        && velocityMetersPerSecond > 0) {
+      minChassisAcceleration = -minChassisAcceleration;
     }
-
-    return new MinMax(minChassisAcceleration, maxChassisAcceleration);
+    return minChassisAcceleration;
   }
 }
@@ -7,9 +7,13 @@
 
 package edu.wpi.first.wpilibj.trajectory.constraint;
 
+import java.util.Arrays;
+
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.kinematics.MecanumDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.MecanumDriveWheelSpeeds;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
 
 /**
  * A class that enforces constraints on the mecanum drive kinematics.
@@ -17,10 +21,16 @@ import edu.wpi.first.wpilibj.kinematics.MecanumDriveKinematics;
  * commanded velocities for all 4 wheels of the drivetrain stay below a certain
  * limit.
  */
-public class MecanumDriveKinematicsConstraint implements TrajectoryConstraint {
+public class MecanumDriveKinematicsConstraint implements BatchTrajectoryConstraint {
   private final double m_maxSpeedMetersPerSecond;
   private final MecanumDriveKinematics m_kinematics;
 
+  // The wheel speeds are linear in the chassis speeds, so these are the
+  // wheel speeds per unit of chassis vx, vy and omega respectively.
+  private final double[] m_wheelSpeedsPerVx;
+  private final double[] m_wheelSpeedsPerVy;
+  private final double[] m_wheelSpeedsPerOmega;
+
   /**
    * Constructs a mecanum drive dynamics constraint.
    *
@@ -30,6 +40,16 @@ public class MecanumDriveKinematicsConstraint implements TrajectoryConstraint {
                                                double maxSpeedMetersPerSecond) {
     m_maxSpeedMetersPerSecond = maxSpeedMetersPerSecond;
     m_kinematics = kinematics;
+
+    m_wheelSpeedsPerVx = toArray(kinematics.toWheelSpeeds(new ChassisSpeeds(1, 0, 0)));
+    m_wheelSpeedsPerVy = toArray(kinematics.toWheelSpeeds(new ChassisSpeeds(0, 1, 0)));
+    m_wheelSpeedsPerOmega = toArray(kinematics.toWheelSpeeds(new ChassisSpeeds(0, 0, 1)));
+  }
+
+  private static double[] toArray(MecanumDriveWheelSpeeds wheelSpeeds) {
+    return new double[]{wheelSpeeds.frontLeftMetersPerSecond,
+        wheelSpeeds.frontRightMetersPerSecond, wheelSpeeds.rearLeftMetersPerSecond,
+        wheelSpeeds.rearRightMetersPerSecond};
   }
 
 
@@ -81,4 +101,35 @@ public class MecanumDriveKinematicsConstraint implements TrajectoryConstraint {
                                                        double velocityMetersPerSecond) {
     return new MinMax();
   }
+
+  @Override
+  public void getMaxVelocitiesMetersPerSecond(PoseWithCurvatureBuffer states, int start, int end,
+                                              double[] maxVelocitiesMetersPerSecond) {
+    for (int i = start; i < end; i++) {
+      final double cos = states.getHeadingCos(i);
+      final double sin = states.getHeadingSin(i);
+      final double curvature = states.getCurvature(i);
+
+      // Find the fastest wheel speed per unit of chassis velocity. Like
+      // MecanumDriveWheelSpeeds.normalize(), this uses the signed wheel speeds.
+      double maxWheelSpeed = Double.NEGATIVE_INFINITY;
+      for (int wheel = 0; wheel < m_wheelSpeedsPerVx.length; wheel++) {
+        maxWheelSpeed = Math.max(maxWheelSpeed, m_wheelSpeedsPerVx[wheel] * cos
+            + m_wheelSpeedsPerVy[wheel] * sin + m_wheelSpeedsPerOmega[wheel] * curvature);
+      }
+
+      maxVelocitiesMetersPerSecond[i] = maxWheelSpeed > 0
+          ? m_maxSpeedMetersPerSecond / maxWheelSpeed : Double.POSITIVE_INFINITY;
+    }
+  }
+
+  @Override
+  public void getMinMaxAccelerationsMetersPerSecondSq(PoseWithCurvatureBuffer states,
+                                                      double[] velocitiesMetersPerSecond,
+                                                      int start, int end,
+                                                      double[] minAccelerationsMetersPerSecondSq,
+                                                      double[] maxAccelerationsMetersPerSecondSq) {
+    Arrays.fill(minAccelerationsMetersPerSecondSq, start, end, -Double.MAX_VALUE);
+    Arrays.fill(maxAccelerationsMetersPerSecondSq, start, end, Double.MAX_VALUE);
+  }
 }
@@ -7,9 +7,13 @@
 
 package edu.wpi.first.wpilibj.trajectory.constraint;
 
+import java.util.Arrays;
+
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.SwerveModuleState;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
 
 /**
  * A class that enforces constraints on the swerve drive kinematics.
@@ -17,10 +21,17 @@ import edu.wpi.first.wpilibj.kinematics.SwerveDriveKinematics;
  * commanded velocities for all 4 wheels of the drivetrain stay below a certain
  * limit.
  */
-public class SwerveDriveKinematicsConstraint implements TrajectoryConstraint {
+public class SwerveDriveKinematicsConstraint implements BatchTrajectoryConstraint {
   private final double m_maxSpeedMetersPerSecond;
   private final SwerveDriveKinematics m_kinematics;
 
+  // The module velocity vectors are linear in the chassis speeds, so these
+  // are the x and y components of the module velocities per unit of chassis
+  // omega. Per unit of chassis vx and vy, every module moves at (1, 0) and
+  // (0, 1) respectively.
+  private final double[] m_moduleXPerOmega;
+  private final double[] m_moduleYPerOmega;
+
   /**
    * Constructs a swerve drive dynamics constraint.
    *
@@ -30,6 +41,17 @@ public class SwerveDriveKinematicsConstraint implements TrajectoryConstraint {
                                                double maxSpeedMetersPerSecond) {
     m_maxSpeedMetersPerSecond = maxSpeedMetersPerSecond;
     m_kinematics = kinematics;
+
+    SwerveModuleState[] statesPerOmega =
+        kinematics.toSwerveModuleStates(new ChassisSpeeds(0, 0, 1));
+    m_moduleXPerOmega = new double[statesPerOmega.length];
+    m_moduleYPerOmega = new double[statesPerOmega.length];
+    for (int i = 0; i < statesPerOmega.length; i++) {
+      m_moduleXPerOmega[i] = statesPerOmega[i].speedMetersPerSecond
+          * statesPerOmega[i].angle.getCos();
+      m_moduleYPerOmega[i] = statesPerOmega[i].speedMetersPerSecond
+          * statesPerOmega[i].angle.getSin();
+    }
   }
 
 
@@ -81,4 +103,35 @@ public class SwerveDriveKinematicsConstraint implements TrajectoryConstraint {
                                                        double velocityMetersPerSecond) {
     return new MinMax();
   }
+
+  @Override
+  public void getMaxVelocitiesMetersPerSecond(PoseWithCurvatureBuffer states, int start, int end,
+                                              double[] maxVelocitiesMetersPerSecond) {
+    for (int i = start; i < end; i++) {
+      final double cos = states.getHeadingCos(i);
+      final double sin = states.getHeadingSin(i);
+      final double curvature = states.getCurvature(i);
+
+      // Find the fastest module speed per unit of chassis velocity.
+      double maxModuleSpeed = 0.0;
+      for (int module = 0; module < m_moduleXPerOmega.length; module++) {
+        maxModuleSpeed = Math.max(maxModuleSpeed,
+            Math.hypot(cos + m_moduleXPerOmega[module] * curvature,
+                       sin + m_moduleYPerOmega[module] * curvature));
+      }
+
+      maxVelocitiesMetersPerSecond[i] = maxModuleSpeed > 0
+          ? m_maxSpeedMetersPerSecond / maxModuleSpeed : Double.POSITIVE_INFINITY;
+    }
+  }
+
+  @Override
+  public void getMinMaxAccelerationsMetersPerSecondSq(PoseWithCurvatureBuffer states,
+                                                      double[] velocitiesMetersPerSecond,
+                                                      int start, int end,
+                                                      double[] minAccelerationsMetersPerSecondSq,
+                                                      double[] maxAccelerationsMetersPerSecondSq) {
+    Arrays.fill(minAccelerationsMetersPerSecondSq, start, end, -Double.MAX_VALUE);
+    Arrays.fill(maxAccelerationsMetersPerSecondSq, start, end, Double.MAX_VALUE);
+  }
 }
@@ -113,4 +113,35 @@ class LinearFilterTest {
             0.0)
     );
   }
+
+  /**
+   * Test that filtering a whole signal matches calculating it a step at a time.
+   */
+  @ParameterizedTest
+  @MethodSource("signalFilterProvider")
+  void filterSignalTest(final LinearFilter filter) {
+    final Random gen = new Random(1);
+    final double[] signal = new double[500];
+    for (int i = 0; i < signal.length; i++) {
+      signal[i] = getData(i * kFilterStep) + gen.nextGaussian();
+    }
+
+    // Filtering the signal doesn't affect the filter's state
+    filter.calculate(1000.0);
+    final double[] filtered = filter.filter(signal);
+    filter.reset();
+
+    for (int i = 0; i < signal.length; i++) {
+      assertEquals(filter.calculate(signal[i]), filtered[i], 0.0);
+    }
+  }
+
+  static Stream<LinearFilter> signalFilterProvider() {
+    return Stream.of(
+        LinearFilter.singlePoleIIR(kSinglePoleIIRTimeConstant, kFilterStep),
+        LinearFilter.highPass(kHighPassTimeConstant, kFilterStep),
+        LinearFilter.movingAverage(kMovAvgTaps),
+        new LinearFilter(new double[] {0.1, 0.2, 0.1}, new double[] {-1.2, 0.5})
+    );
+  }
 }
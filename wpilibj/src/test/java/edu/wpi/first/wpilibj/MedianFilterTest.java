@@ -7,9 +7,19 @@
 
 package edu.wpi.first.wpilibj;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MedianFilterTest {
   @Test
@@ -61,4 +71,126 @@ public class MedianFilterTest {
 
     assertEquals(5, filter.calculate(99));
   }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 5, 24, 25, 50})
+  void medianFilterMatchesSortedListTest(int size) {
+    MedianFilter filter = new MedianFilter(size);
+    SortedListMedianFilter reference = new SortedListMedianFilter(size);
+    Random random = new Random(size);
+
+    for (int i = 0; i < 5000; i++) {
+      double value;
+      switch (random.nextInt(20)) {
+        case 0:
+          // Repeated values
+          value = random.nextInt(3);
+          break;
+        case 1:
+          value = random.nextBoolean() ? 0.0 : -0.0;
+          break;
+        case 2:
+          value = random.nextBoolean() ? Double.POSITIVE_INFINITY : Double.NaN;
+          break;
+        default:
+          value = random.nextGaussian() * 100;
+          break;
+      }
+
+      if (i == 2500) {
+        filter.reset();
+        reference.reset();
+      }
+
+      assertEquals(Double.doubleToLongBits(reference.calculate(value)),
+          Double.doubleToLongBits(filter.calculate(value)));
+    }
+  }
+
+  @Test
+  void percentileTest() {
+    MedianFilter filter = new MedianFilter(5);
+
+    assertTrue(Double.isNaN(filter.percentile(0.5)));
+
+    filter.calculate(40);
+    filter.calculate(10);
+    filter.calculate(30);
+    double median = filter.calculate(20);
+
+    assertAll(
+        () -> assertEquals(10, filter.percentile(0)),
+        () -> assertEquals(40, filter.percentile(1)),
+        () -> assertEquals(median, filter.percentile(0.5)),
+        () -> assertEquals(20, filter.percentile(1.0 / 3.0), 1e-12),
+        () -> assertEquals(32.5, filter.percentile(0.75), 1e-12),
+        () -> assertThrows(IllegalArgumentException.class, () -> filter.percentile(1.5)),
+        () -> assertThrows(IllegalArgumentException.class, () -> filter.percentile(Double.NaN))
+    );
+  }
+
+  @Test
+  void percentileMatchesMedianTest() {
+    MedianFilter filter = new MedianFilter(26);
+    Random random = new Random(26);
+
+    for (int i = 0; i < 1000; i++) {
+      double median = filter.calculate(random.nextGaussian() * 1e3);
+      assertEquals(median, filter.percentile(0.5));
+    }
+  }
+
+  @Test
+  void percentileMatchesMedianAtExtremesTest() {
+    MedianFilter filter = new MedianFilter(2);
+
+    // Halving each value before adding them would round the first pair to
+    // Double.MIN_VALUE, and would not overflow for the second pair.
+    filter.calculate(Double.MIN_VALUE);
+    double median = filter.calculate(2 * Double.MIN_VALUE);
+    assertEquals(Double.doubleToLongBits(median), Double.doubleToLongBits(filter.percentile(0.5)));
+
+    filter.calculate(Double.MAX_VALUE);
+    median = filter.calculate(Double.MAX_VALUE / 2 * 1.5);
+    assertEquals(Double.doubleToLongBits(median), Double.doubleToLongBits(filter.percentile(0.5)));
+  }
+
+  /**
+   * The previous implementation of MedianFilter, which keeps the window in a sorted list.
+   */
+  private static class SortedListMedianFilter {
+    private final List<Double> m_values = new ArrayList<>();
+    private final List<Double> m_orderedValues = new ArrayList<>();
+    private final int m_size;
+
+    SortedListMedianFilter(int size) {
+      m_size = size;
+    }
+
+    double calculate(double next) {
+      int index = Collections.binarySearch(m_orderedValues, next);
+      if (index < 0) {
+        index = Math.abs(index + 1);
+      }
+      m_orderedValues.add(index, next);
+
+      int curSize = m_orderedValues.size();
+      if (curSize > m_size) {
+        m_orderedValues.remove(m_values.remove(0));
+        curSize = curSize - 1;
+      }
+      m_values.add(next);
+
+      if (curSize % 2 == 1) {
+        return m_orderedValues.get(curSize / 2);
+      } else {
+        return (m_orderedValues.get(curSize / 2 - 1) + m_orderedValues.get(curSize / 2)) / 2.0;
+      }
+    }
+
+    void reset() {
+      m_values.clear();
+      m_orderedValues.clear();
+    }
+  }
 }
@@ -0,0 +1,97 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class MultiChannelLinearFilterTest {
+  private static final int kChannels = 6;
+
+  @Test
+  void illegalArgumentsTest() {
+    assertThrows(IllegalArgumentException.class,
+        () -> MultiChannelLinearFilter.movingAverage(0, kChannels));
+    assertThrows(IllegalArgumentException.class,
+        () -> MultiChannelLinearFilter.movingAverage(3, 0));
+
+    var filter = MultiChannelLinearFilter.movingAverage(3, kChannels);
+    assertThrows(IllegalArgumentException.class,
+        () -> filter.calculate(new double[kChannels - 1], new double[kChannels]));
+  }
+
+  /**
+   * Test that each channel is filtered exactly as a separate LinearFilter would filter it.
+   */
+  @ParameterizedTest
+  @MethodSource("filterProvider")
+  void matchesSingleChannelFiltersTest(final MultiChannelLinearFilter filter,
+                                       final Supplier<LinearFilter> singleChannelFilter) {
+    final var singleChannelFilters = new LinearFilter[kChannels];
+    for (int channel = 0; channel < kChannels; channel++) {
+      singleChannelFilters[channel] = singleChannelFilter.get();
+    }
+
+    final Random gen = new Random(2);
+    final double[] inputs = new double[kChannels];
+    final double[] outputs = new double[kChannels];
+    final double[] expected = new double[kChannels];
+    for (int step = 0; step < 200; step++) {
+      if (step == 150) {
+        filter.reset();
+        for (var singleChannel : singleChannelFilters) {
+          singleChannel.reset();
+        }
+      }
+
+      for (int channel = 0; channel < kChannels; channel++) {
+        inputs[channel] = channel * 10.0 + gen.nextGaussian();
+      }
+      for (int channel = 0; channel < kChannels; channel++) {
+        expected[channel] = singleChannelFilters[channel].calculate(inputs[channel]);
+      }
+
+      // Filtering in place gives the same results
+      if (step % 2 == 0) {
+        filter.calculate(inputs, outputs);
+      } else {
+        filter.calculate(inputs, inputs);
+        System.arraycopy(inputs, 0, outputs, 0, kChannels);
+      }
+
+      for (int channel = 0; channel < kChannels; channel++) {
+        assertEquals(expected[channel], outputs[channel], 0.0);
+      }
+    }
+  }
+
+  static Stream<Arguments> filterProvider() {
+    return Stream.of(
+        arguments(MultiChannelLinearFilter.singlePoleIIR(0.015915, 0.005, kChannels),
+            (Supplier<LinearFilter>) () -> LinearFilter.singlePoleIIR(0.015915, 0.005)),
+        arguments(MultiChannelLinearFilter.highPass(0.006631, 0.005, kChannels),
+            (Supplier<LinearFilter>) () -> LinearFilter.highPass(0.006631, 0.005)),
+        arguments(MultiChannelLinearFilter.movingAverage(6, kChannels),
+            (Supplier<LinearFilter>) () -> LinearFilter.movingAverage(6)),
+        arguments(new MultiChannelLinearFilter(new double[] {0.1, 0.2, 0.1},
+                new double[] {-1.2, 0.5}, kChannels),
+            (Supplier<LinearFilter>) () -> new LinearFilter(new double[] {0.1, 0.2, 0.1},
+                new double[] {-1.2, 0.5}))
+    );
+  }
+}
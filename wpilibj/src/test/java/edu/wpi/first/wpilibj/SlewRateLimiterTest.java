@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -26,4 +26,19 @@ public class SlewRateLimiterTest {
     Timer.delay(1);
     assertEquals(limiter.calculate(0.5), 0.5);
   }
+
+  @Test
+  void slewRateTimestampTest() {
+    SlewRateLimiter limiter = new SlewRateLimiter(2);
+    limiter.reset(0, 10.0);
+    assertEquals(1.0, limiter.calculate(5, 10.5));
+    assertEquals(1.5, limiter.calculate(5, 10.75));
+
+    // A late call may change the value by as much as the time allows
+    assertEquals(3.5, limiter.calculate(5, 11.75));
+
+    // No time has passed, so the value can't change
+    assertEquals(3.5, limiter.calculate(-5, 11.75));
+    assertEquals(3.5, limiter.calculate(-5, 11.5));
+  }
 }
@@ -0,0 +1,135 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class TimestampedLinearFilterTest {
+  private static final double kPeriod = 0.005;
+  private static final double kTimeConstant = 0.015915;
+
+  @SuppressWarnings("ParameterName")
+  private static double getData(double t) {
+    return 100.0 * Math.sin(2.0 * Math.PI * t) + 20.0 * Math.cos(50.0 * Math.PI * t);
+  }
+
+  @Test
+  void illegalTimeConstantTest() {
+    assertThrows(IllegalArgumentException.class,
+        () -> TimestampedLinearFilter.singlePoleIIR(0.0));
+    assertThrows(IllegalArgumentException.class,
+        () -> TimestampedLinearFilter.highPass(Double.NaN));
+  }
+
+  /**
+   * Test that with samples on a regular period, the filter gives exactly what a LinearFilter for
+   * that period gives. Both start from a zero input, so they start from the same state.
+   */
+  @ParameterizedTest
+  @MethodSource("filterProvider")
+  void constantPeriodTest(final TimestampedLinearFilter filter, final LinearFilter reference) {
+    assertEquals(reference.calculate(0.0), filter.calculate(0.0, 0.0));
+    for (int i = 1; i < 400; i++) {
+      double time = i * kPeriod;
+      assertEquals(reference.calculate(getData(time)), filter.calculate(getData(time), time));
+    }
+  }
+
+  /**
+   * Test that when the first input isn't zero, the difference from a LinearFilter, which starts
+   * from zero instead of the first input, decays by the gain every period.
+   */
+  @ParameterizedTest
+  @MethodSource("filterProvider")
+  void nonZeroFirstSampleTest(final TimestampedLinearFilter filter,
+                              final LinearFilter reference) {
+    final double gain = Math.exp(-kPeriod / kTimeConstant);
+    final double difference =
+        filter.calculate(getData(0.25), 0.25) - reference.calculate(getData(0.25));
+    for (int i = 1; i < 400; i++) {
+      double time = 0.25 + i * kPeriod;
+      double input = getData(time);
+      assertEquals(difference * Math.pow(gain, i),
+          filter.calculate(input, time) - reference.calculate(input), 1e-9);
+    }
+  }
+
+  static Stream<Arguments> filterProvider() {
+    return Stream.of(
+        arguments(TimestampedLinearFilter.singlePoleIIR(kTimeConstant),
+            LinearFilter.singlePoleIIR(kTimeConstant, kPeriod)),
+        arguments(TimestampedLinearFilter.highPass(kTimeConstant),
+            LinearFilter.highPass(kTimeConstant, kPeriod))
+    );
+  }
+
+  /**
+   * Test that the step response of the low-pass filter follows the continuous-time response
+   * however irregularly it's sampled.
+   */
+  @Test
+  void jitteredStepResponseTest() {
+    var filter = TimestampedLinearFilter.singlePoleIIR(kTimeConstant);
+    var random = new Random(4);
+
+    double time = 10.0;
+    assertEquals(0.0, filter.calculate(0.0, time));
+    double start = time;
+    for (int i = 0; i < 100; i++) {
+      // Anywhere from on time to a whole period late, in whole microseconds
+      time += (5000 + random.nextInt(5000)) / 1e6;
+      assertEquals(1.0 - Math.exp(-(time - start) / kTimeConstant), filter.calculate(1.0, time),
+          1e-9);
+    }
+  }
+
+  @Test
+  void firstSampleTest() {
+    var lowPass = TimestampedLinearFilter.singlePoleIIR(kTimeConstant);
+    var highPass = TimestampedLinearFilter.highPass(kTimeConstant);
+
+    assertEquals(3.0, lowPass.calculate(3.0, 1.0));
+    assertEquals(3.0, lowPass.calculate(3.0, 1.1), 1e-12);
+    assertEquals(0.0, highPass.calculate(3.0, 1.0));
+    assertEquals(0.0, highPass.calculate(3.0, 1.1));
+
+    lowPass.reset();
+    highPass.reset();
+    assertEquals(-2.0, lowPass.calculate(-2.0, 5.0));
+    assertEquals(0.0, highPass.calculate(-2.0, 5.0));
+  }
+
+  /**
+   * Test that no time is considered to pass when a timestamp repeats or goes backward.
+   */
+  @Test
+  void noElapsedTimeTest() {
+    var lowPass = TimestampedLinearFilter.singlePoleIIR(kTimeConstant);
+    var highPass = TimestampedLinearFilter.highPass(kTimeConstant);
+    lowPass.calculate(0.0, 1.0);
+    highPass.calculate(0.0, 1.0);
+
+    double lowPassOutput = lowPass.calculate(1.0, 1.01);
+    assertEquals(lowPassOutput, lowPass.calculate(5.0, 1.01));
+    assertEquals(lowPassOutput, lowPass.calculate(5.0, 0.5));
+
+    // A high-pass filter passes a step straight through when no time passes
+    double highPassOutput = highPass.calculate(1.0, 1.01);
+    assertEquals(highPassOutput + 4.0, highPass.calculate(5.0, 1.01));
+  }
+}
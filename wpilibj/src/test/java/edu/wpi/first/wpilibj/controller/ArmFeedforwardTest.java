@@ -0,0 +1,55 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArmFeedforwardTest {
+  private final ArmFeedforward m_feedforward = new ArmFeedforward(0.5, 1.5, 2.0, 0.25);
+
+  @Test
+  void testBatchMatchesScalar() {
+    var positions = new double[] {-4.0, -1.0, 0.0, 0.5, 3.0};
+    var velocities = new double[] {1.0, -2.0, 0.0, 0.25, -0.5};
+    var accelerations = new double[] {0.0, 1.0, -1.0, 2.0, 0.5};
+    var out = new double[positions.length];
+
+    m_feedforward.calculate(positions, velocities, accelerations, out);
+    for (int i = 0; i < out.length; i++) {
+      assertEquals(m_feedforward.calculate(positions[i], velocities[i], accelerations[i]),
+          out[i]);
+    }
+
+    assertThrows(IllegalArgumentException.class,
+        () -> m_feedforward.calculate(positions, velocities, accelerations, new double[1]));
+  }
+
+  @Test
+  void testCosineTableWithinTolerance() {
+    assertThrows(IllegalArgumentException.class, () -> m_feedforward.withCosineTable(0.0));
+
+    for (double maxError : new double[] {1e-3, 1e-6}) {
+      var approximate = m_feedforward.withCosineTable(maxError);
+      for (double angle = -20.0; angle <= 20.0; angle += 1e-3) {
+        assertEquals(m_feedforward.calculate(angle, 1.0, 0.5),
+            approximate.calculate(angle, 1.0, 0.5), maxError * m_feedforward.kcos + 1e-12);
+        assertEquals(m_feedforward.maxAchievableVelocity(12.0, angle, 0.5),
+            approximate.maxAchievableVelocity(12.0, angle, 0.5),
+            maxError * m_feedforward.kcos / m_feedforward.kv + 1e-12);
+      }
+
+      // Exact at the table entries that are multiples of 2 pi
+      assertEquals(m_feedforward.calculate(0.0, 0.0), approximate.calculate(0.0, 0.0));
+      assertEquals(m_feedforward.calculate(2.0 * Math.PI, 0.0),
+          approximate.calculate(2.0 * Math.PI, 0.0), 1e-12);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PIDControllerBankTest {
+  private static final int kChannels = 6;
+
+  @Test
+  void illegalArgumentsTest() {
+    assertThrows(IllegalArgumentException.class, () -> new PIDControllerBank(0));
+
+    try (var bank = new PIDControllerBank(kChannels)) {
+      assertThrows(IllegalArgumentException.class,
+          () -> bank.calculate(new double[kChannels - 1], new double[kChannels]));
+      assertThrows(IllegalArgumentException.class,
+          () -> bank.calculate(new double[kChannels], new double[kChannels],
+              new double[kChannels + 1]));
+    }
+  }
+
+  /**
+   * Test that each channel behaves exactly as a separate PIDController with the same settings.
+   */
+  @Test
+  @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.AvoidInstantiatingObjectsInLoops"})
+  void matchesSeparateControllersTest() {
+    var random = new Random(18);
+    var controllers = new PIDController[kChannels];
+
+    try (var bank = new PIDControllerBank(kChannels, 0.01)) {
+      for (int i = 0; i < kChannels; i++) {
+        double kp = random.nextDouble();
+        double ki = i % 3 == 0 ? 0.0 : random.nextDouble();
+        double kd = random.nextDouble() * 0.1;
+        controllers[i] = new PIDController(kp, ki, kd, 0.01);
+        bank.setPID(i, kp, ki, kd);
+
+        controllers[i].setIntegratorRange(-0.5, 0.5);
+        bank.setIntegratorRange(i, -0.5, 0.5);
+        controllers[i].setTolerance(0.1, 1.0);
+        bank.setTolerance(i, 0.1, 1.0);
+        if (i % 2 == 0) {
+          controllers[i].enableContinuousInput(-Math.PI, Math.PI);
+          bank.enableContinuousInput(i, -Math.PI, Math.PI);
+        }
+      }
+
+      var measurements = new double[kChannels];
+      var setpoints = new double[kChannels];
+      var outputs = new double[kChannels];
+      for (int step = 0; step < 500; step++) {
+        for (int i = 0; i < kChannels; i++) {
+          measurements[i] = random.nextGaussian() * 4.0;
+          if (step % 50 == 0) {
+            setpoints[i] = random.nextGaussian() * 4.0;
+          }
+        }
+        if (step == 250) {
+          for (var controller : controllers) {
+            controller.reset();
+          }
+          bank.reset();
+        }
+
+        bank.calculate(measurements, setpoints, outputs);
+        for (int i = 0; i < kChannels; i++) {
+          var controller = controllers[i];
+          assertEquals(controller.calculate(measurements[i], setpoints[i]), outputs[i]);
+          assertEquals(controller.getSetpoint(), bank.getSetpoint(i));
+          assertEquals(controller.getPositionError(), bank.getPositionError(i));
+          assertEquals(controller.getVelocityError(), bank.getVelocityError(i));
+          assertEquals(controller.atSetpoint(), bank.atSetpoint(i));
+        }
+      }
+    } finally {
+      for (var controller : controllers) {
+        if (controller != null) {
+          controller.close();
+        }
+      }
+    }
+  }
+
+  @Test
+  void atSetpointTest() {
+    try (var bank = new PIDControllerBank(2)) {
+      bank.setTolerance(0, 0.5);
+      bank.setTolerance(1, 0.5);
+
+      var outputs = new double[2];
+      bank.calculate(new double[] {0.0, 0.0}, new double[] {1.0, 0.2}, outputs);
+      assertFalse(bank.atSetpoint(0));
+      assertTrue(bank.atSetpoint(1));
+      assertFalse(bank.atSetpoint());
+
+      bank.calculate(new double[] {0.8, 0.0}, outputs);
+      assertTrue(bank.atSetpoint(0));
+      assertTrue(bank.atSetpoint());
+    }
+  }
+
+  @Test
+  void outputsMayReplaceMeasurementsTest() {
+    try (var bank = new PIDControllerBank(2)) {
+      bank.setPID(0, 2.0, 0.0, 0.0);
+      bank.setPID(1, 3.0, 0.0, 0.0);
+
+      var values = new double[] {1.0, -1.0};
+      bank.calculate(values, new double[] {2.0, 1.0}, values);
+      assertEquals(2.0, values[0]);
+      assertEquals(6.0, values[1]);
+    }
+  }
+}
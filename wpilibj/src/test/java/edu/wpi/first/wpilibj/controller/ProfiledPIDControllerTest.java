@@ -12,6 +12,9 @@ import org.junit.jupiter.api.Test;
 import edu.wpi.first.wpilibj.trajectory.TrapezoidProfile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ProfiledPIDControllerTest {
   @Test
@@ -23,4 +26,71 @@ class ProfiledPIDControllerTest {
 
     assertEquals(0.0, controller.calculate(20), 0.05);
   }
+
+  /**
+   * Test that the setpoint follows the same path as constructing a new profile from the previous
+   * setpoint every step would, including when the goal changes partway.
+   */
+  @Test
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  void testSetpointFollowsProfile() {
+    var constraints = new TrapezoidProfile.Constraints(1.75, 0.75);
+    ProfiledPIDController controller = new ProfiledPIDController(1.0, 0.0, 0.0, constraints);
+    controller.reset(0.5);
+
+    var expected = new TrapezoidProfile.State(0.5, 0);
+    var setpoint = new TrapezoidProfile.State();
+    for (int i = 0; i < 400; i++) {
+      var goal = new TrapezoidProfile.State(i < 100 ? 3.0 : -1.0, 0.0);
+      expected = new TrapezoidProfile(constraints, goal, expected).calculate(0.02);
+      controller.calculate(0.0, goal);
+
+      assertEquals(expected.position, controller.getSetpoint().position, 1e-9);
+      assertEquals(expected.velocity, controller.getSetpoint().velocity, 1e-9);
+
+      assertSame(setpoint, controller.getSetpoint(setpoint));
+      assertEquals(expected.position, setpoint.position, 1e-9);
+      assertEquals(expected.velocity, setpoint.velocity, 1e-9);
+    }
+  }
+
+  @Test
+  void testGoalAndConstraintsChangedInPlace() {
+    var constraints = new TrapezoidProfile.Constraints(1.0, 1.0);
+    ProfiledPIDController controller = new ProfiledPIDController(1.0, 0.0, 0.0, constraints);
+    var goal = new TrapezoidProfile.State(1.0, 0.0);
+    controller.reset(0.0);
+    controller.setGoal(goal);
+
+    for (int i = 0; i < 150; i++) {
+      controller.calculate(0.0);
+    }
+    assertEquals(goal, controller.getSetpoint());
+
+    goal.position = -1.0;
+    constraints.maxVelocity = 2.0;
+    double previousPosition = controller.getSetpoint().position;
+    for (int i = 0; i < 200; i++) {
+      controller.calculate(0.0);
+      assertTrue(controller.getSetpoint().position <= previousPosition);
+      assertTrue(controller.getSetpoint().velocity >= -2.0);
+      previousPosition = controller.getSetpoint().position;
+    }
+    assertEquals(goal, controller.getSetpoint());
+  }
+
+  @Test
+  void testGetSetpointReturnsCopy() {
+    ProfiledPIDController controller = new ProfiledPIDController(1.0, 0.0, 0.0,
+        new TrapezoidProfile.Constraints(1.0, 1.0));
+    var measurement = new TrapezoidProfile.State(2.0, 0.0);
+    controller.reset(measurement);
+    controller.calculate(2.0, 3.0);
+
+    assertEquals(2.0, measurement.position);
+    var setpoint = controller.getSetpoint();
+    assertNotSame(setpoint, controller.getSetpoint());
+    setpoint.position = 100.0;
+    assertTrue(controller.getSetpoint().position < 3.0);
+  }
 }
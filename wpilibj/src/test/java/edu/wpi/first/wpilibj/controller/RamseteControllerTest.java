@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -7,6 +7,7 @@
 
 package edu.wpi.first.wpilibj.controller;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 
 import org.junit.jupiter.api.Test;
@@ -14,11 +15,16 @@ import org.junit.jupiter.api.Test;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
 import edu.wpi.first.wpilibj.geometry.Twist2d;
+import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveWheelSpeeds;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
 import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
 import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class RamseteControllerTest {
   private static final double kTolerance = 1 / 12.0;
@@ -73,4 +79,96 @@ class RamseteControllerTest {
             kAngularTolerance)
     );
   }
+
+  private static Trajectory generateTrajectory() {
+    final var waypoints = new ArrayList<Pose2d>();
+    waypoints.add(new Pose2d(2.75, 22.521, new Rotation2d(0)));
+    waypoints.add(new Pose2d(24.73, 19.68, new Rotation2d(5.846)));
+    return TrajectoryGenerator.generateTrajectory(waypoints, new TrajectoryConfig(8.8, 0.1));
+  }
+
+  @Test
+  void testMutableStateMatchesState() {
+    final var controller = new RamseteController(2.0, 0.7);
+    final var robotPose = new Pose2d(2.7, 23.0, Rotation2d.fromDegrees(10.0));
+    final var trajectory = generateTrajectory();
+    final var sampler = trajectory.sampler();
+    final var state = new Trajectory.MutableState();
+    final var output = new ChassisSpeeds();
+
+    final double kDt = 0.02;
+    for (int i = 0; i < trajectory.getTotalTimeSeconds() / kDt; ++i) {
+      var expected = controller.calculate(robotPose, sampler.sample(kDt * i, state).toState());
+      controller.calculate(robotPose, state, output);
+      assertEquals(expected.vxMetersPerSecond, output.vxMetersPerSecond);
+      assertEquals(expected.vyMetersPerSecond, output.vyMetersPerSecond);
+      assertEquals(expected.omegaRadiansPerSecond, output.omegaRadiansPerSecond);
+
+      controller.calculate(robotPose, state.xMeters, state.yMeters, state.headingRadians,
+          state.velocityMetersPerSecond,
+          state.velocityMetersPerSecond * state.curvatureRadPerMeter, output);
+      assertEquals(expected.vxMetersPerSecond, output.vxMetersPerSecond, 1e-9);
+      assertEquals(expected.omegaRadiansPerSecond, output.omegaRadiansPerSecond, 1e-9);
+    }
+  }
+
+  /**
+   * Test that one iteration of following a trajectory, from sampling it to computing the wheel
+   * voltages, doesn't allocate. This covers the calls that RamseteCommand makes, but not the
+   * command itself, which boxes its outputs and calls suppliers that may allocate.
+   */
+  @Test
+  void testSteadyStateDoesNotAllocate() {
+    var threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    var allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+    assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+    allocationBean.setThreadAllocatedMemoryEnabled(true);
+    final long threadId = Thread.currentThread().getId();
+
+    final var controller = new RamseteController(2.0, 0.7);
+    final var kinematics = new DifferentialDriveKinematics(0.7);
+    final var feedforward = new SimpleMotorFeedforward(0.2, 2.5, 0.3);
+    final var robotPose = new Pose2d(2.7, 23.0, Rotation2d.fromDegrees(10.0));
+    final var measuredSpeeds = new DifferentialDriveWheelSpeeds(1.0, 1.2);
+    final var trajectory = generateTrajectory();
+    final var sampler = trajectory.sampler();
+    final var state = new Trajectory.MutableState();
+    final var chassisSpeeds = new ChassisSpeeds();
+    final var wheelSpeeds = new DifferentialDriveWheelSpeeds();
+    final double[] voltages = new double[2];
+
+    try (var leftController = new PIDController(1.0, 0.0, 0.0);
+         var rightController = new PIDController(1.0, 0.0, 0.0)) {
+      final double kDt = 0.02;
+      final int ticks = (int) (trajectory.getTotalTimeSeconds() / kDt);
+      // The first pass warms up the code. The measurement itself can occasionally allocate, so
+      // the least allocated in the later passes is checked; allocating on every iteration would
+      // show up in all of them.
+      long minAllocated = Long.MAX_VALUE;
+      for (int pass = 0; pass < 6; pass++) {
+        sampler.reset();
+        long overhead = allocationBean.getThreadAllocatedBytes(threadId);
+        overhead = allocationBean.getThreadAllocatedBytes(threadId) - overhead;
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ticks; i++) {
+          controller.calculate(robotPose, sampler.sample(kDt * i, state), chassisSpeeds);
+          kinematics.toWheelSpeeds(chassisSpeeds.vxMetersPerSecond,
+              chassisSpeeds.omegaRadiansPerSecond, wheelSpeeds);
+          voltages[0] = feedforward.calculate(wheelSpeeds.leftMetersPerSecond)
+              + leftController.calculate(measuredSpeeds.leftMetersPerSecond,
+                  wheelSpeeds.leftMetersPerSecond);
+          voltages[1] = feedforward.calculate(wheelSpeeds.rightMetersPerSecond)
+              + rightController.calculate(measuredSpeeds.rightMetersPerSecond,
+                  wheelSpeeds.rightMetersPerSecond);
+        }
+        allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocated - overhead;
+        if (pass > 0) {
+          minAllocated = Math.min(minAllocated, allocated);
+        }
+      }
+
+      assertEquals(0, minAllocated);
+    }
+  }
 }
@@ -0,0 +1,49 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimpleMotorFeedforwardTest {
+  private final SimpleMotorFeedforward m_feedforward = new SimpleMotorFeedforward(0.5, 2.0, 0.25);
+  private final double[] m_velocities = {-3.0, -0.5, 0.0, 0.5, 3.0};
+
+  @Test
+  void testBatchMatchesScalar() {
+    var accelerations = new double[] {0.0, 1.0, -1.0, 2.0, 0.5};
+    var out = new double[m_velocities.length];
+
+    m_feedforward.calculate(m_velocities, accelerations, out);
+    for (int i = 0; i < out.length; i++) {
+      assertEquals(m_feedforward.calculate(m_velocities[i], accelerations[i]), out[i]);
+    }
+
+    assertThrows(IllegalArgumentException.class,
+        () -> m_feedforward.calculate(m_velocities, new double[1], out));
+  }
+
+  @Test
+  void testAchievableAccelerationRangeMatchesScalar() {
+    var max = new double[m_velocities.length];
+    var min = new double[m_velocities.length];
+
+    m_feedforward.maxAchievableAcceleration(12.0, m_velocities, 1, 4, max);
+    m_feedforward.minAchievableAcceleration(12.0, m_velocities, 1, 4, min);
+    for (int i = 1; i < 4; i++) {
+      assertEquals(m_feedforward.maxAchievableAcceleration(12.0, m_velocities[i]), max[i]);
+      assertEquals(m_feedforward.minAchievableAcceleration(12.0, m_velocities[i]), min[i]);
+    }
+
+    // Outside of the range is untouched
+    assertEquals(0.0, max[0]);
+    assertEquals(0.0, min[4]);
+  }
+}
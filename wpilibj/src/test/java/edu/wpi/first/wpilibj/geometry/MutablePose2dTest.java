@@ -0,0 +1,79 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MutablePose2dTest {
+  private final Pose2d m_initial = new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(45.0));
+  private final Pose2d m_other = new Pose2d(-3.0, 0.5, Rotation2d.fromDegrees(170.0));
+
+  @Test
+  void testTransformBy() {
+    var transformation = new Transform2d(new Translation2d(5.0, -1.0),
+        Rotation2d.fromDegrees(150.0));
+    var pose = new MutablePose2d(m_initial);
+
+    assertSame(pose, pose.plus(transformation));
+    assertEquals(m_initial.plus(transformation), pose.toPose2d());
+  }
+
+  @Test
+  void testRelativeTo() {
+    var pose = new MutablePose2d(m_initial);
+
+    assertSame(pose, pose.relativeTo(m_other));
+    assertEquals(m_initial.relativeTo(m_other), pose.toPose2d());
+
+    pose.set(m_initial).relativeTo(new MutablePose2d(m_other));
+    assertEquals(m_initial.relativeTo(m_other), pose.toPose2d());
+  }
+
+  @Test
+  void testExp() {
+    var twist = new Twist2d(1.0, 0.2, Math.PI / 3.0);
+    var straight = new Twist2d(1.0, 0.2, 0.0);
+
+    assertAll(
+        () -> assertEquals(m_initial.exp(twist), new MutablePose2d(m_initial).exp(twist)
+            .toPose2d()),
+        () -> assertEquals(m_initial.exp(straight), new MutablePose2d(m_initial).exp(straight)
+            .toPose2d())
+    );
+  }
+
+  @Test
+  void testLog() {
+    var pose = new MutablePose2d(m_initial);
+    var straightEnd = new Pose2d(3.0, 4.0, m_initial.getRotation());
+
+    assertAll(
+        () -> assertEquals(m_initial.log(m_other), pose.log(m_other, new Twist2d())),
+        () -> assertEquals(m_initial.log(m_other),
+            pose.log(new MutablePose2d(m_other), new Twist2d())),
+        () -> assertEquals(m_initial.log(straightEnd), pose.log(straightEnd, new Twist2d())),
+        // log() doesn't modify the pose, and exp() inverts it
+        () -> assertEquals(m_other,
+            pose.exp(pose.log(m_other, new Twist2d())).toPose2d())
+    );
+  }
+
+  @Test
+  void testComponents() {
+    var pose = new MutablePose2d();
+    pose.set(1.0, 2.0, Math.PI / 2);
+    pose.getTranslation().plus(new Translation2d(1.0, 1.0));
+    pose.getRotation().minus(Rotation2d.fromDegrees(45.0));
+
+    assertEquals(new Pose2d(2.0, 3.0, Rotation2d.fromDegrees(45.0)), pose.toPose2d());
+  }
+}
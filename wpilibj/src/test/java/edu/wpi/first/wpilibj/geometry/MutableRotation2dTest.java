@@ -0,0 +1,45 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MutableRotation2dTest {
+  private static final double kEpsilon = 1E-9;
+
+  @Test
+  void testOperations() {
+    var one = Rotation2d.fromDegrees(170.0);
+    var two = Rotation2d.fromDegrees(60.0);
+    var rotation = new MutableRotation2d(one);
+
+    assertSame(rotation, rotation.plus(two));
+    assertEquals(one.plus(two), rotation.toRotation2d());
+    assertEquals(-130.0, rotation.getDegrees(), kEpsilon);
+
+    rotation.minus(new MutableRotation2d(two)).minus(two).unaryMinus().times(2.0);
+    assertEquals(one.plus(two).minus(two).minus(two).unaryMinus().times(2.0),
+        rotation.toRotation2d());
+  }
+
+  @Test
+  void testSetFromComponents() {
+    var rotation = new MutableRotation2d().set(-2.0, 2.0);
+
+    assertAll(
+        () -> assertEquals(new Rotation2d(-2.0, 2.0), rotation.toRotation2d()),
+        () -> assertEquals(-Math.sqrt(0.5), rotation.getCos(), kEpsilon),
+        () -> assertEquals(Math.sqrt(0.5), rotation.getSin(), kEpsilon),
+        () -> assertEquals(0.0, rotation.set(0.0, 0.0).getRadians(), kEpsilon)
+    );
+  }
+}
@@ -0,0 +1,42 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MutableTranslation2dTest {
+  private static final double kEpsilon = 1E-9;
+
+  @Test
+  void testOperations() {
+    var one = new Translation2d(1.0, 3.0);
+    var two = new Translation2d(2.0, 5.0);
+    var rotation = Rotation2d.fromDegrees(30.0);
+    var translation = new MutableTranslation2d(one);
+
+    assertSame(translation, translation.plus(two).rotateBy(rotation).times(3.0).minus(one)
+        .div(2.0).unaryMinus());
+    assertEquals(one.plus(two).rotateBy(rotation).times(3.0).minus(one).div(2.0).unaryMinus(),
+        translation.toTranslation2d());
+  }
+
+  @Test
+  void testNormAndDistance() {
+    var translation = new MutableTranslation2d(3.0, 4.0);
+
+    assertAll(
+        () -> assertEquals(5.0, translation.getNorm(), kEpsilon),
+        () -> assertEquals(5.0, translation.getDistance(new Translation2d(6.0, 8.0)), kEpsilon),
+        () -> assertEquals(5.0, translation.getDistance(new MutableTranslation2d()), kEpsilon)
+    );
+  }
+}
@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class DifferentialDriveKinematicsTest {
   private static final double kEpsilon = 1E-9;
@@ -85,4 +86,17 @@ class DifferentialDriveKinematicsTest {
         () -> assertEquals(-Math.PI, chassisSpeeds.omegaRadiansPerSecond, kEpsilon)
     );
   }
+
+  @Test
+  void testInverseKinematicsIntoExistingSpeeds() {
+    var wheelSpeeds = new DifferentialDriveWheelSpeeds();
+    var result = m_kinematics.toWheelSpeeds(1.5, Math.PI, wheelSpeeds);
+    var expected = m_kinematics.toWheelSpeeds(new ChassisSpeeds(1.5, 0, Math.PI));
+
+    assertAll(
+        () -> assertSame(wheelSpeeds, result),
+        () -> assertEquals(expected.leftMetersPerSecond, wheelSpeeds.leftMetersPerSecond),
+        () -> assertEquals(expected.rightMetersPerSecond, wheelSpeeds.rightMetersPerSecond)
+    );
+  }
 }
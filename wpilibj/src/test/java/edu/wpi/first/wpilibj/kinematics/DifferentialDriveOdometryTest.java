@@ -14,6 +14,7 @@ import edu.wpi.first.wpilibj.geometry.Rotation2d;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DifferentialDriveOdometryTest {
   private static final double kEpsilon = 1E-9;
@@ -31,4 +32,30 @@ class DifferentialDriveOdometryTest {
         () -> assertEquals(pose.getRotation().getDegrees(), 90.0, kEpsilon)
     );
   }
+
+  @Test
+  void testVisionMeasurement() {
+    assertThrows(IllegalStateException.class,
+        () -> m_odometry.addVisionMeasurement(new Pose2d(), 0.0));
+
+    m_odometry.setPoseHistory(new PoseHistory(50));
+    m_odometry.resetPosition(new Pose2d(), new Rotation2d());
+    m_odometry.updateWithTime(0.0, new Rotation2d(), 0.0, 0.0);
+    m_odometry.updateWithTime(1.0, new Rotation2d(), 1.0, 1.0);
+    m_odometry.updateWithTime(2.0, new Rotation2d(), 2.0, 2.0);
+
+    // The robot was actually facing +y at t = 1, so the meter driven since
+    // then was in +y, and so will the next one be.
+    m_odometry.addVisionMeasurement(new Pose2d(1.5, 0.5, Rotation2d.fromDegrees(90)), 1.0);
+    var corrected = m_odometry.getPoseMeters();
+    var pose = m_odometry.updateWithTime(3.0, new Rotation2d(), 3.0, 3.0);
+
+    assertAll(
+        () -> assertEquals(1.5, corrected.getTranslation().getX(), kEpsilon),
+        () -> assertEquals(1.5, corrected.getTranslation().getY(), kEpsilon),
+        () -> assertEquals(1.5, pose.getTranslation().getX(), kEpsilon),
+        () -> assertEquals(2.5, pose.getTranslation().getY(), kEpsilon),
+        () -> assertEquals(90.0, pose.getRotation().getDegrees(), kEpsilon)
+    );
+  }
 }
@@ -172,6 +172,22 @@ class MecanumDriveKinematicsTest {
     );
   }
 
+  @Test
+  void testPrimitiveForwardKinematicsMatches() {
+    var wheelSpeeds = new MecanumDriveWheelSpeeds(-17.677670, 20.51, -13.44, 16.26);
+    var expected = m_kinematics.toChassisSpeeds(wheelSpeeds);
+    var chassisSpeeds = new double[3];
+    m_kinematics.toChassisSpeeds(wheelSpeeds.frontLeftMetersPerSecond,
+        wheelSpeeds.frontRightMetersPerSecond, wheelSpeeds.rearLeftMetersPerSecond,
+        wheelSpeeds.rearRightMetersPerSecond, chassisSpeeds);
+
+    assertAll(
+        () -> assertEquals(expected.vxMetersPerSecond, chassisSpeeds[0], 0.0),
+        () -> assertEquals(expected.vyMetersPerSecond, chassisSpeeds[1], 0.0),
+        () -> assertEquals(expected.omegaRadiansPerSecond, chassisSpeeds[2], 0.0)
+    );
+  }
+
   @Test
   void testOffCenterRotationInverseKinematics() {
     ChassisSpeeds speeds = new ChassisSpeeds(0, 0, 1);
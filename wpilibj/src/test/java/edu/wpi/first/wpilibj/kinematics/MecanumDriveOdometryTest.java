@@ -15,6 +15,7 @@ import edu.wpi.first.wpilibj.geometry.Translation2d;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MecanumDriveOdometryTest {
   private final Translation2d m_fl = new Translation2d(12, 12);
@@ -91,4 +92,36 @@ class MecanumDriveOdometryTest {
     );
   }
 
+  @Test
+  void testVisionMeasurement() {
+    assertThrows(IllegalStateException.class,
+        () -> m_odometry.addVisionMeasurement(new Pose2d(), 0.0));
+
+    // 5 units/sec in the x axis (forward)
+    final var wheelSpeeds = new MecanumDriveWheelSpeeds(3.536, 3.536, 3.536, 3.536);
+
+    m_odometry.setPoseHistory(new PoseHistory(50));
+    m_odometry.resetPosition(new Pose2d(), new Rotation2d());
+    m_odometry.updateWithTime(0.0, new Rotation2d(), new MecanumDriveWheelSpeeds());
+    m_odometry.updateWithTime(1.0, new Rotation2d(), wheelSpeeds);
+    m_odometry.updateWithTime(2.0, new Rotation2d(), wheelSpeeds);
+
+    // The robot was actually facing +y at t = 1, so the 5 units driven since
+    // then were in +y, and so will the next ones be.
+    m_odometry.addVisionMeasurement(new Pose2d(7.5, 2.5, Rotation2d.fromDegrees(90)), 1.0);
+    var corrected = m_odometry.getPoseMeters();
+
+    // A measurement from before the history can't be replayed, so it's ignored
+    m_odometry.addVisionMeasurement(new Pose2d(), -1.0);
+    var pose = m_odometry.updateWithTime(3.0, new Rotation2d(), wheelSpeeds);
+
+    assertAll(
+        () -> assertEquals(7.5, corrected.getTranslation().getX(), 0.01),
+        () -> assertEquals(7.5, corrected.getTranslation().getY(), 0.01),
+        () -> assertEquals(7.5, pose.getTranslation().getX(), 0.01),
+        () -> assertEquals(12.5, pose.getTranslation().getY(), 0.01),
+        () -> assertEquals(90.0, pose.getRotation().getDegrees(), 0.01)
+    );
+  }
+
 }
@@ -0,0 +1,167 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.kinematics;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PoseHistoryTest {
+  private static final double kEpsilon = 1E-9;
+
+  @Test
+  void testEmpty() {
+    var history = new PoseHistory(4);
+    var pose = new double[3];
+
+    assertAll(
+        () -> assertEquals(0, history.size()),
+        () -> assertTrue(Double.isNaN(history.getOldestTimestamp())),
+        () -> assertFalse(history.sample(1.0, pose)),
+        () -> assertFalse(history.sample(1.0).isPresent()),
+        () -> assertFalse(history.getLatest().isPresent()),
+        () -> assertFalse(history.correct(1.0, new Pose2d()))
+    );
+  }
+
+  @Test
+  void testRingBufferWraparound() {
+    var history = new PoseHistory(3);
+    for (int i = 0; i < 5; i++) {
+      history.add(i, i, 0, 0);
+    }
+
+    var pose = new double[3];
+    history.sample(0.0, pose);
+
+    assertAll(
+        () -> assertEquals(3, history.size()),
+        () -> assertEquals(2.0, history.getOldestTimestamp(), kEpsilon),
+        () -> assertEquals(4.0, history.getLatestTimestamp(), kEpsilon),
+        () -> assertEquals(2.0, pose[0], kEpsilon),
+        () -> assertEquals(3.5, history.sample(3.5).get().getTranslation().getX(), kEpsilon)
+    );
+  }
+
+  @Test
+  void testSample() {
+    var history = new PoseHistory(8);
+    history.add(1.0, 1.0, 2.0, Math.toRadians(170));
+    history.add(2.0, 3.0, 4.0, Math.toRadians(-170));
+
+    var pose = new double[3];
+
+    assertAll(
+        () -> {
+          history.sample(1.5, pose);
+          assertEquals(2.0, pose[0], kEpsilon);
+          assertEquals(3.0, pose[1], kEpsilon);
+          // Interpolated along the shorter arc, through 180 degrees
+          assertEquals(Math.PI, pose[2], kEpsilon);
+        },
+        () -> {
+          history.sample(2.0, pose);
+          assertEquals(3.0, pose[0], kEpsilon);
+          assertEquals(Math.toRadians(-170), pose[2], kEpsilon);
+        },
+        () -> {
+          history.sample(0.0, pose);
+          assertEquals(1.0, pose[0], kEpsilon);
+        },
+        () -> {
+          history.sample(5.0, pose);
+          assertEquals(3.0, pose[0], kEpsilon);
+        }
+    );
+  }
+
+  @Test
+  void testAddOutOfOrder() {
+    var history = new PoseHistory(8);
+    history.add(1.0, 1.0, 0.0, 0.0);
+    history.add(2.0, 2.0, 0.0, 0.0);
+    history.add(2.0, 5.0, 0.0, 0.0);
+
+    assertEquals(2, history.size());
+    assertEquals(5.0, history.getLatest().get().getTranslation().getX(), kEpsilon);
+
+    history.add(0.5, 7.0, 0.0, 0.0);
+
+    assertEquals(1, history.size());
+    assertEquals(0.5, history.getOldestTimestamp(), kEpsilon);
+  }
+
+  @Test
+  void testCorrect() {
+    var history = new PoseHistory(8);
+    history.add(0.0, 0.0, 0.0, 0.0);
+    history.add(1.0, 1.0, 0.0, 0.0);
+    history.add(2.0, 2.0, 0.0, 0.0);
+    history.add(3.0, 3.0, 0.0, 0.0);
+
+    // The robot was actually at (1, 1) facing +y at t = 1, so it has since
+    // driven 2 meters in +y.
+    assertTrue(history.correct(1.0, new Pose2d(1.0, 1.0, Rotation2d.fromDegrees(90))));
+
+    var latest = history.getLatest().get();
+    var before = history.sample(0.0).get();
+
+    assertAll(
+        () -> assertEquals(1.0, latest.getTranslation().getX(), kEpsilon),
+        () -> assertEquals(3.0, latest.getTranslation().getY(), kEpsilon),
+        () -> assertEquals(90.0, latest.getRotation().getDegrees(), kEpsilon),
+        () -> assertEquals(new Pose2d(), before)
+    );
+  }
+
+  @Test
+  void testCorrectBetweenPoses() {
+    var history = new PoseHistory(8);
+    history.add(0.0, 0.0, 0.0, 0.0);
+    history.add(1.0, 1.0, 0.0, 0.0);
+    history.add(2.0, 2.0, 0.0, 0.0);
+
+    assertTrue(history.correct(0.5, 0.5, 1.0, 0.0));
+
+    var pose = new double[3];
+
+    assertAll(
+        () -> {
+          history.sample(0.0, pose);
+          assertEquals(0.0, pose[1], kEpsilon);
+        },
+        () -> {
+          history.sample(1.0, pose);
+          assertEquals(1.0, pose[0], kEpsilon);
+          assertEquals(1.0, pose[1], kEpsilon);
+        },
+        () -> {
+          history.sample(2.0, pose);
+          assertEquals(2.0, pose[0], kEpsilon);
+          assertEquals(1.0, pose[1], kEpsilon);
+        }
+    );
+  }
+
+  @Test
+  void testCorrectIgnoresOldMeasurements() {
+    var history = new PoseHistory(2);
+    history.add(1.0, 1.0, 0.0, 0.0);
+    history.add(2.0, 2.0, 0.0, 0.0);
+    history.add(3.0, 3.0, 0.0, 0.0);
+
+    assertFalse(history.correct(1.0, new Pose2d(5.0, 5.0, new Rotation2d())));
+    assertEquals(new Pose2d(3.0, 0.0, new Rotation2d()), history.getLatest().get());
+  }
+}
@@ -7,6 +7,8 @@
 
 package edu.wpi.first.wpilibj.kinematics;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
@@ -14,6 +16,7 @@ import edu.wpi.first.wpilibj.geometry.Translation2d;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SuppressWarnings("PMD.TooManyMethods")
 class SwerveDriveKinematicsTest {
@@ -260,4 +263,84 @@ class SwerveDriveKinematicsTest {
     );
   }
 
+  @Test
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  void testPrimitiveInverseKinematicsMatches() {
+    var speeds = new double[4];
+    var angles = new double[4];
+    var random = new Random(42);
+
+    for (int n = 0; n < 1000; n++) {
+      var chassisSpeeds = new ChassisSpeeds(random.nextGaussian() * 3, random.nextGaussian() * 3,
+          random.nextGaussian() * 3);
+      // Alternate between centers of rotation, including the robot center.
+      var centerOfRotation = n % 3 == 0 ? new Translation2d()
+          : new Translation2d(random.nextGaussian() * 12, random.nextGaussian() * 12);
+
+      var expected = m_kinematics.toSwerveModuleStates(chassisSpeeds, centerOfRotation);
+      m_kinematics.toSwerveModuleStates(chassisSpeeds.vxMetersPerSecond,
+          chassisSpeeds.vyMetersPerSecond, chassisSpeeds.omegaRadiansPerSecond,
+          centerOfRotation.getX(), centerOfRotation.getY(), speeds, angles);
+
+      for (int i = 0; i < 4; i++) {
+        assertEquals(expected[i].speedMetersPerSecond, speeds[i], 0.0);
+        assertEquals(expected[i].angle.getRadians(), angles[i], 0.0);
+      }
+    }
+  }
+
+  @Test
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  void testPrimitiveForwardKinematicsMatches() {
+    var speeds = new double[4];
+    var angles = new double[4];
+    var chassisSpeeds = new double[3];
+    var chassisSpeedsFromStates = new double[3];
+    var states = new SwerveModuleState[4];
+    var random = new Random(42);
+
+    for (int n = 0; n < 1000; n++) {
+      for (int i = 0; i < 4; i++) {
+        speeds[i] = random.nextGaussian() * 3;
+        angles[i] = random.nextGaussian() * Math.PI;
+        states[i] = new SwerveModuleState(speeds[i], new Rotation2d(angles[i]));
+      }
+
+      var expected = m_kinematics.toChassisSpeeds(states);
+      m_kinematics.toChassisSpeeds(speeds, angles, chassisSpeeds);
+      m_kinematics.toChassisSpeeds(states, chassisSpeedsFromStates);
+
+      assertAll(
+          () -> assertEquals(expected.vxMetersPerSecond, chassisSpeeds[0], 0.0),
+          () -> assertEquals(expected.vyMetersPerSecond, chassisSpeeds[1], 0.0),
+          () -> assertEquals(expected.omegaRadiansPerSecond, chassisSpeeds[2], 0.0),
+          () -> assertEquals(expected.vxMetersPerSecond, chassisSpeedsFromStates[0], 0.0),
+          () -> assertEquals(expected.vyMetersPerSecond, chassisSpeedsFromStates[1], 0.0),
+          () -> assertEquals(expected.omegaRadiansPerSecond, chassisSpeedsFromStates[2], 0.0)
+      );
+    }
+  }
+
+  @Test
+  void testPrimitiveModuleCountMismatch() {
+    assertThrows(IllegalArgumentException.class,
+        () -> m_kinematics.toSwerveModuleStates(1, 0, 0, new double[3], new double[4]));
+    assertThrows(IllegalArgumentException.class,
+        () -> m_kinematics.toChassisSpeeds(new double[4], new double[5], new double[3]));
+  }
+
+  @Test
+  void testNormalizeArray() {
+    double[] speeds = {5, 6, 4, 7};
+    SwerveDriveKinematics.normalizeWheelSpeeds(speeds, 5.5);
+
+    double factor = 5.5 / 7.0;
+
+    assertAll(
+        () -> assertEquals(5.0 * factor, speeds[0], kEpsilon),
+        () -> assertEquals(6.0 * factor, speeds[1], kEpsilon),
+        () -> assertEquals(4.0 * factor, speeds[2], kEpsilon),
+        () -> assertEquals(7.0 * factor, speeds[3], kEpsilon)
+    );
+  }
 }
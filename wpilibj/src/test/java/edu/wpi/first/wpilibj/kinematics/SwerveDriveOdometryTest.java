@@ -15,6 +15,7 @@ import edu.wpi.first.wpilibj.geometry.Translation2d;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class SwerveDriveOdometryTest {
   private final Translation2d m_fl = new Translation2d(12, 12);
@@ -93,4 +94,35 @@ class SwerveDriveOdometryTest {
     );
   }
 
+  @Test
+  void testVisionMeasurement() {
+    assertThrows(IllegalStateException.class,
+        () -> m_odometry.addVisionMeasurement(new Pose2d(), 0.0));
+
+    var state = new SwerveModuleState();
+    m_odometry.setPoseHistory(new PoseHistory(50));
+    m_odometry.resetPosition(new Pose2d(), new Rotation2d());
+    m_odometry.updateWithTime(0.0, new Rotation2d(), state, state, state, state);
+    state = new SwerveModuleState(1.0, Rotation2d.fromDegrees(0));
+    m_odometry.updateWithTime(1.0, new Rotation2d(), state, state, state, state);
+    m_odometry.updateWithTime(2.0, new Rotation2d(), state, state, state, state);
+
+    // The robot was actually facing +y at t = 1, so the meter driven since
+    // then was in +y, and so will the next one be.
+    m_odometry.addVisionMeasurement(new Pose2d(1.5, 0.5, Rotation2d.fromDegrees(90)), 1.0);
+    var corrected = m_odometry.getPoseMeters();
+
+    // A measurement from before the history can't be replayed, so it's ignored
+    m_odometry.addVisionMeasurement(new Pose2d(), -1.0);
+    var pose = m_odometry.updateWithTime(3.0, new Rotation2d(), state, state, state, state);
+
+    assertAll(
+        () -> assertEquals(1.5, corrected.getTranslation().getX(), 0.01),
+        () -> assertEquals(1.5, corrected.getTranslation().getY(), 0.01),
+        () -> assertEquals(1.5, pose.getTranslation().getX(), 0.01),
+        () -> assertEquals(2.5, pose.getTranslation().getY(), 0.01),
+        () -> assertEquals(90.0, pose.getRotation().getDegrees(), 0.01)
+    );
+  }
+
 }
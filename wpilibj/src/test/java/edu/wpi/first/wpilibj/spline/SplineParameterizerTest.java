@@ -0,0 +1,86 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.spline;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.spline.SplineParameterizer.MalformedSplineException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SplineParameterizerTest {
+  private static Spline getQuinticSpline(Pose2d start, Pose2d end) {
+    var controlVectors = SplineHelper.getQuinticControlVectorsFromWaypoints(List.of(start, end));
+    return SplineHelper.getQuinticSplinesFromControlVectors(
+        controlVectors.toArray(new Spline.ControlVector[0]))[0];
+  }
+
+  private static void assertBufferMatches(Spline spline, SplineParameterizer.Workspace workspace,
+                                          PoseWithCurvatureBuffer buffer) {
+    var expected = SplineParameterizer.parameterize(spline);
+
+    buffer.clear();
+    SplineParameterizer.parameterize(spline, workspace, buffer);
+
+    assertEquals(expected.size(), buffer.size());
+    for (int i = 0; i < expected.size(); i++) {
+      var pose = expected.get(i).poseMeters;
+      assertEquals(pose.getTranslation().getX(), buffer.getX(i));
+      assertEquals(pose.getTranslation().getY(), buffer.getY(i));
+      assertEquals(pose.getRotation().getRadians(), buffer.getHeading(i));
+      assertEquals(pose.getRotation().getCos(), buffer.getHeadingCos(i));
+      assertEquals(pose.getRotation().getSin(), buffer.getHeadingSin(i));
+      assertEquals(expected.get(i).curvatureRadPerMeter, buffer.getCurvature(i));
+    }
+  }
+
+  @Test
+  void testQuinticMatchesList() {
+    var workspace = new SplineParameterizer.Workspace();
+    var buffer = new PoseWithCurvatureBuffer(4);
+
+    assertBufferMatches(getQuinticSpline(new Pose2d(), new Pose2d(3, 0, new Rotation2d())),
+        workspace, buffer);
+    assertBufferMatches(getQuinticSpline(new Pose2d(), new Pose2d(1, 1, new Rotation2d())),
+        workspace, buffer);
+    assertBufferMatches(getQuinticSpline(new Pose2d(0, 0, Rotation2d.fromDegrees(90)),
+        new Pose2d(-1, 0, Rotation2d.fromDegrees(90))), workspace, buffer);
+  }
+
+  @Test
+  void testCubicMatchesList() {
+    var start = new Pose2d(0, 0, Rotation2d.fromDegrees(90));
+    var waypoints = new Translation2d[]{new Translation2d(1, 1), new Translation2d(2, -1)};
+    var end = new Pose2d(3, 0, Rotation2d.fromDegrees(90));
+    var controlVectors = SplineHelper.getCubicControlVectorsFromWaypoints(start, waypoints, end);
+    var splines = SplineHelper.getCubicSplinesFromControlVectors(controlVectors[0], waypoints,
+        controlVectors[1]);
+
+    var workspace = new SplineParameterizer.Workspace();
+    var buffer = new PoseWithCurvatureBuffer();
+    for (var spline : splines) {
+      assertBufferMatches(spline, workspace, buffer);
+    }
+  }
+
+  @Test
+  void testMalformed() {
+    var spline = getQuinticSpline(new Pose2d(0, 0, Rotation2d.fromDegrees(0)),
+        new Pose2d(1, 0, Rotation2d.fromDegrees(180)));
+
+    assertThrows(MalformedSplineException.class,
+        () -> SplineParameterizer.parameterize(spline, new SplineParameterizer.Workspace(),
+            new PoseWithCurvatureBuffer()));
+  }
+}
@@ -0,0 +1,147 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncTrajectoryGeneratorTest {
+  private static List<Pose2d> getWaypoints(double endX) {
+    return List.of(new Pose2d(), new Pose2d(endX, 1, Rotation2d.fromDegrees(45)));
+  }
+
+  @Test
+  void testMatchesSynchronousGeneration() {
+    try (var generator = new AsyncTrajectoryGenerator()) {
+      var config = new TrajectoryConfig(3, 2);
+      var start = new Pose2d();
+      var interior = List.of(new Translation2d(1, 0.5));
+      var end = new Pose2d(3, 1, new Rotation2d());
+
+      assertEquals(TrajectoryGenerator.generateTrajectory(getWaypoints(2), config).getStates(),
+          generator.generateTrajectory(getWaypoints(2), config).join().getStates());
+      assertEquals(
+          TrajectoryGenerator.generateTrajectory(start, interior, end, config).getStates(),
+          generator.generateTrajectory(start, interior, end, config).join().getStates());
+    }
+  }
+
+  @Test
+  void testCache() {
+    try (var generator = new AsyncTrajectoryGenerator(1, 8, 2)) {
+      var first = generator.generateTrajectory(getWaypoints(1), new TrajectoryConfig(3, 2))
+          .join();
+
+      // An identical request is served from the cache, even with a different
+      // config instance.
+      var cached = generator.generateTrajectory(getWaypoints(1), new TrajectoryConfig(3, 2));
+      assertTrue(cached.isDone());
+      assertSame(first, cached.join());
+
+      // A different config isn't.
+      assertNotSame(first, generator.generateTrajectory(getWaypoints(1),
+          new TrajectoryConfig(3, 2).setReversed(true)).join());
+
+      // Pushing two more results through evicts the least recently used one.
+      generator.generateTrajectory(getWaypoints(2), new TrajectoryConfig(3, 2)).join();
+      generator.generateTrajectory(getWaypoints(3), new TrajectoryConfig(3, 2)).join();
+      assertNotSame(first, generator.generateTrajectory(getWaypoints(1),
+          new TrajectoryConfig(3, 2)).join());
+    }
+  }
+
+  @Test
+  void testDeduplicatesAndBoundsRequests() {
+    var blocker = new BlockingConstraint();
+    try (var generator = new AsyncTrajectoryGenerator(1, 1, 16)) {
+      var config = new TrajectoryConfig(3, 2).addConstraint(blocker);
+
+      // The first request occupies the thread, and the second fills the queue.
+      final var first = generator.generateTrajectory(getWaypoints(1), config);
+      final var duplicate = generator.generateTrajectory(getWaypoints(1), config);
+      final var second = generator.generateTrajectory(getWaypoints(2), config);
+      final var rejected = generator.generateTrajectory(getWaypoints(3), config);
+
+      // Changing the config doesn't affect requests that were already made.
+      config.setReversed(true);
+
+      var exception = assertThrows(CompletionException.class, rejected::join);
+      assertTrue(exception.getCause() instanceof RejectedExecutionException);
+
+      // Cancelling one of the futures doesn't cancel the shared request.
+      duplicate.cancel(false);
+
+      blocker.m_latch.countDown();
+      assertFalse(first.join().getStates().get(1).velocityMetersPerSecond < 0);
+      assertTrue(second.join().getTotalTimeSeconds() > 0);
+      assertSame(first.join(), generator.generateTrajectory(getWaypoints(1),
+          new TrajectoryConfig(3, 2).addConstraint(blocker)).join());
+    }
+  }
+
+  @Test
+  void testClose() {
+    var blocker = new BlockingConstraint();
+    var generator = new AsyncTrajectoryGenerator(1, 1, 16);
+    var config = new TrajectoryConfig(3, 2).addConstraint(blocker);
+    final var running = generator.generateTrajectory(getWaypoints(1), config);
+    final var queued = generator.generateTrajectory(getWaypoints(2), config);
+
+    generator.close();
+    blocker.m_latch.countDown();
+
+    assertTrue(assertThrows(CompletionException.class, running::join).getCause()
+        instanceof CancellationException);
+    assertTrue(assertThrows(CompletionException.class, queued::join).getCause()
+        instanceof CancellationException);
+    assertThrows(CompletionException.class,
+        generator.generateTrajectory(getWaypoints(3), config)::join);
+  }
+
+  /**
+   * Blocks trajectory generation until the latch is released.
+   */
+  private static class BlockingConstraint implements TrajectoryConstraint {
+    final CountDownLatch m_latch = new CountDownLatch(1);
+
+    @Override
+    public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                                double velocityMetersPerSecond) {
+      try {
+        m_latch.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return velocityMetersPerSecond;
+    }
+
+    @Override
+    public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                         double curvatureRadPerMeter,
+                                                         double velocityMetersPerSecond) {
+      return new MinMax();
+    }
+  }
+}
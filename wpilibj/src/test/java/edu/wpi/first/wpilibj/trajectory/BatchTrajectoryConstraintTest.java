@@ -0,0 +1,151 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.MecanumDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
+import edu.wpi.first.wpilibj.trajectory.constraint.BatchTrajectoryConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveKinematicsConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveVoltageConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.MecanumDriveKinematicsConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.SwerveDriveKinematicsConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchTrajectoryConstraintTest {
+  private static final double kMaxSpeed = 3.0;
+  private static final double[] kVelocities = {0.0, 0.5, 1.5, 3.0, 10.0};
+
+  private static final List<BatchTrajectoryConstraint> kConstraints = List.of(
+      new CentripetalAccelerationConstraint(2.0),
+      new DifferentialDriveKinematicsConstraint(new DifferentialDriveKinematics(0.7), kMaxSpeed),
+      new DifferentialDriveVoltageConstraint(new SimpleMotorFeedforward(0.3, 2.0, 0.5),
+          new DifferentialDriveKinematics(0.7), 10),
+      new MecanumDriveKinematicsConstraint(new MecanumDriveKinematics(
+          new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3),
+          new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3)), kMaxSpeed),
+      new SwerveDriveKinematicsConstraint(new SwerveDriveKinematics(
+          new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3),
+          new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3)), kMaxSpeed));
+
+  private static PoseWithCurvatureBuffer getStates(Trajectory trajectory) {
+    var states = new PoseWithCurvatureBuffer();
+    for (var state : trajectory.getStates()) {
+      var pose = state.poseMeters;
+      states.accept(pose.getTranslation().getX(), pose.getTranslation().getY(),
+          pose.getRotation().getRadians(), pose.getRotation().getCos(),
+          pose.getRotation().getSin(), state.curvatureRadPerMeter);
+    }
+    return states;
+  }
+
+  @Test
+  void testMaxVelocitiesMatchScalar() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(List.of());
+    var states = getStates(trajectory);
+    var envelope = new double[states.size()];
+
+    for (var constraint : kConstraints) {
+      constraint.getMaxVelocitiesMetersPerSecond(states, 0, states.size(), envelope);
+
+      for (int i = 0; i < states.size(); i++) {
+        var pose = trajectory.getStates().get(i).poseMeters;
+        for (double velocity : kVelocities) {
+          assertEquals(Math.min(velocity, constraint.getMaxVelocityMetersPerSecond(
+              pose, states.getCurvature(i), velocity)),
+              Math.min(velocity, envelope[i]), 1E-9, constraint.getClass().getSimpleName());
+        }
+      }
+    }
+  }
+
+  @Test
+  void testAccelerationsMatchScalar() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(List.of());
+    var states = getStates(trajectory);
+    var velocities = new double[states.size()];
+    var minAccelerations = new double[states.size()];
+    var maxAccelerations = new double[states.size()];
+
+    // Reversed, the robot drives the same path backwards
+    for (double direction : new double[]{1.0, -1.0}) {
+      for (int i = 0; i < states.size(); i++) {
+        velocities[i] = direction * trajectory.getStates().get(i).velocityMetersPerSecond;
+      }
+
+      for (var constraint : kConstraints) {
+        constraint.getMinMaxAccelerationsMetersPerSecondSq(states, velocities, 0, states.size(),
+            minAccelerations, maxAccelerations);
+
+        for (int i = 0; i < states.size(); i++) {
+          var minMax = constraint.getMinMaxAccelerationMetersPerSecondSq(
+              trajectory.getStates().get(i).poseMeters, states.getCurvature(i), velocities[i]);
+          assertEquals(minMax.minAccelerationMetersPerSecondSq, minAccelerations[i], 0.0);
+          assertEquals(minMax.maxAccelerationMetersPerSecondSq, maxAccelerations[i], 0.0);
+        }
+      }
+    }
+  }
+
+  @Test
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  void testParameterizationMatchesScalar() {
+    for (var constraint : kConstraints) {
+      var batch = TrajectoryGeneratorTest.getTrajectory(List.of(constraint));
+      var scalar = TrajectoryGeneratorTest.getTrajectory(List.of(new ScalarOnly(constraint)));
+
+      assertEquals(scalar.getStates().size(), batch.getStates().size());
+      for (int i = 0; i < batch.getStates().size(); i++) {
+        var expected = scalar.getStates().get(i);
+        var actual = batch.getStates().get(i);
+        assertEquals(expected.timeSeconds, actual.timeSeconds, 1E-9);
+        assertEquals(expected.velocityMetersPerSecond, actual.velocityMetersPerSecond, 1E-9);
+        assertEquals(expected.accelerationMetersPerSecondSq,
+            actual.accelerationMetersPerSecondSq, 1E-6);
+      }
+    }
+  }
+
+  /**
+   * Hides the batch methods of a constraint, so that the parameterizer
+   * evaluates it one state at a time.
+   */
+  private static class ScalarOnly implements TrajectoryConstraint {
+    private final TrajectoryConstraint m_constraint;
+
+    ScalarOnly(TrajectoryConstraint constraint) {
+      m_constraint = constraint;
+    }
+
+    @Override
+    public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                                double velocityMetersPerSecond) {
+      return m_constraint.getMaxVelocityMetersPerSecond(poseMeters, curvatureRadPerMeter,
+          velocityMetersPerSecond);
+    }
+
+    @Override
+    public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                         double curvatureRadPerMeter,
+                                                         double velocityMetersPerSecond) {
+      return m_constraint.getMinMaxAccelerationMetersPerSecondSq(poseMeters,
+          curvatureRadPerMeter, velocityMetersPerSecond);
+    }
+  }
+}
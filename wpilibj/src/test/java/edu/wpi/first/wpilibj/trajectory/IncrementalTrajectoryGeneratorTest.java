@@ -0,0 +1,104 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Transform2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalTrajectoryGeneratorTest {
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  private static List<Pose2d> getWaypoints() {
+    var waypoints = new ArrayList<Pose2d>();
+    for (int i = 0; i < 6; i++) {
+      waypoints.add(new Pose2d(i * 1.5, i % 2 == 0 ? 0.0 : 1.0,
+          Rotation2d.fromDegrees(i % 2 == 0 ? 30 : -30)));
+    }
+    return waypoints;
+  }
+
+  private static void moveWaypoint(List<Pose2d> waypoints, int index, double dx, double dy) {
+    waypoints.set(index, waypoints.get(index).plus(
+        new Transform2d(new Translation2d(dx, dy), Rotation2d.fromDegrees(5.0))));
+  }
+
+  private static void assertMatchesFullGeneration(List<Pose2d> waypoints,
+                                                  TrajectoryConfig config,
+                                                  IncrementalTrajectoryGenerator generator) {
+    assertEquals(TrajectoryGenerator.generateTrajectory(waypoints, config).getStates(),
+        generator.generate(waypoints).getStates());
+  }
+
+  @Test
+  void testMovingWaypoints() {
+    var waypoints = getWaypoints();
+    var config = new TrajectoryConfig(3.0, 2.0)
+        .addConstraint(new CentripetalAccelerationConstraint(2.0));
+    var generator = new IncrementalTrajectoryGenerator(config);
+
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    moveWaypoint(waypoints, waypoints.size() - 1, 0.3, -0.2);
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    moveWaypoint(waypoints, 2, -0.1, 0.4);
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    moveWaypoint(waypoints, 0, 0.2, 0.2);
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    // Regenerating the same waypoints should give the same trajectory.
+    assertMatchesFullGeneration(waypoints, config, generator);
+  }
+
+  @Test
+  void testAddingAndRemovingWaypoints() {
+    var waypoints = getWaypoints();
+    var config = new TrajectoryConfig(3.0, 2.0).setReversed(true);
+    var generator = new IncrementalTrajectoryGenerator(config);
+
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    waypoints.add(new Pose2d(10.0, 0.5, new Rotation2d()));
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    waypoints.remove(waypoints.size() - 1);
+    waypoints.remove(waypoints.size() - 1);
+    assertMatchesFullGeneration(waypoints, config, generator);
+  }
+
+  @Test
+  void testConfigChanges() {
+    var waypoints = getWaypoints();
+    var config = new TrajectoryConfig(3.0, 2.0);
+    var generator = new IncrementalTrajectoryGenerator(config);
+
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    config.setEndVelocity(0.5);
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    config.setStartVelocity(0.5);
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    config.addConstraint(new CentripetalAccelerationConstraint(1.0));
+    assertMatchesFullGeneration(waypoints, config, generator);
+
+    config.setReversed(true);
+    assertMatchesFullGeneration(waypoints, config, generator);
+  }
+}
@@ -0,0 +1,103 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrajectoryBinaryTest {
+  @Test
+  void binaryMatchesJson(@TempDir Path tempDir) throws IOException {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+
+    TrajectoryUtil.toBinary(trajectory, tempDir.resolve("path.wtraj"));
+    TrajectoryUtil.toPathweaverJson(trajectory, tempDir.resolve("path.wpilib.json"));
+
+    assertEquals(TrajectoryUtil.fromPathweaverJson(tempDir.resolve("path.wpilib.json"))
+            .getStates(),
+        TrajectoryUtil.fromBinary(tempDir.resolve("path.wtraj")).getStates());
+  }
+
+  @Test
+  void rejectsInvalidFiles(@TempDir Path tempDir) throws IOException {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    Path binary = tempDir.resolve("path.wtraj");
+    TrajectoryUtil.toBinary(trajectory, binary);
+
+    byte[] contents = Files.readAllBytes(binary);
+    Path truncated = tempDir.resolve("truncated.wtraj");
+    Files.write(truncated, Arrays.copyOf(contents, contents.length - 8));
+    Path notTrajectory = tempDir.resolve("text.wtraj");
+    Files.writeString(notTrajectory, "Hello, world! This is not a trajectory.");
+
+    assertThrows(IOException.class, () -> TrajectoryUtil.fromBinary(truncated));
+    assertThrows(IOException.class, () -> TrajectoryUtil.fromBinary(notTrajectory));
+  }
+
+  @Test
+  void cachedJsonIsReused(@TempDir Path tempDir) throws IOException {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    Path json = tempDir.resolve("path.wpilib.json");
+    Path cacheDirectory = tempDir.resolve("cache");
+    TrajectoryUtil.toPathweaverJson(trajectory, json);
+
+    var loaded = TrajectoryUtil.fromPathweaverJsonCached(json, cacheDirectory);
+    assertEquals(TrajectoryUtil.fromPathweaverJson(json).getStates(), loaded.getStates());
+
+    List<Path> cached;
+    try (Stream<Path> files = Files.list(cacheDirectory)) {
+      cached = files.collect(Collectors.toList());
+    }
+    assertEquals(1, cached.size());
+
+    // Replace the cached copy with a different trajectory to check that later
+    // loads read the binary file instead of the JSON.
+    var other = TrajectoryGenerator.generateTrajectory(
+        List.of(new Pose2d(), new Pose2d(2.0, 1.0, Rotation2d.fromDegrees(30.0))),
+        new TrajectoryConfig(1.0, 1.0));
+    TrajectoryUtil.toBinary(other, cached.get(0));
+
+    assertEquals(TrajectoryUtil.fromBinary(cached.get(0)).getStates(),
+        TrajectoryUtil.fromPathweaverJsonCached(json, cacheDirectory).getStates());
+  }
+
+  @Test
+  void unreadableCacheIsReplaced(@TempDir Path tempDir) throws IOException {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    Path json = tempDir.resolve("path.wpilib.json");
+    Path cacheDirectory = tempDir.resolve("cache");
+    TrajectoryUtil.toPathweaverJson(trajectory, json);
+    TrajectoryUtil.fromPathweaverJsonCached(json, cacheDirectory);
+
+    Path cached;
+    try (Stream<Path> files = Files.list(cacheDirectory)) {
+      cached = files.findFirst().orElseThrow();
+    }
+    Files.writeString(cached, "Hello, world! This is not a trajectory.");
+
+    assertEquals(TrajectoryUtil.fromPathweaverJson(json).getStates(),
+        TrajectoryUtil.fromPathweaverJsonCached(json, cacheDirectory).getStates());
+    assertEquals(TrajectoryUtil.fromPathweaverJson(json).getStates(),
+        TrajectoryUtil.fromBinary(cached).getStates());
+  }
+}
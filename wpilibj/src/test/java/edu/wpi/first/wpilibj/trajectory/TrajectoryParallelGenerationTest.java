@@ -0,0 +1,59 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrajectoryParallelGenerationTest {
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  private static List<Pose2d> getWaypoints(int count, double offset) {
+    var waypoints = new ArrayList<Pose2d>();
+    for (int i = 0; i < count; i++) {
+      waypoints.add(new Pose2d(i * 1.5, offset + (i % 2 == 0 ? 0.0 : 1.0),
+          Rotation2d.fromDegrees(i % 2 == 0 ? 30 : -30)));
+    }
+    return waypoints;
+  }
+
+  @Test
+  void testParallelMatchesSerial() {
+    var waypoints = getWaypoints(12, 0.0);
+
+    var serial = TrajectoryGenerator.generateTrajectory(waypoints,
+        new TrajectoryConfig(3.0, 2.0));
+    var parallel = TrajectoryGenerator.generateTrajectory(waypoints,
+        new TrajectoryConfig(3.0, 2.0).setParallelSplineParameterization(true));
+
+    assertEquals(serial.getStates(), parallel.getStates());
+  }
+
+  @Test
+  void testBatchMatchesIndividual() {
+    var paths = new ArrayList<List<Pose2d>>();
+    for (int i = 0; i < 6; i++) {
+      paths.add(getWaypoints(3 + i, i));
+    }
+    var config = new TrajectoryConfig(3.0, 2.0);
+
+    var trajectories = TrajectoryGenerator.generateTrajectories(paths, config);
+
+    assertEquals(paths.size(), trajectories.size());
+    for (int i = 0; i < paths.size(); i++) {
+      assertEquals(TrajectoryGenerator.generateTrajectory(paths.get(i), config).getStates(),
+          trajectories.get(i).getStates());
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrajectorySampleTest {
+  private static void assertStatesEqual(Trajectory.State expected, Trajectory.MutableState actual) {
+    assertAll(
+        () -> assertEquals(expected.timeSeconds, actual.timeSeconds),
+        () -> assertEquals(expected.velocityMetersPerSecond, actual.velocityMetersPerSecond),
+        () -> assertEquals(expected.accelerationMetersPerSecondSq,
+            actual.accelerationMetersPerSecondSq),
+        () -> assertEquals(expected.poseMeters.getTranslation().getX(), actual.xMeters),
+        () -> assertEquals(expected.poseMeters.getTranslation().getY(), actual.yMeters),
+        () -> assertEquals(expected.poseMeters.getRotation().getRadians(),
+            actual.headingRadians),
+        () -> assertEquals(expected.poseMeters.getRotation().getCos(), actual.headingCos),
+        () -> assertEquals(expected.poseMeters.getRotation().getSin(), actual.headingSin),
+        () -> assertEquals(expected.curvatureRadPerMeter, actual.curvatureRadPerMeter)
+    );
+  }
+
+  @Test
+  void testMutableSampleMatchesSample() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    var out = new Trajectory.MutableState();
+
+    for (double t = -0.5; t < trajectory.getTotalTimeSeconds() + 0.5; t += 0.013) {
+      assertSame(out, trajectory.sample(t, out));
+      assertStatesEqual(trajectory.sample(t), out);
+    }
+  }
+
+  @Test
+  void testSamplerMatchesSample() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    var sampler = trajectory.sampler();
+    var out = new Trajectory.MutableState();
+
+    // Small forward steps, as when following the trajectory.
+    for (double t = -0.1; t < trajectory.getTotalTimeSeconds() + 0.1; t += 0.02) {
+      assertEquals(trajectory.sample(t), sampler.sample(t));
+      assertStatesEqual(trajectory.sample(t), sampler.sample(t, out));
+    }
+
+    // Backward and large jumps.
+    double total = trajectory.getTotalTimeSeconds();
+    for (double t : new double[] {total * 0.5, total * 0.1, total * 0.9, total * 0.05,
+        total * 0.95, 0.0, total * 0.3, total * 0.3001}) {
+      assertEquals(trajectory.sample(t), sampler.sample(t));
+      assertStatesEqual(trajectory.sample(t), sampler.sample(t, out));
+    }
+
+    sampler.reset();
+    assertEquals(trajectory.sample(total * 0.7), sampler.sample(total * 0.7));
+  }
+
+  @Test
+  void testArrayConstructor() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    var states = trajectory.getStates();
+
+    int size = states.size();
+    double[] times = new double[size];
+    double[] velocities = new double[size];
+    double[] accelerations = new double[size];
+    double[] xs = new double[size];
+    double[] ys = new double[size];
+    double[] headings = new double[size];
+    double[] curvatures = new double[size];
+    for (int i = 0; i < size; i++) {
+      var state = states.get(i);
+      times[i] = state.timeSeconds;
+      velocities[i] = state.velocityMetersPerSecond;
+      accelerations[i] = state.accelerationMetersPerSecondSq;
+      xs[i] = state.poseMeters.getTranslation().getX();
+      ys[i] = state.poseMeters.getTranslation().getY();
+      headings[i] = state.poseMeters.getRotation().getRadians();
+      curvatures[i] = state.curvatureRadPerMeter;
+    }
+
+    var arrayTrajectory = new Trajectory(times, velocities, accelerations, xs, ys, headings,
+        curvatures);
+
+    assertEquals(size, arrayTrajectory.size());
+    assertEquals(trajectory.getTotalTimeSeconds(), arrayTrajectory.getTotalTimeSeconds());
+    assertEquals(states, arrayTrajectory.getStates());
+
+    var out = new Trajectory.MutableState();
+    for (double t = 0.0; t < arrayTrajectory.getTotalTimeSeconds(); t += 0.02) {
+      assertStatesEqual(arrayTrajectory.sample(t), arrayTrajectory.sample(t, out));
+    }
+  }
+
+  @Test
+  void testArrayConstructorMismatchedLengths() {
+    assertThrows(IllegalArgumentException.class, () -> new Trajectory(
+        new double[2], new double[2], new double[2], new double[2], new double[2],
+        new double[1], new double[2]));
+  }
+}
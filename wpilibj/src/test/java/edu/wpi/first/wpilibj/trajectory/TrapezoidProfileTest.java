@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SuppressWarnings({"PMD.TooManyMethods", "PMD.AvoidInstantiatingObjectsInLoops"})
@@ -254,4 +255,47 @@ class TrapezoidProfileTest {
       }
     }
   }
+
+  @Test
+  void sampleMatchesCalculate() {
+    TrapezoidProfile.Constraints constraints = new TrapezoidProfile.Constraints(0.75, 0.75);
+    TrapezoidProfile profile = new TrapezoidProfile(constraints,
+        new TrapezoidProfile.State(-2, 0), new TrapezoidProfile.State(1, 0.5));
+    TrapezoidProfile.State state = new TrapezoidProfile.State();
+
+    for (int i = 0; i < 800; i++) {
+      assertSame(state, profile.sample(i * kDt, state));
+      assertEquals(profile.calculate(i * kDt), state);
+    }
+  }
+
+  /**
+   * Tests that sampling one profile over time gives the same states as constructing a new profile
+   * from the previous state at every step, as a profile can be reused until its goal changes.
+   */
+  @Test
+  void sampleMatchesReplanning() {
+    TrapezoidProfile.Constraints constraints = new TrapezoidProfile.Constraints(1.75, 0.75);
+    TrapezoidProfile.State[][] cases = {
+        {new TrapezoidProfile.State(3, 0), new TrapezoidProfile.State(0, 0)},
+        {new TrapezoidProfile.State(-2, 0), new TrapezoidProfile.State(0, 0)},
+        {new TrapezoidProfile.State(4, 0.5), new TrapezoidProfile.State(1, 1)},
+        {new TrapezoidProfile.State(0.5, 0), new TrapezoidProfile.State(0, 0)}
+    };
+
+    for (TrapezoidProfile.State[] goalAndInitial : cases) {
+      TrapezoidProfile.State goal = goalAndInitial[0];
+      TrapezoidProfile precomputed = new TrapezoidProfile(constraints, goal, goalAndInitial[1]);
+      TrapezoidProfile.State replanned = goalAndInitial[1];
+      TrapezoidProfile.State sampled = new TrapezoidProfile.State();
+
+      for (int i = 1; i <= 800; i++) {
+        replanned = new TrapezoidProfile(constraints, goal, replanned).calculate(kDt);
+        precomputed.sample(i * kDt, sampled);
+        assertNear(replanned.position, sampled.position, 1e-9);
+        assertNear(replanned.velocity, sampled.velocity, 1e-9);
+      }
+      assertEquals(goal, sampled);
+    }
+  }
 }
@@ -0,0 +1,89 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.Joystick;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.InstantCommand;
+import edu.wpi.first.wpilibj2.command.button.JoystickButton;
+import edu.wpi.first.wpilibj2.command.button.Trigger;
+
+/**
+ * Benchmarks polling an operator console's worth of joystick button bindings while no buttons
+ * change, as joystick buttons dispatched by the scheduler's joystick button engine and as triggers
+ * that poll the same buttons.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ButtonBindingBenchmark {
+  private static final int kJoysticks = 3;
+  private static final int kButtonsPerJoystick = 10;
+  private static final int kBindingsPerButton = 2;
+
+  @Param({"engine", "polled"})
+  public String m_dispatch;
+
+  private CommandScheduler m_scheduler;
+
+  /**
+   * Binds a command to each button of the joysticks.
+   */
+  @Setup
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  public void setup() {
+    m_scheduler = CommandScheduler.getInstance();
+    for (int port = 0; port < kJoysticks; port++) {
+      Joystick joystick = new Joystick(port);
+      for (int button = 1; button <= kButtonsPerJoystick; button++) {
+        Trigger trigger;
+        if ("engine".equals(m_dispatch)) {
+          trigger = new JoystickButton(joystick, button);
+        } else {
+          final int buttonNumber = button;
+          trigger = new Trigger(() -> joystick.getRawButton(buttonNumber));
+        }
+        for (int i = 0; i < kBindingsPerButton; i++) {
+          trigger.whenActive(new InstantCommand());
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes the bindings.
+   */
+  @TearDown
+  public void tearDown() {
+    m_scheduler.clearButtons();
+  }
+
+  @Benchmark
+  public CommandScheduler run() {
+    m_scheduler.run();
+    return m_scheduler;
+  }
+}
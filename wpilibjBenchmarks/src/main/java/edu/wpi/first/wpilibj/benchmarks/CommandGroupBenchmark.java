@@ -0,0 +1,97 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandBase;
+import edu.wpi.first.wpilibj2.command.CommandGroupBase;
+import edu.wpi.first.wpilibj2.command.ParallelCommandGroup;
+import edu.wpi.first.wpilibj2.command.ParallelDeadlineGroup;
+import edu.wpi.first.wpilibj2.command.ParallelRaceGroup;
+import edu.wpi.first.wpilibj2.command.SequentialCommandGroup;
+
+/**
+ * Benchmarks one iteration of a nested autonomous routine, run through the command groups and
+ * through their compiled execution plan.  None of the commands finish, so every iteration runs the
+ * same commands.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandGroupBenchmark {
+  private static final int kBranches = 4;
+
+  @Param({"groups", "compiled"})
+  public String m_execution;
+
+  private Command m_routine;
+
+  private static class Step extends CommandBase {
+    private int m_executions;
+
+    @Override
+    public void execute() {
+      m_executions++;
+    }
+  }
+
+  private static Command branch() {
+    return new SequentialCommandGroup(
+        new ParallelDeadlineGroup(
+            new ParallelRaceGroup(new Step(), new Step(), new Step()),
+            new ParallelCommandGroup(new Step(), new Step()),
+            new SequentialCommandGroup(new Step(), new Step())),
+        new Step());
+  }
+
+  /**
+   * Builds and initializes the routine.
+   */
+  @Setup
+  public void setup() {
+    Command[] branches = new Command[kBranches];
+    for (int i = 0; i < kBranches; i++) {
+      branches[i] = branch();
+    }
+    CommandGroupBase routine = new ParallelCommandGroup(branches);
+    m_routine = "compiled".equals(m_execution) ? routine.compile() : routine;
+    m_routine.initialize();
+  }
+
+  /**
+   * Allows the commands to be grouped again.
+   */
+  @TearDown
+  public void tearDown() {
+    CommandGroupBase.clearGroupedCommands();
+  }
+
+  @Benchmark
+  public boolean execute() {
+    m_routine.execute();
+    return m_routine.isFinished();
+  }
+}
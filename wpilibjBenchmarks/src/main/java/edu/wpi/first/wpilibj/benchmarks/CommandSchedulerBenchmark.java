@@ -0,0 +1,111 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj2.command.CommandBase;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Subsystem;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+
+/**
+ * Benchmarks one iteration of the command scheduler with a robot's worth of subsystems, each
+ * running its default command, while a short command interrupts one of them every iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandSchedulerBenchmark {
+  private static final int kSubsystems = 8;
+
+  private CommandScheduler m_scheduler;
+  private final Subsystem[] m_subsystems = new Subsystem[kSubsystems];
+  private final ShortCommand[] m_shortCommands = new ShortCommand[kSubsystems];
+  private int m_iteration;
+
+  private static class RunningCommand extends CommandBase {
+    RunningCommand(Subsystem requirement) {
+      addRequirements(requirement);
+    }
+
+    @Override
+    public boolean runsWhenDisabled() {
+      return true;
+    }
+  }
+
+  private static class ShortCommand extends RunningCommand {
+    ShortCommand(Subsystem requirement) {
+      super(requirement);
+    }
+
+    @Override
+    public boolean isFinished() {
+      return true;
+    }
+  }
+
+  /**
+   * Registers the subsystems and their default commands.
+   */
+  @Setup
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  public void setup() {
+    m_scheduler = CommandScheduler.getInstance();
+    for (int i = 0; i < kSubsystems; i++) {
+      m_subsystems[i] = new SubsystemBase() {
+      };
+      m_scheduler.setDefaultCommand(m_subsystems[i], new RunningCommand(m_subsystems[i]));
+      m_shortCommands[i] = new ShortCommand(m_subsystems[i]);
+    }
+    m_scheduler.run();
+  }
+
+  /**
+   * Cancels the commands and unregisters the subsystems.
+   */
+  @TearDown
+  public void tearDown() {
+    m_scheduler.cancelAll();
+    m_scheduler.unregisterSubsystem(m_subsystems);
+  }
+
+  @Benchmark
+  public CommandScheduler run() {
+    m_scheduler.run();
+    return m_scheduler;
+  }
+
+  /**
+   * Schedules a command that interrupts one of the default commands, and runs the scheduler.  The
+   * command finishes on that iteration, and the default command is scheduled again.
+   */
+  @Benchmark
+  public CommandScheduler runWithInterrupt() {
+    m_iteration = (m_iteration + 1) % kSubsystems;
+    m_scheduler.schedule(m_shortCommands[m_iteration]);
+    m_scheduler.run();
+    return m_scheduler;
+  }
+}
@@ -0,0 +1,90 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.wpi.first.wpilibj.controller.ArmFeedforward;
+
+/**
+ * Benchmarks evaluating an arm feedforward over a profile's worth of setpoints, one at a time and
+ * in a batch, with and without the cosine table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FeedforwardBenchmark {
+  private static final int kSetpoints = 256;
+
+  private final double[] m_positions = new double[kSetpoints];
+  private final double[] m_velocities = new double[kSetpoints];
+  private final double[] m_accelerations = new double[kSetpoints];
+  private final double[] m_out = new double[kSetpoints];
+
+  private final ArmFeedforward m_feedforward = new ArmFeedforward(0.5, 1.5, 2.0, 0.25);
+  private final ArmFeedforward m_tableFeedforward = m_feedforward.withCosineTable(1e-6);
+
+  /**
+   * Generates the setpoints.
+   */
+  @Setup
+  public void setup() {
+    var random = new Random(20);
+    for (int i = 0; i < kSetpoints; i++) {
+      m_positions[i] = random.nextDouble() * Math.PI - Math.PI / 2;
+      m_velocities[i] = random.nextGaussian();
+      m_accelerations[i] = random.nextGaussian();
+    }
+  }
+
+  /**
+   * Evaluates the feedforward for each setpoint with the scalar overload.
+   */
+  @Benchmark
+  public void armScalar(Blackhole blackhole) {
+    for (int i = 0; i < kSetpoints; i++) {
+      m_out[i] = m_feedforward.calculate(m_positions[i], m_velocities[i], m_accelerations[i]);
+    }
+    blackhole.consume(m_out);
+  }
+
+  /**
+   * Evaluates the feedforward for all of the setpoints with the batch overload.
+   */
+  @Benchmark
+  public void armBatch(Blackhole blackhole) {
+    m_feedforward.calculate(m_positions, m_velocities, m_accelerations, m_out);
+    blackhole.consume(m_out);
+  }
+
+  /**
+   * Evaluates the feedforward for all of the setpoints with the batch overload, looking the
+   * cosine up in a table.
+   */
+  @Benchmark
+  public void armBatchCosineTable(Blackhole blackhole) {
+    m_tableFeedforward.calculate(m_positions, m_velocities, m_accelerations, m_out);
+    blackhole.consume(m_out);
+  }
+}
@@ -0,0 +1,187 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.wpi.first.wpilibj.LinearFilter;
+import edu.wpi.first.wpilibj.MedianFilter;
+import edu.wpi.first.wpilibj.MultiChannelLinearFilter;
+import edu.wpi.first.wpilibj.TimestampedLinearFilter;
+
+/**
+ * Benchmarks one step of the commonly used filters on a noisy sensor signal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("PMD.TooManyMethods")
+public class FilterBenchmark {
+  private static final int kSignalLength = 4096;
+  private static final int kChannels = 8;
+
+  private final double[] m_signal = new double[kSignalLength];
+  // Loop periods in seconds, 20 ms plus up to 2 ms of jitter in whole microseconds
+  private final double[] m_jitteredPeriods = new double[kSignalLength];
+  private int m_index;
+  private double m_timestamp;
+
+  private LinearFilter m_singlePoleIIR;
+  private LinearFilter m_highPass;
+  private TimestampedLinearFilter m_timestampedSinglePoleIIR;
+  private LinearFilter m_movingAverage;
+  private MedianFilter m_median5;
+  private MedianFilter m_median25;
+  private MedianFilter m_median50;
+  private final LinearFilter[] m_channelFilters = new LinearFilter[kChannels];
+  private MultiChannelLinearFilter m_multiChannelFilter;
+  // The signal split into one sample per channel for each step
+  private final double[][] m_channelSignal = new double[kSignalLength / kChannels][kChannels];
+  private final double[] m_channelOutputs = new double[kChannels];
+
+  /**
+   * Generates a noisy signal with occasional outliers and constructs the filters.
+   */
+  @Setup
+  public void setup() {
+    var random = new Random(1234);
+    for (int i = 0; i < kSignalLength; i++) {
+      m_signal[i] = Math.sin(i * 0.01) + 0.1 * random.nextGaussian()
+          + (random.nextInt(50) == 0 ? 5.0 : 0.0);
+      m_jitteredPeriods[i] = (20000 + random.nextInt(2000)) / 1e6;
+    }
+
+    m_singlePoleIIR = LinearFilter.singlePoleIIR(0.1, 0.02);
+    m_highPass = LinearFilter.highPass(0.1, 0.02);
+    m_timestampedSinglePoleIIR = TimestampedLinearFilter.singlePoleIIR(0.1);
+    m_movingAverage = LinearFilter.movingAverage(25);
+    m_median5 = new MedianFilter(5);
+    m_median25 = new MedianFilter(25);
+    m_median50 = new MedianFilter(50);
+    for (int i = 0; i < kChannels; i++) {
+      m_channelFilters[i] = LinearFilter.movingAverage(5);
+    }
+    m_multiChannelFilter = MultiChannelLinearFilter.movingAverage(5, kChannels);
+
+    for (int i = 0; i < kSignalLength; i++) {
+      m_channelSignal[i / kChannels][i % kChannels] = m_signal[i];
+    }
+  }
+
+  private double next() {
+    m_index = (m_index + 1) % kSignalLength;
+    return m_signal[m_index];
+  }
+
+  private double[] nextChannelInputs() {
+    m_index = (m_index + 1) % m_channelSignal.length;
+    return m_channelSignal[m_index];
+  }
+
+  @Benchmark
+  public double singlePoleIIR() {
+    return m_singlePoleIIR.calculate(next());
+  }
+
+  @Benchmark
+  public double timestampedSinglePoleIIR() {
+    m_timestamp += 0.02;
+    return m_timestampedSinglePoleIIR.calculate(next(), m_timestamp);
+  }
+
+  @Benchmark
+  public double timestampedSinglePoleIIRJittered() {
+    m_timestamp += m_jitteredPeriods[m_index];
+    return m_timestampedSinglePoleIIR.calculate(next(), m_timestamp);
+  }
+
+  @Benchmark
+  public double highPass() {
+    return m_highPass.calculate(next());
+  }
+
+  @Benchmark
+  public double movingAverage25() {
+    return m_movingAverage.calculate(next());
+  }
+
+  @Benchmark
+  public double median5() {
+    return m_median5.calculate(next());
+  }
+
+  @Benchmark
+  public double median25() {
+    return m_median25.calculate(next());
+  }
+
+  @Benchmark
+  public double median50() {
+    return m_median50.calculate(next());
+  }
+
+  /**
+   * Filters one sample per channel with a separate LinearFilter for each channel.
+   */
+  @Benchmark
+  public void movingAverage5SeparateChannels(Blackhole blackhole) {
+    double[] inputs = nextChannelInputs();
+    for (int i = 0; i < kChannels; i++) {
+      m_channelOutputs[i] = m_channelFilters[i].calculate(inputs[i]);
+    }
+    blackhole.consume(m_channelOutputs);
+  }
+
+  /**
+   * Filters the same samples as {@link #movingAverage5SeparateChannels(Blackhole)} with one
+   * MultiChannelLinearFilter.
+   */
+  @Benchmark
+  public void movingAverage5MultiChannel(Blackhole blackhole) {
+    m_multiChannelFilter.calculate(nextChannelInputs(), m_channelOutputs);
+    blackhole.consume(m_channelOutputs);
+  }
+
+  /**
+   * Filters the whole signal one sample at a time.
+   */
+  @Benchmark
+  public double highPassSignalStepwise() {
+    m_highPass.reset();
+    double sum = 0.0;
+    for (double value : m_signal) {
+      sum += m_highPass.calculate(value);
+    }
+    return sum;
+  }
+
+  /**
+   * Filters the whole signal at once, as {@link #highPassSignalStepwise()} does one sample at a
+   * time.
+   */
+  @Benchmark
+  public double[] highPassSignalOffline() {
+    return m_highPass.filter(m_signal);
+  }
+}
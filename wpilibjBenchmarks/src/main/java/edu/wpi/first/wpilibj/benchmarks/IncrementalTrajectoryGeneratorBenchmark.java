@@ -0,0 +1,80 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.trajectory.IncrementalTrajectoryGenerator;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+
+/**
+ * Benchmarks replanning a 10-waypoint path whose final pose moves every iteration, as when
+ * chasing a moving target, with and without reusing the previous generation's work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IncrementalTrajectoryGeneratorBenchmark {
+  private List<Pose2d> m_waypoints;
+  private Pose2d m_end;
+  private TrajectoryConfig m_config;
+  private IncrementalTrajectoryGenerator m_generator;
+  private int m_iteration;
+
+  /**
+   * Builds the path, config and incremental generator.
+   */
+  @Setup
+  public void setup() {
+    m_waypoints = new ArrayList<>(Paths.weavingPath(10));
+    m_end = m_waypoints.get(m_waypoints.size() - 1);
+    m_config = new TrajectoryConfig(3.5, 3.0)
+        .setKinematics(new DifferentialDriveKinematics(0.7))
+        .addConstraint(new CentripetalAccelerationConstraint(2.5));
+    m_generator = new IncrementalTrajectoryGenerator(m_config);
+  }
+
+  private List<Pose2d> moveEnd() {
+    m_iteration = (m_iteration + 1) % 64;
+    m_waypoints.set(m_waypoints.size() - 1, new Pose2d(m_end.getTranslation().getX(),
+        m_end.getTranslation().getY() + 0.01 * m_iteration, new Rotation2d()));
+    return m_waypoints;
+  }
+
+  @Benchmark
+  public Trajectory fullRegeneration() {
+    return TrajectoryGenerator.generateTrajectory(moveEnd(), m_config);
+  }
+
+  @Benchmark
+  public Trajectory incrementalRegeneration() {
+    return m_generator.generate(moveEnd());
+  }
+}
@@ -0,0 +1,128 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.simple.SimpleMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpiutil.math.Matrix;
+import edu.wpi.first.wpiutil.math.Num;
+import edu.wpi.first.wpiutil.math.numbers.N1;
+import edu.wpi.first.wpiutil.math.numbers.N3;
+import edu.wpi.first.wpiutil.math.numbers.N6;
+
+/**
+ * Benchmarks the allocating and in-place matrix operations at the sizes of a state-space model,
+ * including the covariance prediction step of a Kalman filter, P = A P A^T + Q.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatrixBenchmark {
+  private Matrix<N3, N3> m_a3;
+  private Matrix<N3, N3> m_b3;
+  private Matrix<N3, N3> m_out3;
+
+  private Matrix<N6, N6> m_a6;
+  private Matrix<N6, N6> m_p6;
+  private Matrix<N6, N6> m_q6;
+  private Matrix<N6, N1> m_x6;
+  private Matrix<N6, N6> m_out6;
+  private Matrix<N6, N6> m_transpose6;
+  private Matrix<N6, N6> m_ap6;
+  private Matrix<N6, N1> m_outVector6;
+
+  /**
+   * Constructs random matrices and the matrices the in-place operations write to.
+   */
+  @Setup
+  public void setup() {
+    var random = new Random(16);
+    m_a3 = randomMatrix(random, 3, 3);
+    m_b3 = randomMatrix(random, 3, 3);
+    m_out3 = new Matrix<>(new SimpleMatrix(3, 3));
+
+    m_a6 = randomMatrix(random, 6, 6);
+    m_p6 = randomMatrix(random, 6, 6);
+    m_q6 = randomMatrix(random, 6, 6);
+    m_x6 = randomMatrix(random, 6, 1);
+    m_out6 = new Matrix<>(new SimpleMatrix(6, 6));
+    m_transpose6 = new Matrix<>(new SimpleMatrix(6, 6));
+    m_ap6 = new Matrix<>(new SimpleMatrix(6, 6));
+    m_outVector6 = new Matrix<>(new SimpleMatrix(6, 1));
+  }
+
+  private static <R extends Num, C extends Num> Matrix<R, C> randomMatrix(Random random, int rows,
+                                                                        int cols) {
+    return new Matrix<>(SimpleMatrix.wrap(
+        RandomMatrices_DDRM.rectangle(rows, cols, -1.0, 1.0, random)));
+  }
+
+  @Benchmark
+  public Matrix<N3, N3> times3x3() {
+    return m_a3.times(m_b3);
+  }
+
+  @Benchmark
+  public Matrix<N3, N3> timesInPlace3x3() {
+    return m_a3.timesInPlace(m_b3, m_out3);
+  }
+
+  @Benchmark
+  public Matrix<N6, N6> times6x6() {
+    return m_a6.times(m_p6);
+  }
+
+  @Benchmark
+  public Matrix<N6, N6> timesInPlace6x6() {
+    return m_a6.timesInPlace(m_p6, m_out6);
+  }
+
+  @Benchmark
+  public Matrix<N6, N1> times6x1() {
+    return m_a6.times(m_x6);
+  }
+
+  @Benchmark
+  public Matrix<N6, N1> timesInPlace6x1() {
+    return m_a6.timesInPlace(m_x6, m_outVector6);
+  }
+
+  @Benchmark
+  public Matrix<N6, N6> predictCovariance() {
+    return m_a6.times(m_p6).times(m_a6.transpose()).plus(m_q6);
+  }
+
+  /**
+   * Computes the same covariance prediction as {@link #predictCovariance()} into preallocated
+   * matrices.
+   */
+  @Benchmark
+  public Matrix<N6, N6> predictCovarianceInPlace() {
+    m_a6.transposeInPlace(m_transpose6);
+    m_a6.timesInPlace(m_p6, m_ap6);
+    m_ap6.timesInPlace(m_transpose6, m_out6);
+    return m_out6.plusInPlace(m_q6, m_out6);
+  }
+}
@@ -0,0 +1,96 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.controller.RamseteController;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveOdometry;
+import edu.wpi.first.wpilibj.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.SwerveDriveOdometry;
+import edu.wpi.first.wpilibj.kinematics.SwerveModuleState;
+
+/**
+ * Benchmarks a single odometry update and Ramsete calculation, as run once per control loop
+ * iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OdometryBenchmark {
+  private DifferentialDriveOdometry m_differentialOdometry;
+  private SwerveDriveOdometry m_swerveOdometry;
+  private SwerveModuleState[] m_moduleStates;
+  private RamseteController m_ramsete;
+  private Pose2d m_reference;
+  private double m_time;
+  private double m_distance;
+
+  /**
+   * Builds odometry for a differential drive and a 4-module swerve drive.
+   */
+  @Setup
+  public void setup() {
+    m_differentialOdometry = new DifferentialDriveOdometry(new Rotation2d());
+    m_swerveOdometry = new SwerveDriveOdometry(new SwerveDriveKinematics(
+        new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3),
+        new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3)), new Rotation2d());
+    m_moduleStates = new SwerveModuleState[] {
+        new SwerveModuleState(2.1, Rotation2d.fromDegrees(10.0)),
+        new SwerveModuleState(2.3, Rotation2d.fromDegrees(12.0)),
+        new SwerveModuleState(1.9, Rotation2d.fromDegrees(8.0)),
+        new SwerveModuleState(2.0, Rotation2d.fromDegrees(11.0))
+    };
+    m_ramsete = new RamseteController();
+    m_reference = new Pose2d(1.0, 0.5, Rotation2d.fromDegrees(20.0));
+  }
+
+  /**
+   * Advances the differential drive odometry by one loop period.
+   */
+  @Benchmark
+  public Pose2d differentialDriveUpdate() {
+    m_time += 0.02;
+    m_distance += 0.04;
+    return m_differentialOdometry.updateWithTime(m_time, Rotation2d.fromDegrees(15.0),
+        m_distance, m_distance * 1.01);
+  }
+
+  /**
+   * Advances the swerve drive odometry by one loop period.
+   */
+  @Benchmark
+  public Pose2d swerveDriveUpdate() {
+    m_time += 0.02;
+    return m_swerveOdometry.updateWithTime(m_time, Rotation2d.fromDegrees(15.0),
+        m_moduleStates);
+  }
+
+  @Benchmark
+  public ChassisSpeeds ramsete() {
+    return m_ramsete.calculate(m_swerveOdometry.getPoseMeters(), m_reference, 2.0, 0.5);
+  }
+}
@@ -0,0 +1,114 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.wpi.first.wpilibj.controller.PIDController;
+import edu.wpi.first.wpilibj.controller.PIDControllerBank;
+
+/**
+ * Benchmarks one loop iteration of a robot's worth of PID controllers, as separate controllers
+ * and as a bank. Half of the controllers have continuous input, like swerve steering.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PIDControllerBankBenchmark {
+  private static final int kChannels = 12;
+  private static final int kSteps = 1024;
+
+  private final double[][] m_measurements = new double[kSteps][kChannels];
+  private final double[] m_setpoints = new double[kChannels];
+  private final double[] m_outputs = new double[kChannels];
+  private int m_step;
+
+  private final PIDController[] m_controllers = new PIDController[kChannels];
+  private PIDControllerBank m_bank;
+
+  /**
+   * Generates measurements and constructs the controllers.
+   */
+  @Setup
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  public void setup() {
+    var random = new Random(18);
+    for (double[] measurements : m_measurements) {
+      for (int i = 0; i < kChannels; i++) {
+        measurements[i] = random.nextGaussian();
+      }
+    }
+    for (int i = 0; i < kChannels; i++) {
+      m_setpoints[i] = random.nextGaussian();
+    }
+
+    m_bank = new PIDControllerBank(kChannels);
+    for (int i = 0; i < kChannels; i++) {
+      m_controllers[i] = new PIDController(1.0, 0.1, 0.01);
+      m_bank.setPID(i, 1.0, 0.1, 0.01);
+      if (i % 2 == 0) {
+        m_controllers[i].enableContinuousInput(-Math.PI, Math.PI);
+        m_bank.enableContinuousInput(i, -Math.PI, Math.PI);
+      }
+    }
+  }
+
+  /**
+   * Unregisters the controllers.
+   */
+  @TearDown
+  public void tearDown() {
+    for (PIDController controller : m_controllers) {
+      controller.close();
+    }
+    m_bank.close();
+  }
+
+  private double[] nextMeasurements() {
+    m_step = (m_step + 1) % kSteps;
+    return m_measurements[m_step];
+  }
+
+  /**
+   * Runs one iteration of a separate PIDController per channel.
+   */
+  @Benchmark
+  public void separateControllers(Blackhole blackhole) {
+    double[] measurements = nextMeasurements();
+    for (int i = 0; i < kChannels; i++) {
+      m_outputs[i] = m_controllers[i].calculate(measurements[i], m_setpoints[i]);
+    }
+    blackhole.consume(m_outputs);
+  }
+
+  /**
+   * Runs the same iteration as {@link #separateControllers()} with one PIDControllerBank.
+   */
+  @Benchmark
+  public void bank(Blackhole blackhole) {
+    m_bank.calculate(nextMeasurements(), m_setpoints, m_outputs);
+    blackhole.consume(m_outputs);
+  }
+}
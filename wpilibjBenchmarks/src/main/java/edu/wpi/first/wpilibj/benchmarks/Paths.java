@@ -0,0 +1,41 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+/**
+ * Deterministic waypoint sets shared by the trajectory benchmarks.
+ */
+final class Paths {
+  private Paths() {
+  }
+
+  /**
+   * Returns a path that weaves left and right while moving down the field, roughly the shape of a
+   * slalom or a multi-ball pickup route.
+   *
+   * @param numWaypoints The number of waypoints in the path.
+   * @return The waypoints.
+   */
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  static List<Pose2d> weavingPath(int numWaypoints) {
+    var waypoints = new ArrayList<Pose2d>(numWaypoints);
+    for (int i = 0; i < numWaypoints; i++) {
+      double distanceMeters = 1.5 * i;
+      double offsetMeters = (i % 2 == 0) ? 0.0 : 1.2;
+      double heading = (i == 0 || i == numWaypoints - 1) ? 0.0 : (i % 2 == 0 ? -30.0 : 30.0);
+      waypoints.add(new Pose2d(distanceMeters, offsetMeters, Rotation2d.fromDegrees(heading)));
+    }
+    return waypoints;
+  }
+}
@@ -0,0 +1,130 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.controller.PIDController;
+import edu.wpi.first.wpilibj.controller.RamseteController;
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveWheelSpeeds;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import edu.wpi.first.wpilibj2.command.RamseteCommand;
+
+/**
+ * Benchmarks one iteration of following a trajectory with a Ramsete controller, from sampling the
+ * trajectory to the wheel speeds, with the allocating and the allocation-free overloads, and one
+ * iteration of a RamseteCommand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RamseteBenchmark {
+  private static final double kPeriod = 0.02;
+
+  private Trajectory m_trajectory;
+  private Trajectory.Sampler m_sampler;
+  private double m_time;
+
+  private final RamseteController m_controller = new RamseteController();
+  private final DifferentialDriveKinematics m_kinematics = new DifferentialDriveKinematics(0.7);
+  private final Pose2d m_pose = new Pose2d(1.0, 0.1, Rotation2d.fromDegrees(5.0));
+  private final Trajectory.MutableState m_state = new Trajectory.MutableState();
+  private final ChassisSpeeds m_chassisSpeeds = new ChassisSpeeds();
+  private final DifferentialDriveWheelSpeeds m_wheelSpeeds = new DifferentialDriveWheelSpeeds();
+
+  private PIDController m_leftController;
+  private PIDController m_rightController;
+  private RamseteCommand m_command;
+  private double m_leftVolts;
+  private double m_rightVolts;
+
+  /**
+   * Generates the trajectory and constructs the command.
+   */
+  @Setup
+  public void setup() {
+    m_trajectory = TrajectoryGenerator.generateTrajectory(
+        List.of(new Pose2d(), new Pose2d(5.0, 2.0, Rotation2d.fromDegrees(45.0)),
+            new Pose2d(8.0, 5.0, Rotation2d.fromDegrees(90.0))),
+        new TrajectoryConfig(3.0, 2.0));
+    m_sampler = m_trajectory.sampler();
+
+    m_leftController = new PIDController(1.0, 0.0, 0.0);
+    m_rightController = new PIDController(1.0, 0.0, 0.0);
+    m_command = new RamseteCommand(m_trajectory, () -> m_pose, m_controller,
+        new SimpleMotorFeedforward(0.2, 2.5, 0.3), m_kinematics,
+        () -> m_wheelSpeeds, m_leftController, m_rightController,
+        (left, right) -> {
+          m_leftVolts = left;
+          m_rightVolts = right;
+        });
+    m_command.initialize();
+  }
+
+  /**
+   * Unregisters the controllers.
+   */
+  @TearDown
+  public void tearDown() {
+    m_leftController.close();
+    m_rightController.close();
+  }
+
+  private double nextTime() {
+    m_time += kPeriod;
+    if (m_time > m_trajectory.getTotalTimeSeconds()) {
+      m_time = 0.0;
+      m_sampler.reset();
+    }
+    return m_time;
+  }
+
+  @Benchmark
+  public DifferentialDriveWheelSpeeds allocating() {
+    return m_kinematics.toWheelSpeeds(m_controller.calculate(m_pose, m_sampler.sample(nextTime())));
+  }
+
+  /**
+   * Computes the same wheel speeds as {@link #allocating()} into preallocated objects.
+   */
+  @Benchmark
+  public DifferentialDriveWheelSpeeds allocationFree() {
+    m_controller.calculate(m_pose, m_sampler.sample(nextTime(), m_state), m_chassisSpeeds);
+    return m_kinematics.toWheelSpeeds(m_chassisSpeeds.vxMetersPerSecond,
+        m_chassisSpeeds.omegaRadiansPerSecond, m_wheelSpeeds);
+  }
+
+  @Benchmark
+  public double command() {
+    m_command.execute();
+    return m_leftVolts + m_rightVolts;
+  }
+}
@@ -0,0 +1,89 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Subsystem;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+
+/**
+ * Samples the time of scheduler iterations with a robot's worth of slow telemetry subsystems, run
+ * on every iteration, on every fifth iteration all in the same phase, and on every fifth iteration
+ * with phases the scheduler balances.  The percentiles show how evenly the work is spread.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SchedulerRateBenchmark {
+  private static final int kSubsystems = 10;
+  private static final int kDivisor = 5;
+  private static final long kWorkTokens = 2000;
+
+  @Param({"everyIteration", "samePhase", "balanced"})
+  public String m_rate;
+
+  private CommandScheduler m_scheduler;
+  private final Subsystem[] m_subsystems = new Subsystem[kSubsystems];
+
+  private static class TelemetrySubsystem extends SubsystemBase {
+    @Override
+    public void periodic() {
+      Blackhole.consumeCPU(kWorkTokens);
+    }
+  }
+
+  /**
+   * Registers the subsystems at the benchmarked rate.
+   */
+  @Setup
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  public void setup() {
+    m_scheduler = CommandScheduler.getInstance();
+    for (int i = 0; i < kSubsystems; i++) {
+      m_subsystems[i] = new TelemetrySubsystem();
+      if ("samePhase".equals(m_rate)) {
+        m_scheduler.setSubsystemRate(m_subsystems[i], kDivisor, 0);
+      } else if ("balanced".equals(m_rate)) {
+        m_scheduler.setSubsystemRate(m_subsystems[i], kDivisor);
+      }
+    }
+  }
+
+  /**
+   * Unregisters the subsystems.
+   */
+  @TearDown
+  public void tearDown() {
+    m_scheduler.unregisterSubsystem(m_subsystems);
+  }
+
+  @Benchmark
+  public CommandScheduler run() {
+    m_scheduler.run();
+    return m_scheduler;
+  }
+}
@@ -0,0 +1,118 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.SwerveModuleState;
+
+/**
+ * Benchmarks a single 4-module swerve update, as run once per control loop iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SwerveDriveKinematicsBenchmark {
+  private SwerveDriveKinematics m_kinematics;
+  private ChassisSpeeds m_speeds;
+  private Translation2d m_centerOfRotation;
+  private SwerveModuleState[] m_moduleStates;
+  private final double[] m_moduleSpeeds = new double[4];
+  private final double[] m_moduleAngles = new double[4];
+  private final double[] m_measuredSpeeds = {2.1, 2.3, 1.9, 2.0};
+  private final double[] m_measuredAngles = new double[4];
+  private final double[] m_chassisSpeeds = new double[3];
+
+  /**
+   * Builds a 4-module kinematics object for a 24" square chassis.
+   */
+  @Setup
+  public void setup() {
+    m_kinematics = new SwerveDriveKinematics(
+        new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3),
+        new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3));
+    m_speeds = new ChassisSpeeds(2.0, 1.0, 1.5);
+    m_centerOfRotation = new Translation2d(0.3, 0.3);
+    m_moduleStates = new SwerveModuleState[] {
+        new SwerveModuleState(2.1, Rotation2d.fromDegrees(10.0)),
+        new SwerveModuleState(2.3, Rotation2d.fromDegrees(12.0)),
+        new SwerveModuleState(1.9, Rotation2d.fromDegrees(8.0)),
+        new SwerveModuleState(2.0, Rotation2d.fromDegrees(11.0))
+    };
+    for (int i = 0; i < m_moduleStates.length; i++) {
+      m_measuredAngles[i] = m_moduleStates[i].angle.getRadians();
+    }
+  }
+
+  @Benchmark
+  public SwerveModuleState[] toSwerveModuleStates() {
+    return m_kinematics.toSwerveModuleStates(m_speeds);
+  }
+
+  @Benchmark
+  public SwerveModuleState[] toSwerveModuleStatesOffCenter() {
+    return m_kinematics.toSwerveModuleStates(m_speeds, m_centerOfRotation);
+  }
+
+  @Benchmark
+  public ChassisSpeeds toChassisSpeeds() {
+    return m_kinematics.toChassisSpeeds(m_moduleStates);
+  }
+
+  /**
+   * Computes the same module states as {@link #toSwerveModuleStates()} into primitive arrays.
+   */
+  @Benchmark
+  public void toSwerveModuleStatesPrimitive(Blackhole blackhole) {
+    m_kinematics.toSwerveModuleStates(m_speeds.vxMetersPerSecond, m_speeds.vyMetersPerSecond,
+        m_speeds.omegaRadiansPerSecond, m_moduleSpeeds, m_moduleAngles);
+    blackhole.consume(m_moduleSpeeds);
+    blackhole.consume(m_moduleAngles);
+  }
+
+  /**
+   * Computes the same module states as {@link #toSwerveModuleStatesOffCenter()} into primitive
+   * arrays.
+   */
+  @Benchmark
+  public void toSwerveModuleStatesPrimitiveOffCenter(Blackhole blackhole) {
+    m_kinematics.toSwerveModuleStates(m_speeds.vxMetersPerSecond, m_speeds.vyMetersPerSecond,
+        m_speeds.omegaRadiansPerSecond, m_centerOfRotation.getX(), m_centerOfRotation.getY(),
+        m_moduleSpeeds, m_moduleAngles);
+    blackhole.consume(m_moduleSpeeds);
+    blackhole.consume(m_moduleAngles);
+  }
+
+  /**
+   * Computes the same chassis speeds as {@link #toChassisSpeeds()} from primitive arrays.
+   */
+  @Benchmark
+  public void toChassisSpeedsPrimitive(Blackhole blackhole) {
+    m_kinematics.toChassisSpeeds(m_measuredSpeeds, m_measuredAngles, m_chassisSpeeds);
+    blackhole.consume(m_chassisSpeeds);
+  }
+}
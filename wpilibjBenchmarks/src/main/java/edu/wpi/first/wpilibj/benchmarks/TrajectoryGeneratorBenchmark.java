@@ -0,0 +1,107 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+
+/**
+ * Benchmarks end-to-end trajectory generation (spline fitting, spline parameterization and time
+ * parameterization) for paths typical of an autonomous routine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrajectoryGeneratorBenchmark {
+  private List<Pose2d> m_quinticWaypoints;
+  private Pose2d m_cubicStart;
+  private List<Translation2d> m_cubicInteriorWaypoints;
+  private Pose2d m_cubicEnd;
+  private TrajectoryConfig m_config;
+  private TrajectoryConfig m_parallelConfig;
+  private List<List<Pose2d>> m_batchWaypoints;
+
+  /**
+   * Builds a 10-waypoint weaving path and a drivetrain-constrained config.
+   */
+  @Setup
+  public void setup() {
+    m_quinticWaypoints = Paths.weavingPath(10);
+
+    m_cubicStart = m_quinticWaypoints.get(0);
+    m_cubicEnd = m_quinticWaypoints.get(m_quinticWaypoints.size() - 1);
+    m_cubicInteriorWaypoints = new ArrayList<>();
+    for (int i = 1; i < m_quinticWaypoints.size() - 1; i++) {
+      m_cubicInteriorWaypoints.add(m_quinticWaypoints.get(i).getTranslation());
+    }
+
+    m_config = new TrajectoryConfig(3.5, 3.0)
+        .setKinematics(new DifferentialDriveKinematics(0.7))
+        .addConstraint(new CentripetalAccelerationConstraint(2.5));
+    m_parallelConfig = new TrajectoryConfig(3.5, 3.0)
+        .setKinematics(new DifferentialDriveKinematics(0.7))
+        .addConstraint(new CentripetalAccelerationConstraint(2.5))
+        .setParallelSplineParameterization(true);
+
+    m_batchWaypoints = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      m_batchWaypoints.add(m_quinticWaypoints);
+    }
+  }
+
+  @Benchmark
+  public Trajectory quinticTenWaypoints() {
+    return TrajectoryGenerator.generateTrajectory(m_quinticWaypoints, m_config);
+  }
+
+  @Benchmark
+  public Trajectory quinticTenWaypointsParallel() {
+    return TrajectoryGenerator.generateTrajectory(m_quinticWaypoints, m_parallelConfig);
+  }
+
+  @Benchmark
+  public List<Trajectory> quinticTenWaypointsBatchOfEight() {
+    return TrajectoryGenerator.generateTrajectories(m_batchWaypoints, m_config);
+  }
+
+  @Benchmark
+  public Trajectory clampedCubicTenWaypoints() {
+    return TrajectoryGenerator.generateTrajectory(m_cubicStart, m_cubicInteriorWaypoints,
+        m_cubicEnd, m_config);
+  }
+
+  @Benchmark
+  public Trajectory quinticTwoWaypoints() {
+    return TrajectoryGenerator.generateTrajectory(
+        List.of(new Pose2d(), new Pose2d(4.0, 2.0, Rotation2d.fromDegrees(45.0))), m_config);
+  }
+}
@@ -0,0 +1,84 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryUtil;
+
+/**
+ * Benchmarks loading a deployed trajectory from PathWeaver-style JSON and from the binary format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrajectoryLoadBenchmark {
+  private Path m_directory;
+  private Path m_json;
+  private Path m_binary;
+
+  /**
+   * Writes a 10-waypoint trajectory to a temporary directory in both formats.
+   *
+   * @throws IOException if writing the files fails
+   */
+  @Setup
+  public void setup() throws IOException {
+    m_directory = Files.createTempDirectory("trajectory-benchmark");
+    m_json = m_directory.resolve("path.wpilib.json");
+    m_binary = m_directory.resolve("path.wtraj");
+
+    Trajectory trajectory = TrajectoryGenerator.generateTrajectory(Paths.weavingPath(10),
+        new TrajectoryConfig(3.5, 3.0));
+    TrajectoryUtil.toPathweaverJson(trajectory, m_json);
+    TrajectoryUtil.toBinary(trajectory, m_binary);
+  }
+
+  /**
+   * Deletes the temporary files.
+   *
+   * @throws IOException if deleting the files fails
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(m_json);
+    Files.deleteIfExists(m_binary);
+    Files.deleteIfExists(m_directory);
+  }
+
+  @Benchmark
+  public Trajectory fromPathweaverJson() throws IOException {
+    return TrajectoryUtil.fromPathweaverJson(m_json);
+  }
+
+  @Benchmark
+  public Trajectory fromBinary() throws IOException {
+    return TrajectoryUtil.fromBinary(m_binary);
+  }
+}
@@ -0,0 +1,95 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvatureBuffer;
+import edu.wpi.first.wpilibj.spline.Spline;
+import edu.wpi.first.wpilibj.spline.SplineHelper;
+import edu.wpi.first.wpilibj.spline.SplineParameterizer;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryParameterizer;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveKinematicsConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveVoltageConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+/**
+ * Benchmarks the spline and time parameterization stages of trajectory generation in isolation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrajectoryParameterizerBenchmark {
+  private Spline[] m_splines;
+  private List<PoseWithCurvature> m_points;
+  private List<TrajectoryConstraint> m_constraints;
+  private final SplineParameterizer.Workspace m_workspace = new SplineParameterizer.Workspace();
+  private final PoseWithCurvatureBuffer m_buffer = new PoseWithCurvatureBuffer();
+
+  /**
+   * Fits and parameterizes a 10-waypoint quintic path once so that each benchmark measures only
+   * its own stage.
+   */
+  @Setup
+  public void setup() {
+    var kinematics = new DifferentialDriveKinematics(0.7);
+    m_splines = SplineHelper.getQuinticSplinesFromControlVectors(
+        SplineHelper.getQuinticControlVectorsFromWaypoints(Paths.weavingPath(10))
+            .toArray(new Spline.ControlVector[0]));
+    m_points = TrajectoryGenerator.splinePointsFromSplines(m_splines);
+    m_constraints = List.of(
+        new DifferentialDriveKinematicsConstraint(kinematics, 3.5),
+        new DifferentialDriveVoltageConstraint(new SimpleMotorFeedforward(0.2, 2.5, 0.3),
+            kinematics, 10.0),
+        new CentripetalAccelerationConstraint(2.5));
+  }
+
+  @Benchmark
+  public List<PoseWithCurvature> splineParameterize() {
+    return TrajectoryGenerator.splinePointsFromSplines(m_splines);
+  }
+
+  /**
+   * Parameterizes the same splines as {@link #splineParameterize()} into a reused buffer.
+   */
+  @Benchmark
+  public PoseWithCurvatureBuffer splineParameterizeIntoBuffer() {
+    m_buffer.clear();
+    for (var spline : m_splines) {
+      SplineParameterizer.parameterize(spline, m_workspace, m_buffer);
+    }
+    return m_buffer;
+  }
+
+  @Benchmark
+  public Trajectory timeParameterize() {
+    return TrajectoryParameterizer.timeParameterizeTrajectory(m_points, m_constraints,
+        0.0, 0.0, 3.5, 3.0, false);
+  }
+}
@@ -0,0 +1,75 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+
+/**
+ * Benchmarks sampling a trajectory once per 20 ms control loop iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrajectorySampleBenchmark {
+  private Trajectory m_trajectory;
+  private Trajectory.Sampler m_sampler;
+  private final Trajectory.MutableState m_state = new Trajectory.MutableState();
+  private double m_time;
+
+  /**
+   * Generates a 10-waypoint quintic trajectory to sample from.
+   */
+  @Setup
+  public void setup() {
+    m_trajectory = TrajectoryGenerator.generateTrajectory(Paths.weavingPath(10),
+        new TrajectoryConfig(3.5, 3.0));
+    m_sampler = m_trajectory.sampler();
+  }
+
+  private double nextTime() {
+    m_time += 0.02;
+    if (m_time > m_trajectory.getTotalTimeSeconds()) {
+      m_time = 0.0;
+      m_sampler.reset();
+    }
+    return m_time;
+  }
+
+  @Benchmark
+  public Trajectory.State sample() {
+    return m_trajectory.sample(nextTime());
+  }
+
+  @Benchmark
+  public Trajectory.MutableState sampleInto() {
+    return m_trajectory.sample(nextTime(), m_state);
+  }
+
+  @Benchmark
+  public Trajectory.MutableState samplerSampleInto() {
+    return m_sampler.sample(nextTime(), m_state);
+  }
+}
@@ -0,0 +1,88 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.controller.ProfiledPIDController;
+import edu.wpi.first.wpilibj.trajectory.TrapezoidProfile;
+
+/**
+ * Benchmarks sampling a trapezoid profile and one iteration of a ProfiledPIDController moving
+ * back and forth between two goals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrapezoidProfileBenchmark {
+  private static final double kPeriod = 0.02;
+  // Enough iterations for the controller to settle at each goal
+  private static final int kIterationsPerGoal = 500;
+
+  private TrapezoidProfile m_profile;
+  private final TrapezoidProfile.State m_state = new TrapezoidProfile.State();
+  private double m_time;
+
+  private ProfiledPIDController m_controller;
+  private final TrapezoidProfile.State m_goal = new TrapezoidProfile.State();
+  private int m_iteration;
+
+  /**
+   * Constructs the profile and controller.
+   */
+  @Setup
+  public void setup() {
+    var constraints = new TrapezoidProfile.Constraints(1.75, 0.75);
+    m_profile = new TrapezoidProfile(constraints, new TrapezoidProfile.State(3.0, 0.0));
+    m_controller = new ProfiledPIDController(1.0, 0.0, 0.0, constraints, kPeriod);
+    m_controller.reset(0.0);
+  }
+
+  private double nextTime() {
+    m_time += kPeriod;
+    if (m_time > m_profile.totalTime()) {
+      m_time = 0.0;
+    }
+    return m_time;
+  }
+
+  @Benchmark
+  public TrapezoidProfile.State calculate() {
+    return m_profile.calculate(nextTime());
+  }
+
+  @Benchmark
+  public TrapezoidProfile.State sample() {
+    return m_profile.sample(nextTime(), m_state);
+  }
+
+  /**
+   * Runs one iteration of the controller, switching the goal every {@link #kIterationsPerGoal}
+   * iterations so that the profile is regenerated.
+   */
+  @Benchmark
+  public double profiledPIDController() {
+    m_iteration = (m_iteration + 1) % (2 * kIterationsPerGoal);
+    m_goal.position = m_iteration < kIterationsPerGoal ? 3.0 : 0.0;
+    return m_controller.calculate(0.0, m_goal);
+  }
+}
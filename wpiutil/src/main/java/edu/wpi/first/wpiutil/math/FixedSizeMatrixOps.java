@@ -0,0 +1,248 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2020 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpiutil.math;
+
+import org.ejml.data.DMatrixRMaj;
+
+/**
+ * Unrolled matrix multiplication for the small sizes that state-space models use: an NxN matrix
+ * times another NxN matrix or an Nx1 vector, for N from 2 to 6. The kernels work directly on the
+ * row-major data of the matrices, and sum the products in the same order as
+ * {@link org.ejml.dense.row.CommonOps_DDRM#mult}, so their results are identical to its.
+ */
+@SuppressWarnings({"ParameterName", "PMD.TooManyMethods", "PMD.ExcessiveMethodLength"})
+final class FixedSizeMatrixOps {
+  private FixedSizeMatrixOps() {
+    throw new AssertionError("utility class");
+  }
+
+  /**
+   * Computes c = a * b with an unrolled kernel if there is one for the matrices' sizes.
+   *
+   * @param a The left matrix.
+   * @param b The right matrix.
+   * @param c The matrix to store the result in. This can't be a or b.
+   * @return Whether there was a kernel for the sizes. If not, c is unchanged.
+   */
+  @SuppressWarnings("PMD.CyclomaticComplexity")
+  static boolean mult(DMatrixRMaj a, DMatrixRMaj b, DMatrixRMaj c) {
+    final int n = a.numRows;
+    if (a.numCols != n || b.numRows != n || c.numRows != n || c.numCols != b.numCols) {
+      return false;
+    }
+
+    if (b.numCols == n) {
+      switch (n) {
+        case 2:
+          mult2x2(a.data, b.data, c.data);
+          return true;
+        case 3:
+          mult3x3(a.data, b.data, c.data);
+          return true;
+        case 4:
+          mult4x4(a.data, b.data, c.data);
+          return true;
+        case 5:
+          mult5x5(a.data, b.data, c.data);
+          return true;
+        case 6:
+          mult6x6(a.data, b.data, c.data);
+          return true;
+        default:
+          return false;
+      }
+    } else if (b.numCols == 1) {
+      switch (n) {
+        case 2:
+          mult2x1(a.data, b.data, c.data);
+          return true;
+        case 3:
+          mult3x1(a.data, b.data, c.data);
+          return true;
+        case 4:
+          mult4x1(a.data, b.data, c.data);
+          return true;
+        case 5:
+          mult5x1(a.data, b.data, c.data);
+          return true;
+        case 6:
+          mult6x1(a.data, b.data, c.data);
+          return true;
+        default:
+          return false;
+      }
+    }
+    return false;
+  }
+
+  private static void mult2x2(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[2];
+    c[1] = a[0] * b[1] + a[1] * b[3];
+    c[2] = a[2] * b[0] + a[3] * b[2];
+    c[3] = a[2] * b[1] + a[3] * b[3];
+  }
+
+  private static void mult3x3(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[3] + a[2] * b[6];
+    c[1] = a[0] * b[1] + a[1] * b[4] + a[2] * b[7];
+    c[2] = a[0] * b[2] + a[1] * b[5] + a[2] * b[8];
+    c[3] = a[3] * b[0] + a[4] * b[3] + a[5] * b[6];
+    c[4] = a[3] * b[1] + a[4] * b[4] + a[5] * b[7];
+    c[5] = a[3] * b[2] + a[4] * b[5] + a[5] * b[8];
+    c[6] = a[6] * b[0] + a[7] * b[3] + a[8] * b[6];
+    c[7] = a[6] * b[1] + a[7] * b[4] + a[8] * b[7];
+    c[8] = a[6] * b[2] + a[7] * b[5] + a[8] * b[8];
+  }
+
+  private static void mult4x4(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[4] + a[2] * b[8] + a[3] * b[12];
+    c[1] = a[0] * b[1] + a[1] * b[5] + a[2] * b[9] + a[3] * b[13];
+    c[2] = a[0] * b[2] + a[1] * b[6] + a[2] * b[10] + a[3] * b[14];
+    c[3] = a[0] * b[3] + a[1] * b[7] + a[2] * b[11] + a[3] * b[15];
+    c[4] = a[4] * b[0] + a[5] * b[4] + a[6] * b[8] + a[7] * b[12];
+    c[5] = a[4] * b[1] + a[5] * b[5] + a[6] * b[9] + a[7] * b[13];
+    c[6] = a[4] * b[2] + a[5] * b[6] + a[6] * b[10] + a[7] * b[14];
+    c[7] = a[4] * b[3] + a[5] * b[7] + a[6] * b[11] + a[7] * b[15];
+    c[8] = a[8] * b[0] + a[9] * b[4] + a[10] * b[8] + a[11] * b[12];
+    c[9] = a[8] * b[1] + a[9] * b[5] + a[10] * b[9] + a[11] * b[13];
+    c[10] = a[8] * b[2] + a[9] * b[6] + a[10] * b[10] + a[11] * b[14];
+    c[11] = a[8] * b[3] + a[9] * b[7] + a[10] * b[11] + a[11] * b[15];
+    c[12] = a[12] * b[0] + a[13] * b[4] + a[14] * b[8] + a[15] * b[12];
+    c[13] = a[12] * b[1] + a[13] * b[5] + a[14] * b[9] + a[15] * b[13];
+    c[14] = a[12] * b[2] + a[13] * b[6] + a[14] * b[10] + a[15] * b[14];
+    c[15] = a[12] * b[3] + a[13] * b[7] + a[14] * b[11] + a[15] * b[15];
+  }
+
+  private static void mult5x5(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[5] + a[2] * b[10] + a[3] * b[15] + a[4] * b[20];
+    c[1] = a[0] * b[1] + a[1] * b[6] + a[2] * b[11] + a[3] * b[16] + a[4] * b[21];
+    c[2] = a[0] * b[2] + a[1] * b[7] + a[2] * b[12] + a[3] * b[17] + a[4] * b[22];
+    c[3] = a[0] * b[3] + a[1] * b[8] + a[2] * b[13] + a[3] * b[18] + a[4] * b[23];
+    c[4] = a[0] * b[4] + a[1] * b[9] + a[2] * b[14] + a[3] * b[19] + a[4] * b[24];
+    c[5] = a[5] * b[0] + a[6] * b[5] + a[7] * b[10] + a[8] * b[15] + a[9] * b[20];
+    c[6] = a[5] * b[1] + a[6] * b[6] + a[7] * b[11] + a[8] * b[16] + a[9] * b[21];
+    c[7] = a[5] * b[2] + a[6] * b[7] + a[7] * b[12] + a[8] * b[17] + a[9] * b[22];
+    c[8] = a[5] * b[3] + a[6] * b[8] + a[7] * b[13] + a[8] * b[18] + a[9] * b[23];
+    c[9] = a[5] * b[4] + a[6] * b[9] + a[7] * b[14] + a[8] * b[19] + a[9] * b[24];
+    c[10] = a[10] * b[0] + a[11] * b[5] + a[12] * b[10] + a[13] * b[15] + a[14] * b[20];
+    c[11] = a[10] * b[1] + a[11] * b[6] + a[12] * b[11] + a[13] * b[16] + a[14] * b[21];
+    c[12] = a[10] * b[2] + a[11] * b[7] + a[12] * b[12] + a[13] * b[17] + a[14] * b[22];
+    c[13] = a[10] * b[3] + a[11] * b[8] + a[12] * b[13] + a[13] * b[18] + a[14] * b[23];
+    c[14] = a[10] * b[4] + a[11] * b[9] + a[12] * b[14] + a[13] * b[19] + a[14] * b[24];
+    c[15] = a[15] * b[0] + a[16] * b[5] + a[17] * b[10] + a[18] * b[15] + a[19] * b[20];
+    c[16] = a[15] * b[1] + a[16] * b[6] + a[17] * b[11] + a[18] * b[16] + a[19] * b[21];
+    c[17] = a[15] * b[2] + a[16] * b[7] + a[17] * b[12] + a[18] * b[17] + a[19] * b[22];
+    c[18] = a[15] * b[3] + a[16] * b[8] + a[17] * b[13] + a[18] * b[18] + a[19] * b[23];
+    c[19] = a[15] * b[4] + a[16] * b[9] + a[17] * b[14] + a[18] * b[19] + a[19] * b[24];
+    c[20] = a[20] * b[0] + a[21] * b[5] + a[22] * b[10] + a[23] * b[15] + a[24] * b[20];
+    c[21] = a[20] * b[1] + a[21] * b[6] + a[22] * b[11] + a[23] * b[16] + a[24] * b[21];
+    c[22] = a[20] * b[2] + a[21] * b[7] + a[22] * b[12] + a[23] * b[17] + a[24] * b[22];
+    c[23] = a[20] * b[3] + a[21] * b[8] + a[22] * b[13] + a[23] * b[18] + a[24] * b[23];
+    c[24] = a[20] * b[4] + a[21] * b[9] + a[22] * b[14] + a[23] * b[19] + a[24] * b[24];
+  }
+
+  private static void mult6x6(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[6] + a[2] * b[12] + a[3] * b[18] + a[4] * b[24] + a[5] * b[30];
+    c[1] = a[0] * b[1] + a[1] * b[7] + a[2] * b[13] + a[3] * b[19] + a[4] * b[25] + a[5] * b[31];
+    c[2] = a[0] * b[2] + a[1] * b[8] + a[2] * b[14] + a[3] * b[20] + a[4] * b[26] + a[5] * b[32];
+    c[3] = a[0] * b[3] + a[1] * b[9] + a[2] * b[15] + a[3] * b[21] + a[4] * b[27] + a[5] * b[33];
+    c[4] = a[0] * b[4] + a[1] * b[10] + a[2] * b[16] + a[3] * b[22] + a[4] * b[28] + a[5] * b[34];
+    c[5] = a[0] * b[5] + a[1] * b[11] + a[2] * b[17] + a[3] * b[23] + a[4] * b[29] + a[5] * b[35];
+    c[6] = a[6] * b[0] + a[7] * b[6] + a[8] * b[12] + a[9] * b[18] + a[10] * b[24] + a[11] * b[30];
+    c[7] = a[6] * b[1] + a[7] * b[7] + a[8] * b[13] + a[9] * b[19] + a[10] * b[25] + a[11] * b[31];
+    c[8] = a[6] * b[2] + a[7] * b[8] + a[8] * b[14] + a[9] * b[20] + a[10] * b[26] + a[11] * b[32];
+    c[9] = a[6] * b[3] + a[7] * b[9] + a[8] * b[15] + a[9] * b[21] + a[10] * b[27] + a[11] * b[33];
+    c[10] = a[6] * b[4] + a[7] * b[10] + a[8] * b[16] + a[9] * b[22] + a[10] * b[28]
+        + a[11] * b[34];
+    c[11] = a[6] * b[5] + a[7] * b[11] + a[8] * b[17] + a[9] * b[23] + a[10] * b[29]
+        + a[11] * b[35];
+    c[12] = a[12] * b[0] + a[13] * b[6] + a[14] * b[12] + a[15] * b[18] + a[16] * b[24]
+        + a[17] * b[30];
+    c[13] = a[12] * b[1] + a[13] * b[7] + a[14] * b[13] + a[15] * b[19] + a[16] * b[25]
+        + a[17] * b[31];
+    c[14] = a[12] * b[2] + a[13] * b[8] + a[14] * b[14] + a[15] * b[20] + a[16] * b[26]
+        + a[17] * b[32];
+    c[15] = a[12] * b[3] + a[13] * b[9] + a[14] * b[15] + a[15] * b[21] + a[16] * b[27]
+        + a[17] * b[33];
+    c[16] = a[12] * b[4] + a[13] * b[10] + a[14] * b[16] + a[15] * b[22] + a[16] * b[28]
+        + a[17] * b[34];
+    c[17] = a[12] * b[5] + a[13] * b[11] + a[14] * b[17] + a[15] * b[23] + a[16] * b[29]
+        + a[17] * b[35];
+    c[18] = a[18] * b[0] + a[19] * b[6] + a[20] * b[12] + a[21] * b[18] + a[22] * b[24]
+        + a[23] * b[30];
+    c[19] = a[18] * b[1] + a[19] * b[7] + a[20] * b[13] + a[21] * b[19] + a[22] * b[25]
+        + a[23] * b[31];
+    c[20] = a[18] * b[2] + a[19] * b[8] + a[20] * b[14] + a[21] * b[20] + a[22] * b[26]
+        + a[23] * b[32];
+    c[21] = a[18] * b[3] + a[19] * b[9] + a[20] * b[15] + a[21] * b[21] + a[22] * b[27]
+        + a[23] * b[33];
+    c[22] = a[18] * b[4] + a[19] * b[10] + a[20] * b[16] + a[21] * b[22] + a[22] * b[28]
+        + a[23] * b[34];
+    c[23] = a[18] * b[5] + a[19] * b[11] + a[20] * b[17] + a[21] * b[23] + a[22] * b[29]
+        + a[23] * b[35];
+    c[24] = a[24] * b[0] + a[25] * b[6] + a[26] * b[12] + a[27] * b[18] + a[28] * b[24]
+        + a[29] * b[30];
+    c[25] = a[24] * b[1] + a[25] * b[7] + a[26] * b[13] + a[27] * b[19] + a[28] * b[25]
+        + a[29] * b[31];
+    c[26] = a[24] * b[2] + a[25] * b[8] + a[26] * b[14] + a[27] * b[20] + a[28] * b[26]
+        + a[29] * b[32];
+    c[27] = a[24] * b[3] + a[25] * b[9] + a[26] * b[15] + a[27] * b[21] + a[28] * b[27]
+        + a[29] * b[33];
+    c[28] = a[24] * b[4] + a[25] * b[10] + a[26] * b[16] + a[27] * b[22] + a[28] * b[28]
+        + a[29] * b[34];
+    c[29] = a[24] * b[5] + a[25] * b[11] + a[26] * b[17] + a[27] * b[23] + a[28] * b[29]
+        + a[29] * b[35];
+    c[30] = a[30] * b[0] + a[31] * b[6] + a[32] * b[12] + a[33] * b[18] + a[34] * b[24]
+        + a[35] * b[30];
+    c[31] = a[30] * b[1] + a[31] * b[7] + a[32] * b[13] + a[33] * b[19] + a[34] * b[25]
+        + a[35] * b[31];
+    c[32] = a[30] * b[2] + a[31] * b[8] + a[32] * b[14] + a[33] * b[20] + a[34] * b[26]
+        + a[35] * b[32];
+    c[33] = a[30] * b[3] + a[31] * b[9] + a[32] * b[15] + a[33] * b[21] + a[34] * b[27]
+        + a[35] * b[33];
+    c[34] = a[30] * b[4] + a[31] * b[10] + a[32] * b[16] + a[33] * b[22] + a[34] * b[28]
+        + a[35] * b[34];
+    c[35] = a[30] * b[5] + a[31] * b[11] + a[32] * b[17] + a[33] * b[23] + a[34] * b[29]
+        + a[35] * b[35];
+  }
+
+  private static void mult2x1(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[1];
+    c[1] = a[2] * b[0] + a[3] * b[1];
+  }
+
+  private static void mult3x1(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+    c[1] = a[3] * b[0] + a[4] * b[1] + a[5] * b[2];
+    c[2] = a[6] * b[0] + a[7] * b[1] + a[8] * b[2];
+  }
+
+  private static void mult4x1(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[1] + a[2] * b[2] + a[3] * b[3];
+    c[1] = a[4] * b[0] + a[5] * b[1] + a[6] * b[2] + a[7] * b[3];
+    c[2] = a[8] * b[0] + a[9] * b[1] + a[10] * b[2] + a[11] * b[3];
+    c[3] = a[12] * b[0] + a[13] * b[1] + a[14] * b[2] + a[15] * b[3];
+  }
+
+  private static void mult5x1(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[1] + a[2] * b[2] + a[3] * b[3] + a[4] * b[4];
+    c[1] = a[5] * b[0] + a[6] * b[1] + a[7] * b[2] + a[8] * b[3] + a[9] * b[4];
+    c[2] = a[10] * b[0] + a[11] * b[1] + a[12] * b[2] + a[13] * b[3] + a[14] * b[4];
+    c[3] = a[15] * b[0] + a[16] * b[1] + a[17] * b[2] + a[18] * b[3] + a[19] * b[4];
+    c[4] = a[20] * b[0] + a[21] * b[1] + a[22] * b[2] + a[23] * b[3] + a[24] * b[4];
+  }
+
+  private static void mult6x1(double[] a, double[] b, double[] c) {
+    c[0] = a[0] * b[0] + a[1] * b[1] + a[2] * b[2] + a[3] * b[3] + a[4] * b[4] + a[5] * b[5];
+    c[1] = a[6] * b[0] + a[7] * b[1] + a[8] * b[2] + a[9] * b[3] + a[10] * b[4] + a[11] * b[5];
+    c[2] = a[12] * b[0] + a[13] * b[1] + a[14] * b[2] + a[15] * b[3] + a[16] * b[4] + a[17] * b[5];
+    c[3] = a[18] * b[0] + a[19] * b[1] + a[20] * b[2] + a[21] * b[3] + a[22] * b[4] + a[23] * b[5];
+    c[4] = a[24] * b[0] + a[25] * b[1] + a[26] * b[2] + a[27] * b[3] + a[28] * b[4] + a[29] * b[5];
+    c[5] = a[30] * b[0] + a[31] * b[1] + a[32] * b[2] + a[33] * b[3] + a[34] * b[4] + a[35] * b[5];
+  }
+}
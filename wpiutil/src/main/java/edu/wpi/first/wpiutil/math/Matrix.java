@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -9,7 +9,10 @@ package edu.wpi.first.wpiutil.math;
 
 import java.util.Objects;
 
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.SingularMatrixException;
 import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
 import org.ejml.dense.row.NormOps_DDRM;
 import org.ejml.simple.SimpleMatrix;
 
@@ -18,6 +21,12 @@ import org.ejml.simple.SimpleMatrix;
  *
  * <p>This class is intended to be used alongside the state space library.
  *
+ * <p>The arithmetic operations return a new matrix. Each of the common ones also has an
+ * <code>*InPlace</code> counterpart that writes its result to a matrix the caller provides, such
+ * as {@link #timesInPlace(Matrix, Matrix)}, so that code which runs every control loop iteration
+ * can reuse its matrices instead of allocating new ones. Multiplying an NxN matrix by another or
+ * by a vector, for N from 2 to 6, uses an unrolled kernel for that size.
+ *
  * @param <R> The number of rows in this matrix.
  * @param <C> The number of columns in this matrix.
  */
@@ -128,6 +137,43 @@ public class Matrix<R extends Num, C extends Num> {
     return new Matrix<>(this.m_storage.scale(value));
   }
 
+  /**
+   * Multiplies this matrix with another that has C rows, storing the result in the given matrix.
+   * See {@link #times(Matrix)}.
+   *
+   * @param other The other matrix to multiply by.
+   * @param out   The matrix to store the result in. This can't be this matrix or the other matrix.
+   * @param <C2>  The number of columns in the second matrix.
+   * @return The given output matrix.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals")
+  public final <C2 extends Num> Matrix<R, C2> timesInPlace(Matrix<C, C2> other,
+                                                           Matrix<R, C2> out) {
+    final DMatrixRMaj a = this.m_storage.getDDRM();
+    final DMatrixRMaj b = other.m_storage.getDDRM();
+    final DMatrixRMaj c = out.m_storage.getDDRM();
+    if (c == a || c == b) {
+      throw new IllegalArgumentException("out can't be the same matrix as this or other");
+    }
+    if (!FixedSizeMatrixOps.mult(a, b, c)) {
+      CommonOps_DDRM.mult(a, b, c);
+    }
+    return out;
+  }
+
+  /**
+   * Multiplies all the elements of this matrix by the given scalar, storing the result in the
+   * given matrix.
+   *
+   * @param value The scalar value to multiply by.
+   * @param out   The matrix to store the result in. This may be this matrix.
+   * @return The given output matrix.
+   */
+  public final Matrix<R, C> timesInPlace(double value, Matrix<R, C> out) {
+    CommonOps_DDRM.scale(value, this.m_storage.getDDRM(), out.m_storage.getDDRM());
+    return out;
+  }
+
   /**
    * <p>
    * Returns a matrix which is the result of an element by element multiplication of 'this' and 'b'.
@@ -162,6 +208,19 @@ public class Matrix<R extends Num, C extends Num> {
     return new Matrix<>(this.m_storage.minus(Objects.requireNonNull(value).m_storage));
   }
 
+  /**
+   * Subtracts the given matrix from this matrix, storing the result in the given matrix.
+   *
+   * @param value The matrix to subtract.
+   * @param out   The matrix to store the result in. This may be either of the other matrices.
+   * @return The given output matrix.
+   */
+  public final Matrix<R, C> minusInPlace(Matrix<R, C> value, Matrix<R, C> out) {
+    CommonOps_DDRM.subtract(this.m_storage.getDDRM(), value.m_storage.getDDRM(),
+        out.m_storage.getDDRM());
+    return out;
+  }
+
 
   /**
    * Adds the given value to all the elements of this matrix.
@@ -183,6 +242,19 @@ public class Matrix<R extends Num, C extends Num> {
     return new Matrix<>(this.m_storage.plus(value.m_storage));
   }
 
+  /**
+   * Adds the given matrix to this matrix, storing the result in the given matrix.
+   *
+   * @param value The matrix to add.
+   * @param out   The matrix to store the result in. This may be either of the other matrices.
+   * @return The given output matrix.
+   */
+  public final Matrix<R, C> plusInPlace(Matrix<R, C> value, Matrix<R, C> out) {
+    CommonOps_DDRM.add(this.m_storage.getDDRM(), value.m_storage.getDDRM(),
+        out.m_storage.getDDRM());
+    return out;
+  }
+
   /**
    * Divides all elements of this matrix by the given value.
    *
@@ -212,6 +284,23 @@ public class Matrix<R extends Num, C extends Num> {
     return new Matrix<>(this.m_storage.transpose());
   }
 
+  /**
+   * Calculates the transpose, M^T of this matrix, storing the result in the given matrix.
+   *
+   * @param out The matrix to store the result in. This can't be this matrix.
+   * @return The given output matrix.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals")
+  public final Matrix<C, R> transposeInPlace(Matrix<C, R> out) {
+    final DMatrixRMaj a = this.m_storage.getDDRM();
+    final DMatrixRMaj c = out.m_storage.getDDRM();
+    if (c == a) {
+      throw new IllegalArgumentException("out can't be the same matrix as this");
+    }
+    CommonOps_DDRM.transpose(a, c);
+    return out;
+  }
+
 
   /**
    * Returns a copy of this matrix.
@@ -233,6 +322,30 @@ public class Matrix<R extends Num, C extends Num> {
     return new Matrix<>(this.m_storage.invert());
   }
 
+  /**
+   * Calculates the inverse of this matrix, storing the result in the given matrix. This doesn't
+   * allocate for matrices up to 5x5.
+   *
+   * @param out The matrix to store the result in. This can't be this matrix.
+   * @return The given output matrix.
+   * @throws org.ejml.data.SingularMatrixException If this matrix is non-invertable.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals")
+  public final Matrix<R, C> invInPlace(Matrix<R, C> out) {
+    final DMatrixRMaj a = this.m_storage.getDDRM();
+    final DMatrixRMaj c = out.m_storage.getDDRM();
+    if (c == a) {
+      throw new IllegalArgumentException("out can't be the same matrix as this");
+    }
+    if (!CommonOps_DDRM.invert(a, c)) {
+      throw new SingularMatrixException();
+    }
+    if (MatrixFeatures_DDRM.hasUncountable(c)) {
+      throw new SingularMatrixException("Solution contains uncountable numbers");
+    }
+    return out;
+  }
+
   /**
    * Returns the determinant of this matrix.
    *
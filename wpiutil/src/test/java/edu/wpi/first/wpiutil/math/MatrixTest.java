@@ -1,5 +1,5 @@
 /*----------------------------------------------------------------------------*/
-/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Copyright (c) 2019-2020 FIRST. All Rights Reserved.                        */
 /* Open Source Software - may be modified and shared by FRC teams. The code   */
 /* must be accompanied by the FIRST BSD license file in the root directory of */
 /* the project.                                                               */
@@ -7,8 +7,12 @@
 
 package edu.wpi.first.wpiutil.math;
 
+import java.util.Random;
+
+import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.SingularMatrixException;
 import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
 import org.ejml.simple.SimpleMatrix;
 import org.junit.jupiter.api.Test;
 
@@ -17,9 +21,11 @@ import edu.wpi.first.wpiutil.math.numbers.N2;
 import edu.wpi.first.wpiutil.math.numbers.N3;
 import edu.wpi.first.wpiutil.math.numbers.N4;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+@SuppressWarnings("PMD.TooManyMethods")
 public class MatrixTest {
   @Test
   void testMatrixMultiplication() {
@@ -186,6 +192,95 @@ public class MatrixTest {
     ));
   }
 
+  /**
+   * Test that the in-place operations give exactly what the allocating ones do, both for the
+   * sizes that have unrolled kernels and for the ones that don't.
+   */
+  @Test
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  void testInPlaceMatchesAllocating() {
+    var random = new Random(16);
+    for (int rows = 1; rows <= 8; rows++) {
+      for (int cols : new int[] {1, 3, rows}) {
+        Matrix<Num, Num> lhs = randomMatrix(random, rows, rows);
+        Matrix<Num, Num> rhs = randomMatrix(random, rows, cols);
+        Matrix<Num, Num> out = new Matrix<>(new SimpleMatrix(rows, cols));
+
+        assertSame(out, lhs.timesInPlace(rhs, out));
+        assertIdentical(lhs.times(rhs), out);
+
+        assertSame(out, rhs.timesInPlace(2.5, out));
+        assertIdentical(rhs.times(2.5), out);
+
+        Matrix<Num, Num> other = randomMatrix(random, rows, cols);
+        assertSame(out, rhs.plusInPlace(other, out));
+        assertIdentical(rhs.plus(other), out);
+
+        assertSame(out, rhs.minusInPlace(other, out));
+        assertIdentical(rhs.minus(other), out);
+
+        Matrix<Num, Num> outTransposed = new Matrix<>(new SimpleMatrix(cols, rows));
+        assertSame(outTransposed, rhs.transposeInPlace(outTransposed));
+        assertIdentical(rhs.transpose(), outTransposed);
+      }
+
+      Matrix<Num, Num> square = randomMatrix(random, rows, rows);
+      Matrix<Num, Num> inverse = new Matrix<>(new SimpleMatrix(rows, rows));
+      assertSame(inverse, square.invInPlace(inverse));
+      assertIdentical(square.inv(), inverse);
+    }
+  }
+
+  @Test
+  void testInPlaceAliasing() {
+    var mat = MatrixUtils.mat(Nat.N2(), Nat.N2())
+        .fill(1.0, 2.0,
+            3.0, 4.0);
+    var other = MatrixUtils.mat(Nat.N2(), Nat.N2())
+        .fill(0.5, 0.5,
+            1.0, 1.0);
+
+    mat.plusInPlace(other, mat);
+    assertIdentical(MatrixUtils.mat(Nat.N2(), Nat.N2())
+        .fill(1.5, 2.5,
+            4.0, 5.0), mat);
+    mat.minusInPlace(other, other);
+    assertIdentical(MatrixUtils.mat(Nat.N2(), Nat.N2())
+        .fill(1.0, 2.0,
+            3.0, 4.0), other);
+    mat.timesInPlace(2.0, mat);
+    assertIdentical(MatrixUtils.mat(Nat.N2(), Nat.N2())
+        .fill(3.0, 5.0,
+            8.0, 10.0), mat);
+
+    assertThrows(IllegalArgumentException.class, () -> mat.timesInPlace(other, mat));
+    assertThrows(IllegalArgumentException.class, () -> mat.timesInPlace(other, other));
+    assertThrows(IllegalArgumentException.class, () -> mat.transposeInPlace(mat));
+    assertThrows(IllegalArgumentException.class, () -> mat.invInPlace(mat));
+  }
+
+  @Test
+  void testUninvertableMatrixInPlace() {
+    var singularMatrix = MatrixUtils.mat(Nat.N2(), Nat.N2())
+        .fill(2.0, 1.0,
+            2.0, 1.0);
+    var out = new Matrix<N2, N2>(new SimpleMatrix(2, 2));
+
+    assertThrows(SingularMatrixException.class, () -> singularMatrix.invInPlace(out));
+  }
+
+  private static Matrix<Num, Num> randomMatrix(Random random, int rows, int cols) {
+    return new Matrix<>(SimpleMatrix.wrap(
+        RandomMatrices_DDRM.rectangle(rows, cols, -10.0, 10.0, random)));
+  }
+
+  private static void assertIdentical(Matrix<?, ?> expected, Matrix<?, ?> actual) {
+    DMatrixRMaj expectedStorage = expected.getStorage().getDDRM();
+    DMatrixRMaj actualStorage = actual.getStorage().getDDRM();
+    assertTrue(MatrixFeatures_DDRM.isIdentical(expectedStorage, actualStorage, 0.0),
+        () -> "Expected " + expectedStorage + " but was " + actualStorage);
+  }
+
   @Test
   void testMatrixExponential() {
     SimpleMatrix matrix = MatrixUtils.eye(Nat.N2()).getStorage();